@@ -0,0 +1,62 @@
+package com.xpathautomation;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * XPath ön işleme yolu (tırnak düzeltme) için JMH ölçümü
+ *
+ * {@code mvn -Pjmh verify} ile çalıştırılır; sonuçlar target/jmh-result.json
+ * dosyasına yazılır.
+ *
+ * @author XPath Automation Team
+ * @version 1.0.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class XPathPreprocessingBenchmark {
+
+    @Param({
+            "//button[@id='submit']",
+            "//input[@placeholder=\"Ara\"]",
+            "//div[@class=\"menu\"]//a[contains(text(), \"Ürünler\") and @data-x=\"1\"]"
+    })
+    public String xpath;
+
+    private final XPathValidator cachedValidator = new XPathValidator();
+
+    @Benchmark
+    public String fixXPathQuotes() {
+        return XPathClickAutomation.fixXPathQuotes(xpath);
+    }
+
+    /**
+     * Her çağrıda derleme: önbelleksiz doğrulama maliyeti
+     */
+    @Benchmark
+    public XPathValidator.ValidatedXPath validateUncached() {
+        return new XPathValidator(1).validate(xpath);
+    }
+
+    /**
+     * Önbellekten doğrulama: tekrarlanan XPath'lerin maliyeti
+     */
+    @Benchmark
+    public XPathValidator.ValidatedXPath validateCached() {
+        return cachedValidator.validate(xpath);
+    }
+}
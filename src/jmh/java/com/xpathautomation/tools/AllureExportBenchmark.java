@@ -0,0 +1,93 @@
+package com.xpathautomation.tools;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * End-to-end export of a synthetic report on disk: the original in-memory
+ * pipeline against the streaming writer, sequential, on virtual threads and
+ * with gzip payloads.
+ *
+ * Add {@code -prof gc} (e.g. {@code -Djmh.includes="AllureExportBenchmark -prof gc"})
+ * to compare allocation per export; the streaming path allocates a small,
+ * constant amount on top of the file reads regardless of report size.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+public class AllureExportBenchmark {
+
+    @Param({"1000", "10000", "100000"})
+    public int testCases;
+
+    private Path workDirectory;
+    private Path reportDirectory;
+    private Path outPath;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        workDirectory = Files.createTempDirectory("allure-export-bench");
+        reportDirectory = workDirectory.resolve("allure-report");
+        outPath = workDirectory.resolve("AllureReport.html");
+        SyntheticAllureReport.writeReport(reportDirectory, testCases, 2 * 1024 * 1024);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        try (Stream<Path> paths = Files.walk(workDirectory)) {
+            for (Path path : paths.sorted(Comparator.reverseOrder()).toList()) {
+                Files.delete(path);
+            }
+        }
+    }
+
+    @Benchmark
+    public String renderInMemory() throws IOException {
+        return InMemoryAllureExport.renderInMemory(reportDirectory);
+    }
+
+    @Benchmark
+    public long exportStreaming() throws IOException {
+        AllureSingleHtmlExporter.export(reportDirectory, outPath);
+        return Files.size(outPath);
+    }
+
+    @Benchmark
+    public long exportParallel() throws IOException {
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            AllureSingleHtmlExporter.export(reportDirectory, outPath,
+                    AllureSingleHtmlExporter.ExportOptions.defaults().withExecutor(executor));
+        }
+        return Files.size(outPath);
+    }
+
+    @Benchmark
+    public long exportGzip() throws IOException {
+        AllureSingleHtmlExporter.export(reportDirectory, outPath, AllureSingleHtmlExporter.ExportOptions.defaults()
+                .withEncoding(AllureSingleHtmlExporter.PayloadEncoding.GZIP));
+        return Files.size(outPath);
+    }
+}
@@ -0,0 +1,86 @@
+package com.xpathautomation.tools;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Benchmarks the exporter stages over synthetic reports of 1k, 10k and 100k test cases.
+ *
+ * Run with {@code mvn -Pjmh verify}; results are written to target/jmh-result.json.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+public class AllureSingleHtmlExporterBenchmark {
+
+    private static final int APP_JS_BYTES = 2 * 1024 * 1024;
+
+    @Param({"1000", "10000", "100000"})
+    public int testCases;
+
+    private Map<String, String> embeddedFiles;
+    private String injectionScript;
+    private String indexHtml;
+    private Path reportDirectory;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        embeddedFiles = SyntheticAllureReport.embeddedFiles(testCases);
+        injectionScript = InMemoryAllureExport.buildInjectionScript(
+                InMemoryAllureExport.buildEmbeddedMapJson(embeddedFiles));
+        indexHtml = SyntheticAllureReport.indexHtml();
+
+        // inlineLocalAssets only reads index.html's own assets from disk
+        reportDirectory = Files.createTempDirectory("allure-bench");
+        SyntheticAllureReport.writeReport(reportDirectory, 0, APP_JS_BYTES);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        try (Stream<Path> paths = Files.walk(reportDirectory)) {
+            for (Path path : paths.sorted(Comparator.reverseOrder()).toList()) {
+                Files.delete(path);
+            }
+        }
+    }
+
+    @Benchmark
+    public void escapeAsJsString(Blackhole blackhole) {
+        for (String content : embeddedFiles.values()) {
+            blackhole.consume(InMemoryAllureExport.escapeAsJsString(content));
+        }
+    }
+
+    @Benchmark
+    public String buildEmbeddedMapJson() {
+        return InMemoryAllureExport.buildEmbeddedMapJson(embeddedFiles);
+    }
+
+    @Benchmark
+    public String inlineLocalAssets() throws IOException {
+        return InMemoryAllureExport.inlineLocalAssets(indexHtml, reportDirectory, injectionScript);
+    }
+}
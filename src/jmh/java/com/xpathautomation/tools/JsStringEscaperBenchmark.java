@@ -0,0 +1,93 @@
+package com.xpathautomation.tools;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link JsStringEscaper} against the escaping code it replaced
+ * ({@link LegacyJsEscaping}) on the 10k test-case synthetic report: whole
+ * strings, the streaming path (8 KB chunks into a buffered writer, as
+ * {@link EmbeddedFileReader} does) and the in-memory map.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+public class JsStringEscaperBenchmark {
+
+    private static final int TEST_CASES = 10_000;
+    private static final int CHUNK = 1 << 13;
+
+    private Map<String, String> embeddedFiles;
+    private char[] payloads;
+    private char[] escaped;
+    private Writer out;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        embeddedFiles = SyntheticAllureReport.embeddedFiles(TEST_CASES);
+        payloads = String.join("", embeddedFiles.values()).toCharArray();
+        escaped = new char[CHUNK * JsStringEscaper.MAX_EXPANSION];
+        out = new BufferedWriter(Writer.nullWriter(), 1 << 16);
+    }
+
+    @Benchmark
+    public void escapeAsJsStringLegacy(Blackhole blackhole) {
+        for (String content : embeddedFiles.values()) {
+            blackhole.consume(LegacyJsEscaping.escapeAsJsString(content));
+        }
+    }
+
+    @Benchmark
+    public void escapeAsJsString(Blackhole blackhole) {
+        for (String content : embeddedFiles.values()) {
+            blackhole.consume(InMemoryAllureExport.escapeAsJsString(content));
+        }
+    }
+
+    @Benchmark
+    public void streamPayloadsLegacy() throws IOException {
+        for (int offset = 0; offset < payloads.length; offset += CHUNK) {
+            LegacyJsEscaping.writeEscapedChunk(payloads, offset, Math.min(CHUNK, payloads.length - offset), out);
+        }
+        out.flush();
+    }
+
+    @Benchmark
+    public void streamPayloads() throws IOException {
+        for (int offset = 0; offset < payloads.length; offset += CHUNK) {
+            int length = JsStringEscaper.PAYLOAD.escape(payloads, offset, Math.min(CHUNK, payloads.length - offset),
+                    escaped);
+            out.write(escaped, 0, length);
+        }
+        out.flush();
+    }
+
+    @Benchmark
+    public String buildEmbeddedMapJsonLegacy() {
+        return LegacyJsEscaping.buildEmbeddedMapJsonFromFiles(embeddedFiles);
+    }
+
+    @Benchmark
+    public String buildEmbeddedMapJson() {
+        return InMemoryAllureExport.buildEmbeddedMapJson(embeddedFiles);
+    }
+}
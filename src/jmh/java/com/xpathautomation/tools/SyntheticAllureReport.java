@@ -0,0 +1,113 @@
+package com.xpathautomation.tools;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Generates deterministic, Allure-shaped report content for benchmarks.
+ *
+ * Test-case JSON mirrors what allure-report writes to data/test-cases: quoted
+ * names, multi-line descriptions and step trees, plus the occasional tab,
+ * control character and U+2028 so every escaping branch is exercised.
+ */
+final class SyntheticAllureReport {
+
+    private static final String[] STATUSES = {"passed", "passed", "passed", "failed", "broken", "skipped"};
+
+    private SyntheticAllureReport() {
+    }
+
+    /**
+     * @param testCases number of data/test-cases/*.json entries
+     * @return relative path to file content, in the order the exporter would embed them
+     */
+    static Map<String, String> embeddedFiles(int testCases) {
+        Random random = new Random(testCases);
+        Map<String, String> files = new LinkedHashMap<>();
+        for (int i = 0; i < testCases; i++) {
+            String uid = String.format("%016x", random.nextLong());
+            files.put("data/test-cases/" + uid + ".json", testCaseJson(uid, i, random));
+        }
+        files.put("widgets/summary.json", "{\"reportName\":\"Allure Report\",\"statistic\":{\"total\":"
+                + testCases + "}}");
+        files.put("export/influxDbData.txt", "launch_status failed=0,passed=" + testCases + "\n");
+        return files;
+    }
+
+    /**
+     * Writes index.html, app.js and styles.css plus every embedded file under {@code directory}.
+     *
+     * @param directory  target allure-report directory
+     * @param testCases  number of test-case files
+     * @param appJsBytes approximate size of app.js
+     */
+    static void writeReport(Path directory, int testCases, int appJsBytes) throws IOException {
+        Files.createDirectories(directory);
+        Files.writeString(directory.resolve("index.html"), indexHtml(), StandardCharsets.UTF_8);
+        Files.writeString(directory.resolve("app.js"), appJs(appJsBytes), StandardCharsets.UTF_8);
+        Files.writeString(directory.resolve("styles.css"), "body{margin:0;font-family:sans-serif}\n",
+                StandardCharsets.UTF_8);
+        for (Map.Entry<String, String> entry : embeddedFiles(testCases).entrySet()) {
+            Path file = directory.resolve(entry.getKey());
+            Files.createDirectories(file.getParent());
+            Files.writeString(file, entry.getValue(), StandardCharsets.UTF_8);
+        }
+    }
+
+    static String indexHtml() {
+        return "<!DOCTYPE html>\n<html dir=\"ltr\">\n<head>\n<meta charset=\"utf-8\">\n"
+                + "<title>Allure Report</title>\n"
+                + "<link rel=\"favicon\" href=\"favicon.ico?v=2\">\n"
+                + "<link rel=\"stylesheet\" type=\"text/css\" href=\"styles.css\">\n"
+                + "</head>\n<body>\n<div id=\"alert\"></div>\n<div id=\"content\"><span class=\"spinner\">"
+                + "</span></div>\n<div id=\"popup\"></div>\n"
+                + "<script src=\"app.js\"></script>\n</body>\n</html>\n";
+    }
+
+    static String appJs(int bytes) {
+        StringBuilder builder = new StringBuilder(bytes + 64);
+        int n = 0;
+        while (builder.length() < bytes) {
+            builder.append("function f").append(n).append("(a,b){return a===\"x\"?b+").append(n++)
+                    .append(":'<div>'+a+'</div>';}\n");
+        }
+        return builder.toString();
+    }
+
+    private static String testCaseJson(String uid, int index, Random random) {
+        String status = STATUSES[random.nextInt(STATUSES.length)];
+        StringBuilder json = new StringBuilder(1024);
+        json.append("{\"uid\":\"").append(uid).append("\",")
+                .append("\"name\":\"Click \\\"submit\\\" on page ").append(index).append("\",")
+                .append("\"fullName\":\"com.xpathautomation.XPathClickAutomationAllureIT.case").append(index)
+                .append("\",\"status\":\"").append(status).append("\",")
+                .append("\"time\":{\"start\":").append(1_700_000_000_000L + index * 1000L)
+                .append(",\"duration\":").append(random.nextInt(5000)).append("},")
+                .append("\"description\":\"Opens the page\\nclicks //button[@id='submit']\\n\\tand waits")
+                .append(index % 97 == 0 ? "\u2028" : "").append(index % 89 == 0 ? "\u0001" : "")
+                .append(" for é/ş/ğ text\",")
+                .append("\"testStage\":{\"steps\":[");
+        int steps = 2 + random.nextInt(4);
+        for (int s = 0; s < steps; s++) {
+            if (s > 0) {
+                json.append(',');
+            }
+            json.append("{\"name\":\"Step ").append(s).append(": click //div[@class=\\\"item-").append(s)
+                    .append("\\\"]\",\"status\":\"passed\",\"attachments\":[{\"source\":\"")
+                    .append(uid).append('-').append(s).append("-attachment.png\",\"type\":\"image/png\"}]}");
+        }
+        json.append("]},");
+        if ("failed".equals(status)) {
+            json.append("\n\"statusTrace\":\"org.openqa.selenium.TimeoutException: Expected condition failed\\r\\n")
+                    .append("\\tat com.xpathautomation.XPathClickAutomation.clickElement(XPathClickAutomation.java:")
+                    .append(index).append(")\",");
+        }
+        json.append("\"labels\":[{\"name\":\"suite\",\"value\":\"XPath Click Automation\"}]}");
+        return json.toString();
+    }
+}
@@ -0,0 +1,23 @@
+package com.xpathautomation;
+
+import java.util.List;
+
+/**
+ * AutomationJob - Tek bir (URL, XPath listesi) işi
+ *
+ * @param url    Gidilecek URL
+ * @param xpaths Sırayla tıklanacak XPath'ler
+ *
+ * @author XPath Automation Team
+ * @version 1.0.0
+ */
+public record AutomationJob(String url, List<String> xpaths) {
+
+    public AutomationJob {
+        xpaths = List.copyOf(xpaths);
+    }
+
+    public static AutomationJob of(String url, String... xpaths) {
+        return new AutomationJob(url, List.of(xpaths));
+    }
+}
@@ -0,0 +1,461 @@
+package com.xpathautomation;
+
+import org.openqa.selenium.WebDriver;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * AutomationRunner - Çok sayıda (URL, XPath listesi) işini eşzamanlı çalıştırır
+ *
+ * İşler virtual thread'ler üzerinde yürütülür; aynı anda çalışan iş sayısı ve
+ * dolayısıyla açık Chrome süreci sayısı {@code sessions} ile sınırlıdır.
+ * Oturumlar bir {@link WebDriverPool} üzerinden yeniden kullanılır.
+ * {@code tabsPerBrowser} 1'den büyükse işler ayrı Chrome süreçleri yerine
+ * {@link SharedBrowser} sekmelerinde çalışır; her Chrome süreci en fazla o
+ * kadar işi aynı anda taşır.
+ *
+ * <pre>
+ * try (AutomationRunner runner = AutomationRunner.builder().sessions(4).headless(true).build()) {
+ *     runner.stream(jobs).forEach(outcome -> ...);
+ * }
+ * </pre>
+ *
+ * @author XPath Automation Team
+ * @version 1.0.0
+ */
+public class AutomationRunner implements AutoCloseable {
+
+    private static final int DEFAULT_SESSIONS = 2;
+
+    private final int sessions;
+    private final int clickDelayMs;
+    private final int waitTimeoutSeconds;
+    private final SettleStrategy settleStrategy;
+    private final Duration maxSettleTime;
+    private final Duration xpathTimeout;
+    private final Duration runDeadline;
+    private final Duration pollInterval;
+    private final ResourceBlocking resourceBlocking;
+    private final PageReadiness pageReadiness;
+    private final boolean pipelined;
+    private final ClickEngine clickEngine;
+    private final boolean elementCaching;
+    private final WebDriverPool pool;
+    private final boolean ownsPool;
+    // Sekme modunda işlerin paylaştığı Chrome süreçleri; yoksa boş
+    private final List<SharedBrowser> browsers;
+    private final Semaphore sessionPermits;
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+    private AutomationRunner(Builder builder) {
+        this.sessions = builder.sessions;
+        this.clickDelayMs = builder.clickDelayMs;
+        this.waitTimeoutSeconds = builder.waitTimeoutSeconds;
+        this.settleStrategy = builder.settleStrategy;
+        this.maxSettleTime = builder.maxSettleTime;
+        this.xpathTimeout = builder.xpathTimeout;
+        this.runDeadline = builder.runDeadline;
+        this.pollInterval = builder.pollInterval;
+        this.resourceBlocking = builder.resourceBlocking;
+        this.pageReadiness = builder.pageReadiness;
+        this.pipelined = builder.pipelined;
+        this.clickEngine = builder.clickEngine;
+        this.elementCaching = builder.elementCaching;
+        this.ownsPool = builder.pool == null;
+        this.browsers = new ArrayList<>();
+        if (builder.pool != null) {
+            this.pool = builder.pool;
+        } else if (builder.tabsPerBrowser > 1) {
+            int browserCount = (builder.sessions + builder.tabsPerBrowser - 1) / builder.tabsPerBrowser;
+            for (int i = 0; i < browserCount; i++) {
+                browsers.add(new SharedBrowser(builder.headless, builder.pageReadiness.pageLoadStrategy()));
+            }
+            // Her iş yeni bir sekme ve tarayıcı bağlamı alır; sekme iş bitince kapatılır
+            this.pool = WebDriverPool.builder()
+                    .maxSize(builder.sessions)
+                    .maxUsesPerSession(1)
+                    .driverFactory(this::openTab)
+                    .build();
+        } else {
+            this.pool = WebDriverPool.builder()
+                    .maxSize(builder.sessions)
+                    .headless(builder.headless)
+                    .pageLoadStrategy(builder.pageReadiness.pageLoadStrategy())
+                    .build();
+        }
+        this.sessionPermits = new Semaphore(sessions, true);
+    }
+
+    /**
+     * Yeni bir çalıştırıcı yapılandırıcısı döner
+     *
+     * @return Builder nesnesi
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Bir işi kuyruğa ekler. İş, boşta bir oturum olduğunda bir virtual thread
+     * üzerinde çalıştırılır.
+     *
+     * @param job Çalıştırılacak iş
+     * @return İşin sonucunu taşıyan future (hiçbir zaman istisnayla tamamlanmaz)
+     */
+    public CompletableFuture<JobOutcome> submit(AutomationJob job) {
+        return CompletableFuture.supplyAsync(() -> runJob(job), executor);
+    }
+
+    /**
+     * Tüm işleri kuyruğa ekler
+     *
+     * @param jobs Çalıştırılacak işler
+     * @return İşlerle aynı sırada sonuç future'ları
+     */
+    public List<CompletableFuture<JobOutcome>> submitAll(Collection<AutomationJob> jobs) {
+        List<CompletableFuture<JobOutcome>> futures = new ArrayList<>(jobs.size());
+        for (AutomationJob job : jobs) {
+            futures.add(submit(job));
+        }
+        return futures;
+    }
+
+    /**
+     * Tüm işleri çalıştırır ve sonuçları tamamlanma sırasıyla akış olarak döner
+     *
+     * @param jobs Çalıştırılacak işler
+     * @return Tamamlanma sırasına göre iş sonuçları
+     */
+    public Stream<JobOutcome> stream(Collection<AutomationJob> jobs) {
+        int total = jobs.size();
+        BlockingQueue<JobOutcome> completed = new LinkedBlockingQueue<>();
+        for (AutomationJob job : jobs) {
+            submit(job).thenAccept(completed::add);
+        }
+
+        Spliterator<JobOutcome> spliterator = new Spliterators.AbstractSpliterator<>(total,
+                Spliterator.SIZED | Spliterator.NONNULL) {
+            private int delivered;
+
+            @Override
+            public boolean tryAdvance(java.util.function.Consumer<? super JobOutcome> action) {
+                if (delivered >= total) {
+                    return false;
+                }
+                try {
+                    action.accept(completed.take());
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new IllegalStateException("İş sonuçları beklenirken kesildi", e);
+                }
+                delivered++;
+                return true;
+            }
+        };
+        return StreamSupport.stream(spliterator, false);
+    }
+
+    /**
+     * Tüm işleri çalıştırır ve bitmelerini bekler
+     *
+     * @param jobs Çalıştırılacak işler
+     * @return İşlerle aynı sırada sonuçlar
+     */
+    public List<JobOutcome> runAll(Collection<AutomationJob> jobs) {
+        return submitAll(jobs).stream().map(CompletableFuture::join).toList();
+    }
+
+    public int getSessions() {
+        return sessions;
+    }
+
+    /**
+     * @return Sekme modunda işlerin paylaştığı Chrome süreci sayısı, sekme modu kapalıysa 0
+     */
+    public int getBrowserCount() {
+        return browsers.size();
+    }
+
+    /**
+     * En az sekmesi açık olan paylaşılan tarayıcıda yeni bir sekme açar
+     */
+    private WebDriver openTab() {
+        SharedBrowser browser;
+        synchronized (browsers) {
+            browser = browsers.stream().min(Comparator.comparingInt(SharedBrowser::getOpenTabs)).orElseThrow();
+            browser.reserveTab();
+        }
+        return browser.openReservedTab();
+    }
+
+    private JobOutcome runJob(AutomationJob job) {
+        long start = System.nanoTime();
+        try {
+            sessionPermits.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return new JobOutcome(job, List.of(), Duration.ofNanos(System.nanoTime() - start), e);
+        }
+
+        XPathClickAutomation automation = new XPathClickAutomation(pool)
+                .setUrl(job.url())
+                .setXPaths(job.xpaths())
+                .setClickDelay(clickDelayMs)
+                .setWaitTimeout(waitTimeoutSeconds)
+                .setSettleStrategy(settleStrategy)
+                .setMaxSettleTime(maxSettleTime)
+                .setXPathTimeout(xpathTimeout)
+                .setRunDeadline(runDeadline)
+                .setPollInterval(pollInterval)
+                .setResourceBlocking(resourceBlocking)
+                .setPageReadiness(pageReadiness)
+                .setPipelined(pipelined)
+                .setClickEngine(clickEngine)
+                .setElementCaching(elementCaching);
+        try {
+            RunReport report = automation.execute();
+            return new JobOutcome(job, report.clicks(),
+                    Duration.ofNanos(System.nanoTime() - start), null,
+                    report.navigateTime(), report.transferredBytes());
+        } catch (Exception e) {
+            System.err.println("İş çalışırken hata oluştu (" + job.url() + "): " + e.getMessage());
+            return new JobOutcome(job, List.of(), Duration.ofNanos(System.nanoTime() - start), e);
+        } finally {
+            automation.closeDriver();
+            sessionPermits.release();
+        }
+    }
+
+    /**
+     * Yeni iş kabulünü durdurur, çalışan işlerin bitmesini bekler ve çalıştırıcıya
+     * ait havuzu kapatır
+     */
+    @Override
+    public void close() {
+        executor.close();
+        if (ownsPool) {
+            pool.close();
+        }
+        for (SharedBrowser browser : browsers) {
+            browser.close();
+        }
+    }
+
+    /**
+     * AutomationRunner yapılandırıcısı
+     */
+    public static final class Builder {
+        private int sessions = DEFAULT_SESSIONS;
+        private boolean headless;
+        private int clickDelayMs = XPathClickAutomation.CLICK_DELAY_MS;
+        private int waitTimeoutSeconds = XPathClickAutomation.WAIT_TIMEOUT_SECONDS;
+        private SettleStrategy settleStrategy;
+        private Duration maxSettleTime = XPathClickAutomation.MAX_SETTLE_TIME;
+        private Duration xpathTimeout;
+        private Duration runDeadline;
+        private Duration pollInterval = XPathClickAutomation.POLL_INTERVAL;
+        private ResourceBlocking resourceBlocking = ResourceBlocking.none();
+        private PageReadiness pageReadiness = PageReadiness.COMPLETE;
+        private boolean pipelined;
+        private ClickEngine clickEngine = ClickEngine.webDriver();
+        private boolean elementCaching;
+        private int tabsPerBrowser = 1;
+        private WebDriverPool pool;
+
+        private Builder() {
+        }
+
+        /**
+         * @param sessions Aynı anda açık olabilecek en fazla tarayıcı oturumu
+         * @return Bu nesne (method chaining için)
+         */
+        public Builder sessions(int sessions) {
+            this.sessions = sessions;
+            return this;
+        }
+
+        /**
+         * @param headless true ise oturumlar headless başlatılır
+         * @return Bu nesne (method chaining için)
+         */
+        public Builder headless(boolean headless) {
+            this.headless = headless;
+            return this;
+        }
+
+        /**
+         * @param clickDelayMs Milisaniye cinsinden tıklama gecikmesi
+         * @return Bu nesne (method chaining için)
+         */
+        public Builder clickDelay(int clickDelayMs) {
+            this.clickDelayMs = clickDelayMs;
+            return this;
+        }
+
+        /**
+         * @param waitTimeoutSeconds Saniye cinsinden bekleme süresi
+         * @return Bu nesne (method chaining için)
+         */
+        public Builder waitTimeout(int waitTimeoutSeconds) {
+            this.waitTimeoutSeconds = waitTimeoutSeconds;
+            return this;
+        }
+
+        /**
+         * @param settleStrategy Tıklamadan sonra sayfanın oturma stratejisi
+         * @return Bu nesne (method chaining için)
+         */
+        public Builder settleStrategy(SettleStrategy settleStrategy) {
+            this.settleStrategy = settleStrategy;
+            return this;
+        }
+
+        /**
+         * @param maxSettleTime Oturma beklemesinin üst sınırı
+         * @return Bu nesne (method chaining için)
+         */
+        public Builder maxSettleTime(Duration maxSettleTime) {
+            this.maxSettleTime = maxSettleTime;
+            return this;
+        }
+
+        /**
+         * @param xpathTimeout XPath başına bekleme üst sınırı
+         * @return Bu nesne (method chaining için)
+         */
+        public Builder xpathTimeout(Duration xpathTimeout) {
+            this.xpathTimeout = xpathTimeout;
+            return this;
+        }
+
+        /**
+         * @param runDeadline İş başına toplam süre sınırı (sayfa yükleme ve tüm tıklamalar)
+         * @return Bu nesne (method chaining için)
+         */
+        public Builder runDeadline(Duration runDeadline) {
+            this.runDeadline = runDeadline;
+            return this;
+        }
+
+        /**
+         * @param pollInterval Elementlerin tıklanabilirlik kontrol aralığı
+         * @return Bu nesne (method chaining için)
+         */
+        public Builder pollInterval(Duration pollInterval) {
+            this.pollInterval = pollInterval;
+            return this;
+        }
+
+        /**
+         * @param resourceBlocking İşlerin sayfaları açılırken engellenecek istekler; null ise hiçbiri
+         * @return Bu nesne (method chaining için)
+         */
+        public Builder resourceBlocking(ResourceBlocking resourceBlocking) {
+            this.resourceBlocking = resourceBlocking != null ? resourceBlocking : ResourceBlocking.none();
+            return this;
+        }
+
+        /**
+         * Verilen havuz kullanılıyorsa havuz da aynı sayfa yükleme stratejisiyle
+         * kurulmalıdır ({@link PageReadiness#pageLoadStrategy()}).
+         *
+         * @param pageReadiness İşlerde tıklamalara ne zaman başlanacağı
+         * @return Bu nesne (method chaining için)
+         */
+        public Builder pageReadiness(PageReadiness pageReadiness) {
+            this.pageReadiness = pageReadiness;
+            return this;
+        }
+
+        /**
+         * @param pipelined true ise sıradaki XPath önceki tıklamanın oturması beklenirken aranır
+         * @return Bu nesne (method chaining için)
+         */
+        public Builder pipelined(boolean pipelined) {
+            this.pipelined = pipelined;
+            return this;
+        }
+
+        /**
+         * @param clickEngine Tıklamaların nasıl yapılacağı
+         * @return Bu nesne (method chaining için)
+         */
+        public Builder clickEngine(ClickEngine clickEngine) {
+            this.clickEngine = clickEngine;
+            return this;
+        }
+
+        /**
+         * @param elementCaching true ise aynı sayfada tekrar tıklanan XPath'ler için element aranmaz
+         * @return Bu nesne (method chaining için)
+         */
+        public Builder elementCaching(boolean elementCaching) {
+            this.elementCaching = elementCaching;
+            return this;
+        }
+
+        /**
+         * İşleri ayrı Chrome süreçleri yerine paylaşılan Chrome süreçlerinin
+         * sekmelerinde çalıştırır. Her sekme kendi tarayıcı bağlamında açıldığından
+         * çerezler işler arasında paylaşılmaz. Sınırlamalar için bkz. {@link SharedBrowser}.
+         *
+         * @param tabsPerBrowser Bir Chrome sürecinde aynı anda açık olabilecek en fazla sekme; 1 ise kapalı
+         * @return Bu nesne (method chaining için)
+         */
+        public Builder tabsPerBrowser(int tabsPerBrowser) {
+            this.tabsPerBrowser = tabsPerBrowser;
+            return this;
+        }
+
+        /**
+         * Çalıştırıcının kendi havuzunu oluşturması yerine verilen havuzu kullanır.
+         * Havuz çalıştırıcı kapatıldığında kapatılmaz.
+         *
+         * @param pool Oturumların ödünç alınacağı havuz
+         * @return Bu nesne (method chaining için)
+         */
+        public Builder pool(WebDriverPool pool) {
+            this.pool = pool;
+            return this;
+        }
+
+        public AutomationRunner build() {
+            if (sessions < 1) {
+                throw new IllegalArgumentException("sessions en az 1 olmalı: " + sessions);
+            }
+            if (tabsPerBrowser < 1) {
+                throw new IllegalArgumentException("tabsPerBrowser en az 1 olmalı: " + tabsPerBrowser);
+            }
+            if (pool != null && tabsPerBrowser > 1) {
+                throw new IllegalArgumentException("tabsPerBrowser verilen bir havuzla birlikte kullanılamaz");
+            }
+            // Sekmeler tek bir CDP bağlantısını ve istek engelini paylaşır; bkz. SharedBrowser
+            if (tabsPerBrowser > 1 && clickEngine == ClickEngine.devTools()) {
+                throw new IllegalArgumentException("tabsPerBrowser ClickEngine.devTools() ile birlikte kullanılamaz");
+            }
+            if (tabsPerBrowser > 1 && resourceBlocking.isFirstPartyOnly()) {
+                throw new IllegalArgumentException(
+                        "tabsPerBrowser ResourceBlocking.firstPartyOnly() ile birlikte kullanılamaz");
+            }
+            if (pool != null && pool.getMaxSize() < sessions) {
+                throw new IllegalArgumentException(
+                        "Havuz boyutu (" + pool.getMaxSize() + ") oturum sayısından (" + sessions + ") küçük");
+            }
+            return new AutomationRunner(this);
+        }
+    }
+}
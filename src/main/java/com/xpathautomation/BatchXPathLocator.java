@@ -0,0 +1,111 @@
+package com.xpathautomation;
+
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * BatchXPathLocator - Bir XPath listesini tek bir executeScript çağrısıyla
+ * çözer
+ *
+ * Her XPath için ayrı bir WebDriverWait döngüsü (findElement, isDisplayed,
+ * isEnabled...) yerine tüm liste tarayıcıda {@code document.evaluate} ile
+ * tek seferde değerlendirilir. Her XPath için eşleşme sayısı, ilk eşleşmenin
+ * görünür ve etkin olup olmadığı, elementin kendisi ve değerlendirmenin
+ * yapıldığı sayfa URL'si döner.
+ *
+ * @author XPath Automation Team
+ * @version 1.0.0
+ */
+public final class BatchXPathLocator {
+
+    static final String LOCATE_SCRIPT = """
+            var xpaths = arguments[0], out = [];
+            for (var i = 0; i < xpaths.length; i++) {
+              var r = { count: 0, visible: false, enabled: false, element: null, error: null,
+                  href: location.href };
+              try {
+                var snapshot = document.evaluate(xpaths[i], document, null,
+                    XPathResult.ORDERED_NODE_SNAPSHOT_TYPE, null);
+                r.count = snapshot.snapshotLength;
+                var node = r.count > 0 ? snapshot.snapshotItem(0) : null;
+                if (node && node.nodeType === Node.ELEMENT_NODE) {
+                  var style = window.getComputedStyle(node);
+                  r.element = node;
+                  r.visible = node.getClientRects().length > 0
+                      && style.visibility !== 'hidden' && style.display !== 'none';
+                  r.enabled = !node.disabled;
+                }
+              } catch (e) {
+                r.error = String(e && e.message || e);
+              }
+              out.push(r);
+            }
+            return out;
+            """;
+
+    private BatchXPathLocator() {
+    }
+
+    /**
+     * XPath listesini tek bir tarayıcı çağrısıyla değerlendirir
+     *
+     * @param driver Aktif WebDriver (JavascriptExecutor olmalı)
+     * @param xpaths Değerlendirilecek XPath'ler
+     * @return XPath'lerle aynı sırada durumlar
+     */
+    public static List<XPathState> locate(WebDriver driver, List<String> xpaths) {
+        if (xpaths.isEmpty()) {
+            return List.of();
+        }
+        Object raw = ((JavascriptExecutor) driver).executeScript(LOCATE_SCRIPT, xpaths);
+        if (!(raw instanceof List<?> rows) || rows.size() != xpaths.size()) {
+            throw new IllegalStateException("XPath listesi tarayıcıda değerlendirilemedi: " + raw);
+        }
+
+        List<XPathState> states = new ArrayList<>(xpaths.size());
+        for (int i = 0; i < xpaths.size(); i++) {
+            Map<?, ?> row = (Map<?, ?>) rows.get(i);
+            Object count = row.get("count");
+            Object element = row.get("element");
+            Object error = row.get("error");
+            Object href = row.get("href");
+            states.add(new XPathState(
+                    xpaths.get(i),
+                    count instanceof Number ? ((Number) count).intValue() : 0,
+                    Boolean.TRUE.equals(row.get("visible")),
+                    Boolean.TRUE.equals(row.get("enabled")),
+                    element instanceof WebElement ? (WebElement) element : null,
+                    error == null ? null : error.toString(),
+                    href == null ? null : href.toString()));
+        }
+        return states;
+    }
+
+    /**
+     * Tek bir XPath'in tarayıcıdaki anlık durumu
+     *
+     * @param xpath      Değerlendirilen XPath
+     * @param matchCount Eşleşen düğüm sayısı
+     * @param visible    İlk eşleşme görünür mü
+     * @param enabled    İlk eşleşme etkin mi
+     * @param element    İlk eşleşen element, yoksa null
+     * @param error      XPath değerlendirilemediyse hata mesajı
+     * @param pageUrl    Değerlendirmenin yapıldığı sayfa URL'si, bilinmiyorsa null
+     */
+    public record XPathState(String xpath, int matchCount, boolean visible, boolean enabled,
+            WebElement element, String error, String pageUrl) {
+
+        public boolean exists() {
+            return element != null;
+        }
+
+        public boolean clickable() {
+            return element != null && visible && enabled;
+        }
+    }
+}
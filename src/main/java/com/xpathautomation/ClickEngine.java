@@ -0,0 +1,157 @@
+package com.xpathautomation;
+
+import org.openqa.selenium.ElementClickInterceptedException;
+import org.openqa.selenium.NoSuchElementException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.devtools.Command;
+import org.openqa.selenium.devtools.DevTools;
+import org.openqa.selenium.devtools.HasDevTools;
+import org.openqa.selenium.json.Json;
+import org.openqa.selenium.json.TypeToken;
+
+import java.lang.reflect.Type;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * ClickEngine - Bulunan elemente tıklamanın nasıl yapılacağını belirler
+ *
+ * Varsayılan motor W3C WebDriver {@code element.click()} çağrısını kullanır;
+ * her tıklama chromedriver üzerinden HTTP ile Chrome'a iletilir. DevTools
+ * motoru ise ChromeDriver'ın zaten açtığı DevTools bağlantısını kullanır:
+ * element {@code Runtime.evaluate} ile XPath'ten yeniden çözülür ve kutusunun
+ * ortasına {@code Input.dispatchMouseEvent} ile basılıp bırakılır.
+ *
+ * @author XPath Automation Team
+ * @version 1.0.0
+ */
+public abstract class ClickEngine {
+
+    private static final ClickEngine WEB_DRIVER = new WebDriverEngine();
+    private static final ClickEngine DEV_TOOLS = new DevToolsEngine();
+
+    /**
+     * Elementi XPath'ten çözüp görünür alana kaydırır ve kutusunun ortasını
+     * döner. Ortadaki nokta başka bir elementin altındaysa (ör. açılır pencere)
+     * WebDriver'daki gibi tıklama engellenmiş sayılır.
+     * %s: JSON olarak kaçışlanmış XPath
+     */
+    private static final String RESOLVE_EXPRESSION = """
+            (function (xpath) {
+              var node = document.evaluate(xpath, document, null,
+                  XPathResult.FIRST_ORDERED_NODE_TYPE, null).singleNodeValue;
+              if (!node || node.nodeType !== Node.ELEMENT_NODE) return { found: false };
+              node.scrollIntoView({ block: 'center', inline: 'center' });
+              var rect = node.getClientRects()[0];
+              if (!rect) return { found: true, visible: false };
+              var x = rect.left + rect.width / 2, y = rect.top + rect.height / 2;
+              var hit = document.elementFromPoint(x, y);
+              return { found: true, visible: true, x: x, y: y,
+                       covered: !!hit && hit !== node && !node.contains(hit) };
+            })(%s)
+            """;
+
+    private static final Json JSON = new Json();
+    private static final Type MAP_TYPE = new TypeToken<Map<String, Object>>() {
+    }.getType();
+
+    /**
+     * Selenium'un {@code element.click()} çağrısı (varsayılan)
+     *
+     * @return WebDriver tıklama motoru
+     */
+    public static ClickEngine webDriver() {
+        return WEB_DRIVER;
+    }
+
+    /**
+     * ChromeDriver'ın DevTools bağlantısı üzerinden doğrudan fare olayı
+     * gönderen motor. Elementi her zaman üst belgede arar; {@code switchTo().frame}
+     * ile bir iframe'e geçildiyse WebDriver motoru kullanılmalıdır.
+     *
+     * @return DevTools tıklama motoru
+     */
+    public static ClickEngine devTools() {
+        return DEV_TOOLS;
+    }
+
+    /**
+     * Elemente tıklar
+     *
+     * @param driver  Aktif WebDriver
+     * @param xpath   Elementin (normalize edilmiş) XPath'i
+     * @param element Yer bulucunun döndürdüğü element
+     */
+    abstract void click(WebDriver driver, String xpath, WebElement element);
+
+    private static final class WebDriverEngine extends ClickEngine {
+        @Override
+        void click(WebDriver driver, String xpath, WebElement element) {
+            element.click();
+        }
+
+        @Override
+        public String toString() {
+            return "webDriver";
+        }
+    }
+
+    /**
+     * Ham DevTools komutları kullanır; sürüme bağlı alan sınıfları
+     * gerekmediğinden Chrome sürümü Selenium'un tanıdığı sürümlerden yeni
+     * olsa da çalışır.
+     */
+    private static final class DevToolsEngine extends ClickEngine {
+        @Override
+        void click(WebDriver driver, String xpath, WebElement element) {
+            DevTools session = connect(driver);
+            Map<String, Object> evaluated = session.send(new Command<Map<String, Object>>("Runtime.evaluate", Map.of(
+                    "expression", RESOLVE_EXPRESSION.formatted(JSON.toJson(xpath)),
+                    "returnByValue", true), MAP_TYPE));
+            if (evaluated.get("exceptionDetails") != null) {
+                throw new WebDriverException("XPath çözülemedi: " + evaluated.get("exceptionDetails"));
+            }
+            Map<?, ?> value = evaluated.get("result") instanceof Map<?, ?> result
+                    && result.get("value") instanceof Map<?, ?> v ? v : Map.of();
+            if (!Boolean.TRUE.equals(value.get("found"))) {
+                throw new NoSuchElementException("Element bulunamadı: " + xpath);
+            }
+            if (!Boolean.TRUE.equals(value.get("visible"))) {
+                throw new WebDriverException("Elementin görünür bir kutusu yok: " + xpath);
+            }
+            if (Boolean.TRUE.equals(value.get("covered"))) {
+                throw new ElementClickInterceptedException("Elementin ortası başka bir elementin altında: " + xpath);
+            }
+
+            double x = ((Number) value.get("x")).doubleValue();
+            double y = ((Number) value.get("y")).doubleValue();
+            for (String type : List.of("mousePressed", "mouseReleased")) {
+                session.send(new Command<Void>("Input.dispatchMouseEvent", Map.of(
+                        "type", type, "x", x, "y", y, "button", "left", "clickCount", 1)));
+            }
+        }
+
+        /**
+         * Oturumun DevTools bağlantısını döner; bağlantı ChromeDriver'da
+         * saklandığından yalnızca ilk tıklamada kurulur. Sonraki tıklamalar
+         * WebDriver'a istek göndermez.
+         */
+        private static DevTools connect(WebDriver driver) {
+            if (!(driver instanceof HasDevTools hasDevTools)) {
+                throw new WebDriverException("Tarayıcı DevTools desteklemiyor: " + driver.getClass().getName());
+            }
+            DevTools devTools = hasDevTools.getDevTools();
+            if (devTools.getCdpSession() == null) {
+                devTools.createSession(driver.getWindowHandle());
+            }
+            return devTools;
+        }
+
+        @Override
+        public String toString() {
+            return "devTools";
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package com.xpathautomation;
+
+import java.time.Duration;
+
+/**
+ * ClickResult - Tek bir XPath için tıklama sonucu ve süre dağılımı
+ *
+ * @param xpath          İşlenen XPath
+ * @param success        Element bulunup tıklandıysa true
+ * @param locateTime     Elementin bulunup tıklanabilir hale gelmesine kadar geçen süre
+ * @param clickTime      Tıklama komutunun süresi
+ * @param settleTime     Tıklamadan sonra sayfanın oturması için geçen gerçek süre
+ * @param settled        Sayfa üst sınırdan önce oturduysa true
+ * @param failureReason  Başarısızlık türü, başarılıysa null
+ * @param failureMessage Başarısızlık ayrıntısı, başarılıysa null
+ * @param failureCause   Başarısızlığa yol açan istisna, yoksa null
+ *
+ * @author XPath Automation Team
+ * @version 1.0.0
+ */
+public record ClickResult(String xpath, boolean success, Duration locateTime, Duration clickTime,
+        Duration settleTime, boolean settled, FailureReason failureReason, String failureMessage,
+        Throwable failureCause) {
+
+    /**
+     * Tıklamanın neden başarısız olduğu
+     */
+    public enum FailureReason {
+        /** XPath sözdizimi geçersiz; tarayıcıya hiç gönderilmedi */
+        INVALID_XPATH,
+        /** Bekleme süresi içinde eşleşen element bulunamadı */
+        NOT_FOUND,
+        /** Element bulundu ama görünür/etkin hale gelmedi */
+        NOT_CLICKABLE,
+        /** Çalıştırma süre sınırı dolduğu için denenmedi */
+        DEADLINE_EXCEEDED,
+        /** İsteğe bağlı XPath bir kez yoklandı, element olmadığı için atlandı */
+        SKIPPED_OPTIONAL,
+        /** Tıklama sırasında beklenmeyen hata */
+        ERROR
+    }
+
+    /**
+     * @return true eğer tıklandıysa ya da isteğe bağlı olduğu için atlandıysa
+     */
+    public boolean isAcceptable() {
+        return success || failureReason == FailureReason.SKIPPED_OPTIONAL;
+    }
+
+    /**
+     * @return Bulma, tıklama ve oturma sürelerinin toplamı
+     */
+    public Duration totalTime() {
+        return locateTime.plus(clickTime).plus(settleTime);
+    }
+
+    static ClickResult clicked(String xpath, Duration locateTime, Duration clickTime, Duration settleTime,
+            boolean settled) {
+        return new ClickResult(xpath, true, locateTime, clickTime, settleTime, settled, null, null, null);
+    }
+
+    static ClickResult skipped(String xpath, Duration locateTime) {
+        return new ClickResult(xpath, false, locateTime, Duration.ZERO, Duration.ZERO, false,
+                FailureReason.SKIPPED_OPTIONAL, "İsteğe bağlı element bulunamadı", null);
+    }
+
+    static ClickResult failed(String xpath, FailureReason reason, String message) {
+        return failed(xpath, reason, message, Duration.ZERO, null);
+    }
+
+    static ClickResult failed(String xpath, FailureReason reason, String message, Duration locateTime,
+            Throwable cause) {
+        return new ClickResult(xpath, false, locateTime, Duration.ZERO, Duration.ZERO, false, reason, message, cause);
+    }
+}
@@ -0,0 +1,22 @@
+package com.xpathautomation;
+
+import org.openqa.selenium.WebDriver;
+
+/**
+ * DriverProvider - Elindeki WebDriver oturumunu dışarıya açan nesneler
+ *
+ * Test eklentileri (ör. hata anında ekran görüntüsü alan izleyiciler) oturuma
+ * yansıma ile alan taramadan bu arayüz üzerinden ulaşır.
+ *
+ * @author XPath Automation Team
+ * @version 1.0.0
+ */
+public interface DriverProvider {
+
+    /**
+     * Şu anda açık olan WebDriver'ı döner. Oturum yoksa yenisini başlatmaz.
+     *
+     * @return Açık WebDriver, henüz başlatılmadıysa ya da kapatıldıysa null
+     */
+    WebDriver currentDriver();
+}
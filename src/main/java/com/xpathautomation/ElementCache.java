@@ -0,0 +1,144 @@
+package com.xpathautomation;
+
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.WebElement;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * ElementCache - Aynı sayfada tekrar tekrar tıklanan XPath'lerin element
+ * tutamaçlarını saklar
+ *
+ * Tek sayfalı uygulamalarda aynı "ileri" düğmesine döngü içinde tıklanırken
+ * her seferinde XPath'i (ve bekleyen tüm XPath listesini) yeniden
+ * değerlendirmek yerine saklanan element tek bir ucuz script ile doğrulanır:
+ * hâlâ belgeye bağlı, görünür ve etkin mi, sayfa URL'si değişmiş mi.
+ * Sayfadan gidildiğinde ya da URL değiştiğinde önbellek tamamen boşaltılır.
+ *
+ * Tek bir otomasyona aittir; thread-safe değildir.
+ *
+ * @author XPath Automation Team
+ * @version 1.0.0
+ */
+public final class ElementCache {
+
+    /**
+     * arguments: [0] saklanan element, [1] elementlerin bulunduğu sayfa URL'si (null olabilir)
+     * Dönüş: [element hâlâ tıklanabilir mi, güncel URL]
+     */
+    private static final String VALIDATE_SCRIPT = """
+            var e = arguments[0], url = arguments[1], href = location.href;
+            if (url !== null && href !== url) return [false, href];
+            if (!e || !e.isConnected || e.disabled) return [false, href];
+            var style = window.getComputedStyle(e);
+            return [e.getClientRects().length > 0
+                && style.visibility !== 'hidden' && style.display !== 'none', href];
+            """;
+
+    private final Map<String, WebElement> elements = new HashMap<>();
+    // Saklanan elementlerin bulunduğu sayfa; element saklanırken kaydedilir,
+    // bilinmiyorsa ilk doğrulamada öğrenilir
+    private String pageUrl;
+    private long hits;
+    private long misses;
+    private long invalidations;
+
+    /**
+     * Saklanan elementi doğrulayıp döner
+     *
+     * @param driver Aktif WebDriver
+     * @param xpath  Normalize edilmiş XPath
+     * @return Hâlâ tıklanabilir element, yoksa ya da geçersizse null
+     */
+    WebElement lookup(WebDriver driver, String xpath) {
+        WebElement element = elements.get(xpath);
+        if (element == null) {
+            misses++;
+            return null;
+        }
+        Object result;
+        try {
+            result = ((JavascriptExecutor) driver).executeScript(VALIDATE_SCRIPT, element, pageUrl);
+        } catch (WebDriverException e) {
+            // Bayat element referansı: belge değişmiş
+            elements.remove(xpath);
+            misses++;
+            return null;
+        }
+        boolean valid = false;
+        if (result instanceof List<?> row && row.size() == 2) {
+            String href = row.get(1) == null ? null : row.get(1).toString();
+            if (pageUrl != null && !pageUrl.equals(href)) {
+                invalidate();
+                pageUrl = href;
+                misses++;
+                return null;
+            }
+            pageUrl = href;
+            valid = Boolean.TRUE.equals(row.get(0));
+        }
+        if (!valid) {
+            elements.remove(xpath);
+            misses++;
+            return null;
+        }
+        hits++;
+        return element;
+    }
+
+    /**
+     * Elementi bulunduğu sayfanın URL'siyle birlikte saklar; URL saklanan
+     * elementlerinkinden farklıysa önce önbellek boşaltılır
+     *
+     * @param xpath   Normalize edilmiş XPath
+     * @param element XPath ile bulunan tıklanabilir element
+     * @param url     Elementin bulunduğu sayfa URL'si; null ise mevcut sayfa bilgisi korunur
+     */
+    void put(String xpath, WebElement element, String url) {
+        if (url != null) {
+            if (pageUrl != null && !pageUrl.equals(url)) {
+                invalidate();
+            }
+            pageUrl = url;
+        }
+        elements.put(xpath, element);
+    }
+
+    /**
+     * @param xpath Artık kullanılmaması gereken elementin XPath'i
+     */
+    void evict(String xpath) {
+        elements.remove(xpath);
+    }
+
+    /**
+     * Tüm elementleri unutur (ör. yeni bir sayfaya gidilirken)
+     */
+    void invalidate() {
+        if (!elements.isEmpty()) {
+            invalidations++;
+        }
+        elements.clear();
+        pageUrl = null;
+    }
+
+    /**
+     * @return Önbellek istatistikleri
+     */
+    public Stats stats() {
+        return new Stats(hits, misses, invalidations, elements.size());
+    }
+
+    /**
+     * @param hits          Aramanın atlandığı tıklama sayısı
+     * @param misses        Elementin yeniden arandığı tıklama sayısı
+     * @param invalidations Gidiş ya da URL değişikliği nedeniyle boşaltma sayısı
+     * @param size          Şu an saklanan element sayısı
+     */
+    public record Stats(long hits, long misses, long invalidations, int size) {
+    }
+}
@@ -0,0 +1,49 @@
+package com.xpathautomation;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * JobOutcome - {@link AutomationRunner} tarafından çalıştırılan bir işin sonucu
+ *
+ * @param job          Çalıştırılan iş
+ * @param clickResults XPath sırasıyla tıklama sonuçları
+ * @param duration     Oturum alma dahil toplam süre
+ * @param error        İş yarıda kaldıysa hatası, aksi halde null
+ * @param navigateTime Sayfa yükleme süresi (sayfa açılmadıysa sıfır)
+ * @param transferredBytes Sayfa yüklenirken ağdan aktarılan bayt (ölçülemediyse sıfır)
+ *
+ * @author XPath Automation Team
+ * @version 1.0.0
+ */
+public record JobOutcome(AutomationJob job, List<ClickResult> clickResults, Duration duration, Throwable error,
+        Duration navigateTime, long transferredBytes) {
+
+    public JobOutcome {
+        clickResults = List.copyOf(clickResults);
+    }
+
+    /**
+     * Sayfa açılmadan sonlanan işler için
+     */
+    public JobOutcome(AutomationJob job, List<ClickResult> clickResults, Duration duration, Throwable error) {
+        this(job, clickResults, duration, error, Duration.ZERO, 0);
+    }
+
+    /**
+     * @return true eğer iş hatasız tamamlandı ve tüm zorunlu XPath'ler tıklandıysa
+     */
+    public boolean isSuccess() {
+        return error == null
+                && clickResults.size() == job.xpaths().size()
+                && clickResults.stream().allMatch(ClickResult::isAcceptable);
+    }
+
+    public int successfulClicks() {
+        return (int) clickResults.stream().filter(ClickResult::success).count();
+    }
+
+    public int failedClicks() {
+        return job.xpaths().size() - (int) clickResults.stream().filter(ClickResult::isAcceptable).count();
+    }
+}
@@ -0,0 +1,178 @@
+package com.xpathautomation;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * LatencyRecorder - Çalıştırmalar boyunca aşama bazında gecikme histogramı
+ * tutar
+ *
+ * Her aşama (sayfa yükleme, element bulma, tıklama, oturma, toplam) için
+ * log-doğrusal kovalardan oluşan sabit boyutlu bir histogram kullanılır:
+ * her ikinin kuvveti aralığı 16 eşit kovaya bölünür, böylece p50/p95/p99
+ * değerleri en fazla ~%6 hatayla ve kilitsiz olarak hesaplanır. Kayıt işlemi
+ * yalnızca birkaç atomik artırmadır; çok sayıda eşzamanlı iş tarafından
+ * paylaşılabilir.
+ *
+ * @author XPath Automation Team
+ * @version 1.0.0
+ */
+public class LatencyRecorder {
+
+    private static final LatencyRecorder GLOBAL = new LatencyRecorder();
+
+    private static final int SUB_BUCKET_BITS = 4;
+    private static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+    private static final int BUCKET_COUNT = SUB_BUCKET_COUNT + (63 - SUB_BUCKET_BITS) * SUB_BUCKET_COUNT;
+
+    /**
+     * Ölçülen aşamalar
+     */
+    public enum Phase {
+        NAVIGATE, LOCATE, CLICK, SETTLE, RUN
+    }
+
+    private final Map<Phase, Histogram> histograms = new EnumMap<>(Phase.class);
+
+    public LatencyRecorder() {
+        for (Phase phase : Phase.values()) {
+            histograms.put(phase, new Histogram());
+        }
+    }
+
+    /**
+     * Varsayılan olarak tüm otomasyonların paylaştığı kaydedici
+     *
+     * @return Paylaşılan kaydedici
+     */
+    public static LatencyRecorder global() {
+        return GLOBAL;
+    }
+
+    /**
+     * Bir aşama süresini kaydeder
+     *
+     * @param phase    Aşama
+     * @param duration Süre
+     */
+    public void record(Phase phase, Duration duration) {
+        histograms.get(phase).record(Math.max(0, duration.toNanos() / 1_000));
+    }
+
+    /**
+     * Bir aşamanın yüzdelik özetini döner
+     *
+     * @param phase Aşama
+     * @return Özet
+     */
+    public LatencySummary summary(Phase phase) {
+        return histograms.get(phase).summary(phase);
+    }
+
+    /**
+     * Tüm kayıtları siler
+     */
+    public void reset() {
+        for (Histogram histogram : histograms.values()) {
+            histogram.reset();
+        }
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder builder = new StringBuilder();
+        for (Phase phase : Phase.values()) {
+            LatencySummary summary = summary(phase);
+            if (summary.count() > 0) {
+                builder.append(summary).append('\n');
+            }
+        }
+        return builder.toString();
+    }
+
+    static int bucketIndex(long value) {
+        if (value < SUB_BUCKET_COUNT) {
+            return (int) value;
+        }
+        int exponent = 63 - Long.numberOfLeadingZeros(value);
+        int shift = exponent - SUB_BUCKET_BITS;
+        int subBucket = (int) (value >>> shift) - SUB_BUCKET_COUNT;
+        return SUB_BUCKET_COUNT + shift * SUB_BUCKET_COUNT + subBucket;
+    }
+
+    static long bucketUpperBound(int index) {
+        if (index < SUB_BUCKET_COUNT) {
+            return index;
+        }
+        int shift = (index - SUB_BUCKET_COUNT) / SUB_BUCKET_COUNT;
+        int subBucket = (index - SUB_BUCKET_COUNT) % SUB_BUCKET_COUNT;
+        return ((long) (SUB_BUCKET_COUNT + subBucket + 1) << shift) - 1;
+    }
+
+    private static final class Histogram {
+        private final AtomicLongArray counts = new AtomicLongArray(BUCKET_COUNT);
+        private final AtomicLong total = new AtomicLong();
+        private final AtomicLong max = new AtomicLong();
+
+        void record(long micros) {
+            counts.incrementAndGet(bucketIndex(micros));
+            total.incrementAndGet();
+            max.accumulateAndGet(micros, Math::max);
+        }
+
+        LatencySummary summary(Phase phase) {
+            long count = total.get();
+            long maxMicros = max.get();
+            return new LatencySummary(phase, count,
+                    percentile(0.50, count, maxMicros),
+                    percentile(0.95, count, maxMicros),
+                    percentile(0.99, count, maxMicros),
+                    Duration.ofNanos(maxMicros * 1_000));
+        }
+
+        private Duration percentile(double quantile, long count, long maxMicros) {
+            if (count == 0) {
+                return Duration.ZERO;
+            }
+            long rank = Math.max(1, (long) Math.ceil(quantile * count));
+            long seen = 0;
+            for (int i = 0; i < BUCKET_COUNT; i++) {
+                seen += counts.get(i);
+                if (seen >= rank) {
+                    return Duration.ofNanos(Math.min(bucketUpperBound(i), maxMicros) * 1_000);
+                }
+            }
+            return Duration.ofNanos(maxMicros * 1_000);
+        }
+
+        void reset() {
+            for (int i = 0; i < BUCKET_COUNT; i++) {
+                counts.set(i, 0);
+            }
+            total.set(0);
+            max.set(0);
+        }
+    }
+
+    /**
+     * Bir aşamanın gecikme özeti
+     *
+     * @param phase Aşama
+     * @param count Kayıt sayısı
+     * @param p50   Medyan
+     * @param p95   95. yüzdelik
+     * @param p99   99. yüzdelik
+     * @param max   En büyük değer
+     */
+    public record LatencySummary(Phase phase, long count, Duration p50, Duration p95, Duration p99, Duration max) {
+
+        @Override
+        public String toString() {
+            return String.format("%-8s n=%d p50=%dms p95=%dms p99=%dms max=%dms",
+                    phase, count, p50.toMillis(), p95.toMillis(), p99.toMillis(), max.toMillis());
+        }
+    }
+}
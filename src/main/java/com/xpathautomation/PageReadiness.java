@@ -0,0 +1,44 @@
+package com.xpathautomation;
+
+import org.openqa.selenium.PageLoadStrategy;
+
+/**
+ * PageReadiness - Sayfa açıldıktan sonra tıklamalara ne zaman başlanacağını belirler
+ *
+ * Her seçenek tarayıcı oturumunun {@link PageLoadStrategy} değeriyle birlikte
+ * gelir; {@code driver.get} tam yüklemeyi beklerse sonradan daha erken
+ * başlamanın bir faydası olmaz. Strateji oturum açılırken verildiğinden havuz
+ * kullanılıyorsa havuz da aynı stratejiyle kurulmalıdır
+ * ({@link WebDriverPool.Builder#pageLoadStrategy(PageLoadStrategy)}).
+ *
+ * @author XPath Automation Team
+ * @version 1.0.0
+ */
+public enum PageReadiness {
+
+    /** Tüm kaynaklar (resimler, iframe'ler, reklamlar) yüklenene kadar bekler (varsayılan) */
+    COMPLETE(PageLoadStrategy.NORMAL),
+
+    /** DOM ayrıştırıldığında başlar; geç yüklenen kaynakları beklemez */
+    INTERACTIVE(PageLoadStrategy.EAGER),
+
+    /**
+     * Tıklanacak ilk zorunlu XPath belgede göründüğü anda başlar. Element
+     * süre içinde görünmezse sayfa yine açılmış sayılır; eksik element
+     * tıklama sonucunda raporlanır.
+     */
+    FIRST_TARGET(PageLoadStrategy.NONE);
+
+    private final PageLoadStrategy pageLoadStrategy;
+
+    PageReadiness(PageLoadStrategy pageLoadStrategy) {
+        this.pageLoadStrategy = pageLoadStrategy;
+    }
+
+    /**
+     * @return Bu hazır olma koşuluyla birlikte kullanılması gereken oturum stratejisi
+     */
+    public PageLoadStrategy pageLoadStrategy() {
+        return pageLoadStrategy;
+    }
+}
@@ -0,0 +1,241 @@
+package com.xpathautomation;
+
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.chromium.HasCdp;
+import org.openqa.selenium.devtools.HasDevTools;
+import org.openqa.selenium.devtools.NetworkInterceptor;
+import org.openqa.selenium.remote.http.Filter;
+import org.openqa.selenium.remote.http.HttpResponse;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * ResourceBlocking - Sayfa açılırken hangi isteklerin hiç yapılmayacağını belirler
+ *
+ * Tıklamalar yalnızca DOM'a ihtiyaç duyar; resim, font, medya ya da üçüncü
+ * taraf izleyiciler sayfa yüklemesini uzatır. URL kalıpları CDP
+ * {@code Network.setBlockedURLs} ile tarayıcının içinde engellenir, bu yüzden
+ * engellenmeyen isteklere ek maliyet yoktur. {@link #firstPartyOnly()} ise
+ * kalıpla ifade edilemediği için her isteği DevTools üzerinden JVM'e sorar;
+ * engellediği kaynaklar pahalıysa kazanç bu maliyeti aşar.
+ *
+ * <pre>
+ * automation.setResourceBlocking(ResourceBlocking.noImagesFontsMedia()
+ *         .and(ResourceBlocking.urlPatterns("*googletagmanager.com*")));
+ * </pre>
+ *
+ * @author XPath Automation Team
+ * @version 1.0.0
+ */
+public final class ResourceBlocking {
+
+    private static final ResourceBlocking NONE = new ResourceBlocking("none", List.of(), false);
+
+    private static final List<String> IMAGE_FONT_MEDIA_EXTENSIONS = List.of(
+            "png", "jpg", "jpeg", "gif", "webp", "avif", "svg", "ico", "bmp",
+            "woff", "woff2", "ttf", "otf", "eot",
+            "mp4", "webm", "ogg", "mp3", "wav", "m4a", "mov");
+
+    private final String name;
+    private final List<String> blockedPatterns;
+    private final boolean firstPartyOnly;
+
+    private ResourceBlocking(String name, List<String> blockedPatterns, boolean firstPartyOnly) {
+        this.name = name;
+        this.blockedPatterns = List.copyOf(blockedPatterns);
+        this.firstPartyOnly = firstPartyOnly;
+    }
+
+    /**
+     * Hiçbir isteği engellemez (varsayılan)
+     *
+     * @return Engellemesiz profil
+     */
+    public static ResourceBlocking none() {
+        return NONE;
+    }
+
+    /**
+     * Resim, font ve ses/video dosyalarını uzantılarına göre engeller
+     *
+     * @return Resim/font/medya engelleyen profil
+     */
+    public static ResourceBlocking noImagesFontsMedia() {
+        List<String> patterns = new ArrayList<>(IMAGE_FONT_MEDIA_EXTENSIONS.size() * 2);
+        for (String extension : IMAGE_FONT_MEDIA_EXTENSIONS) {
+            patterns.add("*." + extension);
+            patterns.add("*." + extension + "?*");
+        }
+        return new ResourceBlocking("noImagesFontsMedia", patterns, false);
+    }
+
+    /**
+     * Açılan sayfanın sitesi (ana alan adı ve alt alan adları) dışındaki tüm
+     * istekleri engeller. Site, host'un son iki etiketiyle yaklaşık olarak
+     * belirlenir (ör. {@code www.example.com} için {@code example.com}).
+     *
+     * @return Yalnızca birinci taraf isteklere izin veren profil
+     */
+    public static ResourceBlocking firstPartyOnly() {
+        return new ResourceBlocking("firstPartyOnly", List.of(), true);
+    }
+
+    /**
+     * Verilen URL kalıplarını engeller. {@code *} herhangi bir karakter dizisiyle
+     * eşleşir, ör. {@code "*doubleclick.net*"} ya da {@code "*.css"}.
+     *
+     * @param patterns Engellenecek URL kalıpları
+     * @return Özel kalıplı profil
+     */
+    public static ResourceBlocking urlPatterns(String... patterns) {
+        return new ResourceBlocking("urlPatterns", List.of(patterns), false);
+    }
+
+    /**
+     * İki profili birleştirir: herhangi birinin engellediği istek engellenir
+     *
+     * @param other Eklenecek profil
+     * @return Birleşik profil
+     */
+    public ResourceBlocking and(ResourceBlocking other) {
+        if (this.isNone()) {
+            return other;
+        }
+        if (other.isNone()) {
+            return this;
+        }
+        Set<String> patterns = new LinkedHashSet<>(blockedPatterns);
+        patterns.addAll(other.blockedPatterns);
+        return new ResourceBlocking(name + "+" + other.name, new ArrayList<>(patterns),
+                firstPartyOnly || other.firstPartyOnly);
+    }
+
+    /**
+     * @return CDP'ye verilen engellenecek URL kalıpları
+     */
+    public List<String> getBlockedPatterns() {
+        return blockedPatterns;
+    }
+
+    public boolean isFirstPartyOnly() {
+        return firstPartyOnly;
+    }
+
+    public boolean isNone() {
+        return blockedPatterns.isEmpty() && !firstPartyOnly;
+    }
+
+    /**
+     * Profili oturuma uygular. Tarayıcı CDP desteklemiyorsa uyarı yazılır ve
+     * sayfa engellemesiz açılır.
+     *
+     * @param driver  Aktif WebDriver
+     * @param pageUrl Açılacak sayfa (birinci taraf sitesini belirler)
+     * @return Engellemeyi kaldıran tutamaç; oturum başka işe verilmeden kapatılmalı
+     */
+    Applied apply(WebDriver driver, String pageUrl) {
+        if (isNone()) {
+            return Applied.NOTHING;
+        }
+        HasCdp cdp = null;
+        if (!blockedPatterns.isEmpty()) {
+            if (driver instanceof HasCdp hasCdp) {
+                cdp = hasCdp;
+                cdp.executeCdpCommand("Network.enable", Map.of());
+                cdp.executeCdpCommand("Network.setBlockedURLs", Map.of("urls", blockedPatterns));
+            } else {
+                System.err.println("Tarayıcı CDP desteklemiyor, URL kalıpları engellenmiyor (" + this + ")");
+            }
+        }
+        NetworkInterceptor interceptor = null;
+        if (firstPartyOnly) {
+            if (driver instanceof HasDevTools) {
+                try {
+                    interceptor = new NetworkInterceptor(driver, firstPartyFilter(pageUrl));
+                } catch (RuntimeException e) {
+                    System.err.println("Üçüncü taraf istek engeli kurulamadı: " + e.getMessage());
+                }
+            } else {
+                System.err.println("Tarayıcı DevTools desteklemiyor, üçüncü taraf istekler engellenmiyor");
+            }
+        }
+
+        HasCdp appliedCdp = cdp;
+        NetworkInterceptor appliedInterceptor = interceptor;
+        return () -> {
+            if (appliedInterceptor != null) {
+                appliedInterceptor.close();
+            }
+            if (appliedCdp != null) {
+                appliedCdp.executeCdpCommand("Network.setBlockedURLs", Map.of("urls", List.of()));
+                // Havuzdaki oturum sonraki işlere ağ olaylarıyla verilmesin
+                appliedCdp.executeCdpCommand("Network.disable", Map.of());
+            }
+        };
+    }
+
+    private static Filter firstPartyFilter(String pageUrl) {
+        String site = siteOf(hostOf(pageUrl));
+        return next -> request -> isFirstParty(site, request.getUri())
+                ? next.execute(request)
+                : new HttpResponse().setStatus(403);
+    }
+
+    /**
+     * @param site       {@link #siteOf(String)} ile bulunan site
+     * @param requestUrl İstek URL'si
+     * @return true eğer istek sitenin kendisine ya da bir alt alan adına gidiyorsa
+     */
+    static boolean isFirstParty(String site, String requestUrl) {
+        String host = hostOf(requestUrl);
+        if (host == null || site == null) {
+            // data:, blob: gibi host'suz istekler sayfanın kendisinden gelir
+            return true;
+        }
+        return host.equals(site) || host.endsWith("." + site);
+    }
+
+    /**
+     * @return Host'un son iki etiketi; IP adresleri ve tek etiketli host'lar olduğu gibi
+     */
+    static String siteOf(String host) {
+        if (host == null || host.indexOf('.') < 0 || host.startsWith("[")
+                || host.chars().allMatch(c -> c == '.' || Character.isDigit(c))) {
+            return host;
+        }
+        int last = host.lastIndexOf('.');
+        int previous = host.lastIndexOf('.', last - 1);
+        return previous < 0 ? host : host.substring(previous + 1);
+    }
+
+    private static String hostOf(String url) {
+        try {
+            String host = URI.create(url).getHost();
+            return host == null ? null : host.toLowerCase(Locale.ROOT);
+        } catch (IllegalArgumentException | NullPointerException e) {
+            return null;
+        }
+    }
+
+    @Override
+    public String toString() {
+        return name;
+    }
+
+    /**
+     * Oturuma uygulanmış bir engelleme; kapatıldığında oturum engellemesiz hale gelir
+     */
+    interface Applied extends AutoCloseable {
+        Applied NOTHING = () -> {
+        };
+
+        @Override
+        void close();
+    }
+}
@@ -0,0 +1,61 @@
+package com.xpathautomation;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * RunReport - Tek bir {@link XPathClickAutomation#run()} çalıştırmasının raporu
+ *
+ * @param url          Gidilen URL
+ * @param navigateTime Sayfa yükleme süresi (sayfa açılmadıysa sıfır)
+ * @param transferredBytes Sayfa yüklenirken ağdan aktarılan bayt (ölçülemediyse sıfır)
+ * @param totalTime    Çalıştırmanın toplam süresi
+ * @param clicks       XPath sırasıyla tıklama sonuçları
+ * @param error        Çalıştırma yarıda kaldıysa hatası, aksi halde null
+ *
+ * @author XPath Automation Team
+ * @version 1.0.0
+ */
+public record RunReport(String url, Duration navigateTime, long transferredBytes, Duration totalTime, List<ClickResult> clicks,
+        Throwable error) {
+
+    public RunReport {
+        clicks = List.copyOf(clicks);
+    }
+
+    public int successCount() {
+        return (int) clicks.stream().filter(ClickResult::success).count();
+    }
+
+    public int skippedCount() {
+        return (int) clicks.stream()
+                .filter(c -> c.failureReason() == ClickResult.FailureReason.SKIPPED_OPTIONAL)
+                .count();
+    }
+
+    public int failureCount() {
+        return (int) clicks.stream().filter(c -> !c.isAcceptable()).count();
+    }
+
+    /**
+     * @return true eğer çalıştırma hatasız tamamlandı ve tüm zorunlu XPath'ler tıklandıysa
+     */
+    public boolean isSuccess() {
+        return error == null && clicks.stream().allMatch(ClickResult::isAcceptable);
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder builder = new StringBuilder();
+        builder.append(String.format("%s navigate=%dms transferred=%dKB total=%dms başarılı=%d başarısız=%d atlanan=%d%n",
+                url, navigateTime.toMillis(), transferredBytes / 1024, totalTime.toMillis(), successCount(), failureCount(), skippedCount()));
+        for (ClickResult click : clicks) {
+            builder.append(String.format("  %-6s locate=%4dms click=%4dms settle=%4dms  %s%s%n",
+                    click.success() ? "OK" : click.failureReason(),
+                    click.locateTime().toMillis(), click.clickTime().toMillis(), click.settleTime().toMillis(),
+                    click.xpath(),
+                    click.failureMessage() == null || click.success() ? "" : " (" + click.failureMessage() + ")"));
+        }
+        return builder.toString();
+    }
+}
@@ -0,0 +1,365 @@
+package com.xpathautomation;
+
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.ScriptTimeoutException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.WebElement;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * SettleStrategy - Tıklamadan sonra sayfanın "oturduğuna" nasıl karar
+ * verileceğini belirler
+ *
+ * Sabit bir {@code Thread.sleep} yerine sayfanın gerçekten sakinleşmesi
+ * beklenir: DOM değişikliklerinin durması (MutationObserver), ağ isteklerinin
+ * bitmesi, özel bir JavaScript koşulu ya da eski davranış olan sabit gecikme.
+ * Her strateji verilen üst sınırı ({@code maxWait}) aşmaz.
+ *
+ * @author XPath Automation Team
+ * @version 1.0.0
+ */
+public abstract class SettleStrategy {
+
+    private static final Duration DEFAULT_QUIET_PERIOD = Duration.ofMillis(100);
+    private static final long POLL_INTERVAL_MS = 25;
+
+    /**
+     * Sayfaya gözlemci kuran script. Tıklamadan önce çalıştırılır ki tıklamanın
+     * anında tetiklediği DOM değişiklikleri ve istekler de sayılsın.
+     */
+    private static final String INSTALL_TRACKER_SCRIPT = """
+            if (!window.__xpcaSettle) {
+              var s = window.__xpcaSettle = { inflight: 0, lastActivity: performance.now() };
+              var touch = function () { s.lastActivity = performance.now(); };
+              new MutationObserver(touch).observe(document,
+                  { subtree: true, childList: true, attributes: true, characterData: true });
+              if (window.fetch) {
+                var originalFetch = window.fetch;
+                window.fetch = function () {
+                  s.inflight++; touch();
+                  var done = function () { s.inflight--; touch(); };
+                  var p = originalFetch.apply(this, arguments);
+                  p.then(done, done);
+                  return p;
+                };
+              }
+              var originalSend = XMLHttpRequest.prototype.send;
+              XMLHttpRequest.prototype.send = function () {
+                s.inflight++; touch();
+                this.addEventListener('loadend', function () { s.inflight--; touch(); });
+                return originalSend.apply(this, arguments);
+              };
+            }
+            window.__xpcaSettle.lastActivity = performance.now();
+            """;
+
+    /**
+     * Sayfa içinde bekleyip sonucu tek seferde dönen asenkron script.
+     * arguments: [0] koşul fonksiyonunun gövdesi, [1] sessizlik süresi (ms),
+     * [2] üst sınır (ms), [3] kontrol aralığı (ms), [4] sıradaki XPath (null
+     * olabilir). Sıradaki XPath'in elementi görünür ve etkin hale gelirse
+     * sayfanın oturması beklenmeden element döner. Koşul derlenemez ya da
+     * tanımsız bir isme başvurursa {error: ...} döner; böyle bir koşul hiçbir
+     * zaman doğru olamayacağından beklenmez.
+     */
+    private static final String AWAIT_SCRIPT = """
+            var body = arguments[0], quietMs = arguments[1], maxMs = arguments[2], pollMs = arguments[3];
+            var nextXPath = arguments[4];
+            var callback = arguments[arguments.length - 1];
+            var condition;
+            try { condition = new Function('s', 'quietMs', body); }
+            catch (e) { callback({ error: e.name + ': ' + e.message }); return; }
+            var start = performance.now();
+            var nextTarget = function () {
+              if (nextXPath == null) return null;
+              try {
+                var node = document.evaluate(nextXPath, document, null,
+                    XPathResult.FIRST_ORDERED_NODE_TYPE, null).singleNodeValue;
+                if (!node || node.nodeType !== Node.ELEMENT_NODE || node.disabled) return null;
+                var style = window.getComputedStyle(node);
+                return node.getClientRects().length > 0
+                    && style.visibility !== 'hidden' && style.display !== 'none' ? node : null;
+              } catch (e) {
+                return null;
+              }
+            };
+            (function check() {
+              var ok = false;
+              try { ok = !!condition(window.__xpcaSettle, quietMs); }
+              catch (e) {
+                if (e instanceof SyntaxError || e instanceof ReferenceError) {
+                  callback({ error: e.name + ': ' + e.message }); return;
+                }
+              }
+              if (ok) { callback(true); return; }
+              var next = nextTarget();
+              if (next) { callback(next); return; }
+              if (performance.now() - start >= maxMs) { callback(false); return; }
+              setTimeout(check, pollMs);
+            })();
+            """;
+
+    /**
+     * Tıklamanın başlattığı sayfa geçişinin async script'i yarıda kestiğini
+     * gösteren ChromeDriver hata mesajları (küçük harfle)
+     */
+    private static final List<String> NAVIGATION_ERRORS = List.of(
+            "document unloaded",
+            "execution context was destroyed",
+            "inspected target navigated",
+            "cannot find context with specified id",
+            "target frame detached");
+
+    // Gözlemci yoksa (ör. kurulamadıysa) belgenin yüklenmesi beklenir
+    private static final String DOM_QUIET_CONDITION =
+            "return s ? performance.now() - s.lastActivity >= quietMs : document.readyState === 'complete';";
+
+    private static final String NETWORK_IDLE_CONDITION =
+            "return document.readyState === 'complete'"
+                    + " && (!s || (s.inflight <= 0 && performance.now() - s.lastActivity >= quietMs));";
+
+    /**
+     * Eski davranış: tıklamadan sonra sabit süre bekler
+     *
+     * @param delay Beklenecek süre
+     * @return Sabit gecikme stratejisi
+     */
+    public static SettleStrategy fixedDelay(Duration delay) {
+        return new FixedDelay(delay);
+    }
+
+    /**
+     * DOM değişiklikleri (MutationObserver) {@code quietPeriod} boyunca
+     * durduğunda sayfayı oturmuş kabul eder
+     *
+     * @param quietPeriod Değişiklik olmaması gereken süre
+     * @return DOM sessizliği stratejisi
+     */
+    public static SettleStrategy domQuiescence(Duration quietPeriod) {
+        return new InPage("domQuiescence", DOM_QUIET_CONDITION, quietPeriod, true);
+    }
+
+    /**
+     * {@link #domQuiescence(Duration)} varsayılan 100 ms sessizlik süresiyle
+     *
+     * @return DOM sessizliği stratejisi
+     */
+    public static SettleStrategy domQuiescence() {
+        return domQuiescence(DEFAULT_QUIET_PERIOD);
+    }
+
+    /**
+     * Bekleyen fetch/XHR isteği kalmadığında ve {@code quietPeriod} boyunca
+     * yeni istek başlamadığında sayfayı oturmuş kabul eder
+     *
+     * @param quietPeriod İstek olmaması gereken süre
+     * @return Ağ boşta stratejisi
+     */
+    public static SettleStrategy networkIdle(Duration quietPeriod) {
+        return new InPage("networkIdle", NETWORK_IDLE_CONDITION, quietPeriod, true);
+    }
+
+    /**
+     * {@link #networkIdle(Duration)} varsayılan 100 ms sessizlik süresiyle
+     *
+     * @return Ağ boşta stratejisi
+     */
+    public static SettleStrategy networkIdle() {
+        return networkIdle(DEFAULT_QUIET_PERIOD);
+    }
+
+    /**
+     * Verilen JavaScript ifadesi true döndüğünde sayfayı oturmuş kabul eder.
+     * Örnek: {@code "return !document.querySelector('.spinner')"}
+     *
+     * @param functionBody true/false dönen fonksiyon gövdesi
+     * @return Özel koşul stratejisi
+     */
+    public static SettleStrategy jsPredicate(String functionBody) {
+        return new InPage("jsPredicate", functionBody, Duration.ZERO, false);
+    }
+
+    /**
+     * Tıklamadan hemen önce çağrılır; sayfaya gözlemci kurmak gerekiyorsa burada kurulur.
+     *
+     * @param driver Aktif WebDriver
+     */
+    void beforeClick(WebDriver driver) {
+    }
+
+    /**
+     * Tıklamadan sonra sayfa oturana ya da {@code maxWait} dolana kadar bekler
+     *
+     * @param driver  Aktif WebDriver
+     * @param maxWait Üst sınır
+     * @return true eğer sayfa üst sınırdan önce oturduysa
+     * @throws InterruptedException Bekleme kesilirse
+     */
+    boolean await(WebDriver driver, Duration maxWait) throws InterruptedException {
+        return awaitOrNext(driver, maxWait, null, Duration.ofMillis(POLL_INTERVAL_MS)).settled();
+    }
+
+    /**
+     * Sayfa oturana, sıradaki XPath'in elementi tıklanabilir hale gelene ya da
+     * {@code maxWait} dolana kadar bekler (boru hattı modu). Dönen element
+     * tıklanmadan önce bayatlamış olabilir; çağıran bu durumda elementi
+     * yeniden aramalıdır.
+     *
+     * @param driver       Aktif WebDriver
+     * @param maxWait      Üst sınır
+     * @param nextXPath    Sıradaki XPath, null ise yalnızca oturma beklenir
+     * @param pollInterval Sıradaki XPath'in tarayıcı dışından kontrol aralığı
+     * @return Oturma sonucu ve hazırsa sıradaki element
+     * @throws InterruptedException Bekleme kesilirse
+     */
+    abstract Settled awaitOrNext(WebDriver driver, Duration maxWait, String nextXPath, Duration pollInterval)
+            throws InterruptedException;
+
+    /**
+     * @param settled     true eğer sayfa oturduysa ya da sıradaki element hazırsa
+     * @param nextElement Oturma beklenmeden tıklanabilecek sıradaki element, yoksa null
+     */
+    record Settled(boolean settled, WebElement nextElement) {
+    }
+
+    private static final class FixedDelay extends SettleStrategy {
+        private final Duration delay;
+
+        FixedDelay(Duration delay) {
+            this.delay = delay;
+        }
+
+        @Override
+        Settled awaitOrNext(WebDriver driver, Duration maxWait, String nextXPath, Duration pollInterval)
+                throws InterruptedException {
+            long sleepMs = Math.min(delay.toMillis(), maxWait.toMillis());
+            boolean completed = sleepMs == delay.toMillis();
+            if (nextXPath == null) {
+                if (sleepMs > 0) {
+                    Thread.sleep(sleepMs);
+                }
+                return new Settled(completed, null);
+            }
+
+            // Gecikme boyunca sıradaki element yoklanır; hazırsa beklemenin kalanı atlanır
+            long deadline = System.nanoTime() + sleepMs * 1_000_000;
+            while (true) {
+                WebElement next = clickableOrNull(driver, nextXPath);
+                if (next != null) {
+                    return new Settled(true, next);
+                }
+                long remainingNanos = deadline - System.nanoTime();
+                if (remainingNanos <= 0) {
+                    return new Settled(completed, null);
+                }
+                long remainingMs = (remainingNanos + 999_999) / 1_000_000;
+                Thread.sleep(Math.min(Math.max(1, pollInterval.toMillis()), remainingMs));
+            }
+        }
+
+        private static WebElement clickableOrNull(WebDriver driver, String xpath) {
+            try {
+                BatchXPathLocator.XPathState state = BatchXPathLocator.locate(driver, List.of(xpath)).get(0);
+                return state.clickable() ? state.element() : null;
+            } catch (RuntimeException e) {
+                // Tıklama yeni sayfaya geçiş başlattıysa belge henüz hazır değildir
+                return null;
+            }
+        }
+
+        @Override
+        public String toString() {
+            return "fixedDelay(" + delay.toMillis() + "ms)";
+        }
+    }
+
+    /**
+     * Bekleme döngüsünü sayfa içinde çalıştıran stratejiler; böylece her kontrol
+     * için ayrı bir WebDriver isteği yapılmaz.
+     */
+    private static final class InPage extends SettleStrategy {
+        private final String name;
+        private final String condition;
+        private final Duration quietPeriod;
+        private final boolean needsTracker;
+
+        InPage(String name, String condition, Duration quietPeriod, boolean needsTracker) {
+            this.name = name;
+            this.condition = condition;
+            this.quietPeriod = quietPeriod;
+            this.needsTracker = needsTracker;
+        }
+
+        @Override
+        void beforeClick(WebDriver driver) {
+            if (needsTracker && driver instanceof JavascriptExecutor) {
+                try {
+                    ((JavascriptExecutor) driver).executeScript(INSTALL_TRACKER_SCRIPT);
+                } catch (WebDriverException e) {
+                    // Gözlemci kurulamazsa koşul yalnızca sayfa durumuna göre değerlendirilir
+                }
+            }
+        }
+
+        @Override
+        Settled awaitOrNext(WebDriver driver, Duration maxWait, String nextXPath, Duration pollInterval)
+                throws InterruptedException {
+            if (!(driver instanceof JavascriptExecutor)) {
+                return fixedDelay(maxWait).awaitOrNext(driver, maxWait, nextXPath, pollInterval);
+            }
+            JavascriptExecutor js = (JavascriptExecutor) driver;
+            long deadline = System.nanoTime() + maxWait.toNanos();
+
+            // Tıklama yeni bir sayfaya geçiş başlattıysa script yarıda kesilebilir;
+            // bu durumda yeni belge üzerinde kalan süreyle tekrar denenir.
+            while (true) {
+                long remainingMs = (deadline - System.nanoTime()) / 1_000_000;
+                if (remainingMs <= 0) {
+                    return new Settled(false, null);
+                }
+                try {
+                    Object settled = js.executeAsyncScript(AWAIT_SCRIPT,
+                            condition, quietPeriod.toMillis(), remainingMs, POLL_INTERVAL_MS, nextXPath);
+                    if (settled instanceof WebElement next) {
+                        return new Settled(true, next);
+                    }
+                    if (settled instanceof Map<?, ?> failure && failure.get("error") != null) {
+                        throw new IllegalArgumentException(
+                                "Oturma koşulu çalıştırılamadı (" + this + "): " + failure.get("error"));
+                    }
+                    return new Settled(Boolean.TRUE.equals(settled), null);
+                } catch (WebDriverException e) {
+                    if (!interruptedByNavigation(e)) {
+                        throw e;
+                    }
+                    Thread.sleep(Math.min(POLL_INTERVAL_MS, Math.max(1, remainingMs)));
+                    // Yeni belgede gözlemci yoktur; sessizlik yeni belge için yeniden ölçülür
+                    beforeClick(driver);
+                }
+            }
+        }
+
+        /**
+         * Yalnızca sayfa geçişi ya da script zaman aşımı yeniden denenir;
+         * diğer hatalar (ör. sözdizimi hatası) her denemede tekrarlanacağından
+         * hemen bildirilir.
+         */
+        private static boolean interruptedByNavigation(WebDriverException e) {
+            if (e instanceof ScriptTimeoutException) {
+                return true;
+            }
+            String message = e.getMessage() == null ? "" : e.getMessage().toLowerCase(Locale.ROOT);
+            return NAVIGATION_ERRORS.stream().anyMatch(message::contains);
+        }
+
+        @Override
+        public String toString() {
+            return name + (quietPeriod.isZero() ? "" : "(" + quietPeriod.toMillis() + "ms)");
+        }
+    }
+}
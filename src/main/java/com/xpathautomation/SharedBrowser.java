@@ -0,0 +1,565 @@
+package com.xpathautomation;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.JavascriptException;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.NoSuchWindowException;
+import org.openqa.selenium.OutputType;
+import org.openqa.selenium.PageLoadStrategy;
+import org.openqa.selenium.TakesScreenshot;
+import org.openqa.selenium.TimeoutException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.WrapsElement;
+import org.openqa.selenium.chromium.HasCdp;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * SharedBrowser - Birden çok işi tek bir Chrome sürecinde, her birini kendi
+ * sekmesinde çalıştırır
+ *
+ * Her iş kendi Chrome sürecini açtığında iş başına yüzlerce MB bellek
+ * harcanır. SharedBrowser tek bir ChromeDriver oturumu açar ve
+ * {@link #openTab()} ile her iş için ayrı bir tarayıcı bağlamında (CDP
+ * {@code Target.createBrowserContext}) yeni bir sekme oluşturur; böylece
+ * çerezler ve depolama sekmeler arasında paylaşılmaz.
+ *
+ * WebDriver oturumunun tek bir geçerli penceresi olduğundan sekmeye yapılan
+ * her çağrı tarayıcı kilidi alınarak ve gerekirse önce o sekmeye geçilerek
+ * yapılır. Sekmeden dönen elementler ve seçenek nesneleri de sekmelerine
+ * bağlıdır. Sayfa yükleme zaman aşımı her sekmenin kendisinindir; sekmeden
+ * değiştirildiğinde oturumun zaman aşımı değişmez. Kilit yalnızca tek bir
+ * komut süresince tutulur: Chrome {@link PageLoadStrategy#NONE} ile açılır ve
+ * sekmenin {@code get} çağrısı sayfanın yüklenmesini kilidi bırakarak yoklar;
+ * sekmeler birbirinin sayfa yüklemesini beklemez.
+ *
+ * Sınırlamalar: sekme içinde iframe'e geçilemez (çerçeve odağı oturumun
+ * tamamı için geçerlidir), {@link ClickEngine#devTools()} ve üçüncü taraf
+ * istek engeli desteklenmez, async script ile bekleyen oturma stratejileri
+ * (ör. {@link SettleStrategy#networkIdle()}) bekledikleri sürece tarayıcıyı
+ * diğer sekmelere kapatır; paylaşılan tarayıcıda
+ * {@link SettleStrategy#fixedDelay(Duration)} tercih edilmelidir.
+ *
+ * <pre>
+ * try (SharedBrowser browser = new SharedBrowser(true, PageLoadStrategy.NORMAL)) {
+ *     WebDriver tab = browser.openTab();
+ *     ...
+ *     tab.quit(); // yalnızca sekmeyi ve bağlamını kapatır
+ * }
+ * </pre>
+ *
+ * @author XPath Automation Team
+ * @version 1.0.0
+ */
+public final class SharedBrowser implements AutoCloseable {
+
+    private static final String MARK_LEAVING_SCRIPT = "window.__xpcaTabLeaving = true;";
+
+    /**
+     * arguments: [0] true ise DOM ayrıştırması yeterli
+     * Eski belge işaretli olduğundan yeni belge gelene kadar false döner.
+     */
+    private static final String LOADED_SCRIPT = """
+            return !window.__xpcaTabLeaving && (document.readyState === 'complete'
+                || (arguments[0] && document.readyState === 'interactive'));
+            """;
+
+    private static final Duration LOAD_POLL_INTERVAL = Duration.ofMillis(50);
+
+    private final Supplier<WebDriver> driverFactory;
+    private final PageLoadStrategy pageLoadStrategy;
+    // Adil kilit: komut bekleyen sekmeler sırayla çalışır
+    private final ReentrantLock lock = new ReentrantLock(true);
+    // Açık ve açılmakta olan sekmeler
+    private final AtomicInteger openTabs = new AtomicInteger();
+    private WebDriver driver;
+    private String homeHandle;
+    private String currentHandle;
+    private boolean closed;
+
+    /**
+     * @param headless         true ise Chrome headless başlatılır
+     * @param pageLoadStrategy Sekmelerin {@code get} çağrısının neyi bekleyeceği
+     *                         (bkz. {@link PageReadiness})
+     */
+    public SharedBrowser(boolean headless, PageLoadStrategy pageLoadStrategy) {
+        this(() -> XPathClickAutomation.createChromeDriver(headless, PageLoadStrategy.NONE), pageLoadStrategy);
+    }
+
+    /**
+     * @param driverFactory    Paylaşılacak oturumu üreten fabrika; oturum {@link HasCdp}
+     *                         desteklemeli ve sayfa yükleme stratejisi NONE olmalı
+     * @param pageLoadStrategy Sekmelerin {@code get} çağrısının neyi bekleyeceği
+     */
+    SharedBrowser(Supplier<WebDriver> driverFactory, PageLoadStrategy pageLoadStrategy) {
+        this.driverFactory = driverFactory;
+        this.pageLoadStrategy = pageLoadStrategy;
+    }
+
+    /**
+     * Kendi tarayıcı bağlamında yeni bir sekme açar. Chrome ilk sekmede başlatılır.
+     * Dönen sürücünün {@code quit()} ya da {@code close()} çağrısı yalnızca
+     * sekmeyi ve bağlamını kapatır.
+     *
+     * @return Yalnızca bu sekmeyi yöneten WebDriver
+     */
+    public WebDriver openTab() {
+        reserveTab();
+        return openReservedTab();
+    }
+
+    /**
+     * @return Açık (ve açılmakta olan) sekme sayısı
+     */
+    public int getOpenTabs() {
+        return openTabs.get();
+    }
+
+    /**
+     * Sekme sayısını sekme açılmadan önce artırır; böylece en az yüklü
+     * tarayıcıyı seçen çağıranlar Chrome açılışını beklerken aynı tarayıcıyı seçmez
+     */
+    void reserveTab() {
+        openTabs.incrementAndGet();
+    }
+
+    /**
+     * {@link #reserveTab()} ile ayrılan yere sekmeyi açar
+     */
+    WebDriver openReservedTab() {
+        lock.lock();
+        try {
+            if (closed) {
+                throw new IllegalStateException("SharedBrowser kapatılmış");
+            }
+            HasCdp cdp = start();
+            // Target komutları her zaman ana sekmeden gönderilir
+            switchTo(homeHandle);
+            Object contextId = cdp.executeCdpCommand("Target.createBrowserContext", Map.of())
+                    .get("browserContextId");
+            Object targetId;
+            try {
+                targetId = cdp.executeCdpCommand("Target.createTarget", Map.of(
+                        "url", "about:blank", "browserContextId", contextId)).get("targetId");
+            } catch (RuntimeException e) {
+                disposeContext(cdp, contextId.toString());
+                throw e;
+            }
+            // ChromeDriver pencere tanıtıcısı olarak hedef kimliğini kullanır
+            return new Tab(targetId.toString(), contextId.toString());
+        } catch (RuntimeException e) {
+            openTabs.decrementAndGet();
+            throw e;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Tarayıcıyı ve tüm sekmelerini kapatır
+     */
+    @Override
+    public void close() {
+        lock.lock();
+        try {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            if (driver != null) {
+                try {
+                    driver.quit();
+                } catch (Exception e) {
+                    System.err.println("Paylaşılan tarayıcı kapatılırken hata oluştu: " + e.getMessage());
+                }
+                driver = null;
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private HasCdp start() {
+        if (driver == null) {
+            WebDriver started = driverFactory.get();
+            if (!(started instanceof HasCdp)) {
+                started.quit();
+                throw new WebDriverException("Sekme başına tarayıcı bağlamı için CDP desteği gerekli: "
+                        + started.getClass().getName());
+            }
+            driver = started;
+            homeHandle = driver.getWindowHandle();
+            currentHandle = homeHandle;
+        }
+        return (HasCdp) driver;
+    }
+
+    private void switchTo(String handle) {
+        if (!handle.equals(currentHandle)) {
+            driver.switchTo().window(handle);
+            currentHandle = handle;
+        }
+    }
+
+    private void closeTab(Tab tab) {
+        lock.lock();
+        try {
+            if (tab.closed) {
+                return;
+            }
+            tab.closed = true;
+            openTabs.decrementAndGet();
+            if (closed || driver == null) {
+                return;
+            }
+            switchTo(homeHandle);
+            // Bağlam kapatılınca içindeki sekme de kapanır
+            disposeContext((HasCdp) driver, tab.contextId);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private static void disposeContext(HasCdp cdp, String contextId) {
+        try {
+            cdp.executeCdpCommand("Target.disposeBrowserContext", Map.of("browserContextId", contextId));
+        } catch (RuntimeException e) {
+            System.err.println("Tarayıcı bağlamı kapatılamadı (" + contextId + "): " + e.getMessage());
+        }
+    }
+
+    /**
+     * Komutu tarayıcı kilidi altında, sekme geçerli pencere yapılarak çalıştırır
+     */
+    private <T> T onTab(Tab tab, Supplier<T> command) {
+        lock.lock();
+        try {
+            if (tab.closed || closed) {
+                throw new NoSuchWindowException("Sekme kapatılmış: " + tab.handle);
+            }
+            switchTo(tab.handle);
+            return command.get();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Paylaşılan tarayıcıdaki tek bir sekme
+     */
+    private final class Tab implements WebDriver, JavascriptExecutor, TakesScreenshot, HasCdp {
+        private final String handle;
+        private final String contextId;
+        private boolean closed;
+        // null ise oturumun sayfa yükleme zaman aşımı kullanılır
+        private volatile Duration pageLoadTimeout;
+
+        Tab(String handle, String contextId) {
+            this.handle = handle;
+            this.contextId = contextId;
+        }
+
+        /**
+         * Sayfaya gider ve sekmenin sayfa yükleme stratejisine göre kilidi
+         * bırakarak yüklenmesini bekler
+         */
+        @Override
+        public void get(String url) {
+            Duration timeout = onTab(this, () -> {
+                try {
+                    ((JavascriptExecutor) driver).executeScript(MARK_LEAVING_SCRIPT);
+                } catch (WebDriverException e) {
+                    // Açık belge yoksa işaretlenecek bir şey de yoktur
+                }
+                driver.get(url);
+                return pageLoadTimeout != null ? pageLoadTimeout : driver.manage().timeouts().getPageLoadTimeout();
+            });
+            if (pageLoadStrategy == PageLoadStrategy.NONE) {
+                return;
+            }
+            boolean domOnly = pageLoadStrategy == PageLoadStrategy.EAGER;
+            long deadline = System.nanoTime() + timeout.toNanos();
+            while (!isLoaded(domOnly)) {
+                if (System.nanoTime() - deadline > 0) {
+                    throw new TimeoutException("Sayfa " + timeout.toSeconds() + " saniye içinde yüklenmedi: " + url);
+                }
+                try {
+                    Thread.sleep(LOAD_POLL_INTERVAL.toMillis());
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new WebDriverException("Sayfa yüklenmesi beklenirken kesildi: " + url, e);
+                }
+            }
+        }
+
+        private boolean isLoaded(boolean domOnly) {
+            try {
+                return Boolean.TRUE.equals(onTab(this,
+                        () -> ((JavascriptExecutor) driver).executeScript(LOADED_SCRIPT, domOnly)));
+            } catch (JavascriptException e) {
+                // Belge değişirken script bağlamı yok olabilir
+                return false;
+            }
+        }
+
+        @Override
+        public String getCurrentUrl() {
+            return onTab(this, driver::getCurrentUrl);
+        }
+
+        @Override
+        public String getTitle() {
+            return onTab(this, driver::getTitle);
+        }
+
+        @Override
+        public List<WebElement> findElements(By by) {
+            List<WebElement> elements = onTab(this, () -> driver.findElements(by));
+            List<WebElement> bound = new ArrayList<>(elements.size());
+            for (WebElement element : elements) {
+                bound.add(bind(WebElement.class, element));
+            }
+            return bound;
+        }
+
+        @Override
+        public WebElement findElement(By by) {
+            return bind(WebElement.class, onTab(this, () -> driver.findElement(by)));
+        }
+
+        @Override
+        public String getPageSource() {
+            return onTab(this, driver::getPageSource);
+        }
+
+        @Override
+        public void close() {
+            closeTab(this);
+        }
+
+        @Override
+        public void quit() {
+            closeTab(this);
+        }
+
+        @Override
+        public Set<String> getWindowHandles() {
+            return Set.of(handle);
+        }
+
+        @Override
+        public String getWindowHandle() {
+            return handle;
+        }
+
+        /**
+         * Yalnızca sekmenin kendi penceresine ve üst belgeye geçişe izin verir
+         */
+        @Override
+        public TargetLocator switchTo() {
+            return (TargetLocator) Proxy.newProxyInstance(TargetLocator.class.getClassLoader(),
+                    new Class<?>[] { TargetLocator.class }, (proxy, method, args) -> {
+                        switch (method.getName()) {
+                            case "window":
+                                if (handle.equals(args[0])) {
+                                    return this;
+                                }
+                                break;
+                            case "defaultContent":
+                                return this;
+                            case "activeElement":
+                                return bind(WebElement.class, onTab(this, () -> driver.switchTo().activeElement()));
+                            case "equals":
+                                return proxy == args[0];
+                            case "hashCode":
+                                return System.identityHashCode(proxy);
+                            case "toString":
+                                return "TargetLocator(" + handle + ")";
+                            default:
+                                break;
+                        }
+                        throw new UnsupportedOperationException(
+                                "Paylaşılan tarayıcı sekmesinde desteklenmiyor: switchTo()." + method.getName());
+                    });
+        }
+
+        @Override
+        public Navigation navigate() {
+            return bind(Navigation.class, onTab(this, driver::navigate));
+        }
+
+        /**
+         * Sekmeye bağlı seçenekler; sayfa yükleme zaman aşımı oturum yerine
+         * yalnızca bu sekme için ayarlanır
+         */
+        @Override
+        public Options manage() {
+            Options options = bind(Options.class, onTab(this, driver::manage));
+            return (Options) Proxy.newProxyInstance(Options.class.getClassLoader(),
+                    new Class<?>[] { Options.class }, (proxy, method, args) -> method.getName().equals("timeouts")
+                            ? timeouts(options.timeouts())
+                            : invoke(method, options, args));
+        }
+
+        private Timeouts timeouts(Timeouts session) {
+            return (Timeouts) Proxy.newProxyInstance(Timeouts.class.getClassLoader(),
+                    new Class<?>[] { Timeouts.class }, (proxy, method, args) -> {
+                        switch (method.getName()) {
+                            case "pageLoadTimeout":
+                                pageLoadTimeout = args.length == 1 ? (Duration) args[0]
+                                        : Duration.ofMillis(((TimeUnit) args[1]).toMillis((Long) args[0]));
+                                return proxy;
+                            case "getPageLoadTimeout":
+                                if (pageLoadTimeout != null) {
+                                    return pageLoadTimeout;
+                                }
+                                break;
+                            default:
+                                break;
+                        }
+                        Object result = invoke(method, session, args);
+                        return result == session ? proxy : result;
+                    });
+        }
+
+        @Override
+        public Object executeScript(String script, Object... args) {
+            return bindValue(onTab(this, () -> ((JavascriptExecutor) driver).executeScript(script, unwrap(args))));
+        }
+
+        @Override
+        public Object executeAsyncScript(String script, Object... args) {
+            return bindValue(onTab(this,
+                    () -> ((JavascriptExecutor) driver).executeAsyncScript(script, unwrap(args))));
+        }
+
+        @Override
+        public <X> X getScreenshotAs(OutputType<X> target) {
+            return onTab(this, () -> ((TakesScreenshot) driver).getScreenshotAs(target));
+        }
+
+        @Override
+        public Map<String, Object> executeCdpCommand(String commandName, Map<String, Object> parameters) {
+            return onTab(this, () -> ((HasCdp) driver).executeCdpCommand(commandName, parameters));
+        }
+
+        /**
+         * Tarayıcı nesnesini, her çağrısı bu sekmede çalışacak şekilde sarar
+         */
+        private <T> T bind(Class<T> type, T target) {
+            if (target == null) {
+                return null;
+            }
+            Class<?>[] interfaces = type == WebElement.class
+                    ? new Class<?>[] { WebElement.class, WrapsElement.class }
+                    : new Class<?>[] { type };
+            return type.cast(Proxy.newProxyInstance(type.getClassLoader(), interfaces, (proxy, method, args) -> {
+                switch (method.getName()) {
+                    case "getWrappedElement":
+                        return target;
+                    case "equals":
+                        return target.equals(unwrap(args[0]));
+                    case "hashCode":
+                        return target.hashCode();
+                    case "toString":
+                        return target.toString();
+                    default:
+                        return bindResult(method, onTab(this, () -> invoke(method, target, args)));
+                }
+            }));
+        }
+
+        @SuppressWarnings({ "unchecked", "rawtypes" })
+        private Object bindResult(Method method, Object result) {
+            Class<?> type = method.getReturnType();
+            // Options, Timeouts, Window gibi zincirlenen Selenium arayüzleri de sekmeye bağlanır
+            if (result != null && type.isInterface() && type.getPackageName().startsWith("org.openqa.selenium")
+                    && !(result instanceof WebElement)) {
+                return bind((Class) type, result);
+            }
+            return bindValue(result);
+        }
+
+        /**
+         * Script sonuçlarındaki (iç içe liste ve haritalardaki) elementleri sekmeye bağlar
+         */
+        private Object bindValue(Object value) {
+            if (value instanceof WebElement element) {
+                return bind(WebElement.class, element);
+            }
+            if (value instanceof List<?> list) {
+                List<Object> bound = new ArrayList<>(list.size());
+                for (Object item : list) {
+                    bound.add(bindValue(item));
+                }
+                return bound;
+            }
+            if (value instanceof Map<?, ?> map) {
+                Map<Object, Object> bound = new LinkedHashMap<>();
+                map.forEach((key, item) -> bound.put(key, bindValue(item)));
+                return bound;
+            }
+            return value;
+        }
+
+        @Override
+        public String toString() {
+            return "SharedBrowser.Tab(" + handle + ")";
+        }
+    }
+
+    private static Object[] unwrap(Object[] args) {
+        if (args == null) {
+            return null;
+        }
+        Object[] unwrapped = new Object[args.length];
+        for (int i = 0; i < args.length; i++) {
+            unwrapped[i] = unwrap(args[i]);
+        }
+        return unwrapped;
+    }
+
+    private static Object unwrap(Object arg) {
+        if (arg instanceof WrapsElement wrapped) {
+            return wrapped.getWrappedElement();
+        }
+        if (arg instanceof List<?> list) {
+            List<Object> unwrapped = new ArrayList<>(list.size());
+            for (Object item : list) {
+                unwrapped.add(unwrap(item));
+            }
+            return unwrapped;
+        }
+        return arg;
+    }
+
+    private static Object invoke(Method method, Object target, Object[] args) {
+        try {
+            return method.invoke(target, unwrap(args));
+        } catch (InvocationTargetException e) {
+            if (e.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw new WebDriverException(e.getCause());
+        } catch (IllegalAccessException e) {
+            throw new WebDriverException(e);
+        }
+    }
+}
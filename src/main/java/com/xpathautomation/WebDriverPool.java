@@ -0,0 +1,584 @@
+package com.xpathautomation;
+
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.PageLoadStrategy;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.chromium.HasCdp;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * WebDriverPool - Önceden başlatılmış (sıcak) Chrome oturumlarını tutan havuz
+ *
+ * Her iş için yeni bir Chrome başlatmak yerine oturumlar havuzdan ödünç alınır
+ * ve iş bitince kapatılmak yerine havuza geri verilir. Ödünç verilen her
+ * oturumun durumu (çerezler, depolama, fazladan açılmış pencereler) sıfırlanır
+ * ve about:blank sayfası açılır.
+ *
+ * Havuz en az {@code minSize} oturumu sıcak tutar, hiçbir zaman
+ * {@code maxSize} oturumdan fazlasını açmaz, {@code maxIdle} süresinden uzun
+ * boşta kalan oturumları kapatır ve {@code maxUsesPerSession} kez kullanılan
+ * oturumları yenisiyle değiştirir.
+ *
+ * @author XPath Automation Team
+ * @version 1.0.0
+ */
+public class WebDriverPool implements AutoCloseable {
+
+    private static final int DEFAULT_MIN_SIZE = 0;
+    private static final int DEFAULT_MAX_SIZE = 2;
+    private static final Duration DEFAULT_MAX_IDLE = Duration.ofMinutes(5);
+    private static final int DEFAULT_MAX_USES_PER_SESSION = 50;
+    private static final Duration DEFAULT_BORROW_TIMEOUT = Duration.ofMinutes(2);
+    private static final Duration DEFAULT_EVICTION_INTERVAL = Duration.ofSeconds(30);
+
+    private final int minSize;
+    private final int maxSize;
+    private final Duration maxIdle;
+    private final int maxUsesPerSession;
+    private final Duration borrowTimeout;
+    private final Supplier<WebDriver> driverFactory;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition sessionAvailable = lock.newCondition();
+    // En son geri verilen oturum başta durur; böylece en sıcak oturum önce ödünç verilir
+    private final Deque<PooledSession> idleSessions = new ArrayDeque<>();
+    private final Map<WebDriver, PooledSession> borrowedSessions = new IdentityHashMap<>();
+    private final ScheduledExecutorService maintenance;
+    private int creatingCount;
+    private boolean closed;
+
+    // İstatistikler (lock altında güncellenir)
+    private long createdCount;
+    private long reusedCount;
+    private long recycledCount;
+    private long evictedCount;
+
+    private WebDriverPool(Builder builder) {
+        this.minSize = builder.minSize;
+        this.maxSize = builder.maxSize;
+        this.maxIdle = builder.maxIdle;
+        this.maxUsesPerSession = builder.maxUsesPerSession;
+        this.borrowTimeout = builder.borrowTimeout;
+        this.driverFactory = builder.driverFactory != null
+                ? builder.driverFactory
+                : () -> XPathClickAutomation.createChromeDriver(builder.headless, builder.pageLoadStrategy);
+
+        this.maintenance = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "webdriver-pool-maintenance");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long intervalMs = builder.evictionInterval.toMillis();
+        maintenance.scheduleWithFixedDelay(this::maintain, 0, intervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Yeni bir havuz yapılandırıcısı döner
+     *
+     * @return Builder nesnesi
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Havuzdan sıfırlanmış bir oturum ödünç alır. Boşta oturum yoksa ve havuz
+     * dolu değilse yeni bir Chrome başlatılır; havuz doluysa bir oturum geri
+     * verilene kadar en fazla {@code borrowTimeout} kadar beklenir.
+     *
+     * @return Kullanıma hazır WebDriver (about:blank açık)
+     */
+    public WebDriver borrow() {
+        PooledSession session = acquireSlot();
+
+        if (session == null) {
+            session = createSession();
+        } else {
+            try {
+                resetSession(session.driver);
+            } catch (RuntimeException e) {
+                System.err.println("Havuzdaki oturum sıfırlanamadı, yenisi başlatılıyor: " + e.getMessage());
+                session = replaceBrokenSession(session);
+            }
+        }
+
+        session.useCount++;
+        return session.driver;
+    }
+
+    /**
+     * Ödünç alınan oturumu havuza geri verir. Kullanım sınırına ulaşmış
+     * oturumlar ve havuz kapatıldıktan sonra geri verilen oturumlar kapatılır.
+     *
+     * @param driver {@link #borrow()} ile alınmış WebDriver
+     */
+    public void release(WebDriver driver) {
+        if (driver == null) {
+            return;
+        }
+
+        PooledSession toQuit = null;
+        lock.lock();
+        try {
+            PooledSession session = borrowedSessions.remove(driver);
+            if (session == null) {
+                return;
+            }
+            if (closed || session.useCount >= maxUsesPerSession) {
+                if (!closed) {
+                    recycledCount++;
+                }
+                toQuit = session;
+            } else {
+                session.lastReturnedNanos = System.nanoTime();
+                idleSessions.addFirst(session);
+            }
+            sessionAvailable.signal();
+        } finally {
+            lock.unlock();
+        }
+
+        if (toQuit != null) {
+            quitQuietly(toQuit.driver);
+        }
+    }
+
+    /**
+     * Bozulduğu bilinen bir oturumu havuza geri vermeden kapatır
+     *
+     * @param driver {@link #borrow()} ile alınmış WebDriver
+     */
+    public void invalidate(WebDriver driver) {
+        if (driver == null) {
+            return;
+        }
+        boolean known;
+        lock.lock();
+        try {
+            known = borrowedSessions.remove(driver) != null;
+            sessionAvailable.signal();
+        } finally {
+            lock.unlock();
+        }
+        if (known) {
+            quitQuietly(driver);
+        }
+    }
+
+    /**
+     * Havuzu kapatır. Boştaki oturumlar hemen, ödünç verilmiş oturumlar geri
+     * verildiklerinde kapatılır.
+     */
+    @Override
+    public void close() {
+        List<PooledSession> toQuit;
+        lock.lock();
+        try {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            toQuit = new ArrayList<>(idleSessions);
+            idleSessions.clear();
+            sessionAvailable.signalAll();
+        } finally {
+            lock.unlock();
+        }
+
+        maintenance.shutdownNow();
+        for (PooledSession session : toQuit) {
+            quitQuietly(session.driver);
+        }
+    }
+
+    public int getIdleCount() {
+        lock.lock();
+        try {
+            return idleSessions.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int getBorrowedCount() {
+        lock.lock();
+        try {
+            return borrowedSessions.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public long getCreatedCount() {
+        lock.lock();
+        try {
+            return createdCount;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public long getReusedCount() {
+        lock.lock();
+        try {
+            return reusedCount;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public long getRecycledCount() {
+        lock.lock();
+        try {
+            return recycledCount;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public long getEvictedCount() {
+        lock.lock();
+        try {
+            return evictedCount;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    /**
+     * Boşta bir oturum alır ya da yeni oturum için yer ayırır. Yer ayrıldıysa
+     * null döner ve çağıran yeni oturumu oluşturmakla yükümlüdür.
+     */
+    private PooledSession acquireSlot() {
+        long deadline = System.nanoTime() + borrowTimeout.toNanos();
+        lock.lock();
+        try {
+            while (true) {
+                if (closed) {
+                    throw new IllegalStateException("WebDriverPool kapatılmış");
+                }
+                PooledSession session = idleSessions.pollFirst();
+                if (session != null) {
+                    borrowedSessions.put(session.driver, session);
+                    reusedCount++;
+                    return session;
+                }
+                if (totalSize() < maxSize) {
+                    creatingCount++;
+                    return null;
+                }
+                long remaining = deadline - System.nanoTime();
+                if (remaining <= 0) {
+                    throw new IllegalStateException(
+                            "WebDriverPool'dan " + borrowTimeout.toSeconds() + " saniye içinde oturum alınamadı");
+                }
+                sessionAvailable.awaitNanos(remaining);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("WebDriverPool'dan oturum beklenirken kesildi", e);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * {@link #acquireSlot()} ile ayrılan yere yeni bir oturum başlatır
+     */
+    private PooledSession createSession() {
+        WebDriver driver;
+        try {
+            driver = driverFactory.get();
+        } catch (RuntimeException e) {
+            lock.lock();
+            try {
+                creatingCount--;
+                sessionAvailable.signal();
+            } finally {
+                lock.unlock();
+            }
+            throw e;
+        }
+
+        PooledSession session = new PooledSession(driver);
+        lock.lock();
+        try {
+            creatingCount--;
+            createdCount++;
+            borrowedSessions.put(driver, session);
+        } finally {
+            lock.unlock();
+        }
+        return session;
+    }
+
+    private PooledSession replaceBrokenSession(PooledSession broken) {
+        lock.lock();
+        try {
+            borrowedSessions.remove(broken.driver);
+            creatingCount++;
+        } finally {
+            lock.unlock();
+        }
+        quitQuietly(broken.driver);
+        return createSession();
+    }
+
+    /**
+     * Bir oturumu bir sonraki iş için temizler: fazladan pencereleri kapatır,
+     * çerezleri ve depolamayı siler, about:blank açar.
+     */
+    static void resetSession(WebDriver driver) {
+        List<String> handles = new ArrayList<>(driver.getWindowHandles());
+        if (handles.size() > 1) {
+            for (int i = 1; i < handles.size(); i++) {
+                driver.switchTo().window(handles.get(i));
+                driver.close();
+            }
+            driver.switchTo().window(handles.get(0));
+        }
+
+        Object origin = null;
+        if (driver instanceof JavascriptExecutor) {
+            origin = ((JavascriptExecutor) driver).executeScript(
+                    "try { window.localStorage.clear(); } catch (e) {}" +
+                            "try { window.sessionStorage.clear(); } catch (e) {}" +
+                            "return window.location.origin;");
+        }
+
+        if (driver instanceof HasCdp) {
+            HasCdp cdp = (HasCdp) driver;
+            cdp.executeCdpCommand("Network.clearBrowserCookies", Map.of());
+            if (origin instanceof String && ((String) origin).startsWith("http")) {
+                cdp.executeCdpCommand("Storage.clearDataForOrigin",
+                        Map.of("origin", origin, "storageTypes", "all"));
+            }
+        } else {
+            driver.manage().deleteAllCookies();
+        }
+
+        driver.get("about:blank");
+    }
+
+    /**
+     * Periyodik bakım: uzun süre boşta kalan oturumları kapatır ve havuzu
+     * {@code minSize} seviyesine tamamlar.
+     */
+    private void maintain() {
+        try {
+            evictIdleSessions();
+            fillToMinimum();
+        } catch (RuntimeException e) {
+            System.err.println("WebDriverPool bakımı sırasında hata oluştu: " + e.getMessage());
+        }
+    }
+
+    private void evictIdleSessions() {
+        List<PooledSession> evicted = new ArrayList<>();
+        long now = System.nanoTime();
+        lock.lock();
+        try {
+            Iterator<PooledSession> oldestFirst = idleSessions.descendingIterator();
+            while (oldestFirst.hasNext() && totalSize() > minSize) {
+                PooledSession session = oldestFirst.next();
+                if (now - session.lastReturnedNanos < maxIdle.toNanos()) {
+                    break;
+                }
+                oldestFirst.remove();
+                evicted.add(session);
+                evictedCount++;
+            }
+        } finally {
+            lock.unlock();
+        }
+        for (PooledSession session : evicted) {
+            quitQuietly(session.driver);
+        }
+    }
+
+    private void fillToMinimum() {
+        while (true) {
+            lock.lock();
+            try {
+                if (closed || totalSize() >= minSize) {
+                    return;
+                }
+                creatingCount++;
+            } finally {
+                lock.unlock();
+            }
+
+            PooledSession session = createSession();
+            lock.lock();
+            try {
+                borrowedSessions.remove(session.driver);
+                if (closed) {
+                    quitQuietly(session.driver);
+                    return;
+                }
+                session.lastReturnedNanos = System.nanoTime();
+                idleSessions.addLast(session);
+                sessionAvailable.signal();
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    private int totalSize() {
+        return idleSessions.size() + borrowedSessions.size() + creatingCount;
+    }
+
+    private static void quitQuietly(WebDriver driver) {
+        try {
+            driver.quit();
+        } catch (Exception e) {
+            System.err.println("Havuzdaki WebDriver kapatılırken hata oluştu: " + e.getMessage());
+        }
+    }
+
+    private static final class PooledSession {
+        final WebDriver driver;
+        int useCount;
+        long lastReturnedNanos = System.nanoTime();
+
+        PooledSession(WebDriver driver) {
+            this.driver = driver;
+        }
+    }
+
+    /**
+     * WebDriverPool yapılandırıcısı
+     */
+    public static final class Builder {
+        private int minSize = DEFAULT_MIN_SIZE;
+        private int maxSize = DEFAULT_MAX_SIZE;
+        private Duration maxIdle = DEFAULT_MAX_IDLE;
+        private int maxUsesPerSession = DEFAULT_MAX_USES_PER_SESSION;
+        private Duration borrowTimeout = DEFAULT_BORROW_TIMEOUT;
+        private Duration evictionInterval = DEFAULT_EVICTION_INTERVAL;
+        private boolean headless;
+        private PageLoadStrategy pageLoadStrategy = PageLoadStrategy.NORMAL;
+        private Supplier<WebDriver> driverFactory;
+
+        private Builder() {
+        }
+
+        /**
+         * @param minSize Her zaman sıcak tutulacak en az oturum sayısı
+         * @return Bu nesne (method chaining için)
+         */
+        public Builder minSize(int minSize) {
+            this.minSize = minSize;
+            return this;
+        }
+
+        /**
+         * @param maxSize Aynı anda açık olabilecek en fazla oturum (Chrome süreci) sayısı
+         * @return Bu nesne (method chaining için)
+         */
+        public Builder maxSize(int maxSize) {
+            this.maxSize = maxSize;
+            return this;
+        }
+
+        /**
+         * @param maxIdle Bu süreden uzun boşta kalan oturumlar kapatılır
+         * @return Bu nesne (method chaining için)
+         */
+        public Builder maxIdle(Duration maxIdle) {
+            this.maxIdle = maxIdle;
+            return this;
+        }
+
+        /**
+         * @param maxUsesPerSession Bir oturum bu kadar ödünç verildikten sonra yenisiyle değiştirilir
+         * @return Bu nesne (method chaining için)
+         */
+        public Builder maxUsesPerSession(int maxUsesPerSession) {
+            this.maxUsesPerSession = maxUsesPerSession;
+            return this;
+        }
+
+        /**
+         * @param borrowTimeout Havuz doluyken bir oturum için en fazla bekleme süresi
+         * @return Bu nesne (method chaining için)
+         */
+        public Builder borrowTimeout(Duration borrowTimeout) {
+            this.borrowTimeout = borrowTimeout;
+            return this;
+        }
+
+        /**
+         * @param evictionInterval Boştaki oturumların kontrol edilme aralığı
+         * @return Bu nesne (method chaining için)
+         */
+        public Builder evictionInterval(Duration evictionInterval) {
+            this.evictionInterval = evictionInterval;
+            return this;
+        }
+
+        /**
+         * @param headless true ise havuzdaki Chrome oturumları headless başlatılır
+         * @return Bu nesne (method chaining için)
+         */
+        public Builder headless(boolean headless) {
+            this.headless = headless;
+            return this;
+        }
+
+        /**
+         * @param pageLoadStrategy Havuzdaki Chrome oturumlarında driver.get'in neyi
+         *                         bekleyeceği (bkz. {@link PageReadiness})
+         * @return Bu nesne (method chaining için)
+         */
+        public Builder pageLoadStrategy(PageLoadStrategy pageLoadStrategy) {
+            this.pageLoadStrategy = pageLoadStrategy;
+            return this;
+        }
+
+        /**
+         * Varsayılan Chrome fabrikası yerine özel bir WebDriver fabrikası kullanır
+         *
+         * @param driverFactory Yeni oturum üreten fabrika
+         * @return Bu nesne (method chaining için)
+         */
+        public Builder driverFactory(Supplier<WebDriver> driverFactory) {
+            this.driverFactory = driverFactory;
+            return this;
+        }
+
+        public WebDriverPool build() {
+            if (minSize < 0 || maxSize < 1 || minSize > maxSize) {
+                throw new IllegalArgumentException(
+                        "Geçersiz havuz boyutu: minSize=" + minSize + ", maxSize=" + maxSize);
+            }
+            if (maxUsesPerSession < 1) {
+                throw new IllegalArgumentException("maxUsesPerSession en az 1 olmalı: " + maxUsesPerSession);
+            }
+            if (evictionInterval == null || evictionInterval.toMillis() < 1) {
+                // Bakım görevi milisaniye aralıkla zamanlanır
+                throw new IllegalArgumentException("evictionInterval en az 1 ms olmalı: " + evictionInterval);
+            }
+            return new WebDriverPool(this);
+        }
+    }
+}
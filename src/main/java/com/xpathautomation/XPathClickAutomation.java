@@ -1,9 +1,13 @@
 package com.xpathautomation;
 
 import io.github.bonigarcia.wdm.WebDriverManager;
-import org.openqa.selenium.By;
-import org.openqa.selenium.NoSuchElementException;
+import org.openqa.selenium.JavascriptException;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.PageLoadStrategy;
+import org.openqa.selenium.StaleElementReferenceException;
+import org.openqa.selenium.TimeoutException;
 import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
 import org.openqa.selenium.WebElement;
 import org.openqa.selenium.chrome.ChromeDriver;
 import org.openqa.selenium.chrome.ChromeOptions;
@@ -13,6 +17,9 @@ import org.openqa.selenium.support.ui.WebDriverWait;
 import java.time.Duration;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 /**
  * XPath Click Automation - Selenium kullanarak XPath ile element bulma ve
@@ -20,30 +27,108 @@ import java.util.List;
  * 
  * Bu sınıf, verilen URL'ye gidip belirtilen XPath'lerle eşleşen elementleri
  * bulur ve tıklar.
- * Her tıklamadan sonra 1 saniye bekler ve hata durumlarını yönetir.
+ * Her tıklamadan sonra sayfanın oturması {@link SettleStrategy} ile beklenir
+ * (üst sınır {@code maxSettleTime}, varsayılan 10 saniye). Strateji
+ * verilmezse tıklamadan sonra {@code clickDelay} kadar (varsayılan 1 saniye)
+ * sabit süre beklenir. Hata durumları da bu sınıfta yönetilir.
  * 
  * @author XPath Automation Team
  * @version 1.0.0
  */
-public class XPathClickAutomation {
+public class XPathClickAutomation implements DriverProvider {
 
     private WebDriver driver;
     private WebDriverWait wait;
-    private static final int CLICK_DELAY_MS = 1000; // 1 saniye
-    private static final int WAIT_TIMEOUT_SECONDS = 10;
+    private WebDriverPool pool;
+    private CompletableFuture<WebDriver> pendingDriver;
+    private static volatile boolean driverBinaryReady = false;
+    static final int CLICK_DELAY_MS = 1000; // 1 saniye
+    static final int WAIT_TIMEOUT_SECONDS = 10;
+    static final Duration MAX_SETTLE_TIME = Duration.ofSeconds(10);
+    static final Duration POLL_INTERVAL = Duration.ofMillis(100);
+    /** Bu önekle başlayan XPath'ler isteğe bağlıdır: bir kez yoklanır, yoksa atlanır */
+    public static final String OPTIONAL_PREFIX = "optional:";
+    private static final XPathValidator XPATH_VALIDATOR = new XPathValidator();
+    /** Belgenin ve yüklenen kaynakların ağdan aktarılan bayt toplamını ve kaynak sayısını döner */
+    private static final String TRANSFER_SIZE_SCRIPT = """
+            var total = 0, count = 0;
+            performance.getEntriesByType('navigation').forEach(function (e) { total += e.transferSize || 0; });
+            performance.getEntriesByType('resource').forEach(function (e) { total += e.transferSize || 0; count++; });
+            return [total, count];
+            """;
+    /**
+     * Yeni belgenin hazır olup olmadığını döner. Gidilmeden önce eski belgeye
+     * işaret konur; NONE stratejisinde driver.get eski belge yerinde dururken
+     * dönebildiğinden işaretli belge hiçbir zaman hazır sayılmaz.
+     * arguments: [0] beklenecek XPath, null ise yalnızca DOM ayrıştırması beklenir
+     */
+    private static final String READINESS_SCRIPT = """
+            if (window.__xpcaLeaving) return false;
+            var xpath = arguments[0];
+            if (xpath == null) return document.readyState !== 'loading';
+            try {
+              return document.evaluate(xpath, document, null,
+                  XPathResult.FIRST_ORDERED_NODE_TYPE, null).singleNodeValue != null;
+            } catch (e) {
+              return document.readyState !== 'loading';
+            }
+            """;
+    private static final String MARK_LEAVING_SCRIPT = "window.__xpcaLeaving = true;";
 
     // Konfigürasyon parametreleri
     private String targetUrl;
     private List<String> xpaths;
     private boolean headless = false;
+    private PageReadiness pageReadiness = PageReadiness.COMPLETE;
+    private boolean pipelined;
+    private ClickEngine clickEngine = ClickEngine.webDriver();
+    // Boru hattı modunda önceki tıklamanın oturması beklenirken bulunan sıradaki element
+    private String prefetchedXPath;
+    private WebElement prefetchedElement;
+    // null ise element önbelleği kapalı
+    private ElementCache elementCache;
     private int clickDelayMs = CLICK_DELAY_MS;
     private int waitTimeoutSeconds = WAIT_TIMEOUT_SECONDS;
+    private SettleStrategy settleStrategy;
+    private Duration maxSettleTime = MAX_SETTLE_TIME;
+    private Duration xpathTimeout;
+    private Duration runDeadline;
+    private Duration pollInterval = POLL_INTERVAL;
+    private ResourceBlocking resourceBlocking = ResourceBlocking.none();
+    private ResourceBlocking.Applied appliedBlocking = ResourceBlocking.Applied.NOTHING;
+    private List<ClickResult> lastClickResults = List.of();
+    private Duration lastNavigateTime = Duration.ZERO;
+    private long lastTransferredBytes;
+    private LatencyRecorder latencyRecorder = LatencyRecorder.global();
+    // execute() tarafından başlatılan çalıştırmanın bitiş anı (System.nanoTime), yoksa 0
+    private long runDeadlineNanos;
 
     /**
-     * Constructor - WebDriver'ı başlatır ve yapılandırır
+     * Constructor - WebDriver ilk ihtiyaç duyulduğunda (navigateToUrl/run)
+     * başlatılır, böylece setHeadless/setWaitTimeout gibi ayarlar Chrome
+     * başlamadan önce uygulanabilir.
      */
     public XPathClickAutomation() {
-        initializeDriver();
+    }
+
+    /**
+     * Constructor - WebDriver'ı yeni Chrome başlatmak yerine havuzdan ödünç alır.
+     * Oturum ilk ihtiyaç duyulduğunda alınır; {@link #closeDriver()} oturumu
+     * kapatmaz, havuza geri verir.
+     *
+     * @param pool Oturumların ödünç alınacağı havuz
+     */
+    public XPathClickAutomation(WebDriverPool pool) {
+        this.pool = pool;
+    }
+
+    /**
+     * Builder ile yapılandırma için yeni bir Builder döner
+     *
+     * @return Builder nesnesi
+     */
+    public static Builder builder() {
+        return new Builder();
     }
 
     /**
@@ -89,10 +174,73 @@ public class XPathClickAutomation {
      * @return Bu nesne (method chaining için)
      */
     public XPathClickAutomation setHeadless(boolean headless) {
+        if (driver != null || pendingDriver != null) {
+            System.err.println("WebDriver zaten başlatıldı; headless ayarı bir sonraki oturumda geçerli olur.");
+        }
         this.headless = headless;
         return this;
     }
 
+    /**
+     * Sayfa açıldıktan sonra tıklamalara ne zaman başlanacağını ayarlar.
+     * Oturumun sayfa yükleme stratejisi de buna göre seçildiğinden WebDriver
+     * başlamadan önce çağrılmalıdır.
+     *
+     * @param pageReadiness Hazır olma koşulu
+     * @return Bu nesne (method chaining için)
+     */
+    public XPathClickAutomation setPageReadiness(PageReadiness pageReadiness) {
+        if (driver != null || pendingDriver != null) {
+            System.err.println("WebDriver zaten başlatıldı; sayfa yükleme stratejisi bir sonraki oturumda geçerli olur.");
+        }
+        this.pageReadiness = pageReadiness;
+        return this;
+    }
+
+    /**
+     * Boru hattı modunu açar: bir tıklamanın ardından sayfanın oturması
+     * beklenirken sıradaki XPath da yoklanır ve elementi tıklanabilir hale
+     * geldiği anda oturma beklenmeden tıklanır. Tıklama sayfayı değiştirip
+     * önceden bulunan elementi geçersiz kılarsa element yeniden aranır.
+     *
+     * @param pipelined true ise boru hattı modu açılır
+     * @return Bu nesne (method chaining için)
+     */
+    public XPathClickAutomation setPipelined(boolean pipelined) {
+        this.pipelined = pipelined;
+        return this;
+    }
+
+    /**
+     * Element önbelleğini açar: aynı sayfada daha önce tıklanan bir XPath
+     * yeniden tıklanırken element aranmaz, saklanan element tek bir ucuz
+     * script ile doğrulanıp doğrudan tıklanır. Önbellek yeni bir sayfaya
+     * gidildiğinde ya da sayfa URL'si değiştiğinde boşaltılır.
+     *
+     * @param enabled true ise önbellek açılır, false ise kapatılır ve boşaltılır
+     * @return Bu nesne (method chaining için)
+     */
+    public XPathClickAutomation setElementCaching(boolean enabled) {
+        if (!enabled) {
+            elementCache = null;
+        } else if (elementCache == null) {
+            elementCache = new ElementCache();
+        }
+        return this;
+    }
+
+    /**
+     * Tıklamaların nasıl yapılacağını ayarlar. Varsayılan
+     * {@link ClickEngine#webDriver()}'dır.
+     *
+     * @param clickEngine Tıklama motoru, null ise varsayılan
+     * @return Bu nesne (method chaining için)
+     */
+    public XPathClickAutomation setClickEngine(ClickEngine clickEngine) {
+        this.clickEngine = clickEngine != null ? clickEngine : ClickEngine.webDriver();
+        return this;
+    }
+
     /**
      * Tıklama gecikmesini ayarlar
      * 
@@ -112,55 +260,310 @@ public class XPathClickAutomation {
      */
     public XPathClickAutomation setWaitTimeout(int waitTimeoutSeconds) {
         this.waitTimeoutSeconds = waitTimeoutSeconds;
+        if (driver != null) {
+            wait = new WebDriverWait(driver, Duration.ofSeconds(waitTimeoutSeconds));
+        }
         return this;
     }
 
     /**
-     * Chrome WebDriver'ı başlatır ve yapılandırır
+     * Tıklamadan sonra sayfanın oturduğuna nasıl karar verileceğini ayarlar.
+     * Ayarlanmazsa tıklama gecikmesi kadar sabit beklenir.
+     *
+     * @param settleStrategy Oturma stratejisi
+     * @return Bu nesne (method chaining için)
      */
-    private void initializeDriver() {
+    public XPathClickAutomation setSettleStrategy(SettleStrategy settleStrategy) {
+        this.settleStrategy = settleStrategy;
+        return this;
+    }
+
+    /**
+     * Tıklamadan sonra sayfanın oturması için beklenecek en uzun süreyi ayarlar
+     *
+     * @param maxSettleTime Üst sınır
+     * @return Bu nesne (method chaining için)
+     */
+    public XPathClickAutomation setMaxSettleTime(Duration maxSettleTime) {
+        this.maxSettleTime = maxSettleTime;
+        return this;
+    }
+
+    /**
+     * Tek bir XPath için beklenecek en uzun süreyi ayarlar. Ayarlanmazsa
+     * {@link #setWaitTimeout(int)} kullanılır.
+     *
+     * @param xpathTimeout XPath başına üst sınır
+     * @return Bu nesne (method chaining için)
+     */
+    public XPathClickAutomation setXPathTimeout(Duration xpathTimeout) {
+        this.xpathTimeout = xpathTimeout;
+        return this;
+    }
+
+    /**
+     * Tüm çalıştırma (sayfa yükleme ve tüm tıklamalar) için ortak süre sınırını
+     * ayarlar. Kalan süre, bekleyen zorunlu XPath'ler arasında paylaştırılır.
+     *
+     * @param runDeadline Çalıştırma başına toplam süre, null ise sınırsız
+     * @return Bu nesne (method chaining için)
+     */
+    public XPathClickAutomation setRunDeadline(Duration runDeadline) {
+        this.runDeadline = runDeadline;
+        return this;
+    }
+
+    /**
+     * Elementlerin tıklanabilir olup olmadığının kontrol aralığını ayarlar
+     *
+     * @param pollInterval Kontrol aralığı
+     * @return Bu nesne (method chaining için)
+     */
+    public XPathClickAutomation setPollInterval(Duration pollInterval) {
+        this.pollInterval = pollInterval;
+        return this;
+    }
+
+    /**
+     * Sayfa açılırken engellenecek istekleri ayarlar (ör. resimler, fontlar,
+     * üçüncü taraf izleyiciler). Bir sonraki {@link #navigateToUrl(String)}
+     * çağrısından itibaren geçerlidir.
+     *
+     * @param resourceBlocking Engelleme profili, null ise engelleme yapılmaz
+     * @return Bu nesne (method chaining için)
+     */
+    public XPathClickAutomation setResourceBlocking(ResourceBlocking resourceBlocking) {
+        this.resourceBlocking = resourceBlocking != null ? resourceBlocking : ResourceBlocking.none();
+        return this;
+    }
+
+    /**
+     * İsteğe bağlı bir XPath ekler: bir kez yoklanır, element yoksa beklemeden atlanır
+     *
+     * @param xpath Eklenecek XPath
+     * @return Bu nesne (method chaining için)
+     */
+    public XPathClickAutomation addOptionalXPath(String xpath) {
+        return addXPath(optional(xpath));
+    }
+
+    /**
+     * Bir XPath'i isteğe bağlı olarak işaretler (ör. iş listelerinde kullanmak için)
+     *
+     * @param xpath XPath
+     * @return {@link #OPTIONAL_PREFIX} önekli XPath
+     */
+    public static String optional(String xpath) {
+        return OPTIONAL_PREFIX + xpath;
+    }
+
+    private static String stripOptionalPrefix(String xpath) {
+        return xpath != null && xpath.startsWith(OPTIONAL_PREFIX) ? xpath.substring(OPTIONAL_PREFIX.length()) : xpath;
+    }
+
+    /**
+     * Aşama sürelerinin kaydedileceği histogramı ayarlar. Varsayılan olarak
+     * tüm otomasyonlar {@link LatencyRecorder#global()} kaydedicisini paylaşır.
+     *
+     * @param latencyRecorder Gecikme kaydedici
+     * @return Bu nesne (method chaining için)
+     */
+    public XPathClickAutomation setLatencyRecorder(LatencyRecorder latencyRecorder) {
+        this.latencyRecorder = latencyRecorder;
+        return this;
+    }
+
+    /**
+     * Son clickElementsByXPaths çağrısındaki tıklama sonuçlarını döner
+     *
+     * @return XPath sırasıyla tıklama sonuçları
+     */
+    public List<ClickResult> getLastClickResults() {
+        return lastClickResults;
+    }
+
+    /**
+     * Son navigateToUrl çağrısında belge ve kaynaklar için ağdan aktarılan bayt
+     * sayısını döner. Tarayıcının Resource Timing verisine dayanır; izin
+     * başlığı (Timing-Allow-Origin) göndermeyen üçüncü taraf kaynaklar sıfır
+     * sayıldığından değer bir alt sınırdır.
+     *
+     * @return Aktarılan bayt, ölçülemediyse 0
+     */
+    public long getLastTransferredBytes() {
+        return lastTransferredBytes;
+    }
+
+    /**
+     * Element önbelleğinin isabet ve ıskalama sayılarını döner
+     *
+     * @return Önbellek istatistikleri, önbellek kapalıysa sıfırlar
+     */
+    public ElementCache.Stats getElementCacheStats() {
+        return elementCache != null ? elementCache.stats() : new ElementCache.Stats(0, 0, 0, 0);
+    }
+
+    /**
+     * Açık WebDriver oturumunu döner; ön ısıtması süren ya da hiç başlatılmamış
+     * oturum için Chrome başlatmaz.
+     *
+     * @return Açık WebDriver, yoksa null
+     */
+    @Override
+    public WebDriver currentDriver() {
+        return driver;
+    }
+
+    /**
+     * WebDriver'ı gerekirse başlatır ve döner. Arka planda ön ısıtma yapıldıysa
+     * o oturum, havuz verildiyse havuzdan bir oturum, aksi halde yeni bir Chrome
+     * kullanılır.
+     *
+     * @return Kullanıma hazır WebDriver
+     */
+    WebDriver getDriver() {
+        if (driver != null) {
+            return driver;
+        }
         try {
-            // WebDriverManager ile ChromeDriver'ı otomatik olarak indir ve yapılandır
-            WebDriverManager.chromedriver().setup();
-
-            // Chrome seçeneklerini yapılandır
-            ChromeOptions options = new ChromeOptions();
-            options.addArguments("--start-maximized"); // Pencereyi maksimize et
-            options.addArguments("--disable-blink-features=AutomationControlled"); // Otomasyon tespitini engelle
-            options.addArguments("--disable-extensions"); // Uzantıları devre dışı bırak
-
-            // Headless mod ayarı
-            if (headless) {
-                options.addArguments("--headless");
+            if (pendingDriver != null) {
+                driver = pendingDriver.join();
+                pendingDriver = null;
+                System.out.println("Önceden başlatılan Chrome WebDriver kullanılıyor.");
+            } else if (pool != null) {
+                driver = pool.borrow();
+                System.out.println("Chrome WebDriver havuzdan alındı.");
+            } else {
+                driver = createChromeDriver(headless, pageReadiness.pageLoadStrategy());
+                System.out.println("Chrome WebDriver başarıyla başlatıldı.");
             }
 
-            // WebDriver'ı başlat
-            driver = new ChromeDriver(options);
-
             // WebDriverWait'i yapılandır
             wait = new WebDriverWait(driver, Duration.ofSeconds(waitTimeoutSeconds));
-
-            System.out.println("Chrome WebDriver başarıyla başlatıldı.");
+            return driver;
 
         } catch (Exception e) {
-            System.err.println("WebDriver başlatılırken hata oluştu: " + e.getMessage());
-            throw new RuntimeException("WebDriver başlatılamadı", e);
+            pendingDriver = null;
+            Throwable cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+            System.err.println("WebDriver başlatılırken hata oluştu: " + cause.getMessage());
+            throw new RuntimeException("WebDriver başlatılamadı", cause);
+        }
+    }
+
+    private WebDriverWait getWait() {
+        getDriver();
+        return wait;
+    }
+
+    /**
+     * Chrome'u (veya havuzdan oturum almayı) arka plan thread'inde başlatır;
+     * böylece tarayıcı açılışı URL ve XPath listesinin hazırlanmasıyla örtüşür.
+     */
+    private void startPrewarm() {
+        if (driver != null || pendingDriver != null) {
+            return;
+        }
+        CompletableFuture<WebDriver> future = new CompletableFuture<>();
+        boolean prewarmHeadless = headless;
+        PageLoadStrategy prewarmStrategy = pageReadiness.pageLoadStrategy();
+        WebDriverPool prewarmPool = pool;
+        Thread.ofPlatform().daemon().name("chrome-prewarm").start(() -> {
+            try {
+                future.complete(prewarmPool != null ? prewarmPool.borrow() : createChromeDriver(prewarmHeadless, prewarmStrategy));
+            } catch (Throwable t) {
+                future.completeExceptionally(t);
+            }
+        });
+        pendingDriver = future;
+    }
+
+    /**
+     * Yeni bir Chrome oturumu başlatır. ChromeDriver indirme/yapılandırma işlemi
+     * JVM başına yalnızca bir kez yapılır.
+     *
+     * @param headless         true ise headless modda başlatılır
+     * @param pageLoadStrategy driver.get'in neyi bekleyeceği
+     * @return Başlatılmış ChromeDriver
+     */
+    static WebDriver createChromeDriver(boolean headless, PageLoadStrategy pageLoadStrategy) {
+        if (!driverBinaryReady) {
+            synchronized (XPathClickAutomation.class) {
+                if (!driverBinaryReady) {
+                    // WebDriverManager ile ChromeDriver'ı otomatik olarak indir ve yapılandır
+                    WebDriverManager.chromedriver().setup();
+                    driverBinaryReady = true;
+                }
+            }
         }
+
+        // Chrome seçeneklerini yapılandır
+        ChromeOptions options = new ChromeOptions();
+        options.addArguments("--start-maximized"); // Pencereyi maksimize et
+        options.addArguments("--disable-blink-features=AutomationControlled"); // Otomasyon tespitini engelle
+        options.addArguments("--disable-extensions"); // Uzantıları devre dışı bırak
+        options.setPageLoadStrategy(pageLoadStrategy);
+
+        // Headless mod ayarı
+        if (headless) {
+            options.addArguments("--headless");
+        }
+
+        return new ChromeDriver(options);
     }
 
     /**
-     * Verilen URL'ye gider
+     * Verilen URL'ye gider ve sayfa {@link #setPageReadiness(PageReadiness)}
+     * ile seçilen koşula göre hazır olana kadar bekler. FIRST_TARGET için
+     * ayarlanmış XPath listesindeki ilk zorunlu XPath beklenir.
      * 
      * @param url Gidilecek web sitesinin URL'si
      */
     public void navigateToUrl(String url) {
+        navigateToUrl(url, pageReadiness == PageReadiness.FIRST_TARGET ? firstRequiredXPath() : null);
+    }
+
+    /**
+     * @param url         Gidilecek web sitesinin URL'si
+     * @param readyXPath  FIRST_TARGET için beklenecek XPath; null ise DOM ayrıştırması beklenir
+     */
+    private void navigateToUrl(String url, String readyXPath) {
+        long navigateStart = System.nanoTime();
         try {
             System.out.println("URL'ye gidiliyor: " + url);
-            driver.get(url);
+            clearPrefetched();
+            invalidateElementCache();
+            applyResourceBlocking(getDriver(), url);
+            if (pageReadiness != PageReadiness.COMPLETE) {
+                markCurrentDocumentLeaving();
+            }
+            Optional<Duration> remaining = remainingRunTime();
+            if (remaining.isPresent()) {
+                // Yavaş bir sayfa süre sınırını aşacak kadar driver.get içinde bekletmesin
+                WebDriver.Timeouts timeouts = getDriver().manage().timeouts();
+                Duration previous = timeouts.getPageLoadTimeout();
+                timeouts.pageLoadTimeout(remaining.get());
+                try {
+                    driver.get(url);
+                } finally {
+                    timeouts.pageLoadTimeout(previous);
+                }
+            } else {
+                getDriver().get(url);
+            }
 
             // Sayfanın yüklenmesini bekle
-            wait.until(ExpectedConditions.jsReturnsValue("return document.readyState === 'complete'"));
-            System.out.println("Sayfa başarıyla yüklendi.");
+            WebDriverWait loadWait = runDeadlineNanos == 0 ? getWait()
+                    : new WebDriverWait(driver, remainingRunTime().orElseThrow(), pollInterval);
+            if (pageReadiness == PageReadiness.COMPLETE) {
+                loadWait.until(ExpectedConditions.jsReturnsValue("return document.readyState === 'complete'"));
+            } else {
+                awaitReadiness(loadWait, pageReadiness == PageReadiness.FIRST_TARGET ? readyXPath : null);
+            }
+            lastNavigateTime = Duration.ofNanos(System.nanoTime() - navigateStart);
+            latencyRecorder.record(LatencyRecorder.Phase.NAVIGATE, lastNavigateTime);
+            lastTransferredBytes = measureTransferredBytes();
+            System.out.println("Sayfa başarıyla yüklendi (" + lastNavigateTime.toMillis() + " ms, "
+                    + lastTransferredBytes / 1024 + " KB).");
 
         } catch (Exception e) {
             System.err.println("URL'ye gidilirken hata oluştu: " + e.getMessage());
@@ -168,6 +571,87 @@ public class XPathClickAutomation {
         }
     }
 
+    private void markCurrentDocumentLeaving() {
+        try {
+            ((JavascriptExecutor) driver).executeScript(MARK_LEAVING_SCRIPT);
+        } catch (WebDriverException | ClassCastException e) {
+            // Açık belge yoksa işaretlenecek bir şey de yoktur
+        }
+    }
+
+    /**
+     * Yeni belgede hedef XPath görünene (ya da DOM ayrıştırılana) kadar bekler.
+     * Hedef süre içinde görünmezse sayfa açılmış sayılır; eksik element
+     * tıklama aşamasında raporlanır.
+     */
+    private void awaitReadiness(WebDriverWait loadWait, String readyXPath) {
+        loadWait.ignoring(JavascriptException.class);
+        try {
+            loadWait.until(d -> Boolean.TRUE.equals(
+                    ((JavascriptExecutor) d).executeScript(READINESS_SCRIPT, readyXPath)));
+        } catch (TimeoutException e) {
+            if (readyXPath == null) {
+                throw e;
+            }
+            System.err.println("Hedef XPath sayfa açılırken görünmedi, devam ediliyor: " + readyXPath);
+        }
+    }
+
+    /**
+     * @return Ayarlanmış XPath listesindeki sözdizimi geçerli ilk zorunlu XPath, yoksa null
+     */
+    private String firstRequiredXPath() {
+        if (xpaths == null) {
+            return null;
+        }
+        for (String xpath : xpaths) {
+            if (xpath == null || xpath.startsWith(OPTIONAL_PREFIX)) {
+                continue;
+            }
+            XPathValidator.ValidatedXPath validated = XPATH_VALIDATOR.validate(xpath);
+            if (validated.isValid()) {
+                return validated.normalized();
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Engelleme profilini oturuma uygular. Birinci taraf sitesi URL'ye bağlı
+     * olduğundan önceki sayfa için kurulan engelleme her seferinde yenilenir.
+     */
+    private void applyResourceBlocking(WebDriver webDriver, String url) {
+        releaseResourceBlocking();
+        if (!resourceBlocking.isNone()) {
+            appliedBlocking = resourceBlocking.apply(webDriver, url);
+        }
+    }
+
+    private void releaseResourceBlocking() {
+        ResourceBlocking.Applied applied = appliedBlocking;
+        appliedBlocking = ResourceBlocking.Applied.NOTHING;
+        try {
+            applied.close();
+        } catch (RuntimeException e) {
+            System.err.println("İstek engellemesi kaldırılamadı: " + e.getMessage());
+        }
+    }
+
+    private long measureTransferredBytes() {
+        if (!(driver instanceof JavascriptExecutor js)) {
+            return 0;
+        }
+        try {
+            if (js.executeScript(TRANSFER_SIZE_SCRIPT) instanceof List<?> sizes
+                    && !sizes.isEmpty() && sizes.get(0) instanceof Number total) {
+                return total.longValue();
+            }
+        } catch (WebDriverException e) {
+            // Ölçüm yapılamaması sayfa açılışını başarısız saymaz
+        }
+        return 0;
+    }
+
     /**
      * Verilen XPath ile element bulur ve tıklar
      * 
@@ -175,99 +659,461 @@ public class XPathClickAutomation {
      * @return true eğer element bulundu ve tıklandıysa, false aksi takdirde
      */
     public boolean clickElementByXPath(String xpath) {
-        try {
-            System.out.println("XPath ile element aranıyor: " + xpath);
+        return clickElement(xpath).success();
+    }
 
-            // Elementin görünür olmasını bekle
-            WebElement element = wait.until(ExpectedConditions.elementToBeClickable(By.xpath(xpath)));
+    /**
+     * Verilen XPath ile element bulur, tıklar ve sayfanın oturmasını bekler
+     *
+     * @param xpath Bulunacak elementin XPath'i
+     * @return Tıklama sonucu (oturma süresi dahil)
+     */
+    public ClickResult clickElement(String xpath) {
+        XPathValidator.ValidatedXPath validated = XPATH_VALIDATOR.validate(xpath);
+        if (!validated.isValid()) {
+            return invalidXPathResult(validated);
+        }
+        return clickFirstPending(List.of(validated.normalized()), getXPathTimeout(), false);
+    }
 
-            // Elemente tıkla
-            element.click();
-            System.out.println("Element başarıyla tıklandı: " + xpath);
+    private static ClickResult invalidXPathResult(XPathValidator.ValidatedXPath validated) {
+        System.err.println("Geçersiz XPath sözdizimi (" + validated.original() + "): " + validated.error());
+        return ClickResult.failed(validated.original(), ClickResult.FailureReason.INVALID_XPATH, validated.error());
+    }
 
-            // Tıklamadan sonra belirtilen süre bekle
-            Thread.sleep(clickDelayMs);
+    /**
+     * Bekleyen XPath'lerden ilkini tıklar. Listenin tamamı her denemede tek
+     * bir tarayıcı çağrısıyla değerlendirilir.
+     *
+     * @param pending  Henüz işlenmemiş XPath'ler (ilki tıklanacak olan)
+     * @param budget   İlk XPath için beklenecek en uzun süre
+     * @param optional true ise element yalnızca bir kez yoklanır, yoksa atlanır
+     * @return İlk XPath için tıklama sonucu
+     */
+    private ClickResult clickFirstPending(List<String> pending, Duration budget, boolean optional) {
+        ClickResult result = attemptFirstPending(pending, budget, optional);
+        recordLatencies(result);
+        return result;
+    }
 
-            return true;
+    private ClickResult attemptFirstPending(List<String> pending, Duration budget, boolean optional) {
+        String xpath = pending.get(0);
+        String nextXPath = pipelined && pending.size() > 1 ? pending.get(1) : null;
+        long locateStart = System.nanoTime();
+        Duration locateTime = Duration.ZERO;
+        try {
+            // Önceki tıklamanın oturması beklenirken bulunan element varsa arama atlanır
+            WebElement prefetched = takePrefetched(xpath);
+            if (prefetched != null) {
+                try {
+                    cacheElement(xpath, prefetched, null);
+                    return clickAndSettle(xpath, prefetched, Duration.ZERO, nextXPath);
+                } catch (StaleElementReferenceException e) {
+                    evictElement(xpath);
+                    System.out.println("Önceden bulunan element artık sayfada değil, yeniden aranıyor: " + xpath);
+                }
+            }
+            // Aynı sayfada daha önce tıklanan element hâlâ geçerliyse arama atlanır
+            WebElement cached = elementCache != null ? elementCache.lookup(driver, xpath) : null;
+            if (cached != null) {
+                try {
+                    return clickAndSettle(xpath, cached, Duration.ofNanos(System.nanoTime() - locateStart),
+                            nextXPath);
+                } catch (StaleElementReferenceException e) {
+                    evictElement(xpath);
+                    System.out.println("Önbellekteki element artık sayfada değil, yeniden aranıyor: " + xpath);
+                }
+                locateStart = System.nanoTime();
+            }
+            System.out.println("XPath ile element aranıyor: " + xpath);
+
+            // Elementin tıklanabilir olmasını bekle
+            BatchXPathLocator.XPathState state = awaitClickable(pending, optional ? Duration.ZERO : budget);
+            locateTime = Duration.ofNanos(System.nanoTime() - locateStart);
+            if (optional && !state.clickable() && state.error() == null) {
+                System.out.println("İsteğe bağlı element yok, atlanıyor: " + xpath);
+                return ClickResult.skipped(xpath, locateTime);
+            }
+            if (state.error() != null) {
+                System.err.println("Geçersiz XPath (" + xpath + "): " + state.error());
+                return ClickResult.failed(xpath, ClickResult.FailureReason.INVALID_XPATH, state.error(),
+                        locateTime, null);
+            }
+            if (!state.clickable()) {
+                if (state.exists()) {
+                    System.err.println("Element tıklanabilir değil: " + xpath);
+                    return ClickResult.failed(xpath, ClickResult.FailureReason.NOT_CLICKABLE,
+                            "Element tıklanabilir değil", locateTime, null);
+                }
+                System.err.println("XPath ile element bulunamadı: " + xpath);
+                return ClickResult.failed(xpath, ClickResult.FailureReason.NOT_FOUND, "Element bulunamadı",
+                        locateTime, null);
+            }
+
+            cacheElement(xpath, state.element(), state.pageUrl());
+            return clickAndSettle(xpath, state.element(), locateTime, nextXPath);
 
-        } catch (NoSuchElementException e) {
-            System.err.println("XPath ile element bulunamadı: " + xpath);
-            return false;
         } catch (Exception e) {
+            evictElement(xpath);
             System.err.println("Element tıklanırken hata oluştu (" + xpath + "): " + e.getMessage());
-            return false;
+            if (locateTime.isZero()) {
+                locateTime = Duration.ofNanos(System.nanoTime() - locateStart);
+            }
+            return ClickResult.failed(xpath, ClickResult.FailureReason.ERROR, e.getMessage(), locateTime, e);
+        }
+    }
+
+    /**
+     * Elemente tıklar ve sayfanın oturmasını bekler. Boru hattı modunda
+     * sıradaki XPath'in elementi oturma beklenirken hazır olursa bekleme
+     * kısaltılır ve element bir sonraki tıklama için saklanır.
+     *
+     * @param nextXPath Sıradaki XPath, boru hattı kapalıysa ya da sıradaki yoksa null
+     */
+    private ClickResult clickAndSettle(String xpath, WebElement element, Duration locateTime, String nextXPath) {
+        // Elemente tıkla
+        SettleStrategy strategy = getEffectiveSettleStrategy();
+        long clickStart = System.nanoTime();
+        strategy.beforeClick(driver);
+        clickEngine.click(driver, xpath, element);
+        Duration clickTime = Duration.ofNanos(System.nanoTime() - clickStart);
+        System.out.println("Element başarıyla tıklandı: " + xpath);
+
+        // Tıklamadan sonra sayfanın oturmasını bekle
+        long settleStart = System.nanoTime();
+        boolean settled;
+        try {
+            SettleStrategy.Settled outcome = strategy.awaitOrNext(driver, getEffectiveMaxSettleTime(), nextXPath,
+                    pollInterval);
+            settled = outcome.settled();
+            if (outcome.nextElement() != null) {
+                prefetchedXPath = nextXPath;
+                prefetchedElement = outcome.nextElement();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            settled = false;
+        }
+        Duration settleTime = Duration.ofNanos(System.nanoTime() - settleStart);
+        if (!settled) {
+            System.err.println("Sayfa " + settleTime.toMillis() + " ms içinde oturmadı (" + strategy + ")");
         }
+
+        return ClickResult.clicked(xpath, locateTime, clickTime, settleTime, settled);
+    }
+
+    /**
+     * Boru hattında bu XPath için saklanan elementi döner ve saklananı temizler
+     */
+    private WebElement takePrefetched(String xpath) {
+        WebElement element = xpath.equals(prefetchedXPath) ? prefetchedElement : null;
+        clearPrefetched();
+        return element;
+    }
+
+    private void clearPrefetched() {
+        prefetchedXPath = null;
+        prefetchedElement = null;
+    }
+
+    private void cacheElement(String xpath, WebElement element, String pageUrl) {
+        if (elementCache != null) {
+            elementCache.put(xpath, element, pageUrl);
+        }
+    }
+
+    private void evictElement(String xpath) {
+        if (elementCache != null) {
+            elementCache.evict(xpath);
+        }
+    }
+
+    private void invalidateElementCache() {
+        if (elementCache != null) {
+            elementCache.invalidate();
+        }
+    }
+
+    private void recordLatencies(ClickResult result) {
+        if (!result.locateTime().isZero()) {
+            latencyRecorder.record(LatencyRecorder.Phase.LOCATE, result.locateTime());
+        }
+        if (result.success()) {
+            latencyRecorder.record(LatencyRecorder.Phase.CLICK, result.clickTime());
+            latencyRecorder.record(LatencyRecorder.Phase.SETTLE, result.settleTime());
+        }
+    }
+
+    /**
+     * Bekleyen XPath'lerin ilki tıklanabilir olana, XPath geçersiz çıkana ya da
+     * bekleme süresi dolana kadar listeyi yoklar
+     *
+     * @param pending Henüz işlenmemiş XPath'ler
+     * @param budget  En uzun bekleme süresi; sıfırsa yalnızca bir kez yoklanır
+     * @return İlk XPath'in son durumu
+     */
+    private BatchXPathLocator.XPathState awaitClickable(List<String> pending, Duration budget)
+            throws InterruptedException {
+        WebDriver webDriver = getDriver();
+        long deadline = System.nanoTime() + budget.toNanos();
+        while (true) {
+            BatchXPathLocator.XPathState current = BatchXPathLocator.locate(webDriver, pending).get(0);
+            long remainingMs = (deadline - System.nanoTime()) / 1_000_000;
+            if (current.clickable() || current.error() != null || remainingMs <= 0) {
+                return current;
+            }
+            Thread.sleep(Math.min(pollInterval.toMillis(), remainingMs));
+        }
+    }
+
+    private Duration getXPathTimeout() {
+        return xpathTimeout != null ? xpathTimeout : Duration.ofSeconds(waitTimeoutSeconds);
+    }
+
+    /**
+     * Çalıştırma süre sınırına kalan süre; sınır yoksa boş
+     */
+    private Optional<Duration> remainingRunTime() {
+        if (runDeadlineNanos == 0) {
+            return Optional.empty();
+        }
+        return Optional.of(Duration.ofNanos(Math.max(0, runDeadlineNanos - System.nanoTime())));
+    }
+
+    private SettleStrategy getEffectiveSettleStrategy() {
+        return settleStrategy != null ? settleStrategy : SettleStrategy.fixedDelay(Duration.ofMillis(clickDelayMs));
+    }
+
+    private Duration getEffectiveMaxSettleTime() {
+        // Eski sabit gecikme davranışı üst sınır nedeniyle kısalmasın
+        if (settleStrategy == null && clickDelayMs > maxSettleTime.toMillis()) {
+            return Duration.ofMillis(clickDelayMs);
+        }
+        return maxSettleTime;
     }
 
     /**
      * Birden fazla XPath ile element bulur ve tıklar
      * 
      * @param xpaths Tıklanacak elementlerin XPath'lerinin listesi
+     * @return Başarılı tıklama sayısı
      */
-    public void clickElementsByXPaths(List<String> xpaths) {
+    public int clickElementsByXPaths(List<String> xpaths) {
         if (xpaths == null || xpaths.isEmpty()) {
             System.err.println("XPath listesi boş veya null!");
-            return;
+            return 0;
         }
 
         System.out.println("Toplam " + xpaths.size() + " XPath işlenecek.");
+        clearPrefetched();
 
         int successCount = 0;
         int failureCount = 0;
+        int skippedCount = 0;
+        List<ClickResult> results = new ArrayList<>(xpaths.size());
 
+        // İsteğe bağlı önekini ayır; sözdizimi hatalı XPath'ler tarayıcıya hiç gönderilmez
+        boolean[] optionalFlags = new boolean[xpaths.size()];
+        List<String> expressions = new ArrayList<>(xpaths.size());
         for (int i = 0; i < xpaths.size(); i++) {
             String xpath = xpaths.get(i);
-            System.out.println("\n--- XPath " + (i + 1) + "/" + xpaths.size() + " işleniyor ---");
+            optionalFlags[i] = xpath != null && xpath.startsWith(OPTIONAL_PREFIX);
+            expressions.add(stripOptionalPrefix(xpath));
+        }
+        List<XPathValidator.ValidatedXPath> validated = XPATH_VALIDATOR.validateAll(expressions);
+        List<String> validXpaths = validated.stream()
+                .filter(XPathValidator.ValidatedXPath::isValid)
+                .map(XPathValidator.ValidatedXPath::normalized)
+                .toList();
+        int pendingRequired = 0;
+        for (int i = 0; i < xpaths.size(); i++) {
+            if (validated.get(i).isValid() && !optionalFlags[i]) {
+                pendingRequired++;
+            }
+        }
+        int validIndex = 0;
 
-            if (clickElementByXPath(xpath)) {
-                successCount++;
-            } else {
-                failureCount++;
+        // Çalıştırma execute() dışından başlatıldıysa süre sınırı burada başlar
+        boolean ownsDeadline = runDeadlineNanos == 0 && runDeadline != null;
+        if (ownsDeadline) {
+            runDeadlineNanos = System.nanoTime() + runDeadline.toNanos();
+        }
+
+        try {
+            for (int i = 0; i < xpaths.size(); i++) {
+                System.out.println("\n--- XPath " + (i + 1) + "/" + xpaths.size() + " işleniyor ---");
+
+                XPathValidator.ValidatedXPath current = validated.get(i);
+                ClickResult result;
+                if (!current.isValid()) {
+                    result = invalidXPathResult(current);
+                } else {
+                    List<String> pending = validXpaths.subList(validIndex, validXpaths.size());
+                    validIndex++;
+                    if (optionalFlags[i]) {
+                        result = clickFirstPending(pending, Duration.ZERO, true);
+                    } else {
+                        Duration budget = budgetForNextXPath(pendingRequired);
+                        pendingRequired--;
+                        if (budget.isZero()) {
+                            System.err.println("Çalıştırma süre sınırı doldu, atlanıyor: " + current.original());
+                            result = ClickResult.failed(current.original(),
+                                    ClickResult.FailureReason.DEADLINE_EXCEEDED, "Çalıştırma süre sınırı doldu");
+                        } else {
+                            result = clickFirstPending(pending, budget, false);
+                        }
+                    }
+                }
+                results.add(result);
+                if (result.success()) {
+                    successCount++;
+                } else if (result.failureReason() == ClickResult.FailureReason.SKIPPED_OPTIONAL) {
+                    skippedCount++;
+                } else {
+                    failureCount++;
+                }
+            }
+        } finally {
+            if (ownsDeadline) {
+                runDeadlineNanos = 0;
             }
         }
+        lastClickResults = results;
 
         System.out.println("\n=== İşlem Tamamlandı ===");
         System.out.println("Başarılı tıklamalar: " + successCount);
         System.out.println("Başarısız tıklamalar: " + failureCount);
+        if (skippedCount > 0) {
+            System.out.println("Atlanan isteğe bağlı XPath: " + skippedCount);
+        }
         System.out.println("Toplam XPath: " + xpaths.size());
+        return successCount;
     }
 
     /**
-     * Konfigürasyonu kontrol eder ve otomasyonu çalıştırır
+     * Sıradaki zorunlu XPath için bekleme süresi: XPath başına üst sınır ile
+     * çalıştırmanın kalan süresinin bekleyen zorunlu XPath'lere eşit payından
+     * küçük olanı. Süre sınırı dolduysa sıfır döner.
+     *
+     * @param pendingRequired Bu XPath dahil bekleyen zorunlu XPath sayısı
+     * @return Bekleme süresi
      */
-    public void run() {
-        if (targetUrl == null || targetUrl.isEmpty()) {
-            throw new IllegalArgumentException("URL ayarlanmamış! setUrl() metodunu kullanın.");
+    private Duration budgetForNextXPath(int pendingRequired) {
+        Duration perXPath = getXPathTimeout();
+        Optional<Duration> remaining = remainingRunTime();
+        if (remaining.isEmpty()) {
+            return perXPath;
+        }
+        if (remaining.get().isZero()) {
+            return Duration.ZERO;
         }
+        Duration share = remaining.get().dividedBy(Math.max(1, pendingRequired));
+        // Pay çok küçülse bile en az bir yoklama yapılsın
+        share = share.isZero() ? Duration.ofNanos(1) : share;
+        return share.compareTo(perXPath) < 0 ? share : perXPath;
+    }
 
-        if (xpaths == null || xpaths.isEmpty()) {
-            throw new IllegalArgumentException("XPath listesi boş! setXPaths() veya addXPath() metodunu kullanın.");
+    /**
+     * Konfigürasyonu kontrol eder ve otomasyonu çalıştırır
+     *
+     * @return Aşama süreleri ve tıklama sonuçlarıyla çalıştırma raporu;
+     *         çalıştırma yarıda kaldıysa hata rapora eklenir
+     */
+    public RunReport run() {
+        validateConfiguration();
+
+        long start = System.nanoTime();
+        try {
+            return execute();
+        } catch (Exception e) {
+            System.err.println("Otomasyon çalışırken hata oluştu: " + e.getMessage());
+            e.printStackTrace();
+            return new RunReport(targetUrl, lastNavigateTime, lastTransferredBytes, Duration.ofNanos(System.nanoTime() - start),
+                    lastClickResults, e);
         }
+    }
 
+    /**
+     * Otomasyonu çalıştırır; {@link #run()}'dan farklı olarak hataları yutmaz.
+     * Çoklu iş çalıştırıcısının sonuçları raporlayabilmesi için kullanılır.
+     *
+     * @return Çalıştırma raporu
+     */
+    RunReport execute() {
+        validateConfiguration();
+        long start = System.nanoTime();
+        lastNavigateTime = Duration.ZERO;
+        lastTransferredBytes = 0;
+        lastClickResults = List.of();
+        if (runDeadline != null) {
+            runDeadlineNanos = start + runDeadline.toNanos();
+        }
         try {
+            executeWithinDeadline();
+        } finally {
+            runDeadlineNanos = 0;
+        }
+        Duration totalTime = Duration.ofNanos(System.nanoTime() - start);
+        latencyRecorder.record(LatencyRecorder.Phase.RUN, totalTime);
+        return new RunReport(targetUrl, lastNavigateTime, lastTransferredBytes, totalTime, lastClickResults, null);
+    }
+
+    private void executeWithinDeadline() {
+        // XPath'leri tarayıcıya gitmeden doğrula; hiçbiri geçerli değilse sayfa açılmaz
+        boolean anyValid = xpaths.stream()
+                .map(XPathClickAutomation::stripOptionalPrefix)
+                .map(XPATH_VALIDATOR::validate)
+                .anyMatch(XPathValidator.ValidatedXPath::isValid);
+        if (anyValid) {
             // URL'ye git
             navigateToUrl(targetUrl);
+        } else {
+            System.err.println("Geçerli XPath yok, sayfa açılmadan sonlandırılıyor.");
+        }
 
-            // XPath'leri düzelt ve işle
-            List<String> fixedXpaths = xpaths.stream()
-                    .map(XPathClickAutomation::fixXPathQuotes)
-                    .toList();
+        // XPath'leri düzelt ve işle
+        clickElementsByXPaths(xpaths);
+    }
 
-            clickElementsByXPaths(fixedXpaths);
+    private void validateConfiguration() {
+        if (targetUrl == null || targetUrl.isEmpty()) {
+            throw new IllegalArgumentException("URL ayarlanmamış! setUrl() metodunu kullanın.");
+        }
 
-        } catch (Exception e) {
-            System.err.println("Otomasyon çalışırken hata oluştu: " + e.getMessage());
-            e.printStackTrace();
+        if (xpaths == null || xpaths.isEmpty()) {
+            throw new IllegalArgumentException("XPath listesi boş! setXPaths() veya addXPath() metodunu kullanın.");
         }
     }
 
     /**
-     * WebDriver'ı kapatır ve kaynakları temizler
+     * WebDriver'ı kapatır ve kaynakları temizler. Oturum bir havuzdan
+     * alındıysa kapatılmaz, havuza geri verilir.
      */
     public void closeDriver() {
+        if (pendingDriver != null) {
+            // Ön ısıtması bitmemiş oturumu da bekleyip kapat
+            try {
+                driver = pendingDriver.join();
+            } catch (Exception ignored) {
+            }
+            pendingDriver = null;
+        }
+        if (driver != null) {
+            // Havuza dönen oturum bir sonraki işe engellemesiz verilmeli
+            releaseResourceBlocking();
+        }
+        clearPrefetched();
+        invalidateElementCache();
+        if (driver != null && pool != null) {
+            pool.release(driver);
+            driver = null;
+            System.out.println("WebDriver havuza geri verildi.");
+            return;
+        }
         if (driver != null) {
             try {
                 driver.quit();
+                driver = null;
                 System.out.println("WebDriver başarıyla kapatıldı.");
             } catch (Exception e) {
                 System.err.println("WebDriver kapatılırken hata oluştu: " + e.getMessage());
@@ -282,7 +1128,7 @@ public class XPathClickAutomation {
      * @param xpath Orijinal XPath string'i
      * @return Düzeltilmiş XPath string'i
      */
-    private static String fixXPathQuotes(String xpath) {
+    static String fixXPathQuotes(String xpath) {
         if (xpath == null || xpath.isEmpty()) {
             return xpath;
         }
@@ -335,4 +1181,229 @@ public class XPathClickAutomation {
             automation2.closeDriver();
         }*/
     }
-}
\ No newline at end of file
+
+    /**
+     * XPathClickAutomation yapılandırıcısı
+     *
+     * Chrome ancak ihtiyaç duyulduğunda başlatılır. {@link #prewarm()} çağrılırsa
+     * Chrome o anda arka planda başlatılmaya başlar; tarayıcıyı etkileyen
+     * ayarlar (headless, havuz) bu nedenle prewarm'dan önce verilmelidir.
+     *
+     * <pre>
+     * XPathClickAutomation automation = XPathClickAutomation.builder()
+     *         .headless(true)
+     *         .prewarm()               // Chrome arka planda açılmaya başlar
+     *         .url(loadUrl())          // URL ve XPath'ler bu sırada hazırlanır
+     *         .xpaths(loadXPaths())
+     *         .waitTimeout(15)
+     *         .build();
+     * </pre>
+     */
+    public static final class Builder {
+        private final XPathClickAutomation automation = new XPathClickAutomation();
+        private boolean prewarmStarted;
+        private boolean built;
+
+        private Builder() {
+        }
+
+        /**
+         * @param url Hedef URL
+         * @return Bu nesne (method chaining için)
+         */
+        public Builder url(String url) {
+            automation.setUrl(url);
+            return this;
+        }
+
+        /**
+         * @param xpaths XPath listesi
+         * @return Bu nesne (method chaining için)
+         */
+        public Builder xpaths(List<String> xpaths) {
+            automation.setXPaths(xpaths);
+            return this;
+        }
+
+        /**
+         * @param xpath Eklenecek XPath
+         * @return Bu nesne (method chaining için)
+         */
+        public Builder addXPath(String xpath) {
+            automation.addXPath(xpath);
+            return this;
+        }
+
+        /**
+         * @param headless true ise headless modda çalışır
+         * @return Bu nesne (method chaining için)
+         */
+        public Builder headless(boolean headless) {
+            requireNotPrewarmed("headless");
+            automation.setHeadless(headless);
+            return this;
+        }
+
+        /**
+         * @param pageReadiness Tıklamalara ne zaman başlanacağı (oturumun sayfa yükleme stratejisini de belirler)
+         * @return Bu nesne (method chaining için)
+         */
+        public Builder pageReadiness(PageReadiness pageReadiness) {
+            requireNotPrewarmed("pageReadiness");
+            automation.setPageReadiness(pageReadiness);
+            return this;
+        }
+
+        /**
+         * @param clickDelayMs Milisaniye cinsinden tıklama gecikmesi
+         * @return Bu nesne (method chaining için)
+         */
+        public Builder clickDelay(int clickDelayMs) {
+            automation.setClickDelay(clickDelayMs);
+            return this;
+        }
+
+        /**
+         * @param pipelined true ise sıradaki XPath önceki tıklamanın oturması beklenirken aranır
+         * @return Bu nesne (method chaining için)
+         */
+        public Builder pipelined(boolean pipelined) {
+            automation.setPipelined(pipelined);
+            return this;
+        }
+
+        /**
+         * @param clickEngine Tıklamaların nasıl yapılacağı
+         * @return Bu nesne (method chaining için)
+         */
+        public Builder clickEngine(ClickEngine clickEngine) {
+            automation.setClickEngine(clickEngine);
+            return this;
+        }
+
+        /**
+         * @param enabled true ise aynı sayfada tekrar tıklanan XPath'ler için element aranmaz
+         * @return Bu nesne (method chaining için)
+         */
+        public Builder elementCaching(boolean enabled) {
+            automation.setElementCaching(enabled);
+            return this;
+        }
+
+        /**
+         * @param waitTimeoutSeconds Saniye cinsinden bekleme süresi
+         * @return Bu nesne (method chaining için)
+         */
+        public Builder waitTimeout(int waitTimeoutSeconds) {
+            automation.setWaitTimeout(waitTimeoutSeconds);
+            return this;
+        }
+
+        /**
+         * @param settleStrategy Tıklamadan sonra sayfanın oturma stratejisi
+         * @return Bu nesne (method chaining için)
+         */
+        public Builder settleStrategy(SettleStrategy settleStrategy) {
+            automation.setSettleStrategy(settleStrategy);
+            return this;
+        }
+
+        /**
+         * @param maxSettleTime Oturma beklemesinin üst sınırı
+         * @return Bu nesne (method chaining için)
+         */
+        public Builder maxSettleTime(Duration maxSettleTime) {
+            automation.setMaxSettleTime(maxSettleTime);
+            return this;
+        }
+
+        /**
+         * @param resourceBlocking Sayfa açılırken engellenecek istekler
+         * @return Bu nesne (method chaining için)
+         */
+        public Builder resourceBlocking(ResourceBlocking resourceBlocking) {
+            automation.setResourceBlocking(resourceBlocking);
+            return this;
+        }
+
+        /**
+         * @param xpath İsteğe bağlı olarak eklenecek XPath
+         * @return Bu nesne (method chaining için)
+         */
+        public Builder addOptionalXPath(String xpath) {
+            automation.addOptionalXPath(xpath);
+            return this;
+        }
+
+        /**
+         * @param xpathTimeout XPath başına bekleme üst sınırı
+         * @return Bu nesne (method chaining için)
+         */
+        public Builder xpathTimeout(Duration xpathTimeout) {
+            automation.setXPathTimeout(xpathTimeout);
+            return this;
+        }
+
+        /**
+         * @param runDeadline Çalıştırma başına toplam süre sınırı
+         * @return Bu nesne (method chaining için)
+         */
+        public Builder runDeadline(Duration runDeadline) {
+            automation.setRunDeadline(runDeadline);
+            return this;
+        }
+
+        /**
+         * @param pollInterval Elementlerin tıklanabilirlik kontrol aralığı
+         * @return Bu nesne (method chaining için)
+         */
+        public Builder pollInterval(Duration pollInterval) {
+            automation.setPollInterval(pollInterval);
+            return this;
+        }
+
+        /**
+         * @param latencyRecorder Aşama sürelerinin kaydedileceği histogram
+         * @return Bu nesne (method chaining için)
+         */
+        public Builder latencyRecorder(LatencyRecorder latencyRecorder) {
+            automation.setLatencyRecorder(latencyRecorder);
+            return this;
+        }
+
+        /**
+         * @param pool Oturumların ödünç alınacağı havuz
+         * @return Bu nesne (method chaining için)
+         */
+        public Builder pool(WebDriverPool pool) {
+            requireNotPrewarmed("pool");
+            automation.pool = pool;
+            return this;
+        }
+
+        /**
+         * Chrome'u hemen arka plan thread'inde başlatmaya başlar (isteğe bağlı)
+         *
+         * @return Bu nesne (method chaining için)
+         */
+        public Builder prewarm() {
+            prewarmStarted = true;
+            automation.startPrewarm();
+            return this;
+        }
+
+        public XPathClickAutomation build() {
+            if (built) {
+                throw new IllegalStateException("Builder yalnızca bir kez kullanılabilir");
+            }
+            built = true;
+            return automation;
+        }
+
+        private void requireNotPrewarmed(String setting) {
+            if (prewarmStarted) {
+                throw new IllegalStateException(setting + " ayarı prewarm() çağrısından önce yapılmalı");
+            }
+        }
+    }
+}
@@ -0,0 +1,141 @@
+package com.xpathautomation;
+
+import javax.xml.xpath.XPath;
+import javax.xml.xpath.XPathExpressionException;
+import javax.xml.xpath.XPathFactory;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * XPathValidator - XPath ifadelerini tarayıcıya gitmeden yerel olarak doğrular
+ *
+ * Her ifade önce normalize edilir (boşluklar kırpılır, çift tırnaklar
+ * {@link XPathClickAutomation#fixXPathQuotes(String)} ile tek tırnağa
+ * çevrilir), ardından JDK'nın XPath 1.0 derleyicisiyle derlenir. Sonuçlar
+ * sınırlı boyutlu bir LRU önbellekte tutulur; aynı iş listeleri tekrar
+ * derlenmez.
+ *
+ * @author XPath Automation Team
+ * @version 1.0.0
+ */
+public class XPathValidator {
+
+    private static final int DEFAULT_CAPACITY = 1024;
+
+    private final Map<String, ValidatedXPath> cache;
+    private final XPath compiler = XPathFactory.newInstance().newXPath();
+    private long hitCount;
+    private long missCount;
+
+    public XPathValidator() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * @param capacity Önbellekte tutulacak en fazla ifade sayısı
+     */
+    public XPathValidator(int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Önbellek kapasitesi en az 1 olmalı: " + capacity);
+        }
+        this.cache = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, ValidatedXPath> eldest) {
+                return size() > capacity;
+            }
+        };
+    }
+
+    /**
+     * Tek bir XPath'i doğrular ve normalize eder
+     *
+     * @param xpath Orijinal XPath
+     * @return Doğrulama sonucu
+     */
+    public synchronized ValidatedXPath validate(String xpath) {
+        if (xpath == null) {
+            return new ValidatedXPath(null, null, "XPath null");
+        }
+        ValidatedXPath cached = cache.get(xpath);
+        if (cached != null) {
+            hitCount++;
+            return cached;
+        }
+        missCount++;
+        ValidatedXPath result = compile(xpath);
+        cache.put(xpath, result);
+        return result;
+    }
+
+    /**
+     * XPath listesini sırasıyla doğrular
+     *
+     * @param xpaths Orijinal XPath'ler
+     * @return Aynı sırada doğrulama sonuçları
+     */
+    public List<ValidatedXPath> validateAll(List<String> xpaths) {
+        List<ValidatedXPath> results = new ArrayList<>(xpaths.size());
+        for (String xpath : xpaths) {
+            results.add(validate(xpath));
+        }
+        return results;
+    }
+
+    public synchronized long getHitCount() {
+        return hitCount;
+    }
+
+    public synchronized long getMissCount() {
+        return missCount;
+    }
+
+    public synchronized int size() {
+        return cache.size();
+    }
+
+    private ValidatedXPath compile(String original) {
+        String trimmed = original.trim();
+        if (trimmed.isEmpty()) {
+            return new ValidatedXPath(original, null, "XPath boş");
+        }
+
+        String normalized = XPathClickAutomation.fixXPathQuotes(trimmed);
+        String error = tryCompile(normalized);
+        if (error == null) {
+            return new ValidatedXPath(original, normalized, null);
+        }
+
+        // Tırnak düzeltmesi ifadeyi bozduysa (ör. "It's") orijinali dene
+        if (!normalized.equals(trimmed) && tryCompile(trimmed) == null) {
+            return new ValidatedXPath(original, trimmed, null);
+        }
+        return new ValidatedXPath(original, null, error);
+    }
+
+    private String tryCompile(String expression) {
+        try {
+            compiler.reset();
+            compiler.compile(expression);
+            return null;
+        } catch (XPathExpressionException e) {
+            Throwable cause = e.getCause() != null ? e.getCause() : e;
+            return cause.getMessage() != null ? cause.getMessage() : cause.toString();
+        }
+    }
+
+    /**
+     * Doğrulama sonucu
+     *
+     * @param original   Kullanıcının verdiği XPath
+     * @param normalized Tarayıcıya gönderilecek normalize XPath, geçersizse null
+     * @param error      Geçersizse sözdizimi hatası, geçerliyse null
+     */
+    public record ValidatedXPath(String original, String normalized, String error) {
+
+        public boolean isValid() {
+            return error == null;
+        }
+    }
+}
@@ -0,0 +1,265 @@
+package com.xpathautomation.tools;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * AllureResultsMerger
+ *
+ * Purpose: Merge the allure-results directories produced by sharded test runs
+ * (one per worker or machine) into a single allure-results directory, ready
+ * for {@code allure generate} and {@link AllureSingleHtmlExporter}.
+ *
+ * Shards are processed one after another and every file is read once; only
+ * the names seen so far are kept in memory, so merge time and memory grow
+ * with the total size of the results, not with shards times size.
+ *
+ * - Attachments are deduplicated by SHA-256: identical content is stored once
+ *   and every result referring to a copy is pointed at it. An attachment
+ *   whose name is already taken by different content gets a new name.
+ * - Result and container UUIDs that collide with an earlier shard get a fresh
+ *   UUID; the file name, its {@code uuid} and every reference to it in the
+ *   shard ({@code children}) are rewritten.
+ * - Result and container files that need no rewrite are copied as is.
+ * - environment.properties is merged key by key (first shard wins); other
+ *   files such as executor.json or categories.json are taken from the first
+ *   shard that has them.
+ *
+ * Usage (from project root):
+ * java -cp target/classes com.xpathautomation.tools.AllureResultsMerger
+ * "merged-results" "shard-1/allure-results" "shard-2/allure-results" ...
+ */
+public final class AllureResultsMerger {
+
+    private static final String RESULT_SUFFIX = "-result.json";
+    private static final String CONTAINER_SUFFIX = "-container.json";
+    private static final String ATTACHMENT_MARKER = "-attachment";
+    private static final String ENVIRONMENT_FILE = "environment.properties";
+
+    private final Path outputDirectory;
+    private final EmbeddedFileReader reader = new EmbeddedFileReader();
+    private final Map<String, String> attachmentByHash = new HashMap<>();
+    private final Set<String> outputNames = new HashSet<>();
+    private final Set<String> uuids = new HashSet<>();
+    private final Properties environment = new Properties();
+    private int results;
+    private int containers;
+    private int attachments;
+    private int duplicateAttachments;
+    private int renamedUuids;
+
+    private AllureResultsMerger(Path outputDirectory) {
+        this.outputDirectory = outputDirectory;
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.err.println("Kullanım: AllureResultsMerger <çıktı dizini> <allure-results dizini>...");
+            System.exit(1);
+        }
+        Path outputDirectory = Paths.get(args[0]).toAbsolutePath();
+        List<Path> shards = new ArrayList<>();
+        for (int i = 1; i < args.length; i++) {
+            Path shard = Paths.get(args[i]).toAbsolutePath();
+            if (!Files.isDirectory(shard)) {
+                System.err.println("allure-results dizini bulunamadı: " + shard);
+                System.exit(1);
+            }
+            shards.add(shard);
+        }
+
+        MergeStats stats = merge(shards, outputDirectory);
+        System.out.println("Allure sonuçları birleştirildi: " + outputDirectory + " (" + stats.duration().toMillis()
+                + " ms, " + shards.size() + " parça, " + stats.results() + " sonuç, " + stats.containers()
+                + " kapsayıcı, " + stats.attachments() + " ek, " + stats.duplicateAttachments()
+                + " yinelenen ek atlandı, " + stats.renamedUuids() + " UUID çakışması çözüldü)");
+    }
+
+    /**
+     * Merges {@code shards} into {@code outputDirectory}, which is created if
+     * needed and must not already contain results.
+     */
+    static MergeStats merge(List<Path> shards, Path outputDirectory) throws IOException {
+        long start = System.nanoTime();
+        Files.createDirectories(outputDirectory);
+        try (DirectoryStream<Path> existing = Files.newDirectoryStream(outputDirectory)) {
+            if (existing.iterator().hasNext()) {
+                throw new IOException("Output directory is not empty: " + outputDirectory);
+            }
+        }
+        AllureResultsMerger merger = new AllureResultsMerger(outputDirectory);
+        for (Path shard : shards) {
+            merger.mergeShard(shard);
+        }
+        merger.writeEnvironment();
+        return new MergeStats(merger.results, merger.containers, merger.attachments, merger.duplicateAttachments,
+                merger.renamedUuids, Duration.ofNanos(System.nanoTime() - start));
+    }
+
+    /**
+     * First pass: attachments, shared files and the UUID renames of the
+     * shard. Second pass: results and containers, rewritten with both.
+     */
+    private void mergeShard(Path shard) throws IOException {
+        Map<String, String> renames = new HashMap<>();
+        List<Path> documents = new ArrayList<>();
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(shard, Files::isRegularFile)) {
+            for (Path file : files) {
+                String name = file.getFileName().toString();
+                String uuid = documentUuid(name);
+                if (uuid != null) {
+                    documents.add(file);
+                    if (!uuids.add(uuid)) {
+                        String renamed = UUID.randomUUID().toString();
+                        uuids.add(renamed);
+                        renames.put(uuid, renamed);
+                        renamedUuids++;
+                    }
+                } else if (name.contains(ATTACHMENT_MARKER)) {
+                    String stored = mergeAttachment(file, name);
+                    if (!stored.equals(name)) {
+                        renames.put(name, stored);
+                    }
+                } else if (name.equals(ENVIRONMENT_FILE)) {
+                    mergeEnvironment(file);
+                } else if (outputNames.add(name)) {
+                    Files.copy(file, outputDirectory.resolve(name));
+                }
+            }
+        }
+
+        for (Path document : documents) {
+            String name = document.getFileName().toString();
+            String uuid = documentUuid(name);
+            String outputName = renames.getOrDefault(uuid, uuid) + name.substring(uuid.length());
+            outputNames.add(outputName);
+            if (name.endsWith(RESULT_SUFFIX)) {
+                results++;
+            } else {
+                containers++;
+            }
+            if (renames.isEmpty()) {
+                Files.copy(document, outputDirectory.resolve(outputName));
+            } else {
+                String json = Files.readString(document, StandardCharsets.UTF_8);
+                Files.writeString(outputDirectory.resolve(outputName), rewrite(json, renames),
+                        StandardCharsets.UTF_8);
+            }
+        }
+    }
+
+    /**
+     * @return name the attachment's content is stored under in the output
+     */
+    private String mergeAttachment(Path file, String name) throws IOException {
+        String hash = reader.sha256(file);
+        String stored = attachmentByHash.get(hash);
+        if (stored != null) {
+            duplicateAttachments++;
+            return stored;
+        }
+        stored = name;
+        if (!outputNames.add(stored)) {
+            // Same name, different content (e.g. two workers wrote the same fixed name)
+            stored = UUID.randomUUID() + name.substring(name.indexOf(ATTACHMENT_MARKER));
+            outputNames.add(stored);
+        }
+        Files.copy(file, outputDirectory.resolve(stored), StandardCopyOption.COPY_ATTRIBUTES);
+        attachmentByHash.put(hash, stored);
+        attachments++;
+        return stored;
+    }
+
+    private void mergeEnvironment(Path file) throws IOException {
+        Properties shardEnvironment = new Properties();
+        try (InputStream in = Files.newInputStream(file)) {
+            shardEnvironment.load(in);
+        }
+        for (String key : shardEnvironment.stringPropertyNames()) {
+            environment.putIfAbsent(key, shardEnvironment.getProperty(key));
+        }
+    }
+
+    private void writeEnvironment() throws IOException {
+        if (environment.isEmpty()) {
+            return;
+        }
+        try (OutputStream out = Files.newOutputStream(outputDirectory.resolve(ENVIRONMENT_FILE))) {
+            environment.store(out, null);
+        }
+    }
+
+    /**
+     * Replaces every JSON string that is a key of {@code renames}; only whole
+     * values are replaced, never parts of longer strings. UUIDs and attachment
+     * names contain nothing JSON escapes, so strings are compared as written.
+     */
+    static String rewrite(String json, Map<String, String> renames) {
+        StringBuilder rewritten = null;
+        int copied = 0;
+        int i = json.indexOf('"');
+        while (i >= 0) {
+            int end = i + 1;
+            while (end < json.length() && json.charAt(end) != '"') {
+                end += json.charAt(end) == '\\' ? 2 : 1;
+            }
+            if (end >= json.length()) {
+                break;
+            }
+            String replacement = renames.get(json.substring(i + 1, end));
+            if (replacement != null) {
+                if (rewritten == null) {
+                    rewritten = new StringBuilder(json.length() + 64);
+                }
+                rewritten.append(json, copied, i + 1).append(replacement);
+                copied = end;
+            }
+            i = json.indexOf('"', end + 1);
+        }
+        if (rewritten == null) {
+            return json;
+        }
+        return rewritten.append(json, copied, json.length()).toString();
+    }
+
+    /**
+     * @return the UUID of a result or container file name, or null for other files
+     */
+    private static String documentUuid(String name) {
+        if (name.endsWith(RESULT_SUFFIX)) {
+            return name.substring(0, name.length() - RESULT_SUFFIX.length());
+        }
+        if (name.endsWith(CONTAINER_SUFFIX)) {
+            return name.substring(0, name.length() - CONTAINER_SUFFIX.length());
+        }
+        return null;
+    }
+
+    /**
+     * @param results              result files written
+     * @param containers           container files written
+     * @param attachments          distinct attachments stored
+     * @param duplicateAttachments attachments dropped because their content was already stored
+     * @param renamedUuids         result/container UUIDs renamed to resolve collisions
+     * @param duration             wall-clock time of the merge
+     */
+    record MergeStats(int results, int containers, int attachments, int duplicateAttachments, int renamedUuids,
+            Duration duration) {
+    }
+}
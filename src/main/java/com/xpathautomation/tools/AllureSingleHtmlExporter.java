@@ -1,16 +1,35 @@
 package com.xpathautomation.tools;
 
+import java.io.BufferedWriter;
 import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.channels.FileChannel;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.FileVisitResult;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.LinkedHashMap;
+import java.util.Comparator;
 import java.util.List;
 import java.util.Locale;
-import java.util.Map;
-import java.util.stream.Collectors;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Stream;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
@@ -32,246 +51,729 @@ import java.util.regex.Pattern;
  * Usage (from project root):
  * mvn -q -DskipTests compile
  * java -cp target/classes com.xpathautomation.tools.AllureSingleHtmlExporter
- * "allure-report" "AllureReport.html"
+ * "allure-report" "AllureReport.html" [--parallel | --parallel=N] [--incremental] [--watch]
+ * [--compress | --compress=gzip|deflate] [--attachments | --attachments=maxKB]
+ *
+ * --parallel reads and escapes the embedded files on virtual threads,
+ * --parallel=N on an N-thread fork/join pool. The output is identical to the
+ * sequential export; the elapsed wall-clock time is printed for comparison.
+ *
+ * --incremental keeps a manifest next to the output (AllureReport.html.manifest)
+ * and copies the payloads of unchanged files from the previous output instead
+ * of re-reading and re-escaping them. --watch implies --incremental and
+ * regenerates the output whenever the report directory changes.
+ *
+ * --compress gzips each embedded file (--compress=deflate for zlib) and embeds
+ * it as base64. The page decompresses a file with DecompressionStream only when
+ * it is first fetched and caches the text, so the browser parses a much
+ * smaller script up front.
+ *
+ * --attachments also embeds binary attachments (screenshots, videos). Each
+ * distinct content is stored once, keyed by its SHA-256, however many
+ * attachments share it; attachments above the size cap (5 MB, or
+ * --attachments=maxKB) stay external.
  *
  * The resulting AllureReport.html can be emailed and opened directly by users
  * without any setup, IP, or .bat files.
+ *
+ * Memory: the report is streamed. index.html is split into a small template of
+ * literal text, local assets to copy and the injection point; each embedded
+ * file is then read and escaped straight into a buffered writer, so peak heap
+ * is bounded by the I/O buffers rather than the size of the report.
  */
 public final class AllureSingleHtmlExporter {
 
     private static final List<String> TEXT_EXTENSIONS = Arrays.asList(
             ".json", ".csv", ".txt", ".html");
 
+    private static final List<String> INCLUDE_ROOTS = Arrays.asList("data", "widgets", "export", "history");
+
+    static final Pattern CSS_LINK_PATTERN = Pattern.compile(
+            "<link\\s+[^>]*rel=\\\"stylesheet\\\"[^>]*href=\\\"([^\\\"]+)\\\"[^>]*/?>",
+            Pattern.CASE_INSENSITIVE);
+
+    static final Pattern JS_SCRIPT_PATTERN = Pattern.compile(
+            "<script\\s+[^>]*src=\\\"([^\\\"]+)\\\"[^>]*>\\s*</script>",
+            Pattern.CASE_INSENSITIVE);
+
+    static final String INJECTION_PREFIX = "<script>\n" +
+            "window.__ALLURE_EMBEDDED__ = ";
+
+    private static final String FETCH_OVERRIDE_HEAD = ";\n" +
+            "(function(){\n" +
+            "  const embedded = window.__ALLURE_EMBEDDED__ || {};\n" +
+            "  const originalFetch = window.fetch ? window.fetch.bind(window) : null;\n" +
+            "  const roots = ['data/', 'widgets/', 'export/', 'history/'];\n" +
+            "  function normalizeKey(input){\n" +
+            "    try {\n" +
+            "      const u = new URL(input, window.location.href);\n" +
+            "      input = (u.pathname || input) + (u.search || '');\n" +
+            "    } catch(e) { }\n" +
+            "    if (input.indexOf('?') !== -1) input = input.split('?')[0];\n" +
+            "    if (input.indexOf('#') !== -1) input = input.split('#')[0];\n" +
+            "    for (var i=0;i<roots.length;i++){\n" +
+            "      var idx = input.lastIndexOf(roots[i]);\n" +
+            "      if (idx !== -1){ input = input.substring(idx); break; }\n" +
+            "    }\n" +
+            "    if (input.startsWith('./')) input = input.slice(2);\n" +
+            "    if (input.startsWith('/')) input = input.slice(1);\n" +
+            "    return input;\n" +
+            "  }\n";
+
+    /**
+     * Decodes a compressed entry the first time its key is fetched and caches
+     * the text; the base64 source is dropped once decoded.
+     */
+    private static final String LAZY_DECODER = "" +
+            "  const encoding = '%s';\n" +
+            "  const decoded = {};\n" +
+            "  function decode(key){\n" +
+            "    if (!decoded[key]) {\n" +
+            "      const binary = atob(embedded[key]);\n" +
+            "      const bytes = new Uint8Array(binary.length);\n" +
+            "      for (var i=0;i<binary.length;i++) bytes[i] = binary.charCodeAt(i);\n" +
+            "      embedded[key] = '';\n" +
+            "      const stream = new Blob([bytes]).stream().pipeThrough(new DecompressionStream(encoding));\n" +
+            "      decoded[key] = new Response(stream).text();\n" +
+            "    }\n" +
+            "    return decoded[key];\n" +
+            "  }\n";
+
+    /**
+     * Serves embedded binary attachments. Allure shows images through
+     * {@code <img src>} rather than fetch, so {@code src}/{@code href}
+     * attributes that point at an attachment are rewritten to a {@code blob:}
+     * URL as they appear in the DOM. Each distinct blob is decoded once.
+     */
+    private static final String ATTACHMENT_RESOLVER = "" +
+            "  const blobs = window.__ALLURE_BLOBS__ || {};\n" +
+            "  const blobKeys = window.__ALLURE_BLOB_KEYS__ || {};\n" +
+            "  const blobUrls = {};\n" +
+            "  function blobFor(key){\n" +
+            "    const ref = blobKeys[key];\n" +
+            "    const binary = atob(blobs[ref[0]]);\n" +
+            "    const bytes = new Uint8Array(binary.length);\n" +
+            "    for (var i=0;i<binary.length;i++) bytes[i] = binary.charCodeAt(i);\n" +
+            "    return new Blob([bytes], { type: ref[1] });\n" +
+            "  }\n" +
+            "  function blobUrl(key){\n" +
+            "    const id = blobKeys[key].join(' ');\n" +
+            "    if (!blobUrls[id]) blobUrls[id] = URL.createObjectURL(blobFor(key));\n" +
+            "    return blobUrls[id];\n" +
+            "  }\n" +
+            "  function resolveAttachments(node){\n" +
+            "    if (!node.getAttribute) return;\n" +
+            "    const nodes = [node].concat(Array.prototype.slice.call(node.querySelectorAll('[src],[href]')));\n" +
+            "    nodes.forEach(function(element){\n" +
+            "      ['src', 'href'].forEach(function(attr){\n" +
+            "        const value = element.getAttribute(attr);\n" +
+            "        if (!value || value.startsWith('blob:')) return;\n" +
+            "        const key = normalizeKey(value);\n" +
+            "        if (Object.prototype.hasOwnProperty.call(blobKeys, key)) element.setAttribute(attr, blobUrl(key));\n" +
+            "      });\n" +
+            "    });\n" +
+            "  }\n" +
+            "  new MutationObserver(function(mutations){\n" +
+            "    mutations.forEach(function(m){\n" +
+            "      if (m.type === 'attributes') resolveAttachments(m.target);\n" +
+            "      else m.addedNodes.forEach(resolveAttachments);\n" +
+            "    });\n" +
+            "  }).observe(document.documentElement,\n" +
+            "      { childList: true, subtree: true, attributes: true, attributeFilter: ['src', 'href'] });\n";
+
+    private static final String FETCH_OVERRIDE_START = "" +
+            "  window.fetch = function(resource, init){\n" +
+            "    try {\n" +
+            "      const raw = typeof resource === 'string' ? resource : (resource && resource.url) || '';\n" +
+            "      const key = normalizeKey(raw);\n";
+
+    private static final String ATTACHMENT_LOOKUP = "" +
+            "      if (Object.prototype.hasOwnProperty.call(blobKeys, key)) {\n" +
+            "        const headers = { 'Content-Type': blobKeys[key][1] };\n" +
+            "        return Promise.resolve(new Response(blobFor(key), { status: 200, headers: headers }));\n" +
+            "      }\n";
+
+    private static final String EMBEDDED_LOOKUP = "" +
+            "      if (Object.prototype.hasOwnProperty.call(embedded, key)) {\n";
+
+    private static final String CONTENT_TYPE = "" +
+            "        const ct = key.endsWith('.json') ? 'application/json'\n" +
+            "                 : key.endsWith('.csv') ? 'text/csv'\n" +
+            "                 : key.endsWith('.txt') ? 'text/plain' : 'text/html';\n";
+
+    private static final String FETCH_OVERRIDE_TAIL = "" +
+            "      }\n" +
+            "    } catch (e) { }\n" +
+            "    if (originalFetch) return originalFetch(resource, init);\n" +
+            "    return Promise.reject(new Error('fetch unsupported in this environment'));\n" +
+            "  };\n" +
+            "})();\n" +
+            "</script>\n";
+
+    private static final String PLAIN_RESPONSE = "" +
+            "        const body = embedded[key];\n" +
+            CONTENT_TYPE +
+            "        return Promise.resolve(new Response(body, { status: 200, headers: { 'Content-Type': ct } }));\n";
+
+    private static final String DECODED_RESPONSE = "" +
+            CONTENT_TYPE +
+            "        return decode(key).then(function(body){\n" +
+            "          return new Response(body, { status: 200, headers: { 'Content-Type': ct } });\n" +
+            "        });\n";
+
+    private static final String INJECTION_SUFFIX = FETCH_OVERRIDE_HEAD + FETCH_OVERRIDE_START + EMBEDDED_LOOKUP
+            + PLAIN_RESPONSE + FETCH_OVERRIDE_TAIL;
+
+    private static final String BLOBS_PREFIX = ";\nwindow.__ALLURE_BLOBS__ = ";
+    private static final String BLOB_KEYS_PREFIX = ";\nwindow.__ALLURE_BLOB_KEYS__ = ";
+
+    /**
+     * Attachments larger than this stay external unless configured otherwise.
+     */
+    static final long DEFAULT_MAX_ATTACHMENT_BYTES = 5L * 1024 * 1024;
+
+    private static final int WRITE_BUFFER_CHARS = 1 << 16;
+    private static final int WRITE_BUFFER_BYTES = 1 << 16;
+    private static final Duration WATCH_DEBOUNCE = Duration.ofMillis(50);
+
     private AllureSingleHtmlExporter() {
     }
 
     public static void main(String[] args) throws Exception {
-        Path reportDirectory = Paths.get(args.length > 0 ? args[0] : "allure-report").toAbsolutePath();
+        List<String> positional = new ArrayList<>();
+        String parallelism = null;
+        boolean incremental = false;
+        boolean watch = false;
+        PayloadEncoding encoding = PayloadEncoding.JS_STRING;
+        boolean attachments = false;
+        long maxAttachmentBytes = DEFAULT_MAX_ATTACHMENT_BYTES;
+        for (String arg : args) {
+            if (arg.equals("--parallel")) {
+                parallelism = "virtual";
+            } else if (arg.startsWith("--parallel=")) {
+                parallelism = arg.substring("--parallel=".length());
+            } else if (arg.equals("--incremental")) {
+                incremental = true;
+            } else if (arg.equals("--watch")) {
+                watch = true;
+            } else if (arg.equals("--compress")) {
+                encoding = PayloadEncoding.GZIP;
+            } else if (arg.startsWith("--compress=")) {
+                encoding = PayloadEncoding.fromName(arg.substring("--compress=".length()));
+            } else if (arg.equals("--attachments")) {
+                attachments = true;
+            } else if (arg.startsWith("--attachments=")) {
+                attachments = true;
+                maxAttachmentBytes = Long.parseLong(arg.substring("--attachments=".length())) * 1024;
+            } else {
+                positional.add(arg);
+            }
+        }
+
+        Path reportDirectory = Paths.get(positional.size() > 0 ? positional.get(0) : "allure-report").toAbsolutePath();
         Path indexHtmlPath = reportDirectory.resolve("index.html");
         if (!Files.exists(indexHtmlPath)) {
             System.err.println("index.html bulunamadı: " + indexHtmlPath);
             System.exit(1);
         }
 
-        String indexHtml = Files.readString(indexHtmlPath, StandardCharsets.UTF_8);
+        Path outPath = Paths.get(positional.size() > 1 ? positional.get(1) : "AllureReport.html").toAbsolutePath();
+        ExecutorService executor = null;
+        String mode = "sıralı";
+        if ("virtual".equals(parallelism)) {
+            executor = Executors.newVirtualThreadPerTaskExecutor();
+            mode = "paralel, sanal iş parçacıkları";
+        } else if (parallelism != null) {
+            int threads = Integer.parseInt(parallelism);
+            executor = new ForkJoinPool(threads);
+            mode = "paralel, " + threads + " iş parçacıklı fork/join";
+        }
+        // Watch mode re-exports on every change, so it is always incremental
+        ExportOptions options = new ExportOptions(executor, incremental || watch, encoding, attachments,
+                maxAttachmentBytes);
+        if (encoding != PayloadEncoding.JS_STRING) {
+            mode += ", " + encoding.streamFormat() + " sıkıştırmalı";
+        }
 
-        // Typical Allure content folders we want to embed
-        List<String> includeRoots = Arrays.asList("data", "widgets", "export", "history");
+        try {
+            ExportStats stats = export(reportDirectory, outPath, options);
+            System.out.println("Tek dosya Allure raporu hazır: " + outPath + " (" + describe(stats, mode) + ")");
+            System.out.println("Bu dosyayı çift tıklayarak açabilirsiniz. Sunucu/kurulum gerekmez.");
+            if (watch) {
+                watch(reportDirectory, outPath, options, mode);
+            }
+        } finally {
+            if (executor != null) {
+                executor.close();
+            }
+        }
+    }
 
-        Map<String, String> embeddedTextByRelativePath = new LinkedHashMap<>();
+    private static String describe(ExportStats stats, String mode) {
+        String description = stats.duration().toMillis() + " ms, " + mode + ", " + stats.entries() + " dosya, "
+                + stats.reused() + " yeniden kullanıldı, " + stats.escaped() + " işlendi";
+        if (stats.attachments() > 0 || stats.externalAttachments() > 0) {
+            description += ", " + stats.attachments() + " ek (" + stats.blobs() + " benzersiz), "
+                    + stats.externalAttachments() + " ek boyut sınırı nedeniyle harici";
+        }
+        return description;
+    }
 
-        for (String root : includeRoots) {
-            Path rootPath = reportDirectory.resolve(root);
-            if (!Files.exists(rootPath)) {
-                continue;
-            }
-            try (Stream<Path> pathStream = Files.walk(rootPath)) {
-                for (Path filePath : pathStream.filter(Files::isRegularFile).collect(Collectors.toList())) {
-                    if (!isTextualFile(filePath)) {
-                        // Skip non-textual files (e.g., images); they remain referenced by relative
-                        // paths
-                        continue;
-                    }
-                    String relative = reportDirectory.relativize(filePath).toString().replace('\\', '/');
-                    String content = Files.readString(filePath, StandardCharsets.UTF_8);
-                    // Prevent breaking out of JS string context
-                    content = content.replace("\u2028", "\\u2028").replace("\u2029", "\\u2029");
-                    embeddedTextByRelativePath.put(relative, content);
+    /**
+     * Re-exports whenever something under {@code reportDirectory} changes,
+     * until the process is stopped. Bursts of events (a results directory being
+     * copied in, or {@code allure generate} rewriting the report) are coalesced
+     * into one export once the directory has been quiet for a moment.
+     */
+    static void watch(Path reportDirectory, Path outPath, ExportOptions options, String mode)
+            throws IOException, InterruptedException {
+        try (WatchService watchService = reportDirectory.getFileSystem().newWatchService()) {
+            registerTree(watchService, reportDirectory);
+            System.out.println("Değişiklikler izleniyor: " + reportDirectory + " (durdurmak için Ctrl+C)");
+            while (true) {
+                WatchKey key = watchService.take();
+                boolean relevant = false;
+                while (key != null) {
+                    relevant |= processEvents(watchService, key, outPath);
+                    key = watchService.poll(WATCH_DEBOUNCE.toMillis(), TimeUnit.MILLISECONDS);
+                }
+                if (!relevant || !Files.exists(reportDirectory.resolve("index.html"))) {
+                    continue;
+                }
+                try {
+                    ExportStats stats = export(reportDirectory, outPath, options);
+                    System.out.println("Rapor yeniden oluşturuldu (" + describe(stats, mode) + ")");
+                } catch (IOException e) {
+                    // Files may still be being written; the next event triggers another attempt
+                    System.err.println("Rapor yeniden oluşturulamadı: " + e.getMessage());
                 }
             }
         }
+    }
 
-        String embeddedMapJson = buildEmbeddedMapJson(embeddedTextByRelativePath);
-        String injectionScript = buildInjectionScript(embeddedMapJson);
+    private static boolean processEvents(WatchService watchService, WatchKey key, Path outPath)
+            throws IOException {
+        Path directory = (Path) key.watchable();
+        boolean relevant = false;
+        for (WatchEvent<?> event : key.pollEvents()) {
+            if (event.kind() == StandardWatchEventKinds.OVERFLOW) {
+                relevant = true;
+                continue;
+            }
+            Path changed = directory.resolve((Path) event.context());
+            // Our own output, temp file and manifest may live inside the watched tree
+            if (changed.getFileName().toString().startsWith(outPath.getFileName().toString())
+                    && changed.getParent().equals(outPath.getParent())) {
+                continue;
+            }
+            relevant = true;
+            if (event.kind() == StandardWatchEventKinds.ENTRY_CREATE && Files.isDirectory(changed)) {
+                registerTree(watchService, changed);
+            }
+        }
+        key.reset();
+        return relevant;
+    }
 
-        // First, inline local CSS/JS assets referenced by link/script tags
-        String htmlWithInlinedAssets = inlineLocalAssets(indexHtml, reportDirectory, injectionScript);
+    private static void registerTree(WatchService watchService, Path root) throws IOException {
+        try (Stream<Path> directories = Files.walk(root)) {
+            for (Path directory : directories.filter(Files::isDirectory).toList()) {
+                directory.register(watchService, StandardWatchEventKinds.ENTRY_CREATE,
+                        StandardWatchEventKinds.ENTRY_MODIFY, StandardWatchEventKinds.ENTRY_DELETE);
+            }
+        }
+    }
 
-        // If nothing matched (unexpected layout), ensure the injection is still present
-        String outputHtml = ensureInjectionPresent(htmlWithInlinedAssets, injectionScript);
+    /**
+     * Streams the single-file report for {@code reportDirectory} into {@code outPath}.
+     */
+    static ExportStats export(Path reportDirectory, Path outPath) throws IOException {
+        return export(reportDirectory, outPath, ExportOptions.defaults());
+    }
 
-        Path outPath = Paths.get(args.length > 1 ? args[1] : "AllureReport.html").toAbsolutePath();
-        ensureParentDirectoryExists(outPath);
-        Files.writeString(outPath, outputHtml, StandardCharsets.UTF_8);
+    /**
+     * Streams the single-file report for {@code reportDirectory} into
+     * {@code outPath}. The output is written to a temporary file and moved
+     * into place, so readers never see a half-written report. Whatever the
+     * options, the output is byte-for-byte the same for the same input.
+     */
+    static ExportStats export(Path reportDirectory, Path outPath, ExportOptions options) throws IOException {
+        long start = System.nanoTime();
+        String indexHtml = Files.readString(reportDirectory.resolve("index.html"), StandardCharsets.UTF_8);
+        List<Segment> template = buildTemplate(indexHtml, reportDirectory);
+        List<EmbeddedFile> files = scanEmbeddedFiles(reportDirectory);
+        List<EmbeddedFile> attachments = new ArrayList<>();
+        int externalAttachments = 0;
+        if (options.embedAttachments()) {
+            for (EmbeddedFile attachment : scanAttachments(reportDirectory)) {
+                if (attachment.size() <= options.maxAttachmentBytes()) {
+                    attachments.add(attachment);
+                } else {
+                    externalAttachments++;
+                }
+            }
+        }
 
-        System.out.println("Tek dosya Allure raporu hazır: " + outPath);
-        System.out.println("Bu dosyayı çift tıklayarak açabilirsiniz. Sunucu/kurulum gerekmez.");
-    }
+        PayloadEncoding encoding = options.encoding();
+        ExportManifest previous = options.incremental() ? ExportManifest.load(outPath, encoding.format()) : null;
+        ExportManifest next = options.incremental() ? ExportManifest.empty(encoding.format()) : null;
 
-    private static boolean isTextualFile(Path filePath) {
-        String lowercaseName = filePath.getFileName().toString().toLowerCase(Locale.ROOT);
-        for (String ext : TEXT_EXTENSIONS) {
-            if (lowercaseName.endsWith(ext)) {
-                return true;
+        ensureParentDirectoryExists(outPath);
+        Path tempPath = outPath.resolveSibling(outPath.getFileName() + ".tmp");
+        EmbeddedEntryWriter entryWriter;
+        AttachmentWriter attachmentWriter;
+        try (FileChannel previousOutput = previous == null ? null : FileChannel.open(outPath, StandardOpenOption.READ);
+                EmbeddedEntryWriter.CountingOutputStream bytes = new EmbeddedEntryWriter.CountingOutputStream(
+                        FileChannel.open(tempPath, StandardOpenOption.WRITE, StandardOpenOption.CREATE,
+                                StandardOpenOption.TRUNCATE_EXISTING), WRITE_BUFFER_BYTES);
+                Writer out = new BufferedWriter(new OutputStreamWriter(bytes, StandardCharsets.UTF_8),
+                        WRITE_BUFFER_CHARS)) {
+            entryWriter = new EmbeddedEntryWriter(out, bytes, encoding, previous, previousOutput, next);
+            attachmentWriter = new AttachmentWriter(out, bytes, previous, previousOutput, next);
+            attachmentWriter.index(attachments);
+            for (Segment segment : template) {
+                switch (segment) {
+                    case Text text -> out.write(text.value());
+                    case LocalAsset asset -> {
+                        try (Reader in = Files.newBufferedReader(asset.path(), StandardCharsets.UTF_8)) {
+                            in.transferTo(out);
+                        }
+                    }
+                    case Injection injection -> {
+                        out.write(INJECTION_PREFIX);
+                        out.write('{');
+                        entryWriter.writeAll(files, options.executor());
+                        out.write('}');
+                        if (options.embedAttachments()) {
+                            out.write(BLOBS_PREFIX);
+                            out.write('{');
+                            attachmentWriter.writeBlobs();
+                            out.write('}');
+                            out.write(BLOB_KEYS_PREFIX);
+                            out.write('{');
+                            attachmentWriter.writeKeys();
+                            out.write('}');
+                        }
+                        out.write(injectionSuffix(encoding, options.embedAttachments()));
+                    }
+                }
             }
         }
-        return false;
+        moveIntoPlace(tempPath, outPath);
+        if (next != null) {
+            next.save(outPath);
+        }
+        return new ExportStats(files.size(), entryWriter.getReusedCount(), entryWriter.getEscapedCount(),
+                attachmentWriter.getAttachmentCount(), attachmentWriter.getBlobCount(), externalAttachments,
+                Duration.ofNanos(System.nanoTime() - start));
     }
 
-    private static String buildEmbeddedMapJson(Map<String, String> data) {
-        StringBuilder mapBuilder = new StringBuilder("{");
-        boolean first = true;
-        for (Map.Entry<String, String> entry : data.entrySet()) {
-            if (!first) {
-                mapBuilder.append(',');
-            }
-            first = false;
-            mapBuilder.append('"').append(escapeJsonString(entry.getKey())).append('"').append(':')
-                    .append(escapeAsJsString(entry.getValue()));
+    private static void moveIntoPlace(Path tempPath, Path outPath) throws IOException {
+        try {
+            Files.move(tempPath, outPath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(tempPath, outPath, StandardCopyOption.REPLACE_EXISTING);
         }
-        mapBuilder.append('}');
-        return mapBuilder.toString();
     }
 
-    private static String buildInjectionScript(String mapJson) {
-        return "<script>\n" +
-                "window.__ALLURE_EMBEDDED__ = " + mapJson + ";\n" +
-                "(function(){\n" +
-                "  const embedded = window.__ALLURE_EMBEDDED__ || {};\n" +
-                "  const originalFetch = window.fetch ? window.fetch.bind(window) : null;\n" +
-                "  const roots = ['data/', 'widgets/', 'export/', 'history/'];\n" +
-                "  function normalizeKey(input){\n" +
-                "    try {\n" +
-                "      const u = new URL(input, window.location.href);\n" +
-                "      input = (u.pathname || input) + (u.search || '');\n" +
-                "    } catch(e) { }\n" +
-                "    if (input.indexOf('?') !== -1) input = input.split('?')[0];\n" +
-                "    if (input.indexOf('#') !== -1) input = input.split('#')[0];\n" +
-                "    for (var i=0;i<roots.length;i++){\n" +
-                "      var idx = input.lastIndexOf(roots[i]);\n" +
-                "      if (idx !== -1){ input = input.substring(idx); break; }\n" +
-                "    }\n" +
-                "    if (input.startsWith('./')) input = input.slice(2);\n" +
-                "    if (input.startsWith('/')) input = input.slice(1);\n" +
-                "    return input;\n" +
-                "  }\n" +
-                "  window.fetch = function(resource, init){\n" +
-                "    try {\n" +
-                "      const raw = typeof resource === 'string' ? resource : (resource && resource.url) || '';\n" +
-                "      const key = normalizeKey(raw);\n" +
-                "      if (Object.prototype.hasOwnProperty.call(embedded, key)) {\n" +
-                "        const body = embedded[key];\n" +
-                "        const ct = key.endsWith('.json') ? 'application/json'\n" +
-                "                 : key.endsWith('.csv') ? 'text/csv'\n" +
-                "                 : key.endsWith('.txt') ? 'text/plain' : 'text/html';\n" +
-                "        return Promise.resolve(new Response(body, { status: 200, headers: { 'Content-Type': ct } }));\n"
-                +
-                "      }\n" +
-                "    } catch (e) { }\n" +
-                "    if (originalFetch) return originalFetch(resource, init);\n" +
-                "    return Promise.reject(new Error('fetch unsupported in this environment'));\n" +
-                "  };\n" +
-                "})();\n" +
-                "</script>\n";
+    /**
+     * Textual files under the Allure content folders, in embedding order:
+     * root by root, sorted by path so exports do not depend on directory
+     * listing order. Non-textual files (e.g., images) are skipped; they remain
+     * referenced by relative paths unless attachments are embedded (see
+     * {@link #scanAttachments}).
+     */
+    static List<Path> embeddedFiles(Path reportDirectory) throws IOException {
+        return scanEmbeddedFiles(reportDirectory).stream().map(EmbeddedFile::path).toList();
     }
 
-    private static String ensureInjectionPresent(String html, String injection) {
-        if (html.contains("__ALLURE_EMBEDDED__")) {
-            return html;
-        }
-        int headCloseIndex = html.indexOf("</head>");
-        if (headCloseIndex >= 0) {
-            return html.substring(0, headCloseIndex) + injection + html.substring(headCloseIndex);
+    /**
+     * {@link #embeddedFiles} with the key, size and mtime of every file, taken
+     * from the directory walk itself so incremental exports stat each file once.
+     */
+    static List<EmbeddedFile> scanEmbeddedFiles(Path reportDirectory) throws IOException {
+        return scanFiles(reportDirectory, true);
+    }
+
+    /**
+     * The non-textual files under the Allure content folders (attachments such
+     * as screenshots), in the same order as {@link #scanEmbeddedFiles}.
+     */
+    static List<EmbeddedFile> scanAttachments(Path reportDirectory) throws IOException {
+        return scanFiles(reportDirectory, false);
+    }
+
+    private static List<EmbeddedFile> scanFiles(Path reportDirectory, boolean textual) throws IOException {
+        List<EmbeddedFile> files = new ArrayList<>();
+        for (String root : INCLUDE_ROOTS) {
+            Path rootPath = reportDirectory.resolve(root);
+            if (!Files.exists(rootPath)) {
+                continue;
+            }
+            List<EmbeddedFile> rootFiles = new ArrayList<>();
+            Files.walkFileTree(rootPath, new SimpleFileVisitor<>() {
+                @Override
+                public FileVisitResult visitFile(Path file, BasicFileAttributes attributes) throws IOException {
+                    if (attributes.isSymbolicLink()) {
+                        attributes = Files.readAttributes(file, BasicFileAttributes.class);
+                    }
+                    if (attributes.isRegularFile() && isTextualFile(file) == textual) {
+                        rootFiles.add(new EmbeddedFile(file, relativeKey(reportDirectory, file), attributes.size(),
+                                attributes.lastModifiedTime().toMillis()));
+                    }
+                    return FileVisitResult.CONTINUE;
+                }
+            });
+            rootFiles.sort(Comparator.comparing(EmbeddedFile::path));
+            files.addAll(rootFiles);
         }
-        return injection + html;
+        return files;
     }
 
-    private static String inlineLocalAssets(String html, Path reportDirectory, String injection) throws IOException {
-        String result = html;
+    static String relativeKey(Path reportDirectory, Path filePath) {
+        return reportDirectory.relativize(filePath).toString().replace('\\', '/');
+    }
 
-        // Inline CSS: <link rel="stylesheet" ... href="...">
-        Pattern cssPattern = Pattern.compile("<link\\s+[^>]*rel=\\\"stylesheet\\\"[^>]*href=\\\"([^\\\"]+)\\\"[^>]*/?>",
-                Pattern.CASE_INSENSITIVE);
-        Matcher cssMatcher = cssPattern.matcher(result);
-        StringBuffer cssBuffer = new StringBuffer();
+    /**
+     * Splits index.html into literal text, local CSS/JS assets to be inlined
+     * and the point where the fetch override goes (right before app.js). Same
+     * rules as the original in-memory pipeline's asset inlining, but nothing is read yet.
+     */
+    static List<Segment> buildTemplate(String indexHtml, Path reportDirectory) {
+        List<Segment> template = new ArrayList<>();
+        Matcher cssMatcher = CSS_LINK_PATTERN.matcher(indexHtml);
+        int cssEnd = 0;
         while (cssMatcher.find()) {
-            String href = cssMatcher.group(1);
-            if (href.startsWith("http://") || href.startsWith("https://")) {
-                cssMatcher.appendReplacement(cssBuffer, Matcher.quoteReplacement(cssMatcher.group()));
+            appendHtml(template, indexHtml.substring(cssEnd, cssMatcher.start()), reportDirectory);
+            cssEnd = cssMatcher.end();
+            Path cssPath = localAsset(reportDirectory, cssMatcher.group(1));
+            if (cssPath == null) {
+                appendHtml(template, cssMatcher.group(), reportDirectory);
                 continue;
             }
-            Path cssPath = reportDirectory.resolve(href).normalize();
-            if (Files.exists(cssPath)) {
-                String cssContent = Files.readString(cssPath, StandardCharsets.UTF_8);
-                String replacement = "<style>\n" + cssContent + "\n</style>";
-                cssMatcher.appendReplacement(cssBuffer, Matcher.quoteReplacement(replacement));
-            } else {
-                cssMatcher.appendReplacement(cssBuffer, Matcher.quoteReplacement(cssMatcher.group()));
-            }
+            template.add(new Text("<style>\n"));
+            template.add(new LocalAsset(cssPath));
+            template.add(new Text("\n</style>"));
+        }
+        appendHtml(template, indexHtml.substring(cssEnd), reportDirectory);
+
+        if (template.stream().noneMatch(Injection.class::isInstance)) {
+            // If nothing matched (unexpected layout), ensure the injection is still present
+            insertInjection(template);
         }
-        cssMatcher.appendTail(cssBuffer);
-        result = cssBuffer.toString();
+        return template;
+    }
 
-        // Inline JS: <script src="..."></script>
-        Pattern jsPattern = Pattern.compile("<script\\s+[^>]*src=\\\"([^\\\"]+)\\\"[^>]*>\\s*</script>",
-                Pattern.CASE_INSENSITIVE);
-        Matcher jsMatcher = jsPattern.matcher(result);
-        StringBuffer jsBuffer = new StringBuffer();
+    private static void appendHtml(List<Segment> template, String html, Path reportDirectory) {
+        Matcher jsMatcher = JS_SCRIPT_PATTERN.matcher(html);
+        int jsEnd = 0;
         while (jsMatcher.find()) {
+            template.add(new Text(html.substring(jsEnd, jsMatcher.start())));
+            jsEnd = jsMatcher.end();
             String src = jsMatcher.group(1);
-            if (src.startsWith("http://") || src.startsWith("https://")) {
-                jsMatcher.appendReplacement(jsBuffer, Matcher.quoteReplacement(jsMatcher.group()));
+            Path jsPath = localAsset(reportDirectory, src);
+            if (jsPath == null) {
+                template.add(new Text(jsMatcher.group()));
                 continue;
             }
-            Path jsPath = reportDirectory.resolve(src).normalize();
-            if (Files.exists(jsPath)) {
-                String jsContent = Files.readString(jsPath, StandardCharsets.UTF_8);
-                String inlineScript = "<script>\n" + jsContent + "\n</script>";
-                // Special-case app.js: inject our fetch override BEFORE app.js runs
-                if (src.equals("app.js")) {
-                    inlineScript = injection + inlineScript;
+            // Special-case app.js: inject our fetch override BEFORE app.js runs
+            if (src.equals("app.js")) {
+                template.add(new Injection());
+            }
+            template.add(new Text("<script>\n"));
+            template.add(new LocalAsset(jsPath));
+            template.add(new Text("\n</script>"));
+        }
+        template.add(new Text(html.substring(jsEnd)));
+    }
+
+    private static Path localAsset(Path reportDirectory, String reference) {
+        if (reference.startsWith("http://") || reference.startsWith("https://")) {
+            return null;
+        }
+        Path path = reportDirectory.resolve(reference).normalize();
+        return Files.exists(path) ? path : null;
+    }
+
+    private static void insertInjection(List<Segment> template) {
+        for (int i = 0; i < template.size(); i++) {
+            if (template.get(i) instanceof Text text) {
+                int headCloseIndex = text.value().indexOf("</head>");
+                if (headCloseIndex >= 0) {
+                    template.set(i, new Text(text.value().substring(headCloseIndex)));
+                    template.add(i, new Injection());
+                    template.add(i, new Text(text.value().substring(0, headCloseIndex)));
+                    return;
                 }
-                jsMatcher.appendReplacement(jsBuffer, Matcher.quoteReplacement(inlineScript));
-            } else {
-                jsMatcher.appendReplacement(jsBuffer, Matcher.quoteReplacement(jsMatcher.group()));
             }
         }
-        jsMatcher.appendTail(jsBuffer);
-        result = jsBuffer.toString();
+        template.add(0, new Injection());
+    }
 
-        return result;
+    /**
+     * Export settings.
+     *
+     * @param executor           reads and escapes embedded files in parallel when not null
+     * @param incremental        keeps a manifest next to the output and reuses unchanged payloads
+     * @param encoding           how embedded payloads are written
+     * @param embedAttachments   also embeds binary attachments, deduplicated by content
+     * @param maxAttachmentBytes attachments larger than this stay external
+     */
+    record ExportOptions(ExecutorService executor, boolean incremental, PayloadEncoding encoding,
+            boolean embedAttachments, long maxAttachmentBytes) {
+
+        static ExportOptions defaults() {
+            return new ExportOptions(null, false, PayloadEncoding.JS_STRING, false, DEFAULT_MAX_ATTACHMENT_BYTES);
+        }
+
+        ExportOptions withExecutor(ExecutorService executor) {
+            return new ExportOptions(executor, incremental, encoding, embedAttachments, maxAttachmentBytes);
+        }
+
+        ExportOptions withIncremental(boolean incremental) {
+            return new ExportOptions(executor, incremental, encoding, embedAttachments, maxAttachmentBytes);
+        }
+
+        ExportOptions withEncoding(PayloadEncoding encoding) {
+            return new ExportOptions(executor, incremental, encoding, embedAttachments, maxAttachmentBytes);
+        }
+
+        ExportOptions withAttachments(boolean embedAttachments) {
+            return new ExportOptions(executor, incremental, encoding, embedAttachments, maxAttachmentBytes);
+        }
+
+        ExportOptions withMaxAttachmentBytes(long maxAttachmentBytes) {
+            return new ExportOptions(executor, incremental, encoding, embedAttachments, maxAttachmentBytes);
+        }
     }
 
-    private static void ensureParentDirectoryExists(Path outPath) throws IOException {
-        Path parent = outPath.getParent();
-        if (parent != null && !Files.exists(parent)) {
-            Files.createDirectories(parent);
+    /**
+     * How each embedded file is written into {@code window.__ALLURE_EMBEDDED__}.
+     * Compressed payloads are base64 strings that the page inflates with
+     * {@code DecompressionStream} the first time the file is fetched.
+     */
+    enum PayloadEncoding {
+        /** The file's text as an escaped JS string literal. */
+        JS_STRING("js-string", null),
+        /** gzip (RFC 1952) stream of the file's bytes, base64. */
+        GZIP("gzip-base64", "gzip"),
+        /** zlib (RFC 1950) stream of the file's bytes, base64. */
+        DEFLATE("deflate-base64", "deflate");
+
+        private final String format;
+        private final String streamFormat;
+
+        PayloadEncoding(String format, String streamFormat) {
+            this.format = format;
+            this.streamFormat = streamFormat;
+        }
+
+        /**
+         * Identifies the encoding in the manifest; an incremental export only
+         * reuses payloads written in the same format.
+         */
+        String format() {
+            return format;
+        }
+
+        /**
+         * {@code DecompressionStream} format, or null for uncompressed payloads.
+         */
+        String streamFormat() {
+            return streamFormat;
+        }
+
+        static PayloadEncoding fromName(String name) {
+            for (PayloadEncoding encoding : values()) {
+                if (name.equalsIgnoreCase(encoding.streamFormat)) {
+                    return encoding;
+                }
+            }
+            throw new IllegalArgumentException("Bilinmeyen sıkıştırma biçimi: " + name + " (gzip veya deflate)");
         }
     }
 
-    private static String escapeJsonString(String value) {
-        return value.replace("\\", "\\\\").replace("\"", "\\\"");
+    /**
+     * @param entries             embedded files
+     * @param reused              entries copied from the previous output
+     * @param escaped             entries read and escaped in this export
+     * @param attachments         binary attachments embedded
+     * @param blobs               distinct attachment contents stored
+     * @param externalAttachments attachments left external because of the size cap
+     * @param duration            wall-clock time of the export
+     */
+    record ExportStats(int entries, int reused, int escaped, int attachments, int blobs, int externalAttachments,
+            Duration duration) {
     }
 
-    private static String escapeAsJsString(String s) {
-        StringBuilder builder = new StringBuilder("\"");
-        for (int i = 0; i < s.length(); i++) {
-            char c = s.charAt(i);
-            switch (c) {
-                case '\\':
-                    builder.append("\\\\");
-                    break;
-                case '"':
-                    builder.append("\\\"");
-                    break;
-                case '\n':
-                    builder.append("\\n");
-                    break;
-                case '\r':
-                    builder.append("\\r");
-                    break;
-                case '\t':
-                    builder.append("\\t");
-                    break;
-                default:
-                    if (c < 32) {
-                        builder.append(String.format("\\u%04x", (int) c));
-                    } else {
-                        builder.append(c);
-                    }
+    /**
+     * @param key      path relative to the report directory, as embedded
+     * @param size     file size in bytes
+     * @param modified file mtime in milliseconds
+     */
+    record EmbeddedFile(Path path, String key, long size, long modified) {
+    }
+
+    /**
+     * Piece of the output document; see {@link #buildTemplate}.
+     */
+    sealed interface Segment permits Text, LocalAsset, Injection {
+    }
+
+    record Text(String value) implements Segment {
+    }
+
+    record LocalAsset(Path path) implements Segment {
+    }
+
+    record Injection() implements Segment {
+    }
+
+    private static boolean isTextualFile(Path filePath) {
+        String lowercaseName = filePath.getFileName().toString().toLowerCase(Locale.ROOT);
+        for (String ext : TEXT_EXTENSIONS) {
+            if (lowercaseName.endsWith(ext)) {
+                return true;
             }
         }
-        builder.append('"');
-        return builder.toString();
+        return false;
+    }
+
+    /**
+     * Script after the embedded map (and the attachment maps, if any): the
+     * fetch override, with a lazy decoder for compressed payloads and the
+     * attachment resolver when attachments are embedded.
+     */
+    static String injectionSuffix(PayloadEncoding encoding, boolean attachments) {
+        if (encoding == PayloadEncoding.JS_STRING && !attachments) {
+            return INJECTION_SUFFIX;
+        }
+        boolean compressed = encoding != PayloadEncoding.JS_STRING;
+        StringBuilder suffix = new StringBuilder(FETCH_OVERRIDE_HEAD);
+        if (compressed) {
+            suffix.append(LAZY_DECODER.formatted(encoding.streamFormat()));
+        }
+        if (attachments) {
+            suffix.append(ATTACHMENT_RESOLVER);
+        }
+        suffix.append(FETCH_OVERRIDE_START);
+        if (attachments) {
+            suffix.append(ATTACHMENT_LOOKUP);
+        }
+        suffix.append(EMBEDDED_LOOKUP)
+                .append(compressed ? DECODED_RESPONSE : PLAIN_RESPONSE)
+                .append(FETCH_OVERRIDE_TAIL);
+        return suffix.toString();
+    }
+
+    private static void ensureParentDirectoryExists(Path outPath) throws IOException {
+        Path parent = outPath.getParent();
+        if (parent != null && !Files.exists(parent)) {
+            Files.createDirectories(parent);
+        }
+    }
+
+    static String escapeJsonString(String value) {
+        return JsStringEscaper.KEY.escape(value);
     }
 }
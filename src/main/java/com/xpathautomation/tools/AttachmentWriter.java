@@ -0,0 +1,155 @@
+package com.xpathautomation.tools;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.channels.FileChannel;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Writes binary attachments (screenshots, videos, ...) as content-addressed
+ * blobs: {@code window.__ALLURE_BLOBS__} maps a SHA-256 to the base64 bytes,
+ * stored once however many attachments share them, and
+ * {@code window.__ALLURE_BLOB_KEYS__} maps each attachment path to its blob
+ * and MIME type.
+ *
+ * In incremental mode the hash of an unchanged attachment is taken from the
+ * previous manifest, and blobs already present in the previous output are
+ * copied from it rather than read and encoded again.
+ */
+final class AttachmentWriter {
+
+    /**
+     * Manifest key prefix of blob entries; attachment paths never start with it.
+     */
+    private static final String BLOB_KEY_PREFIX = "blob:";
+
+    private static final Map<String, String> MIME_TYPES = Map.ofEntries(
+            Map.entry("png", "image/png"),
+            Map.entry("jpg", "image/jpeg"),
+            Map.entry("jpeg", "image/jpeg"),
+            Map.entry("gif", "image/gif"),
+            Map.entry("webp", "image/webp"),
+            Map.entry("bmp", "image/bmp"),
+            Map.entry("svg", "image/svg+xml"),
+            Map.entry("mp4", "video/mp4"),
+            Map.entry("webm", "video/webm"),
+            Map.entry("pdf", "application/pdf"),
+            Map.entry("zip", "application/zip"));
+
+    private final Writer out;
+    private final EmbeddedEntryWriter.CountingOutputStream bytes;
+    private final ExportManifest previous;
+    private final FileChannel previousOutput;
+    private final ExportManifest next;
+    private final EmbeddedFileReader reader = new EmbeddedFileReader();
+    private final List<Reference> references = new ArrayList<>();
+    private final Map<String, AllureSingleHtmlExporter.EmbeddedFile> blobs = new LinkedHashMap<>();
+
+    /**
+     * Same stream and manifest arguments as {@link EmbeddedEntryWriter}.
+     */
+    AttachmentWriter(Writer out, EmbeddedEntryWriter.CountingOutputStream bytes, ExportManifest previous,
+            FileChannel previousOutput, ExportManifest next) {
+        this.out = out;
+        this.bytes = bytes;
+        this.previous = previous;
+        this.previousOutput = previousOutput;
+        this.next = next;
+    }
+
+    /**
+     * Hashes the attachments and groups them by content. Blobs are written in
+     * the order of their first attachment.
+     */
+    void index(List<AllureSingleHtmlExporter.EmbeddedFile> attachments) throws IOException {
+        for (AllureSingleHtmlExporter.EmbeddedFile file : attachments) {
+            ExportManifest.Entry old = previous == null ? null : previous.get(file.key());
+            String sha256 = old != null && old.size() == file.size() && old.modified() == file.modified()
+                    ? old.sha256()
+                    : reader.sha256(file.path());
+            references.add(new Reference(file, sha256));
+            blobs.putIfAbsent(sha256, file);
+        }
+    }
+
+    /**
+     * Writes the entries of {@code window.__ALLURE_BLOBS__}, without braces.
+     */
+    void writeBlobs() throws IOException {
+        boolean first = true;
+        for (Map.Entry<String, AllureSingleHtmlExporter.EmbeddedFile> blob : blobs.entrySet()) {
+            if (!first) {
+                out.write(',');
+            }
+            first = false;
+            String key = BLOB_KEY_PREFIX + blob.getKey();
+            AllureSingleHtmlExporter.EmbeddedFile file = blob.getValue();
+            long offset = 0;
+            if (next != null) {
+                out.flush();
+                offset = bytes.getCount();
+            }
+            ExportManifest.Entry old = previous == null ? null : previous.get(key);
+            if (old != null) {
+                if (bytes.transferFrom(previousOutput, old.offset(), old.length()) != old.length()) {
+                    throw new IOException("Previous output is shorter than its manifest: " + key);
+                }
+            } else {
+                out.write('"');
+                out.write(blob.getKey());
+                out.write("\":");
+                reader.writeBase64(file.path(), out);
+            }
+            if (next != null) {
+                out.flush();
+                next.put(new ExportManifest.Entry(key, file.size(), file.modified(), blob.getKey(), offset,
+                        bytes.getCount() - offset));
+            }
+        }
+    }
+
+    /**
+     * Writes the entries of {@code window.__ALLURE_BLOB_KEYS__}, without braces.
+     */
+    void writeKeys() throws IOException {
+        for (int i = 0; i < references.size(); i++) {
+            Reference reference = references.get(i);
+            AllureSingleHtmlExporter.EmbeddedFile file = reference.file();
+            if (i > 0) {
+                out.write(',');
+            }
+            out.write('"');
+            out.write(AllureSingleHtmlExporter.escapeJsonString(file.key()));
+            out.write("\":[\"");
+            out.write(reference.sha256());
+            out.write("\",\"");
+            out.write(mimeType(file.key()));
+            out.write("\"]");
+            if (next != null) {
+                // Only the hash is reused; the entry itself is rewritten every time
+                next.put(new ExportManifest.Entry(file.key(), file.size(), file.modified(), reference.sha256(),
+                        -1, 0));
+            }
+        }
+    }
+
+    int getAttachmentCount() {
+        return references.size();
+    }
+
+    int getBlobCount() {
+        return blobs.size();
+    }
+
+    static String mimeType(String key) {
+        String extension = key.substring(key.lastIndexOf('.') + 1).toLowerCase(Locale.ROOT);
+        return MIME_TYPES.getOrDefault(extension, "application/octet-stream");
+    }
+
+    private record Reference(AllureSingleHtmlExporter.EmbeddedFile file, String sha256) {
+    }
+}
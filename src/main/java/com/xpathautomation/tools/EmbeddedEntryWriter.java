@@ -0,0 +1,295 @@
+package com.xpathautomation.tools;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.io.Writer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+/**
+ * Writes the entries of {@code window.__ALLURE_EMBEDDED__} for one export.
+ *
+ * Files are read and escaped on the caller thread or on an executor; either
+ * way entries are written in the given order, so the output does not depend
+ * on the mode. In incremental mode every entry's byte range
+ * ({@code "key":"payload"}) is recorded in the next manifest, and entries
+ * whose source did not change since the previous manifest are copied from the
+ * previous output without being read or escaped. Runs of such entries that
+ * were adjacent in the previous output are copied as one range.
+ */
+final class EmbeddedEntryWriter {
+
+    /**
+     * Files in flight in parallel mode; bounds memory to the window, not the report.
+     */
+    private static final int PARALLEL_WINDOW = 256;
+
+    private final Writer out;
+    private final CountingOutputStream bytes;
+    private final AllureSingleHtmlExporter.PayloadEncoding encoding;
+    private final ExportManifest previous;
+    private final FileChannel previousOutput;
+    private final ExportManifest next;
+    private final EmbeddedFileReader reader = new EmbeddedFileReader();
+    private long runStart = -1;
+    private long runEnd;
+    private int reusedCount;
+    private int escapedCount;
+
+    /**
+     * @param out            character stream of the output
+     * @param bytes          byte stream under {@code out}; its count gives entry offsets
+     * @param encoding       how payloads are written
+     * @param previous       manifest of the previous output, or null when nothing can be reused
+     * @param previousOutput the previous output, open for reading when {@code previous} is set
+     * @param next           manifest to record entries in, or null when the export is not incremental
+     */
+    EmbeddedEntryWriter(Writer out, CountingOutputStream bytes, AllureSingleHtmlExporter.PayloadEncoding encoding,
+            ExportManifest previous, FileChannel previousOutput, ExportManifest next) {
+        this.out = out;
+        this.bytes = bytes;
+        this.encoding = encoding;
+        this.previous = previous;
+        this.previousOutput = previousOutput;
+        this.next = next;
+    }
+
+    /**
+     * @param executor reads and escapes files in parallel when not null
+     */
+    void writeAll(List<AllureSingleHtmlExporter.EmbeddedFile> files, ExecutorService executor) throws IOException {
+        if (executor == null) {
+            for (int i = 0; i < files.size(); i++) {
+                write(i, prepare(files.get(i), reader, false));
+            }
+            flushRun();
+            return;
+        }
+
+        Queue<EmbeddedFileReader> readers = new ConcurrentLinkedQueue<>();
+        Deque<Future<PreparedEntry>> inFlight = new ArrayDeque<>();
+        int submitted = 0;
+        try {
+            for (int i = 0; i < files.size(); i++) {
+                while (submitted < files.size() && submitted - i < PARALLEL_WINDOW) {
+                    AllureSingleHtmlExporter.EmbeddedFile file = files.get(submitted++);
+                    inFlight.add(executor.submit(() -> prepareWithPooledReader(file, readers)));
+                }
+                write(i, await(inFlight.poll()));
+            }
+            flushRun();
+        } finally {
+            inFlight.forEach(future -> future.cancel(true));
+        }
+    }
+
+    int getReusedCount() {
+        return reusedCount;
+    }
+
+    int getEscapedCount() {
+        return escapedCount;
+    }
+
+    private PreparedEntry prepareWithPooledReader(AllureSingleHtmlExporter.EmbeddedFile file,
+            Queue<EmbeddedFileReader> readers) throws IOException {
+        EmbeddedFileReader pooled = readers.poll();
+        if (pooled == null) {
+            pooled = new EmbeddedFileReader();
+        }
+        try {
+            return prepare(file, pooled, true);
+        } finally {
+            readers.offer(pooled);
+        }
+    }
+
+    /**
+     * Decides whether the previous entry can be reused. Otherwise, when
+     * {@code materialize} is set (worker threads), the file is escaped into a
+     * string here; on the caller thread it is streamed later by {@link #write}.
+     */
+    private PreparedEntry prepare(AllureSingleHtmlExporter.EmbeddedFile file, EmbeddedFileReader fileReader,
+            boolean materialize) throws IOException {
+        ExportManifest.Entry old = previous == null ? null : previous.get(file.key());
+        if (old != null && old.size() == file.size()) {
+            if (old.modified() == file.modified()) {
+                return new PreparedEntry(file, old.sha256(), old, null);
+            }
+            // Touched but possibly unchanged (e.g. a regenerated report): compare content
+            String sha256 = fileReader.sha256(file.path());
+            if (sha256.equals(old.sha256())) {
+                return new PreparedEntry(file, sha256, old, null);
+            }
+        }
+        if (!materialize) {
+            return new PreparedEntry(file, null, null, null);
+        }
+        // Escaping rarely grows JSON by more than a few characters; compression only shrinks it
+        StringBuilder escaped = new StringBuilder((int) Math.min(file.size() + 16, Integer.MAX_VALUE - 8));
+        String sha256 = fileReader.write(file.path(), escaped, encoding, next != null);
+        return new PreparedEntry(file, sha256, null, escaped.toString());
+    }
+
+    private void write(int index, PreparedEntry entry) throws IOException {
+        ExportManifest.Entry reuse = entry.reuse();
+        if (reuse != null) {
+            reusedCount++;
+            // The previous output had this entry right after the last one copied: extend the run,
+            // separating comma included
+            if (runStart >= 0 && reuse.offset() == runEnd + 1) {
+                long offset = bytes.getCount() + (reuse.offset() - runStart);
+                runEnd = reuse.offset() + reuse.length();
+                record(entry, entry.sha256(), offset, reuse.length());
+                return;
+            }
+            flushRun();
+            if (index > 0) {
+                out.write(',');
+            }
+            out.flush();
+            runStart = reuse.offset();
+            runEnd = reuse.offset() + reuse.length();
+            record(entry, entry.sha256(), bytes.getCount(), reuse.length());
+            return;
+        }
+
+        flushRun();
+        if (index > 0) {
+            out.write(',');
+        }
+        long offset = 0;
+        if (next != null) {
+            out.flush();
+            offset = bytes.getCount();
+        }
+        out.write('"');
+        out.write(AllureSingleHtmlExporter.escapeJsonString(entry.file().key()));
+        out.write("\":");
+        String sha256 = entry.sha256();
+        if (entry.escaped() != null) {
+            out.write(entry.escaped());
+        } else {
+            sha256 = reader.write(entry.file().path(), out, encoding, next != null);
+        }
+        escapedCount++;
+        if (next != null) {
+            out.flush();
+            record(entry, sha256, offset, bytes.getCount() - offset);
+        }
+    }
+
+    private void record(PreparedEntry entry, String sha256, long offset, long length) {
+        AllureSingleHtmlExporter.EmbeddedFile file = entry.file();
+        next.put(new ExportManifest.Entry(file.key(), file.size(), file.modified(), sha256, offset, length));
+    }
+
+    /**
+     * Copies the pending run of reused entries from the previous output.
+     */
+    private void flushRun() throws IOException {
+        if (runStart < 0) {
+            return;
+        }
+        long copied = bytes.transferFrom(previousOutput, runStart, runEnd - runStart);
+        if (copied != runEnd - runStart) {
+            throw new IOException("Previous output is shorter than its manifest");
+        }
+        runStart = -1;
+    }
+
+    private static PreparedEntry await(Future<PreparedEntry> future) throws IOException {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Export interrupted");
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof IOException io) {
+                throw io;
+            }
+            throw new IOException(e.getCause());
+        }
+    }
+
+    /**
+     * @param sha256  hex SHA-256 of the file when already known, or null
+     * @param reuse   previous manifest entry to copy, or null
+     * @param escaped payload escaped by a worker, or null
+     */
+    private record PreparedEntry(AllureSingleHtmlExporter.EmbeddedFile file, String sha256,
+            ExportManifest.Entry reuse, String escaped) {
+    }
+
+    /**
+     * Buffered byte stream over the output file that counts the bytes written
+     * through it. {@code flush()} is deliberately not forwarded: the entry
+     * writer flushes the character stream after every entry to learn its
+     * offset, and that must not reach the file.
+     */
+    static final class CountingOutputStream extends OutputStream {
+        private final FileChannel channel;
+        private final BufferedOutputStream buffered;
+        private long count;
+
+        CountingOutputStream(FileChannel channel, int bufferSize) {
+            this.channel = channel;
+            this.buffered = new BufferedOutputStream(Channels.newOutputStream(channel), bufferSize);
+        }
+
+        long getCount() {
+            return count;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            buffered.write(b);
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            buffered.write(b, off, len);
+            count += len;
+        }
+
+        /**
+         * Appends {@code length} bytes of {@code source} starting at
+         * {@code position}, file to file where the platform supports it.
+         *
+         * @return bytes copied; less than {@code length} only if {@code source} ends first
+         */
+        long transferFrom(FileChannel source, long position, long length) throws IOException {
+            buffered.flush();
+            long copied = 0;
+            while (copied < length) {
+                long transferred = source.transferTo(position + copied, length - copied, channel);
+                if (transferred <= 0) {
+                    break;
+                }
+                copied += transferred;
+            }
+            count += copied;
+            return copied;
+        }
+
+        @Override
+        public void flush() {
+        }
+
+        @Override
+        public void close() throws IOException {
+            buffered.close();
+        }
+    }
+}
@@ -0,0 +1,262 @@
+package com.xpathautomation.tools;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.HexFormat;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+
+/**
+ * Writes embedded files as payloads. Plain payloads are decoded from UTF-8
+ * chunk by chunk into {@link JsStringEscaper#PAYLOAD};
+ * malformed input fails the export, as {@code Files.readString} did.
+ * Compressed payloads deflate the raw bytes into a base64 string literal.
+ * One decoder, one deflater, one digest and one set of buffers serve every
+ * file a reader handles, so embedding tens of thousands of files allocates
+ * next to nothing per file.
+ *
+ * Not thread-safe; parallel exports give each worker its own reader.
+ */
+final class EmbeddedFileReader {
+
+    private static final int BUFFER_SIZE = 1 << 13;
+
+    /**
+     * gzip member header: deflate, no flags, no mtime, unknown OS.
+     */
+    private static final byte[] GZIP_HEADER = {0x1f, (byte) 0x8b, 8, 0, 0, 0, 0, 0, 0, (byte) 0xff};
+
+    private final CharsetDecoder decoder = StandardCharsets.UTF_8.newDecoder();
+    private final ByteBuffer bytes = ByteBuffer.allocate(BUFFER_SIZE);
+    private final CharBuffer chars = CharBuffer.allocate(BUFFER_SIZE);
+    private final char[] escaped = new char[BUFFER_SIZE * JsStringEscaper.MAX_EXPANSION];
+    private final MessageDigest digest = newSha256();
+    private final byte[] deflated = new byte[BUFFER_SIZE];
+    private final char[] base64Chars = new char[BUFFER_SIZE];
+    private final CRC32 crc = new CRC32();
+    private Deflater gzipDeflater;
+    private Deflater zlibDeflater;
+
+    /**
+     * Writes the file's payload in {@code encoding}.
+     *
+     * @param hash also compute the SHA-256 of the file while reading it
+     * @return hex SHA-256 of the file when {@code hash} is set, otherwise null
+     */
+    String write(Path filePath, Appendable out, AllureSingleHtmlExporter.PayloadEncoding encoding, boolean hash)
+            throws IOException {
+        return switch (encoding) {
+            case JS_STRING -> writeEscaped(filePath, out, hash);
+            case GZIP -> writeCompressed(filePath, out, true, hash);
+            case DEFLATE -> writeCompressed(filePath, out, false, hash);
+        };
+    }
+
+    /**
+     * Writes the file as a quoted JS string literal.
+     *
+     * @param hash also compute the SHA-256 of the file while reading it
+     * @return hex SHA-256 of the file when {@code hash} is set, otherwise null
+     */
+    String writeEscaped(Path filePath, Appendable out, boolean hash) throws IOException {
+        decoder.reset();
+        digest.reset();
+        bytes.clear();
+        out.append('"');
+        try (FileChannel channel = FileChannel.open(filePath, StandardOpenOption.READ)) {
+            boolean endOfInput = false;
+            while (!endOfInput) {
+                int start = bytes.position();
+                int read = channel.read(bytes);
+                endOfInput = read == -1;
+                if (hash && read > 0) {
+                    digest.update(bytes.array(), start, read);
+                }
+                bytes.flip();
+                CoderResult result;
+                do {
+                    result = decoder.decode(bytes, chars, endOfInput);
+                    if (result.isError()) {
+                        result.throwException();
+                    }
+                    drain(out);
+                } while (result.isOverflow());
+                bytes.compact();
+            }
+            while (decoder.flush(chars).isOverflow()) {
+                drain(out);
+            }
+            drain(out);
+        }
+        out.append('"');
+        return hash ? HexFormat.of().formatHex(digest.digest()) : null;
+    }
+
+    /**
+     * Writes the file deflated and base64-encoded as a quoted JS string
+     * literal. Base64 needs no escaping. The gzip framing is written here
+     * rather than with {@code GZIPOutputStream} so the deflater can be reused;
+     * its header carries no name or mtime, so equal files give equal payloads.
+     *
+     * @param gzip gzip framing when set, zlib otherwise
+     */
+    private String writeCompressed(Path filePath, Appendable out, boolean gzip, boolean hash) throws IOException {
+        Deflater deflater = gzip ? gzipDeflater() : zlibDeflater();
+        deflater.reset();
+        digest.reset();
+        crc.reset();
+        out.append('"');
+        try (OutputStream base64 = Base64.getEncoder().wrap(new AppendableOutputStream(out));
+                FileChannel channel = FileChannel.open(filePath, StandardOpenOption.READ)) {
+            if (gzip) {
+                base64.write(GZIP_HEADER);
+            }
+            bytes.clear();
+            int read;
+            while ((read = channel.read(bytes)) != -1) {
+                if (hash) {
+                    digest.update(bytes.array(), 0, read);
+                }
+                if (gzip) {
+                    crc.update(bytes.array(), 0, read);
+                }
+                deflater.setInput(bytes.array(), 0, read);
+                while (!deflater.needsInput()) {
+                    base64.write(deflated, 0, deflater.deflate(deflated));
+                }
+                bytes.clear();
+            }
+            deflater.finish();
+            while (!deflater.finished()) {
+                base64.write(deflated, 0, deflater.deflate(deflated));
+            }
+            if (gzip) {
+                writeIntLE(base64, (int) crc.getValue());
+                writeIntLE(base64, (int) deflater.getBytesRead());
+            }
+        }
+        out.append('"');
+        return hash ? HexFormat.of().formatHex(digest.digest()) : null;
+    }
+
+    /**
+     * Writes the file's bytes base64-encoded as a quoted JS string literal.
+     */
+    void writeBase64(Path filePath, Appendable out) throws IOException {
+        out.append('"');
+        try (OutputStream base64 = Base64.getEncoder().wrap(new AppendableOutputStream(out));
+                FileChannel channel = FileChannel.open(filePath, StandardOpenOption.READ)) {
+            bytes.clear();
+            int read;
+            while ((read = channel.read(bytes)) != -1) {
+                base64.write(bytes.array(), 0, read);
+                bytes.clear();
+            }
+        }
+        out.append('"');
+    }
+
+    private Deflater gzipDeflater() {
+        if (gzipDeflater == null) {
+            gzipDeflater = new Deflater(Deflater.DEFAULT_COMPRESSION, true);
+        }
+        return gzipDeflater;
+    }
+
+    private Deflater zlibDeflater() {
+        if (zlibDeflater == null) {
+            zlibDeflater = new Deflater(Deflater.DEFAULT_COMPRESSION, false);
+        }
+        return zlibDeflater;
+    }
+
+    private static void writeIntLE(OutputStream out, int value) throws IOException {
+        out.write(value);
+        out.write(value >>> 8);
+        out.write(value >>> 16);
+        out.write(value >>> 24);
+    }
+
+    /**
+     * @return hex SHA-256 of the file's bytes
+     */
+    String sha256(Path filePath) throws IOException {
+        digest.reset();
+        bytes.clear();
+        try (FileChannel channel = FileChannel.open(filePath, StandardOpenOption.READ)) {
+            while (channel.read(bytes) != -1) {
+                bytes.flip();
+                digest.update(bytes);
+                bytes.clear();
+            }
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    private void drain(Appendable out) throws IOException {
+        chars.flip();
+        int length = JsStringEscaper.PAYLOAD.escape(chars.array(), chars.arrayOffset(), chars.limit(), escaped);
+        if (out instanceof Writer writer) {
+            writer.write(escaped, 0, length);
+        } else if (out instanceof StringBuilder builder) {
+            builder.append(escaped, 0, length);
+        } else {
+            out.append(CharBuffer.wrap(escaped, 0, length));
+        }
+        chars.clear();
+    }
+
+    /**
+     * Passes base64 output, which is ASCII, on to an {@link Appendable}.
+     * {@code close()} leaves the target open.
+     */
+    private final class AppendableOutputStream extends OutputStream {
+        private final Appendable out;
+
+        AppendableOutputStream(Appendable out) {
+            this.out = out;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            out.append((char) (b & 0xFF));
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            while (len > 0) {
+                int chunk = Math.min(len, base64Chars.length);
+                for (int i = 0; i < chunk; i++) {
+                    base64Chars[i] = (char) (b[off + i] & 0xFF);
+                }
+                if (out instanceof Writer writer) {
+                    writer.write(base64Chars, 0, chunk);
+                } else {
+                    out.append(CharBuffer.wrap(base64Chars, 0, chunk));
+                }
+                off += chunk;
+                len -= chunk;
+            }
+        }
+    }
+
+    private static MessageDigest newSha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
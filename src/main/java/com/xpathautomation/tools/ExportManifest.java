@@ -0,0 +1,133 @@
+package com.xpathautomation.tools;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Sidecar manifest of an incremental single-file export.
+ *
+ * For every embedded file it records the source size, mtime and SHA-256 and
+ * where its entry ({@code "key":"payload"}) sits in the output (byte offset
+ * and length). The next export copies unchanged entries straight from the
+ * previous output instead of reading and escaping them again.
+ *
+ * Format: a header line, one line per entry
+ * ({@code size mtime sha256 offset length key}, space separated, key last so
+ * it may contain spaces) and a trailer with the size and mtime of the output
+ * it describes. A manifest whose format or output no longer matches is
+ * ignored and the export starts from scratch.
+ */
+final class ExportManifest {
+
+    private static final String HEADER = "# allure-single-html manifest v1 ";
+    private static final String TRAILER = "# output ";
+
+    private final String format;
+    private final Map<String, Entry> entries;
+
+    private ExportManifest(String format, Map<String, Entry> entries) {
+        this.format = format;
+        this.entries = entries;
+    }
+
+    /**
+     * @param format describes how payloads were encoded; payloads are only reused for the same format
+     */
+    static ExportManifest empty(String format) {
+        return new ExportManifest(format, new HashMap<>());
+    }
+
+    static Path pathFor(Path outPath) {
+        return outPath.resolveSibling(outPath.getFileName() + ".manifest");
+    }
+
+    /**
+     * Loads the manifest written next to {@code outPath}, or returns null when
+     * there is none or it does not describe the current output in {@code format}.
+     */
+    static ExportManifest load(Path outPath, String format) throws IOException {
+        Path manifestPath = pathFor(outPath);
+        if (!Files.exists(manifestPath) || !Files.exists(outPath)) {
+            return null;
+        }
+        Map<String, Entry> entries = new HashMap<>();
+        long outputSize = -1;
+        long outputModified = -1;
+        try (BufferedReader reader = Files.newBufferedReader(manifestPath, StandardCharsets.UTF_8)) {
+            if (!(HEADER + format).equals(reader.readLine())) {
+                return null;
+            }
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.startsWith(TRAILER)) {
+                    String[] output = line.substring(TRAILER.length()).split(" ");
+                    outputSize = Long.parseLong(output[0]);
+                    outputModified = Long.parseLong(output[1]);
+                    continue;
+                }
+                String[] fields = line.split(" ", 6);
+                if (fields.length != 6) {
+                    return null;
+                }
+                entries.put(fields[5], new Entry(fields[5], Long.parseLong(fields[0]), Long.parseLong(fields[1]),
+                        fields[2], Long.parseLong(fields[3]), Long.parseLong(fields[4])));
+            }
+        } catch (NumberFormatException e) {
+            return null;
+        }
+        if (outputSize != Files.size(outPath)
+                || outputModified != Files.getLastModifiedTime(outPath).toMillis()) {
+            // The output was changed or replaced since this manifest was written
+            return null;
+        }
+        return new ExportManifest(format, entries);
+    }
+
+    Entry get(String key) {
+        return entries.get(key);
+    }
+
+    void put(Entry entry) {
+        entries.put(entry.key(), entry);
+    }
+
+    /**
+     * Writes the manifest for the output that was just moved to {@code outPath}.
+     */
+    void save(Path outPath) throws IOException {
+        long outputSize = Files.size(outPath);
+        long outputModified = Files.getLastModifiedTime(outPath).toMillis();
+        Path manifestPath = pathFor(outPath);
+        Path tempPath = manifestPath.resolveSibling(manifestPath.getFileName() + ".tmp");
+        try (BufferedWriter writer = Files.newBufferedWriter(tempPath, StandardCharsets.UTF_8)) {
+            writer.write(HEADER + format);
+            writer.newLine();
+            for (Entry entry : entries.values()) {
+                writer.write(entry.size() + " " + entry.modified() + " " + entry.sha256() + " "
+                        + entry.offset() + " " + entry.length() + " " + entry.key());
+                writer.newLine();
+            }
+            writer.write(TRAILER + outputSize + " " + outputModified);
+            writer.newLine();
+        }
+        Files.move(tempPath, manifestPath, StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    /**
+     * @param key      embedded key (path relative to the report directory)
+     * @param size     source file size in bytes
+     * @param modified source file mtime in milliseconds
+     * @param sha256   hex SHA-256 of the source file
+     * @param offset   byte offset of the entry in the output
+     * @param length   byte length of the entry in the output
+     */
+    record Entry(String key, long size, long modified, String sha256, long offset, long length) {
+    }
+}
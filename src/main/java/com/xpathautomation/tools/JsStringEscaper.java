@@ -0,0 +1,216 @@
+package com.xpathautomation.tools;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.CharBuffer;
+
+/**
+ * Single-pass escaper for the JS string literals and JSON keys the exporter
+ * writes. Runs of characters that need no escaping are copied to the output
+ * in bulk; the others are replaced through a lookup table, so there is no
+ * per-character append and no formatting call.
+ *
+ * Three modes reproduce what the exporter has always written:
+ * {@link #KEY} for map keys, {@link #STRING} for JS string literals and
+ * {@link #PAYLOAD} for embedded file contents.
+ */
+final class JsStringEscaper {
+
+    /**
+     * Backslash and double quote only.
+     */
+    static final JsStringEscaper KEY = new JsStringEscaper(false, false);
+
+    /**
+     * Backslash, double quote, {@code \n}, {@code \r}, {@code \t} and
+     * {@code \\u00XX} for the other control characters.
+     */
+    static final JsStringEscaper STRING = new JsStringEscaper(true, false);
+
+    /**
+     * {@link #STRING}, plus U+2028/U+2029 written as the six characters
+     * {@code \\u2028}/{@code \\u2029} (escaped backslash included), so they can
+     * never break out of the string context in older engines.
+     */
+    static final JsStringEscaper PAYLOAD = new JsStringEscaper(true, true);
+
+    /**
+     * Longest replacement per input character ({@code \\u2028}).
+     */
+    static final int MAX_EXPANSION = 7;
+
+    private static final int TABLE_SIZE = 128;
+    private static final String LINE_SEPARATOR = "\\\\u2028";
+    private static final String PARAGRAPH_SEPARATOR = "\\\\u2029";
+    private static final char[] LINE_SEPARATOR_CHARS = LINE_SEPARATOR.toCharArray();
+    private static final char[] PARAGRAPH_SEPARATOR_CHARS = PARAGRAPH_SEPARATOR.toCharArray();
+
+    private final String[] replacements = new String[TABLE_SIZE];
+    private final char[][] replacementChars = new char[TABLE_SIZE][];
+    private final boolean lineSeparators;
+
+    private JsStringEscaper(boolean controlCharacters, boolean lineSeparators) {
+        this.lineSeparators = lineSeparators;
+        replacements['\\'] = "\\\\";
+        replacements['"'] = "\\\"";
+        if (controlCharacters) {
+            for (int c = 0; c < 32; c++) {
+                replacements[c] = String.format("\\u%04x", c);
+            }
+            replacements['\n'] = "\\n";
+            replacements['\r'] = "\\r";
+            replacements['\t'] = "\\t";
+        }
+        for (int c = 0; c < TABLE_SIZE; c++) {
+            if (replacements[c] != null) {
+                replacementChars[c] = replacements[c].toCharArray();
+            }
+        }
+    }
+
+    /**
+     * @return {@code value} escaped; {@code value} itself when nothing needs escaping
+     */
+    String escape(String value) {
+        int first = firstEscape(value);
+        if (first < 0) {
+            return value;
+        }
+        StringBuilder builder = new StringBuilder(value.length() + 16);
+        builder.append(value, 0, first);
+        try {
+            escape(value, first, value.length(), builder);
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+        return builder.toString();
+    }
+
+    /**
+     * Appends {@code value} escaped and quoted.
+     */
+    void quote(String value, StringBuilder out) {
+        out.ensureCapacity(out.length() + value.length() + (value.length() >> 3) + 2);
+        out.append('"');
+        try {
+            escape(value, 0, value.length(), out);
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+        out.append('"');
+    }
+
+    /**
+     * Escapes {@code chars[offset, offset + length)} into {@code into}, which
+     * must have room for {@code MAX_EXPANSION * length} characters. Lets a
+     * streaming caller hand each chunk to its writer in one call.
+     *
+     * @return number of characters written to {@code into}
+     */
+    int escape(char[] chars, int offset, int length, char[] into) {
+        int end = offset + length;
+        int written = 0;
+        int runStart = offset;
+        for (int i = offset; i < end; i++) {
+            char c = chars[i];
+            char[] replacement;
+            if (c < TABLE_SIZE) {
+                replacement = replacementChars[c];
+                if (replacement == null) {
+                    continue;
+                }
+            } else if (lineSeparators && (c == '\u2028' || c == '\u2029')) {
+                replacement = c == '\u2028' ? LINE_SEPARATOR_CHARS : PARAGRAPH_SEPARATOR_CHARS;
+            } else {
+                continue;
+            }
+            System.arraycopy(chars, runStart, into, written, i - runStart);
+            written += i - runStart;
+            System.arraycopy(replacement, 0, into, written, replacement.length);
+            written += replacement.length;
+            runStart = i + 1;
+        }
+        System.arraycopy(chars, runStart, into, written, end - runStart);
+        return written + end - runStart;
+    }
+
+    /**
+     * Appends {@code value} escaped, without quotes.
+     */
+    void escape(CharSequence value, Appendable out) throws IOException {
+        escape(value, 0, value.length(), out);
+    }
+
+    /**
+     * Appends {@code chars[offset, offset + length)} escaped, without quotes.
+     */
+    void escape(char[] chars, int offset, int length, Appendable out) throws IOException {
+        int end = offset + length;
+        int runStart = offset;
+        for (int i = offset; i < end; i++) {
+            String replacement = replacementFor(chars[i]);
+            if (replacement != null) {
+                appendRun(chars, runStart, i, out);
+                out.append(replacement);
+                runStart = i + 1;
+            }
+        }
+        appendRun(chars, runStart, end, out);
+    }
+
+    private void escape(CharSequence value, int from, int to, Appendable out) throws IOException {
+        int runStart = from;
+        for (int i = from; i < to; i++) {
+            String replacement = replacementFor(value.charAt(i));
+            if (replacement != null) {
+                appendRun(value, runStart, i, out);
+                out.append(replacement);
+                runStart = i + 1;
+            }
+        }
+        appendRun(value, runStart, to, out);
+    }
+
+    private int firstEscape(String value) {
+        for (int i = 0; i < value.length(); i++) {
+            if (replacementFor(value.charAt(i)) != null) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private String replacementFor(char c) {
+        if (c < TABLE_SIZE) {
+            return replacements[c];
+        }
+        if (lineSeparators && (c == '\u2028' || c == '\u2029')) {
+            return c == '\u2028' ? LINE_SEPARATOR : PARAGRAPH_SEPARATOR;
+        }
+        return null;
+    }
+
+    private static void appendRun(char[] chars, int from, int to, Appendable out) throws IOException {
+        if (from == to) {
+            return;
+        }
+        if (out instanceof Writer writer) {
+            writer.write(chars, from, to - from);
+        } else if (out instanceof StringBuilder builder) {
+            builder.append(chars, from, to - from);
+        } else {
+            out.append(CharBuffer.wrap(chars, from, to - from));
+        }
+    }
+
+    private static void appendRun(CharSequence value, int from, int to, Appendable out) throws IOException {
+        if (from == to) {
+            return;
+        }
+        if (out instanceof Writer writer && value instanceof String string) {
+            writer.write(string, from, to - from);
+        } else {
+            out.append(value, from, to);
+        }
+    }
+}
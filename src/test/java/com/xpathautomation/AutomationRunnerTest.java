@@ -0,0 +1,143 @@
+package com.xpathautomation;
+
+import com.xpathautomation.support.FakeWebDriver;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * AutomationRunner sınıfı için test sınıfı
+ *
+ * Sayfa yükleme gecikmesi taklit eden sahte oturumlarla eşzamanlılık sınırını
+ * ve işlerin oturum sayısı kadar eşzamanlı çalışmasını test eder.
+ *
+ * @author XPath Automation Team
+ * @version 1.0.0
+ */
+class AutomationRunnerTest {
+
+    private static final long PAGE_LOAD_MS = 100;
+
+    private static List<AutomationJob> jobs(int count) {
+        return IntStream.range(0, count)
+                .mapToObj(i -> AutomationJob.of("http://localhost/job/" + i, "//button[@id='next']"))
+                .toList();
+    }
+
+    private static WebDriverPool fakePool(int maxSize, AtomicInteger created) {
+        return WebDriverPool.builder()
+                .maxSize(maxSize)
+                .driverFactory(() -> {
+                    created.incrementAndGet();
+                    return new FakeWebDriver().withPageLoadDelay(PAGE_LOAD_MS);
+                })
+                .build();
+    }
+
+    /**
+     * Tüm işlerin sonuçlarının giriş sırasıyla döndüğünü test eder
+     */
+    @Test
+    void testRunAllReturnsOutcomePerJobInOrder() {
+        List<AutomationJob> jobs = jobs(6);
+        try (WebDriverPool pool = fakePool(2, new AtomicInteger());
+                AutomationRunner runner = AutomationRunner.builder().sessions(2).clickDelay(0).pool(pool).build()) {
+            List<JobOutcome> outcomes = runner.runAll(jobs);
+
+            assertEquals(jobs.size(), outcomes.size());
+            for (int i = 0; i < jobs.size(); i++) {
+                assertSame(jobs.get(i), outcomes.get(i).job());
+                assertTrue(outcomes.get(i).isSuccess());
+            }
+        }
+    }
+
+    /**
+     * Oturum sayısından fazla tarayıcı oturumu açılmadığını test eder
+     */
+    @Test
+    void testNeverCreatesMoreSessionsThanConfigured() {
+        AtomicInteger created = new AtomicInteger();
+        try (WebDriverPool pool = fakePool(3, created);
+                AutomationRunner runner = AutomationRunner.builder().sessions(3).clickDelay(0).pool(pool).build()) {
+            List<JobOutcome> outcomes = new ArrayList<>(runner.stream(jobs(20)).toList());
+
+            assertEquals(20, outcomes.size());
+            assertTrue(created.get() <= 3, "Açılan oturum: " + created.get());
+        }
+    }
+
+    /**
+     * Sekme modunun paylaşılan tarayıcıda desteklenmeyen ayarlarla birlikte
+     * reddedildiğini test eder
+     */
+    @Test
+    void testTabsRejectUnsupportedSettings() {
+        assertThrows(IllegalArgumentException.class, () -> AutomationRunner.builder()
+                .sessions(4).tabsPerBrowser(2).clickEngine(ClickEngine.devTools()).build());
+        assertThrows(IllegalArgumentException.class, () -> AutomationRunner.builder()
+                .sessions(4).tabsPerBrowser(2).resourceBlocking(ResourceBlocking.firstPartyOnly()).build());
+    }
+
+    /**
+     * Engel profili verilmediğinde (null) sekme modunun kabul edildiğini test eder
+     */
+    @Test
+    void testNullResourceBlockingMeansNone() {
+        try (AutomationRunner runner = AutomationRunner.builder()
+                .sessions(4).tabsPerBrowser(2).resourceBlocking(null).build()) {
+            assertEquals(2, runner.getBrowserCount());
+        }
+    }
+
+    /**
+     * İşlerin oturum sayısı kadar eşzamanlı çalıştığını ve bu sayıyı hiç
+     * aşmadığını test eder. İlk {@code sessions} sayfa yüklemesi birbirini
+     * bekler; böylece eşzamanlılık duvar saati süresine bakılmadan görülür.
+     */
+    @Test
+    void testJobsRunConcurrentlyUpToSessionCount() {
+        int sessions = 4;
+        CountDownLatch allLoading = new CountDownLatch(sessions);
+        AtomicInteger loading = new AtomicInteger();
+        AtomicInteger peak = new AtomicInteger();
+        WebDriverPool pool = WebDriverPool.builder()
+                .maxSize(sessions)
+                .driverFactory(() -> new FakeWebDriver() {
+                    @Override
+                    public void get(String url) {
+                        if (url.startsWith("http")) {
+                            peak.accumulateAndGet(loading.incrementAndGet(), Math::max);
+                            allLoading.countDown();
+                            try {
+                                allLoading.await(5, TimeUnit.SECONDS);
+                            } catch (InterruptedException e) {
+                                Thread.currentThread().interrupt();
+                            }
+                            loading.decrementAndGet();
+                        }
+                        super.get(url);
+                    }
+                })
+                .build();
+        try (pool;
+                AutomationRunner runner = AutomationRunner.builder()
+                        .sessions(sessions)
+                        .clickDelay(0)
+                        .pool(pool)
+                        .build()) {
+            List<JobOutcome> outcomes = runner.runAll(jobs(16));
+
+            assertTrue(outcomes.stream().allMatch(JobOutcome::isSuccess));
+            assertEquals(0, allLoading.getCount(), "Oturumlar aynı anda çalışmadı");
+            assertEquals(sessions, peak.get());
+        }
+    }
+}
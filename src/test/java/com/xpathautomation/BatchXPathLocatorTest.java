@@ -0,0 +1,109 @@
+package com.xpathautomation;
+
+import com.xpathautomation.support.LocalPageServer;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.openqa.selenium.By;
+import org.openqa.selenium.support.ui.ExpectedConditions;
+import org.openqa.selenium.support.ui.WebDriverWait;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * BatchXPathLocator sınıfı için test sınıfı
+ *
+ * @author XPath Automation Team
+ * @version 1.0.0
+ */
+class BatchXPathLocatorTest {
+
+    private static final int BUTTON_COUNT = 50;
+
+    private static LocalPageServer server;
+    private XPathClickAutomation automation;
+
+    @BeforeAll
+    static void startServer() throws IOException {
+        StringBuilder html = new StringBuilder("<html><body>");
+        for (int i = 0; i < BUTTON_COUNT; i++) {
+            html.append("<button id='b").append(i).append("' class='btn'>").append(i).append("</button>");
+        }
+        html.append("<button id='hidden' style='display:none'>x</button>");
+        html.append("<button id='disabled' disabled>x</button>");
+        html.append("</body></html>");
+        server = new LocalPageServer().serveHtml("/buttons", html.toString());
+    }
+
+    @AfterAll
+    static void stopServer() {
+        server.close();
+    }
+
+    @BeforeEach
+    void setUp() {
+        automation = XPathClickAutomation.builder().headless(true).clickDelay(0).waitTimeout(2).build();
+        automation.navigateToUrl(server.url("/buttons"));
+    }
+
+    @AfterEach
+    void tearDown() {
+        automation.closeDriver();
+    }
+
+    /**
+     * Eşleşme sayısı, görünürlük, etkinlik ve hata bilgisinin tek çağrıda döndüğünü test eder
+     */
+    @Test
+    void testLocateReportsStatePerXPath() {
+        List<BatchXPathLocator.XPathState> states = BatchXPathLocator.locate(automation.getDriver(), List.of(
+                "//button[@class='btn']",
+                "//button[@id='hidden']",
+                "//button[@id='disabled']",
+                "//button[@id='missing']",
+                "//button[@id="));
+
+        assertEquals(BUTTON_COUNT, states.get(0).matchCount());
+        assertTrue(states.get(0).clickable());
+        assertTrue(states.get(1).exists());
+        assertFalse(states.get(1).visible());
+        assertTrue(states.get(2).visible());
+        assertFalse(states.get(2).enabled());
+        assertFalse(states.get(3).exists());
+        assertEquals(0, states.get(3).matchCount());
+        assertNotNull(states.get(4).error());
+    }
+
+    /**
+     * Uzun XPath listelerinde toplu çözümlemenin element başına WebDriverWait
+     * döngüsünden hızlı olduğunu ölçer
+     */
+    @Test
+    @Tag("benchmark")
+    void benchmarkLongXPathList() {
+        List<String> xpaths = IntStream.range(0, BUTTON_COUNT).mapToObj(i -> "//button[@id='b" + i + "']").toList();
+
+        long perElementStart = System.nanoTime();
+        WebDriverWait wait = new WebDriverWait(automation.getDriver(), Duration.ofSeconds(2));
+        for (String xpath : xpaths) {
+            wait.until(ExpectedConditions.elementToBeClickable(By.xpath(xpath))).click();
+        }
+        long perElementMs = (System.nanoTime() - perElementStart) / 1_000_000;
+
+        long batchStart = System.nanoTime();
+        int clicked = automation.clickElementsByXPaths(xpaths);
+        long batchMs = (System.nanoTime() - batchStart) / 1_000_000;
+
+        System.out.println(BUTTON_COUNT + " XPath - WebDriverWait: " + perElementMs + " ms, toplu: " + batchMs + " ms");
+        assertEquals(BUTTON_COUNT, clicked);
+        assertTrue(batchMs < perElementMs);
+    }
+}
@@ -0,0 +1,125 @@
+package com.xpathautomation;
+
+import com.xpathautomation.support.LocalPageServer;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.openqa.selenium.JavascriptExecutor;
+
+import java.io.IOException;
+import java.util.Collections;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * ClickEngine sınıfı için test sınıfı
+ *
+ * @author XPath Automation Team
+ * @version 1.0.0
+ */
+class ClickEngineTest {
+
+    private static final int CLICK_COUNT = 50;
+
+    private static final String COUNTER_PAGE = """
+            <html><body style='height: 3000px'>
+            <div style='height: 2000px'></div>
+            <button id='inc' onclick='window.clicks = (window.clicks || 0) + 1'>+1</button>
+            <button id='covered'>under</button>
+            <div style='position: fixed; inset: 0; pointer-events: auto' id='overlay' hidden></div>
+            </body></html>
+            """;
+
+    private static LocalPageServer server;
+
+    @BeforeAll
+    static void startServer() throws IOException {
+        server = new LocalPageServer().serveHtml("/counter", COUNTER_PAGE);
+    }
+
+    @AfterAll
+    static void stopServer() {
+        server.close();
+    }
+
+    /**
+     * DevTools motorunun görünür alan dışındaki elemente kaydırıp tıkladığını test eder
+     */
+    @Test
+    void testDevToolsEngineScrollsAndClicks() {
+        XPathClickAutomation automation = automation(ClickEngine.devTools(), new LatencyRecorder());
+        try {
+            automation.navigateToUrl(server.url("/counter"));
+
+            assertTrue(automation.clickElementByXPath("//button[@id='inc']"));
+            assertEquals(1L, clicks(automation));
+        } finally {
+            automation.closeDriver();
+        }
+    }
+
+    /**
+     * DevTools motorunun başka bir elementin altında kalan elemente tıklamadığını test eder
+     */
+    @Test
+    void testDevToolsEngineReportsInterceptedClick() {
+        XPathClickAutomation automation = automation(ClickEngine.devTools(), new LatencyRecorder());
+        try {
+            automation.navigateToUrl(server.url("/counter"));
+            ((JavascriptExecutor) automation.getDriver())
+                    .executeScript("document.getElementById('overlay').hidden = false;");
+
+            ClickResult result = automation.clickElement("//button[@id='covered']");
+
+            assertFalse(result.success());
+            assertEquals(ClickResult.FailureReason.ERROR, result.failureReason());
+        } finally {
+            automation.closeDriver();
+        }
+    }
+
+    /**
+     * WebDriver ve DevTools motorlarının tıklama başına gecikmelerini karşılaştırır
+     */
+    @Test
+    @Tag("benchmark")
+    void benchmarkPerClickLatency() {
+        LatencyRecorder webDriver = measureClicks(ClickEngine.webDriver());
+        LatencyRecorder devTools = measureClicks(ClickEngine.devTools());
+
+        System.out.println("Tıklama gecikmesi - webDriver: " + webDriver.summary(LatencyRecorder.Phase.CLICK));
+        System.out.println("Tıklama gecikmesi - devTools:  " + devTools.summary(LatencyRecorder.Phase.CLICK));
+        assertEquals(CLICK_COUNT, webDriver.summary(LatencyRecorder.Phase.CLICK).count());
+        assertEquals(CLICK_COUNT, devTools.summary(LatencyRecorder.Phase.CLICK).count());
+    }
+
+    private LatencyRecorder measureClicks(ClickEngine engine) {
+        LatencyRecorder recorder = new LatencyRecorder();
+        XPathClickAutomation automation = automation(engine, recorder);
+        try {
+            automation.navigateToUrl(server.url("/counter"));
+            int clicked = automation.clickElementsByXPaths(Collections.nCopies(CLICK_COUNT, "//button[@id='inc']"));
+
+            assertEquals(CLICK_COUNT, clicked);
+            assertEquals((long) CLICK_COUNT, clicks(automation));
+            return recorder;
+        } finally {
+            automation.closeDriver();
+        }
+    }
+
+    private static XPathClickAutomation automation(ClickEngine engine, LatencyRecorder recorder) {
+        return XPathClickAutomation.builder()
+                .headless(true)
+                .waitTimeout(3)
+                .clickDelay(0)
+                .clickEngine(engine)
+                .latencyRecorder(recorder)
+                .build();
+    }
+
+    private static Object clicks(XPathClickAutomation automation) {
+        return ((JavascriptExecutor) automation.getDriver()).executeScript("return window.clicks || 0;");
+    }
+}
@@ -0,0 +1,170 @@
+package com.xpathautomation;
+
+import com.xpathautomation.support.FakeWebDriver;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.openqa.selenium.StaleElementReferenceException;
+
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * ElementCache sınıfı için test sınıfı
+ *
+ * @author XPath Automation Team
+ * @version 1.0.0
+ */
+class ElementCacheTest {
+
+    private static final String NEXT = "//button[@id='next']";
+
+    private final ValidatingDriver fakeDriver = new ValidatingDriver();
+    private final WebDriverPool pool = WebDriverPool.builder().driverFactory(() -> fakeDriver).build();
+
+    @AfterEach
+    void tearDown() {
+        pool.close();
+    }
+
+    /**
+     * Aynı XPath'e tekrar tıklanırken elementin yalnızca bir kez arandığını test eder
+     */
+    @Test
+    void testRepeatedClicksSkipLocate() {
+        XPathClickAutomation automation = automation();
+        automation.navigateToUrl("http://localhost/spa");
+
+        assertEquals(5, automation.clickElementsByXPaths(Collections.nCopies(5, NEXT)));
+        ElementCache.Stats stats = automation.getElementCacheStats();
+        automation.closeDriver();
+
+        assertEquals(1, fakeDriver.getLocateCalls());
+        assertEquals(4, stats.hits());
+        assertEquals(1, stats.misses());
+    }
+
+    /**
+     * Sayfa URL'si değiştiğinde (ör. istemci tarafı yönlendirme) elementlerin
+     * yeniden arandığını test eder
+     */
+    @Test
+    void testUrlChangeInvalidatesCache() {
+        XPathClickAutomation automation = automation();
+        automation.navigateToUrl("http://localhost/spa");
+        automation.clickElementsByXPaths(List.of(NEXT, NEXT));
+
+        fakeDriver.href = "http://localhost/spa#step-2";
+        assertTrue(automation.clickElementByXPath(NEXT));
+        ElementCache.Stats stats = automation.getElementCacheStats();
+        automation.closeDriver();
+
+        assertEquals(2, fakeDriver.getLocateCalls());
+        assertEquals(1, stats.invalidations());
+        assertEquals(1, stats.hits());
+    }
+
+    /**
+     * İlk tıklamanın hemen ardından URL değiştiğinde (ör. tıklamanın başlattığı
+     * istemci tarafı yönlendirme) saklanan elementin kullanılmadığını test eder
+     */
+    @Test
+    void testUrlChangeRightAfterFirstClickInvalidatesCache() {
+        XPathClickAutomation automation = automation();
+        automation.navigateToUrl("http://localhost/spa");
+        automation.clickElementByXPath(NEXT);
+
+        fakeDriver.href = "http://localhost/spa#step-2";
+        assertTrue(automation.clickElementByXPath(NEXT));
+        ElementCache.Stats stats = automation.getElementCacheStats();
+        automation.closeDriver();
+
+        assertEquals(2, fakeDriver.getLocateCalls());
+        assertEquals(0, stats.hits());
+        assertEquals(1, stats.invalidations());
+    }
+
+    /**
+     * Yeni bir sayfaya gidildiğinde önbelleğin boşaltıldığını test eder
+     */
+    @Test
+    void testNavigationInvalidatesCache() {
+        XPathClickAutomation automation = automation();
+        automation.navigateToUrl("http://localhost/spa");
+        automation.clickElementByXPath(NEXT);
+        automation.navigateToUrl("http://localhost/spa");
+        automation.clickElementByXPath(NEXT);
+        ElementCache.Stats stats = automation.getElementCacheStats();
+        automation.closeDriver();
+
+        assertEquals(2, fakeDriver.getLocateCalls());
+        assertEquals(0, stats.hits());
+        assertEquals(1, stats.size());
+    }
+
+    /**
+     * Bayatlamış element referansının yeniden aranmasına yol açtığını test eder
+     */
+    @Test
+    void testStaleHandleIsLocatedAgain() {
+        XPathClickAutomation automation = automation();
+        automation.navigateToUrl("http://localhost/spa");
+        automation.clickElementByXPath(NEXT);
+
+        fakeDriver.stale = true;
+        assertTrue(automation.clickElementByXPath(NEXT));
+        ElementCache.Stats stats = automation.getElementCacheStats();
+        automation.closeDriver();
+
+        assertEquals(2, fakeDriver.getLocateCalls());
+        assertEquals(2, stats.misses());
+    }
+
+    /**
+     * Önbellek kapalıyken her tıklamada elementin arandığını test eder
+     */
+    @Test
+    void testDisabledByDefault() {
+        XPathClickAutomation automation = new XPathClickAutomation(pool).setClickDelay(0);
+        automation.navigateToUrl("http://localhost/spa");
+        automation.clickElementsByXPaths(Collections.nCopies(3, NEXT));
+        ElementCache.Stats stats = automation.getElementCacheStats();
+        automation.closeDriver();
+
+        assertEquals(3, fakeDriver.getLocateCalls());
+        assertEquals(new ElementCache.Stats(0, 0, 0, 0), stats);
+    }
+
+    private XPathClickAutomation automation() {
+        return new XPathClickAutomation(pool)
+                .setClickDelay(0)
+                .setElementCaching(true);
+    }
+
+    /**
+     * Önbellek doğrulama script'ini yanıtlayan sahte sürücü
+     */
+    private static final class ValidatingDriver extends FakeWebDriver {
+        private volatile String href = "http://localhost/spa";
+        private volatile boolean stale;
+
+        @Override
+        public Object executeScript(String script, Object... args) {
+            if (script.contains("isConnected")) {
+                if (stale) {
+                    stale = false;
+                    throw new StaleElementReferenceException("element is not attached to the page document");
+                }
+                boolean samePage = args[1] == null || href.equals(args[1]);
+                return List.of(samePage, href);
+            }
+            return super.executeScript(script, args);
+        }
+
+        @Override
+        public String getCurrentUrl() {
+            return href;
+        }
+    }
+}
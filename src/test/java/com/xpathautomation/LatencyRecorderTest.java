@@ -0,0 +1,87 @@
+package com.xpathautomation;
+
+import com.xpathautomation.support.FakeWebDriver;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * LatencyRecorder ve RunReport için test sınıfı
+ *
+ * @author XPath Automation Team
+ * @version 1.0.0
+ */
+class LatencyRecorderTest {
+
+    /**
+     * Kova sınırlarının değeri içerdiğini ve göreli hatanın ~%6'yı aşmadığını test eder
+     */
+    @Test
+    void testBucketBoundsContainValue() {
+        for (long value = 0; value < 5_000_000; value = value * 3 / 2 + 1) {
+            long upper = LatencyRecorder.bucketUpperBound(LatencyRecorder.bucketIndex(value));
+            assertTrue(upper >= value, "upper bound " + upper + " < " + value);
+            assertTrue(upper - value <= Math.max(1, value / 16), "bucket too wide for " + value);
+        }
+    }
+
+    /**
+     * 1..1000 ms değerlerinin yüzdeliklerini test eder
+     */
+    @Test
+    void testPercentiles() {
+        LatencyRecorder recorder = new LatencyRecorder();
+        for (int ms = 1; ms <= 1000; ms++) {
+            recorder.record(LatencyRecorder.Phase.LOCATE, Duration.ofMillis(ms));
+        }
+
+        LatencyRecorder.LatencySummary summary = recorder.summary(LatencyRecorder.Phase.LOCATE);
+        assertEquals(1000, summary.count());
+        assertEquals(500, summary.p50().toMillis(), 500 / 16.0);
+        assertEquals(950, summary.p95().toMillis(), 950 / 16.0);
+        assertEquals(990, summary.p99().toMillis(), 990 / 16.0);
+        assertEquals(1000, summary.max().toMillis());
+        assertEquals(0, recorder.summary(LatencyRecorder.Phase.CLICK).count());
+
+        recorder.reset();
+        assertEquals(0, recorder.summary(LatencyRecorder.Phase.LOCATE).count());
+    }
+
+    /**
+     * run() çağrısının aşama süreleriyle bir rapor döndüğünü ve kaydediciyi doldurduğunu test eder
+     */
+    @Test
+    void testRunReturnsReportAndRecordsPhases() {
+        LatencyRecorder recorder = new LatencyRecorder();
+        try (WebDriverPool pool = WebDriverPool.builder()
+                .driverFactory(() -> new FakeWebDriver().withMissingXPaths("//missing"))
+                .build()) {
+            XPathClickAutomation automation = XPathClickAutomation.builder()
+                    .pool(pool)
+                    .url("http://localhost/report")
+                    .xpaths(List.of("//button[@id='ok']", "//missing"))
+                    .xpathTimeout(Duration.ofMillis(50))
+                    .clickDelay(0)
+                    .latencyRecorder(recorder)
+                    .build();
+
+            RunReport report = automation.run();
+            automation.closeDriver();
+
+            assertNull(report.error());
+            assertEquals(2, report.clicks().size());
+            assertEquals(1, report.successCount());
+            assertEquals(1, report.failureCount());
+            assertEquals(ClickResult.FailureReason.NOT_FOUND, report.clicks().get(1).failureReason());
+            assertTrue(report.totalTime().compareTo(report.navigateTime()) >= 0);
+
+            assertEquals(1, recorder.summary(LatencyRecorder.Phase.NAVIGATE).count());
+            assertEquals(2, recorder.summary(LatencyRecorder.Phase.LOCATE).count());
+            assertEquals(1, recorder.summary(LatencyRecorder.Phase.CLICK).count());
+            assertEquals(1, recorder.summary(LatencyRecorder.Phase.RUN).count());
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package com.xpathautomation;
+
+import com.xpathautomation.support.FakeWebDriver;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Sayfa hazır olma koşullarını tarayıcısız test eder
+ *
+ * @author XPath Automation Team
+ * @version 1.0.0
+ */
+class PageReadinessTest {
+
+    private final ReadinessRecordingDriver fakeDriver = new ReadinessRecordingDriver();
+    private final WebDriverPool pool = WebDriverPool.builder().driverFactory(() -> fakeDriver).build();
+
+    @AfterEach
+    void tearDown() {
+        pool.close();
+    }
+
+    /**
+     * Her hazır olma koşulunun uygun sayfa yükleme stratejisiyle geldiğini test eder
+     */
+    @Test
+    void testReadinessSelectsPageLoadStrategy() {
+        assertEquals("normal", PageReadiness.COMPLETE.pageLoadStrategy().toString());
+        assertEquals("eager", PageReadiness.INTERACTIVE.pageLoadStrategy().toString());
+        assertEquals("none", PageReadiness.FIRST_TARGET.pageLoadStrategy().toString());
+    }
+
+    /**
+     * FIRST_TARGET modunda isteğe bağlı ve geçersiz XPath'lerin atlanıp ilk
+     * zorunlu XPath'in beklendiğini test eder
+     */
+    @Test
+    void testFirstTargetWaitsForFirstRequiredXPath() {
+        XPathClickAutomation automation = new XPathClickAutomation(pool)
+                .setUrl("http://localhost/page")
+                .setClickDelay(0)
+                .setPageReadiness(PageReadiness.FIRST_TARGET)
+                .setXPaths(List.of(XPathClickAutomation.optional("//cookie-banner"), "//div[", "//button[@id='go']"));
+
+        RunReport report = automation.execute();
+        automation.closeDriver();
+
+        assertNull(report.error());
+        assertTrue(fakeDriver.markedLeaving);
+        assertEquals(List.of("//button[@id='go']"), fakeDriver.readinessTargets);
+    }
+
+    /**
+     * INTERACTIVE modunda yalnızca DOM ayrıştırmasının beklendiğini test eder
+     */
+    @Test
+    void testInteractiveWaitsForDomOnly() {
+        XPathClickAutomation automation = new XPathClickAutomation(pool)
+                .setPageReadiness(PageReadiness.INTERACTIVE)
+                .setXPaths(List.of("//button[@id='go']"));
+
+        automation.navigateToUrl("http://localhost/page");
+        automation.closeDriver();
+
+        assertEquals(1, fakeDriver.readinessTargets.size());
+        assertNull(fakeDriver.readinessTargets.get(0));
+    }
+
+    /**
+     * Varsayılan modda eski belgenin işaretlenmediğini test eder
+     */
+    @Test
+    void testCompleteKeepsFullLoadWait() {
+        XPathClickAutomation automation = new XPathClickAutomation(pool);
+
+        automation.navigateToUrl("http://localhost/page");
+        automation.closeDriver();
+
+        assertFalse(fakeDriver.markedLeaving);
+        assertTrue(fakeDriver.readinessTargets.isEmpty());
+    }
+
+    private static final class ReadinessRecordingDriver extends FakeWebDriver {
+        private final List<String> readinessTargets = new ArrayList<>();
+        private boolean markedLeaving;
+
+        @Override
+        public Object executeScript(String script, Object... args) {
+            if (script.contains("__xpcaLeaving = true")) {
+                markedLeaving = true;
+                return null;
+            }
+            if (script.contains("__xpcaLeaving")) {
+                readinessTargets.add((String) args[0]);
+                return Boolean.TRUE;
+            }
+            return super.executeScript(script, args);
+        }
+    }
+}
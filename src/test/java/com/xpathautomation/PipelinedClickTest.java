@@ -0,0 +1,148 @@
+package com.xpathautomation;
+
+import com.xpathautomation.support.FakeWebDriver;
+import org.junit.jupiter.api.Test;
+import org.openqa.selenium.StaleElementReferenceException;
+import org.openqa.selenium.WebElement;
+
+import java.lang.reflect.Proxy;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Boru hattı (pipelined) tıklama modu için test sınıfı
+ *
+ * @author XPath Automation Team
+ * @version 1.0.0
+ */
+class PipelinedClickTest {
+
+    private static final int CLICK_DELAY_MS = 600;
+
+    /**
+     * Sıradaki element hazırken oturma beklemesinin kısaldığını ve sıradaki
+     * tıklamada arama yapılmadığını test eder
+     */
+    @Test
+    void testNextClickFiresWithoutWaitingForSettle() {
+        List<String> xpaths = List.of("//a", "//b", "//c");
+        long serialMs = timeMs(xpaths, false, new FakeWebDriver());
+        FakeWebDriver driver = new FakeWebDriver();
+        long pipelinedMs;
+        List<ClickResult> results;
+        try (WebDriverPool pool = WebDriverPool.builder().driverFactory(() -> driver).build()) {
+            XPathClickAutomation automation = automation(pool, xpaths, true);
+            long start = System.nanoTime();
+            automation.execute();
+            pipelinedMs = (System.nanoTime() - start) / 1_000_000;
+            results = automation.getLastClickResults();
+            automation.closeDriver();
+        }
+
+        System.out.println("Sıra süresi - seri: " + serialMs + " ms, boru hattı: " + pipelinedMs + " ms");
+        assertTrue(results.stream().allMatch(ClickResult::success));
+        assertEquals(Duration.ZERO, results.get(1).locateTime());
+        assertEquals(Duration.ZERO, results.get(2).locateTime());
+        assertTrue(results.get(0).settleTime().toMillis() < CLICK_DELAY_MS);
+        // Son XPath'ten sonra beklenecek sıradaki element yok; oturma tam beklenir
+        assertTrue(results.get(2).settleTime().toMillis() >= CLICK_DELAY_MS);
+        assertTrue(serialMs >= 3L * CLICK_DELAY_MS, "Seri süre: " + serialMs);
+        assertTrue(pipelinedMs < 2L * CLICK_DELAY_MS, "Boru hattı süresi: " + pipelinedMs);
+    }
+
+    /**
+     * Sıradaki element hiç hazır olmazsa oturmanın normal beklendiğini test eder
+     */
+    @Test
+    void testMissingNextElementKeepsFullSettle() {
+        FakeWebDriver driver = new FakeWebDriver().withMissingXPaths("//late");
+        try (WebDriverPool pool = WebDriverPool.builder().driverFactory(() -> driver).build()) {
+            XPathClickAutomation automation = automation(pool, List.of("//a", "optional://late"), true);
+            automation.execute();
+            List<ClickResult> results = automation.getLastClickResults();
+            automation.closeDriver();
+
+            assertTrue(results.get(0).success());
+            assertTrue(results.get(0).settleTime().toMillis() >= CLICK_DELAY_MS);
+            assertEquals(ClickResult.FailureReason.SKIPPED_OPTIONAL, results.get(1).failureReason());
+        }
+    }
+
+    /**
+     * Önceden bulunan element tıklanırken bayatlamışsa yeniden arandığını test eder
+     */
+    @Test
+    void testStalePrefetchedElementIsLocatedAgain() {
+        StaleOnceDriver driver = new StaleOnceDriver("//b");
+        try (WebDriverPool pool = WebDriverPool.builder().driverFactory(() -> driver).build()) {
+            XPathClickAutomation automation = automation(pool, List.of("//a", "//b"), true);
+            automation.execute();
+            List<ClickResult> results = automation.getLastClickResults();
+            automation.closeDriver();
+
+            assertTrue(driver.staleClicked);
+            assertTrue(results.get(1).success());
+            assertTrue(results.get(1).locateTime().compareTo(Duration.ZERO) > 0);
+        }
+    }
+
+    private static XPathClickAutomation automation(WebDriverPool pool, List<String> xpaths, boolean pipelined) {
+        return new XPathClickAutomation(pool)
+                .setUrl("http://localhost/flow")
+                .setXPaths(xpaths)
+                .setClickDelay(CLICK_DELAY_MS)
+                .setPollInterval(Duration.ofMillis(20))
+                .setPipelined(pipelined);
+    }
+
+    private static long timeMs(List<String> xpaths, boolean pipelined, FakeWebDriver driver) {
+        try (WebDriverPool pool = WebDriverPool.builder().driverFactory(() -> driver).build()) {
+            XPathClickAutomation automation = automation(pool, xpaths, pipelined);
+            long start = System.nanoTime();
+            automation.execute();
+            long elapsedMs = (System.nanoTime() - start) / 1_000_000;
+            automation.closeDriver();
+            return elapsedMs;
+        }
+    }
+
+    /**
+     * Verilen XPath için ilk döndürülen element tıklandığında bayat hatası veren sahte sürücü
+     */
+    private static final class StaleOnceDriver extends FakeWebDriver {
+        private final String staleXPath;
+        private boolean staleServed;
+        private volatile boolean staleClicked;
+
+        StaleOnceDriver(String staleXPath) {
+            this.staleXPath = staleXPath;
+        }
+
+        @Override
+        public Object executeScript(String script, Object... args) {
+            Object result = super.executeScript(script, args);
+            if (!staleServed && result instanceof List<?> rows && args[0] instanceof List<?> xpaths
+                    && staleXPath.equals(xpaths.get(0))) {
+                staleServed = true;
+                @SuppressWarnings("unchecked")
+                Map<String, Object> row = (Map<String, Object>) rows.get(0);
+                row.put("element", staleElement());
+            }
+            return result;
+        }
+
+        private WebElement staleElement() {
+            return (WebElement) Proxy.newProxyInstance(WebElement.class.getClassLoader(),
+                    new Class<?>[] { WebElement.class }, (proxy, method, args) -> {
+                        if (method.getName().equals("click")) {
+                            staleClicked = true;
+                            throw new StaleElementReferenceException("element is not attached to the page document");
+                        }
+                        return method.getReturnType() == boolean.class ? Boolean.TRUE : null;
+                    });
+        }
+    }
+}
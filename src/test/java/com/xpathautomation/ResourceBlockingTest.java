@@ -0,0 +1,132 @@
+package com.xpathautomation;
+
+import com.xpathautomation.support.FakeWebDriver;
+import org.junit.jupiter.api.Test;
+import org.openqa.selenium.chromium.HasCdp;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * ResourceBlocking profillerini ve oturuma uygulanmasını tarayıcısız test eder
+ *
+ * @author XPath Automation Team
+ * @version 1.0.0
+ */
+class ResourceBlockingTest {
+
+    /**
+     * Resim/font/medya profilinin sorgu dizgili URL'leri de kapsadığını test eder
+     */
+    @Test
+    void testNoImagesFontsMediaCoversQueryStrings() {
+        List<String> patterns = ResourceBlocking.noImagesFontsMedia().getBlockedPatterns();
+
+        assertTrue(patterns.contains("*.png"));
+        assertTrue(patterns.contains("*.png?*"));
+        assertTrue(patterns.contains("*.woff2"));
+        assertTrue(patterns.contains("*.mp4?*"));
+        assertFalse(patterns.contains("*.css"));
+    }
+
+    /**
+     * Profillerin birleştirilmesini test eder
+     */
+    @Test
+    void testProfilesCombine() {
+        ResourceBlocking combined = ResourceBlocking.urlPatterns("*tracker*")
+                .and(ResourceBlocking.firstPartyOnly())
+                .and(ResourceBlocking.urlPatterns("*tracker*", "*.css"));
+
+        assertEquals(List.of("*tracker*", "*.css"), combined.getBlockedPatterns());
+        assertTrue(combined.isFirstPartyOnly());
+        assertTrue(ResourceBlocking.none().and(ResourceBlocking.none()).isNone());
+    }
+
+    /**
+     * Birinci taraf kontrolünün alt alan adlarını kabul ettiğini test eder
+     */
+    @Test
+    void testFirstPartyMatchesSubdomains() {
+        String site = ResourceBlocking.siteOf("www.example.com");
+
+        assertEquals("example.com", site);
+        assertTrue(ResourceBlocking.isFirstParty(site, "https://static.example.com/app.js"));
+        assertTrue(ResourceBlocking.isFirstParty(site, "https://example.com/"));
+        assertTrue(ResourceBlocking.isFirstParty(site, "data:image/png;base64,AAAA"));
+        assertFalse(ResourceBlocking.isFirstParty(site, "https://www.googletagmanager.com/gtm.js"));
+        assertFalse(ResourceBlocking.isFirstParty(site, "https://notexample.com/x.js"));
+        assertEquals("127.0.0.1", ResourceBlocking.siteOf("127.0.0.1"));
+    }
+
+    /**
+     * Büyük harfli host'ların Türkçe yerel ayarda da (noktasız ı) eşleştiğini test eder
+     */
+    @Test
+    void testFirstPartyMatchingIgnoresDefaultLocale() {
+        Locale previous = Locale.getDefault();
+        Locale.setDefault(Locale.forLanguageTag("tr-TR"));
+        try {
+            assertTrue(ResourceBlocking.isFirstParty("example.com", "https://STATIC.EXAMPLE.COM/app.js"));
+            assertTrue(ResourceBlocking.isFirstParty("site.io", "https://CDN.SITE.IO/x.js"));
+        } finally {
+            Locale.setDefault(previous);
+        }
+    }
+
+    /**
+     * Profilin sayfa açılmadan önce uygulandığını ve oturum kapatılırken
+     * kaldırıldığını test eder
+     */
+    @Test
+    void testBlockingIsAppliedOnNavigateAndClearedOnClose() {
+        CdpRecordingDriver driver = new CdpRecordingDriver();
+        try (WebDriverPool pool = WebDriverPool.builder().maxSize(1).driverFactory(() -> driver).build()) {
+            XPathClickAutomation automation = new XPathClickAutomation(pool)
+                    .setResourceBlocking(ResourceBlocking.urlPatterns("*.png"));
+            automation.navigateToUrl("http://localhost/page");
+
+            assertEquals("Network.enable", driver.commands.get(0));
+            assertEquals("Network.setBlockedURLs", driver.commands.get(1));
+            assertEquals(List.of("*.png"), driver.parameters.get(1).get("urls"));
+
+            automation.closeDriver();
+
+            int last = driver.commands.size() - 1;
+            assertEquals("Network.setBlockedURLs", driver.commands.get(last - 1));
+            assertEquals(List.of(), driver.parameters.get(last - 1).get("urls"));
+            assertEquals("Network.disable", driver.commands.get(last));
+        }
+    }
+
+    /**
+     * Engelleme profili yoksa tarayıcıya CDP komutu gönderilmediğini test eder
+     */
+    @Test
+    void testNoCommandsWithoutProfile() {
+        CdpRecordingDriver driver = new CdpRecordingDriver();
+        try (WebDriverPool pool = WebDriverPool.builder().maxSize(1).driverFactory(() -> driver).build()) {
+            XPathClickAutomation automation = new XPathClickAutomation(pool);
+            automation.navigateToUrl("http://localhost/page");
+            automation.closeDriver();
+
+            assertTrue(driver.commands.isEmpty());
+        }
+    }
+
+    private static final class CdpRecordingDriver extends FakeWebDriver implements HasCdp {
+        private final List<String> commands = new ArrayList<>();
+        private final List<Map<String, Object>> parameters = new ArrayList<>();
+
+        @Override
+        public Map<String, Object> executeCdpCommand(String commandName, Map<String, Object> params) {
+            commands.add(commandName);
+            parameters.add(params);
+            return Map.of();
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package com.xpathautomation;
+
+import com.xpathautomation.support.FakeWebDriver;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * XPath başına süre sınırı, çalıştırma süre sınırı ve isteğe bağlı XPath'ler
+ * için test sınıfı
+ *
+ * @author XPath Automation Team
+ * @version 1.0.0
+ */
+class RunDeadlineTest {
+
+    private final FakeWebDriver fakeDriver = new FakeWebDriver().withMissingXPaths("//missing-1", "//missing-2",
+            "//missing-3", "//missing-4", "//cookie-banner");
+    private final WebDriverPool pool = WebDriverPool.builder().driverFactory(() -> fakeDriver).build();
+
+    @AfterEach
+    void tearDown() {
+        pool.close();
+    }
+
+    private XPathClickAutomation automation() {
+        return new XPathClickAutomation(pool)
+                .setUrl("http://localhost/page")
+                .setClickDelay(0)
+                .setPollInterval(Duration.ofMillis(20));
+    }
+
+    /**
+     * Eksik elementlerin XPath başına süre sınırından fazla beklemediğini test eder
+     */
+    @Test
+    void testPerXPathTimeoutBoundsEachMissingElement() {
+        XPathClickAutomation automation = automation()
+                .setXPathTimeout(Duration.ofMillis(200))
+                .setXPaths(List.of("//missing-1", "//missing-2", "//ok"));
+
+        long elapsedMs = timeMs(automation::execute);
+
+        List<ClickResult> results = automation.getLastClickResults();
+        assertEquals(ClickResult.FailureReason.NOT_FOUND, results.get(0).failureReason());
+        assertEquals(ClickResult.FailureReason.NOT_FOUND, results.get(1).failureReason());
+        assertTrue(results.get(2).success());
+        assertTrue(elapsedMs >= 400 && elapsedMs < 2000, "Geçen süre: " + elapsedMs);
+        automation.closeDriver();
+    }
+
+    /**
+     * Çalıştırma süre sınırının XPath başına sınırlardan önce geldiğini ve
+     * kalan sürenin bekleyen XPath'lere paylaştırıldığını test eder
+     */
+    @Test
+    void testRunDeadlineIsSharedAcrossPendingXPaths() {
+        XPathClickAutomation automation = automation()
+                .setXPathTimeout(Duration.ofSeconds(30))
+                .setRunDeadline(Duration.ofMillis(600))
+                .setXPaths(List.of("//missing-1", "//missing-2", "//missing-3", "//missing-4"));
+
+        long elapsedMs = timeMs(automation::execute);
+
+        assertTrue(elapsedMs < 1500, "Geçen süre: " + elapsedMs);
+        assertTrue(automation.getLastClickResults().stream().noneMatch(ClickResult::success));
+        automation.closeDriver();
+    }
+
+    /**
+     * İsteğe bağlı XPath'lerin bir kez yoklanıp beklemeden atlandığını test eder
+     */
+    @Test
+    void testOptionalXPathIsProbedOnceAndSkipped() {
+        XPathClickAutomation automation = automation()
+                .setXPathTimeout(Duration.ofSeconds(5))
+                .addOptionalXPath("//cookie-banner")
+                .addXPath("//ok");
+
+        long elapsedMs = timeMs(automation::execute);
+
+        List<ClickResult> results = automation.getLastClickResults();
+        assertEquals(ClickResult.FailureReason.SKIPPED_OPTIONAL, results.get(0).failureReason());
+        assertTrue(results.get(0).isAcceptable());
+        assertTrue(results.get(1).success());
+        assertEquals(2, fakeDriver.getLocateCalls());
+        assertTrue(elapsedMs < 1000, "Geçen süre: " + elapsedMs);
+        automation.closeDriver();
+    }
+
+    private static long timeMs(Runnable action) {
+        long start = System.nanoTime();
+        action.run();
+        return (System.nanoTime() - start) / 1_000_000;
+    }
+}
@@ -0,0 +1,216 @@
+package com.xpathautomation;
+
+import com.xpathautomation.support.FakeWebDriver;
+import com.xpathautomation.support.LocalPageServer;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.openqa.selenium.JavascriptException;
+import org.openqa.selenium.JavascriptExecutor;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * SettleStrategy sınıfı için test sınıfı
+ *
+ * @author XPath Automation Team
+ * @version 1.0.0
+ */
+class SettleStrategyTest {
+
+    // Tıklamadan sonra 300 ms boyunca DOM'u değiştiren, ardından sakinleşen sayfa
+    private static final String BUSY_PAGE = """
+            <html><body>
+            <button id='go' onclick='work()'>Go</button>
+            <div id='log'></div>
+            <script>
+              function work() {
+                var start = Date.now();
+                var timer = setInterval(function () {
+                  document.getElementById('log').textContent = Date.now();
+                  if (Date.now() - start > 300) { clearInterval(timer); document.body.dataset.done = '1'; }
+                }, 20);
+                fetch('/slow');
+              }
+            </script>
+            </body></html>
+            """;
+
+    // Tıklamayla gidilen ve yüklendikten sonra 300 ms boyunca DOM'u değiştiren sayfa
+    private static final String LEAVING_PAGE = """
+            <html><body><a id='leave' href='/arriving'>Leave</a></body></html>
+            """;
+    private static final String ARRIVING_PAGE = """
+            <html><body>
+            <div id='log'></div>
+            <script>
+              var start = Date.now();
+              var timer = setInterval(function () {
+                document.getElementById('log').textContent = Date.now();
+                if (Date.now() - start > 300) { clearInterval(timer); document.body.dataset.done = '1'; }
+              }, 20);
+            </script>
+            </body></html>
+            """;
+
+    private static LocalPageServer server;
+
+    @BeforeAll
+    static void startServer() throws IOException {
+        server = new LocalPageServer()
+                .serveHtml("/busy", BUSY_PAGE)
+                .serveHtml("/leaving", LEAVING_PAGE)
+                .serveHtml("/arriving", ARRIVING_PAGE)
+                .serveDelayed("/slow", "text/plain", "ok", 400);
+    }
+
+    @AfterAll
+    static void stopServer() {
+        server.close();
+    }
+
+    /**
+     * Sabit gecikmenin üst sınırla kısaldığını test eder
+     */
+    @Test
+    void testFixedDelayIsCappedByMaxWait() throws InterruptedException {
+        long start = System.nanoTime();
+        boolean settled = SettleStrategy.fixedDelay(Duration.ofSeconds(5))
+                .await(new FakeWebDriver(), Duration.ofMillis(50));
+        long elapsedMs = (System.nanoTime() - start) / 1_000_000;
+
+        assertFalse(settled);
+        assertTrue(elapsedMs < 1000, "Geçen süre: " + elapsedMs);
+    }
+
+    /**
+     * Sayfa geçişinin kestiği bekleme script'inin yeniden denendiğini test eder
+     */
+    @Test
+    void testNavigationInterruptedWaitIsRetried() throws InterruptedException {
+        AsyncScriptDriver driver = new AsyncScriptDriver(
+                new JavascriptException("javascript error: document unloaded while waiting for result"),
+                Boolean.TRUE);
+
+        assertTrue(SettleStrategy.domQuiescence().await(driver, Duration.ofSeconds(5)));
+        assertEquals(2, driver.calls);
+        assertEquals(1, driver.trackerInstalls);
+    }
+
+    /**
+     * Sayfa geçişi başlatan tıklamadan sonra DOM sessizliğinin yeni sayfada
+     * ölçüldüğünü test eder
+     */
+    @Test
+    void testDomQuiescenceWaitsForPageOpenedByClick() {
+        XPathClickAutomation automation = XPathClickAutomation.builder()
+                .headless(true)
+                .settleStrategy(SettleStrategy.domQuiescence(Duration.ofMillis(100)))
+                .maxSettleTime(Duration.ofSeconds(3))
+                .build();
+        try {
+            automation.navigateToUrl(server.url("/leaving"));
+            ClickResult result = automation.clickElement("//a[@id='leave']");
+
+            assertTrue(result.settled());
+            assertEquals("1", ((JavascriptExecutor) automation.getDriver())
+                    .executeScript("return document.body.dataset.done || null;"));
+        } finally {
+            automation.closeDriver();
+        }
+    }
+
+    /**
+     * Hatalı JS koşulunun üst sınıra kadar beklenmeden bildirildiğini test eder
+     */
+    @Test
+    void testBrokenPredicateFailsFast() {
+        AsyncScriptDriver syntaxError = new AsyncScriptDriver(
+                new JavascriptException("javascript error: Unexpected token ')'"));
+        AsyncScriptDriver referenceError = new AsyncScriptDriver(
+                Map.of("error", "ReferenceError: spinner is not defined"));
+        long start = System.nanoTime();
+
+        assertThrows(JavascriptException.class, () -> SettleStrategy.jsPredicate("return (")
+                .await(syntaxError, Duration.ofSeconds(5)));
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
+                () -> SettleStrategy.jsPredicate("return !spinner").await(referenceError, Duration.ofSeconds(5)));
+        long elapsedMs = (System.nanoTime() - start) / 1_000_000;
+
+        assertTrue(e.getMessage().contains("ReferenceError"));
+        assertEquals(1, syntaxError.calls);
+        assertEquals(1, referenceError.calls);
+        assertTrue(elapsedMs < 1000, "Geçen süre: " + elapsedMs);
+    }
+
+    /**
+     * DOM sessizliği, ağ boşta ve JS koşulu stratejilerinin gerçek oturma
+     * süresini kaydettiğini test eder
+     */
+    @Test
+    void testAdaptiveStrategiesRecordActualSettleTime() {
+        ClickResult dom = clickWith(SettleStrategy.domQuiescence(Duration.ofMillis(100)));
+        ClickResult network = clickWith(SettleStrategy.networkIdle(Duration.ofMillis(50)));
+        ClickResult predicate = clickWith(SettleStrategy.jsPredicate("return document.body.dataset.done === '1';"));
+
+        for (ClickResult result : List.of(dom, network, predicate)) {
+            assertTrue(result.success());
+            assertTrue(result.settled());
+            assertTrue(result.settleTime().toMillis() < 2000, "Oturma süresi: " + result.settleTime());
+        }
+        assertTrue(dom.settleTime().toMillis() >= 300);
+        assertTrue(network.settleTime().toMillis() >= 400);
+        System.out.println("Oturma süreleri - dom: " + dom.settleTime().toMillis() + " ms, ağ: "
+                + network.settleTime().toMillis() + " ms, koşul: " + predicate.settleTime().toMillis() + " ms");
+    }
+
+    private static ClickResult clickWith(SettleStrategy strategy) {
+        XPathClickAutomation automation = XPathClickAutomation.builder()
+                .headless(true)
+                .settleStrategy(strategy)
+                .maxSettleTime(Duration.ofSeconds(3))
+                .build();
+        try {
+            automation.navigateToUrl(server.url("/busy"));
+            return automation.clickElement("//button[@id='go']");
+        } finally {
+            automation.closeDriver();
+        }
+    }
+
+    /**
+     * Bekleme script'ine sırayla verilen sonuçları dönen (ya da fırlatan) sahte sürücü
+     */
+    private static final class AsyncScriptDriver extends FakeWebDriver {
+        private final List<Object> outcomes;
+        private int calls;
+        private int trackerInstalls;
+
+        AsyncScriptDriver(Object... outcomes) {
+            this.outcomes = List.of(outcomes);
+        }
+
+        @Override
+        public Object executeAsyncScript(String script, Object... args) {
+            Object outcome = outcomes.get(Math.min(calls++, outcomes.size() - 1));
+            if (outcome instanceof RuntimeException e) {
+                throw e;
+            }
+            return outcome;
+        }
+
+        @Override
+        public Object executeScript(String script, Object... args) {
+            if (script.contains("__xpcaSettle")) {
+                trackerInstalls++;
+                return null;
+            }
+            return super.executeScript(script, args);
+        }
+    }
+}
@@ -0,0 +1,273 @@
+package com.xpathautomation;
+
+import com.xpathautomation.support.FakeWebDriver;
+import com.xpathautomation.support.LocalPageServer;
+import org.junit.jupiter.api.Test;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.PageLoadStrategy;
+import org.openqa.selenium.TimeoutException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.chromium.HasCdp;
+
+import java.lang.reflect.Proxy;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * SharedBrowser sınıfı için test sınıfı
+ *
+ * @author XPath Automation Team
+ * @version 1.0.0
+ */
+class SharedBrowserTest {
+
+    /**
+     * Her sekmenin kendi tarayıcı bağlamında açılıp kapatıldığını test eder
+     */
+    @Test
+    void testEachTabGetsOwnBrowserContext() {
+        TabbedFakeDriver fake = new TabbedFakeDriver();
+        try (SharedBrowser browser = new SharedBrowser(() -> fake, PageLoadStrategy.NORMAL)) {
+            WebDriver first = browser.openTab();
+            WebDriver second = browser.openTab();
+
+            assertEquals(2, browser.getOpenTabs());
+            assertEquals(List.of("Target.createBrowserContext", "Target.createTarget",
+                    "Target.createBrowserContext", "Target.createTarget"), fake.cdpCommands);
+            assertNotEquals(first.getWindowHandle(), second.getWindowHandle());
+            assertEquals(Map.of("url", "about:blank", "browserContextId", "context-2"), fake.cdpParameters.get(3));
+
+            first.quit();
+
+            assertEquals(1, browser.getOpenTabs());
+            assertEquals("Target.disposeBrowserContext", fake.cdpCommands.get(4));
+            assertEquals(Map.of("browserContextId", "context-1"), fake.cdpParameters.get(4));
+            assertFalse(fake.isQuit());
+        }
+        assertTrue(fake.isQuit());
+    }
+
+    /**
+     * Sekmeler eşzamanlı kullanılırken her komutun kendi sekmesinde ve
+     * diğerleriyle çakışmadan çalıştığını test eder
+     */
+    @Test
+    void testConcurrentCommandsRunInTheirOwnTab() {
+        TabbedFakeDriver fake = new TabbedFakeDriver();
+        try (SharedBrowser browser = new SharedBrowser(() -> fake, PageLoadStrategy.NORMAL)) {
+            List<WebDriver> tabs = IntStream.range(0, 4).mapToObj(i -> browser.openTab()).toList();
+
+            CompletableFuture.allOf(tabs.stream().map(tab -> CompletableFuture.runAsync(() -> {
+                for (int i = 0; i < 200; i++) {
+                    ((JavascriptExecutor) tab).executeScript("probe", tab.getWindowHandle());
+                }
+                tab.get("http://localhost/" + tab.getWindowHandle());
+            })).toArray(CompletableFuture[]::new)).join();
+
+            assertEquals(800, fake.probes.get());
+            assertEquals(0, fake.wrongTab.get());
+            assertEquals(0, fake.overlapping.get());
+            assertEquals(4, fake.getVisitedUrls().size());
+        }
+    }
+
+    /**
+     * Sekmeden dönen elementin başka bir sekmeye geçildikten sonra da kendi
+     * sekmesinde kullanıldığını test eder
+     */
+    @Test
+    void testElementsStayBoundToTheirTab() {
+        TabbedFakeDriver fake = new TabbedFakeDriver();
+        try (SharedBrowser browser = new SharedBrowser(() -> fake, PageLoadStrategy.NORMAL)) {
+            WebDriver first = browser.openTab();
+            WebDriver second = browser.openTab();
+            Object rows = ((JavascriptExecutor) first).executeScript("element");
+            WebElement element = (WebElement) ((List<?>) rows).get(0);
+
+            ((JavascriptExecutor) second).executeScript("probe", second.getWindowHandle());
+            element.click();
+            ((JavascriptExecutor) second).executeScript("argument", element);
+
+            assertEquals(List.of(first.getWindowHandle()), fake.clickedIn);
+            assertSame(fake.element, fake.lastArgument);
+        }
+    }
+
+    /**
+     * Sekmeden ayarlanan sayfa yükleme zaman aşımının oturumu ve diğer
+     * sekmeleri etkilemediğini ve sekmenin get çağrısında kullanıldığını test eder
+     */
+    @Test
+    void testPageLoadTimeoutIsPerTab() {
+        TabbedFakeDriver fake = new TabbedFakeDriver();
+        try (SharedBrowser browser = new SharedBrowser(() -> fake, PageLoadStrategy.NORMAL)) {
+            WebDriver first = browser.openTab();
+            WebDriver second = browser.openTab();
+
+            first.manage().timeouts().pageLoadTimeout(Duration.ofMillis(100));
+
+            assertEquals(Duration.ofMillis(100), first.manage().timeouts().getPageLoadTimeout());
+            assertEquals(Duration.ofSeconds(5), second.manage().timeouts().getPageLoadTimeout());
+            assertEquals(0, fake.sessionTimeoutChanges.get());
+
+            fake.loading = true;
+            long start = System.nanoTime();
+            assertThrows(TimeoutException.class, () -> first.get("http://localhost/" + first.getWindowHandle()));
+            long elapsedMs = (System.nanoTime() - start) / 1_000_000;
+            assertTrue(elapsedMs < 2000, "Geçen süre: " + elapsedMs);
+        }
+    }
+
+    /**
+     * Paylaşılan tarayıcı sekmelerinin çerezleri birbirinden görmediğini test eder
+     */
+    @Test
+    void testTabsDoNotShareCookies() throws Exception {
+        try (LocalPageServer server = new LocalPageServer().serveHtml("/page", "<html><body>page</body></html>");
+             SharedBrowser browser = new SharedBrowser(true, PageLoadStrategy.NORMAL)) {
+            WebDriver first = browser.openTab();
+            WebDriver second = browser.openTab();
+            first.get(server.url("/page"));
+            second.get(server.url("/page"));
+
+            ((JavascriptExecutor) first).executeScript("document.cookie = 'job=first';");
+
+            assertEquals("job=first", ((JavascriptExecutor) first).executeScript("return document.cookie;"));
+            assertEquals("", ((JavascriptExecutor) second).executeScript("return document.cookie;"));
+        }
+    }
+
+    /**
+     * Çalıştırıcının sekme modunda işleri az sayıda Chrome sürecine dağıttığını test eder
+     */
+    @Test
+    void testRunnerRunsJobsAsTabs() throws Exception {
+        String page = "<html><body><button id='go' onclick='this.textContent = \"done\"'>go</button></body></html>";
+        try (LocalPageServer server = new LocalPageServer().serveHtml("/job", page);
+             AutomationRunner runner = AutomationRunner.builder()
+                     .sessions(6)
+                     .tabsPerBrowser(3)
+                     .headless(true)
+                     .clickDelay(0)
+                     .build()) {
+            List<AutomationJob> jobs = new ArrayList<>(Collections.nCopies(6,
+                    new AutomationJob(server.url("/job"), List.of("//button[@id='go']"))));
+
+            List<JobOutcome> outcomes = runner.runAll(jobs);
+
+            assertEquals(2, runner.getBrowserCount());
+            assertTrue(outcomes.stream().allMatch(outcome -> outcome.error() == null));
+            assertTrue(outcomes.stream().allMatch(outcome -> outcome.clickResults().get(0).success()));
+        }
+    }
+
+    /**
+     * Pencere geçişlerini ve CDP hedef komutlarını taklit eden sahte sürücü
+     */
+    private static final class TabbedFakeDriver extends FakeWebDriver implements HasCdp {
+        private final List<String> cdpCommands = Collections.synchronizedList(new ArrayList<>());
+        private final List<Map<String, Object>> cdpParameters = Collections.synchronizedList(new ArrayList<>());
+        private final List<String> clickedIn = new ArrayList<>();
+        private final AtomicInteger probes = new AtomicInteger();
+        private final AtomicInteger wrongTab = new AtomicInteger();
+        private final AtomicInteger overlapping = new AtomicInteger();
+        private final AtomicInteger inFlight = new AtomicInteger();
+        private final AtomicInteger sessionTimeoutChanges = new AtomicInteger();
+        private final WebElement element = (WebElement) Proxy.newProxyInstance(WebElement.class.getClassLoader(),
+                new Class<?>[] { WebElement.class }, (proxy, method, args) -> {
+                    if (method.getName().equals("click")) {
+                        clickedIn.add(getWindowHandle());
+                    }
+                    return method.getReturnType() == boolean.class ? Boolean.TRUE : null;
+                });
+        private volatile String current = "main";
+        private volatile Object lastArgument;
+        private volatile boolean loading;
+        private int contexts;
+        private int targets;
+
+        @Override
+        public String getWindowHandle() {
+            return current;
+        }
+
+        @Override
+        public TargetLocator switchTo() {
+            return (TargetLocator) Proxy.newProxyInstance(TargetLocator.class.getClassLoader(),
+                    new Class<?>[] { TargetLocator.class }, (proxy, method, args) -> {
+                        if (method.getName().equals("window")) {
+                            current = (String) args[0];
+                        }
+                        return this;
+                    });
+        }
+
+        @Override
+        public Options manage() {
+            Timeouts timeouts = (Timeouts) Proxy.newProxyInstance(Timeouts.class.getClassLoader(),
+                    new Class<?>[] { Timeouts.class }, (proxy, method, args) -> {
+                        if (method.getName().equals("pageLoadTimeout")) {
+                            sessionTimeoutChanges.incrementAndGet();
+                        }
+                        return method.getReturnType() == Duration.class ? Duration.ofSeconds(5) : proxy;
+                    });
+            return (Options) Proxy.newProxyInstance(Options.class.getClassLoader(),
+                    new Class<?>[] { Options.class }, (proxy, method, args) -> timeouts);
+        }
+
+        @Override
+        public void get(String url) {
+            if (!url.endsWith(current)) {
+                wrongTab.incrementAndGet();
+            }
+            super.get(url);
+        }
+
+        @Override
+        public Object executeScript(String script, Object... args) {
+            if (inFlight.incrementAndGet() > 1) {
+                overlapping.incrementAndGet();
+            }
+            try {
+                switch (script) {
+                    case "probe":
+                        probes.incrementAndGet();
+                        if (!current.equals(args[0])) {
+                            wrongTab.incrementAndGet();
+                        }
+                        return null;
+                    case "element":
+                        return List.of(element);
+                    case "argument":
+                        lastArgument = args[0];
+                        return null;
+                    default:
+                        return loading && script.contains("readyState") ? Boolean.FALSE
+                                : super.executeScript(script, args);
+                }
+            } finally {
+                inFlight.decrementAndGet();
+            }
+        }
+
+        @Override
+        public Map<String, Object> executeCdpCommand(String commandName, Map<String, Object> parameters) {
+            cdpCommands.add(commandName);
+            cdpParameters.add(parameters);
+            return switch (commandName) {
+                case "Target.createBrowserContext" -> Map.of("browserContextId", "context-" + ++contexts);
+                case "Target.createTarget" -> Map.of("targetId", "tab-" + ++targets);
+                default -> Map.of();
+            };
+        }
+    }
+}
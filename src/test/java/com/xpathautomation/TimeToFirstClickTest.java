@@ -0,0 +1,145 @@
+package com.xpathautomation;
+
+import com.xpathautomation.support.LocalPageServer;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Lazy başlatma ve arka plan ön ısıtmasının ilk tıklamaya kadar geçen süreye
+ * etkisini yerel bir sayfa üzerinde ölçer
+ *
+ * @author XPath Automation Team
+ * @version 1.0.0
+ */
+class TimeToFirstClickTest {
+
+    // İş girdisinin (URL ve XPath listesi) hazırlanmasını taklit eden süre
+    private static final long INPUT_LOADING_MS = 1500;
+    // Geç yüklenen bir reklam/iframe kaynağını taklit eden gecikme
+    private static final long SLOW_RESOURCE_MS = 3000;
+
+    private static LocalPageServer server;
+
+    @BeforeAll
+    static void startServer() throws IOException {
+        server = new LocalPageServer().serveHtml("/page",
+                "<html><body><button id='go' onclick=\"this.textContent='clicked'\">Go</button></body></html>")
+                .serveHtml("/heavy", "<html><body><button id='go' onclick=\"this.textContent='clicked'\">Go</button>"
+                        + "<img src='/slow-ad'></body></html>")
+                .serveDelayed("/slow-ad", "image/gif", "GIF89a", SLOW_RESOURCE_MS);
+    }
+
+    @AfterAll
+    static void stopServer() {
+        server.close();
+    }
+
+    /**
+     * Ayarların Chrome başlamadan önce uygulandığını test eder
+     */
+    @Test
+    void testSettingsAreAppliedBeforeDriverStarts() {
+        XPathClickAutomation automation = XPathClickAutomation.builder()
+                .headless(true)
+                .waitTimeout(3)
+                .build();
+        try {
+            automation.navigateToUrl(server.url("/page"));
+            assertTrue(automation.clickElementByXPath("//button[@id='go']"));
+        } finally {
+            automation.closeDriver();
+        }
+    }
+
+    /**
+     * prewarm() sonrası tarayıcıyı etkileyen ayarların reddedildiğini test eder
+     */
+    @Test
+    void testBrowserSettingsAfterPrewarmAreRejected() {
+        XPathClickAutomation.Builder builder = XPathClickAutomation.builder().headless(true).prewarm();
+        try {
+            assertThrows(IllegalStateException.class, () -> builder.headless(false));
+        } finally {
+            builder.build().closeDriver();
+        }
+    }
+
+    /**
+     * Cold start ile ön ısıtmalı başlatmanın ilk tıklamaya kadar geçen
+     * sürelerini karşılaştırır
+     */
+    @Test
+    @Tag("benchmark")
+    void benchmarkTimeToFirstClick() throws InterruptedException {
+        long coldMs = measureTimeToFirstClick(false);
+        long prewarmMs = measureTimeToFirstClick(true);
+
+        System.out.println("İlk tıklamaya kadar geçen süre - cold: " + coldMs + " ms, prewarm: " + prewarmMs + " ms");
+        assertTrue(prewarmMs < coldMs);
+    }
+
+    /**
+     * Geç yüklenen kaynağı olan bir sayfada tam yükleme ile ilk hedefin
+     * görünmesini beklemenin ilk tıklamaya kadar geçen sürelerini karşılaştırır
+     */
+    @Test
+    @Tag("benchmark")
+    void benchmarkTimeToFirstClickOnHeavyPage() {
+        long completeMs = measureHeavyPageFirstClick(PageReadiness.COMPLETE);
+        long firstTargetMs = measureHeavyPageFirstClick(PageReadiness.FIRST_TARGET);
+
+        System.out.println("Ağır sayfada ilk tıklamaya kadar geçen süre - complete: " + completeMs
+                + " ms, firstTarget: " + firstTargetMs + " ms");
+        assertTrue(completeMs >= SLOW_RESOURCE_MS);
+        assertTrue(firstTargetMs < SLOW_RESOURCE_MS);
+    }
+
+    private long measureHeavyPageFirstClick(PageReadiness readiness) {
+        XPathClickAutomation automation = XPathClickAutomation.builder()
+                .headless(true)
+                .pageReadiness(readiness)
+                .xpaths(List.of("//button[@id='go']"))
+                .waitTimeout(10)
+                .clickDelay(0)
+                .build();
+        try {
+            // Chrome açılışı ölçüme dahil edilmesin
+            automation.getDriver();
+            long start = System.nanoTime();
+            automation.navigateToUrl(server.url("/heavy"));
+            assertTrue(automation.clickElementByXPath("//button[@id='go']"));
+            return (System.nanoTime() - start) / 1_000_000;
+        } finally {
+            automation.closeDriver();
+        }
+    }
+
+    private long measureTimeToFirstClick(boolean prewarm) throws InterruptedException {
+        long start = System.nanoTime();
+        XPathClickAutomation.Builder builder = XPathClickAutomation.builder().headless(true);
+        if (prewarm) {
+            builder.prewarm();
+        }
+
+        // URL ve XPath listesinin yüklenmesi
+        Thread.sleep(INPUT_LOADING_MS);
+        XPathClickAutomation automation = builder
+                .url(server.url("/page"))
+                .xpaths(List.of("//button[@id='go']"))
+                .clickDelay(0)
+                .build();
+        try {
+            automation.run();
+            return (System.nanoTime() - start) / 1_000_000;
+        } finally {
+            automation.closeDriver();
+        }
+    }
+}
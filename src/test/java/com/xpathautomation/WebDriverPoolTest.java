@@ -0,0 +1,172 @@
+package com.xpathautomation;
+
+import com.xpathautomation.support.FakeWebDriver;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.openqa.selenium.WebDriver;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * WebDriverPool sınıfı için test sınıfı
+ *
+ * Havuz mantığı sahte (tarayıcısız) oturumlarla, başlatma süresi kazancı ise
+ * gerçek Chrome ile ölçülür.
+ *
+ * @author XPath Automation Team
+ * @version 1.0.0
+ */
+class WebDriverPoolTest {
+
+    private static WebDriverPool fakePool(WebDriverPool.Builder builder, List<FakeWebDriver> created) {
+        return builder.driverFactory(() -> {
+            FakeWebDriver driver = new FakeWebDriver();
+            synchronized (created) {
+                created.add(driver);
+            }
+            return driver;
+        }).build();
+    }
+
+    /**
+     * Geri verilen oturumun yeniden kullanıldığını ve sıfırlandığını test eder
+     */
+    @Test
+    void testReleasedSessionIsReusedAndReset() {
+        List<FakeWebDriver> created = new ArrayList<>();
+        try (WebDriverPool pool = fakePool(WebDriverPool.builder().maxSize(1), created)) {
+            WebDriver first = pool.borrow();
+            first.get("https://example.com");
+            pool.release(first);
+
+            WebDriver second = pool.borrow();
+            assertSame(first, second);
+            assertEquals("about:blank", second.getCurrentUrl());
+            assertEquals(1, pool.getCreatedCount());
+            assertEquals(1, pool.getReusedCount());
+            pool.release(second);
+        }
+    }
+
+    /**
+     * maxUsesPerSession sınırına ulaşan oturumun kapatılıp yenisinin açıldığını test eder
+     */
+    @Test
+    void testSessionIsRecycledAfterMaxUses() {
+        List<FakeWebDriver> created = new ArrayList<>();
+        try (WebDriverPool pool = fakePool(WebDriverPool.builder().maxSize(1).maxUsesPerSession(2), created)) {
+            for (int i = 0; i < 3; i++) {
+                pool.release(pool.borrow());
+            }
+            assertEquals(2, created.size());
+            assertTrue(created.get(0).isQuit());
+            assertFalse(created.get(1).isQuit());
+            assertEquals(1, pool.getRecycledCount());
+        }
+    }
+
+    /**
+     * Havuz doluyken ödünç alma isteğinin zaman aşımına uğradığını test eder
+     */
+    @Test
+    void testBorrowTimesOutWhenPoolIsExhausted() {
+        List<FakeWebDriver> created = new ArrayList<>();
+        try (WebDriverPool pool = fakePool(WebDriverPool.builder()
+                .maxSize(1)
+                .borrowTimeout(Duration.ofMillis(100)), created)) {
+            WebDriver held = pool.borrow();
+            assertThrows(IllegalStateException.class, pool::borrow);
+            pool.release(held);
+            assertSame(held, pool.borrow());
+        }
+    }
+
+    /**
+     * minSize kadar oturumun önceden başlatıldığını ve fazlalığın boşta kalınca kapatıldığını test eder
+     */
+    @Test
+    void testMinSizeIsPrewarmedAndIdleSessionsAreEvicted() throws InterruptedException {
+        List<FakeWebDriver> created = new ArrayList<>();
+        try (WebDriverPool pool = fakePool(WebDriverPool.builder()
+                .minSize(1)
+                .maxSize(3)
+                .maxIdle(Duration.ofMillis(50))
+                .evictionInterval(Duration.ofMillis(20)), created)) {
+            waitUntil(() -> pool.getIdleCount() == 1);
+
+            WebDriver a = pool.borrow();
+            WebDriver b = pool.borrow();
+            WebDriver c = pool.borrow();
+            pool.release(a);
+            pool.release(b);
+            pool.release(c);
+
+            waitUntil(() -> pool.getIdleCount() == 1);
+            assertEquals(2, pool.getEvictedCount());
+        }
+        assertTrue(created.stream().allMatch(FakeWebDriver::isQuit));
+    }
+
+    /**
+     * Sıfır ya da negatif bakım aralığının havuz oluşturulmadan reddedildiğini test eder
+     */
+    @Test
+    void testRejectsNonPositiveEvictionInterval() {
+        assertThrows(IllegalArgumentException.class,
+                () -> WebDriverPool.builder().evictionInterval(Duration.ZERO).build());
+        assertThrows(IllegalArgumentException.class,
+                () -> WebDriverPool.builder().evictionInterval(Duration.ofSeconds(-1)).build());
+    }
+
+    /**
+     * Havuzdan alınan oturumla cold-start Chrome başlatmayı karşılaştırır ve iş
+     * başına kazanılan başlatma süresini yazdırır
+     */
+    @Test
+    @Tag("benchmark")
+    void benchmarkStartupTimeSavedPerJob() {
+        int jobs = 5;
+
+        long coldStart = System.nanoTime();
+        for (int i = 0; i < jobs; i++) {
+            XPathClickAutomation automation = new XPathClickAutomation();
+            // Oturum tembel açıldığından ilk komut öncesinde Chrome başlatılmalı
+            automation.getDriver().get("about:blank");
+            automation.closeDriver();
+        }
+        long coldNanos = System.nanoTime() - coldStart;
+
+        try (WebDriverPool pool = WebDriverPool.builder().minSize(1).maxSize(1).build()) {
+            // İlk oturumun başlatılması havuzun kurulum maliyetidir, iş başına değil
+            pool.release(pool.borrow());
+
+            long pooledStart = System.nanoTime();
+            for (int i = 0; i < jobs; i++) {
+                XPathClickAutomation automation = new XPathClickAutomation(pool);
+                automation.getDriver().get("about:blank");
+                automation.closeDriver();
+            }
+            long pooledNanos = System.nanoTime() - pooledStart;
+
+            long coldPerJobMs = coldNanos / jobs / 1_000_000;
+            long pooledPerJobMs = pooledNanos / jobs / 1_000_000;
+            System.out.println("Cold start/iş: " + coldPerJobMs + " ms, havuz/iş: " + pooledPerJobMs
+                    + " ms, kazanç/iş: " + (coldPerJobMs - pooledPerJobMs) + " ms");
+            assertTrue(pooledNanos < coldNanos);
+        }
+    }
+
+    private static void waitUntil(java.util.function.BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+        while (!condition.getAsBoolean()) {
+            if (System.nanoTime() > deadline) {
+                fail("Koşul 5 saniye içinde sağlanmadı");
+            }
+            Thread.sleep(10);
+        }
+    }
+}
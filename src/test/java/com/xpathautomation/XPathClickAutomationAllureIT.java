@@ -2,6 +2,7 @@ package com.xpathautomation;
 
 import com.xpathautomation.support.AllureTestWatcher;
 import com.xpathautomation.support.AllureUtils;
+import com.xpathautomation.support.ScreenshotService;
 import io.qameta.allure.*;
 import org.junit.jupiter.api.*;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -48,7 +49,7 @@ class XPathClickAutomationAllureIT {
         });
 
         // Bilgilendirme amaçlı ekran görüntüsü
-        Allure.step("Attach final screenshot", () -> AllureUtils.attachScreenshot(extractDriver(), "final"));
+        Allure.step("Attach final screenshot", () -> AllureUtils.attachScreenshot(extractDriver(), "final", ScreenshotService.Priority.LOW));
     }
 
     @Test
@@ -68,26 +69,17 @@ class XPathClickAutomationAllureIT {
             automation.run();
         });
 
-        Allure.step("Attach screenshot after run", () -> AllureUtils.attachScreenshot(extractDriver(), "after-run"));
+        Allure.step("Attach screenshot after run", () -> AllureUtils.attachScreenshot(extractDriver(), "after-run", ScreenshotService.Priority.LOW));
     }
 
     @Step("Open home page: {url}")
     void stepOpenHome(String url) {
         automation.setUrl(url);
         automation.navigateToUrl(url);
-        AllureUtils.attachScreenshot(extractDriver(), "home-opened");
+        AllureUtils.attachScreenshot(extractDriver(), "home-opened", ScreenshotService.Priority.LOW);
     }
 
-    // Reflection ile WebDriver'ı çıkarmak (test watcher ile de uyumlu)
     private org.openqa.selenium.WebDriver extractDriver() {
-        try {
-            java.lang.reflect.Field f = XPathClickAutomation.class.getDeclaredField("driver");
-            f.setAccessible(true);
-            Object v = f.get(automation);
-            if (v instanceof org.openqa.selenium.WebDriver)
-                return (org.openqa.selenium.WebDriver) v;
-        } catch (Throwable ignored) {
-        }
-        return null;
+        return automation.currentDriver();
     }
 }
@@ -0,0 +1,95 @@
+package com.xpathautomation;
+
+import com.xpathautomation.support.FakeWebDriver;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * XPathValidator sınıfı için test sınıfı
+ *
+ * @author XPath Automation Team
+ * @version 1.0.0
+ */
+class XPathValidatorTest {
+
+    /**
+     * Geçerli ifadelerin normalize edildiğini test eder
+     */
+    @Test
+    void testValidExpressionIsNormalized() {
+        XPathValidator validator = new XPathValidator();
+
+        XPathValidator.ValidatedXPath result = validator.validate("  //*[contains(text(),\"The <form> Element\")] ");
+
+        assertTrue(result.isValid());
+        assertEquals("//*[contains(text(),'The <form> Element')]", result.normalized());
+    }
+
+    /**
+     * Tırnak düzeltmesi ifadeyi bozduğunda orijinalin kullanıldığını test eder
+     */
+    @Test
+    void testOriginalIsKeptWhenQuoteFixBreaksExpression() {
+        XPathValidator validator = new XPathValidator();
+
+        XPathValidator.ValidatedXPath result = validator.validate("//*[text()=\"It's\"]");
+
+        assertTrue(result.isValid());
+        assertEquals("//*[text()=\"It's\"]", result.normalized());
+    }
+
+    /**
+     * Sözdizimi hatalı ifadelerin hata mesajıyla reddedildiğini test eder
+     */
+    @Test
+    void testMalformedExpressionsAreRejected() {
+        XPathValidator validator = new XPathValidator();
+
+        for (String xpath : List.of("//input[@type='text'", "//div[", "///", "   ", "//a[@href=]")) {
+            XPathValidator.ValidatedXPath result = validator.validate(xpath);
+            assertFalse(result.isValid(), xpath);
+            assertNotNull(result.error(), xpath);
+            assertNull(result.normalized(), xpath);
+        }
+    }
+
+    /**
+     * Tekrarlanan ifadelerin önbellekten geldiğini ve önbelleğin sınırlı kaldığını test eder
+     */
+    @Test
+    void testCacheIsBoundedLru() {
+        XPathValidator validator = new XPathValidator(2);
+
+        validator.validate("//a");
+        validator.validate("//b");
+        validator.validate("//a");
+        validator.validate("//c"); // //b en eski, çıkarılır
+        validator.validate("//a");
+        validator.validate("//b");
+
+        assertEquals(2, validator.size());
+        assertEquals(2, validator.getHitCount());
+        assertEquals(4, validator.getMissCount());
+    }
+
+    /**
+     * Yalnızca geçersiz XPath içeren bir çalıştırmanın tarayıcı açmadığını test eder
+     */
+    @Test
+    void testInvalidOnlyRunNeverTouchesBrowser() {
+        try (WebDriverPool pool = WebDriverPool.builder().driverFactory(FakeWebDriver::new).build()) {
+            XPathClickAutomation automation = new XPathClickAutomation(pool)
+                    .setUrl("http://localhost/never-opened")
+                    .setXPaths(List.of("//div[", "//input[@type='text'"));
+
+            assertEquals(0, automation.execute().successCount());
+            assertEquals(0, pool.getCreatedCount());
+            assertTrue(automation.getLastClickResults().stream()
+                    .allMatch(r -> r.failureReason() == ClickResult.FailureReason.INVALID_XPATH));
+            automation.closeDriver();
+        }
+    }
+}
@@ -1,12 +1,14 @@
 package com.xpathautomation.support;
 
+import com.xpathautomation.ClickResult;
+import com.xpathautomation.XPathClickAutomation;
 import io.qameta.allure.Allure;
 import org.junit.jupiter.api.extension.AfterTestExecutionCallback;
 import org.junit.jupiter.api.extension.BeforeTestExecutionCallback;
 import org.junit.jupiter.api.extension.ExtensionContext;
 import org.openqa.selenium.WebDriver;
 
-import java.lang.reflect.Field;
+import java.time.Duration;
 
 /**
  * JUnit5 extension to automatically attach a screenshot and page source on test
@@ -15,6 +17,8 @@ import java.lang.reflect.Field;
  */
 public class AllureTestWatcher implements BeforeTestExecutionCallback, AfterTestExecutionCallback {
 
+    private static final Duration FLUSH_TIMEOUT = Duration.ofSeconds(10);
+
     @Override
     public void beforeTestExecution(ExtensionContext context) {
         // Mark the start of a test with a step for readability (optional)
@@ -28,52 +32,28 @@ public class AllureTestWatcher implements BeforeTestExecutionCallback, AfterTest
             return;
         }
 
-        WebDriver driver = extractWebDriverFromTestInstance(context.getRequiredTestInstance());
+        Object testInstance = context.getRequiredTestInstance();
+        WebDriver driver = TestInstanceFields.driverOf(testInstance);
         AllureUtils.attachScreenshot(driver, "failure-screenshot");
-        AllureUtils.attachPageSource(driver, "failure-page-source");
+        // Only the subtree around the failed XPath when it is known
+        AllureUtils.attachPageSource(driver, "failure-page-source", failedXPath(testInstance));
+        // Failure evidence must be on disk before the result is reported
+        AllureUtils.flushScreenshots(FLUSH_TIMEOUT);
         Allure.step("Test failed: " + context.getDisplayName());
     }
 
-    private WebDriver extractWebDriverFromTestInstance(Object testInstance) {
-        if (testInstance == null)
+    /**
+     * @return the first XPath the test's automation failed to click, or null
+     */
+    private String failedXPath(Object testInstance) {
+        XPathClickAutomation automation = TestInstanceFields.fieldOf(testInstance, XPathClickAutomation.class);
+        if (automation == null) {
             return null;
-        try {
-            // Direct fields on the test instance
-            for (Field f : testInstance.getClass().getDeclaredFields()) {
-                f.setAccessible(true);
-                Object value = f.get(testInstance);
-                if (value instanceof WebDriver) {
-                    return (WebDriver) value;
-                }
-                // If this is a holder of WebDriver (e.g., automation object), try to find a
-                // field named 'driver'
-                if (value != null) {
-                    WebDriver nested = tryExtractDriverFromObject(value);
-                    if (nested != null)
-                        return nested;
-                }
-            }
-        } catch (Throwable ignored) {
         }
-        return null;
-    }
-
-    private WebDriver tryExtractDriverFromObject(Object holder) {
-        try {
-            Class<?> c = holder.getClass();
-            while (c != null) {
-                for (Field f : c.getDeclaredFields()) {
-                    if (WebDriver.class.isAssignableFrom(f.getType()) || f.getName().equalsIgnoreCase("driver")) {
-                        f.setAccessible(true);
-                        Object v = f.get(holder);
-                        if (v instanceof WebDriver) {
-                            return (WebDriver) v;
-                        }
-                    }
-                }
-                c = c.getSuperclass();
+        for (ClickResult result : automation.getLastClickResults()) {
+            if (!result.isAcceptable()) {
+                return result.xpath();
             }
-        } catch (Throwable ignored) {
         }
         return null;
     }
@@ -1,42 +1,113 @@
 package com.xpathautomation.support;
 
-import io.qameta.allure.Allure;
-import org.openqa.selenium.OutputType;
-import org.openqa.selenium.TakesScreenshot;
 import org.openqa.selenium.WebDriver;
 
-import java.io.ByteArrayInputStream;
-import java.nio.charset.StandardCharsets;
+import java.time.Duration;
 
 public final class AllureUtils {
 
+    private static ScreenshotService screenshots;
+    private static volatile PageSourceCapture pageSource;
+
     private AllureUtils() {
     }
 
+    /**
+     * Replaces the settings of the shared screenshot service; shots already
+     * queued are written first.
+     */
+    public static synchronized void configureScreenshots(ScreenshotService.Settings settings) {
+        if (screenshots != null) {
+            screenshots.close();
+        }
+        install(new ScreenshotService(settings));
+    }
+
+    /**
+     * Attaches a screenshot that is never dropped, e.g. on failure.
+     */
     public static void attachScreenshot(WebDriver webDriver, String name) {
+        attachScreenshot(webDriver, name, ScreenshotService.Priority.HIGH);
+    }
+
+    /**
+     * Grabs a screenshot on this thread and attaches it once the shared
+     * {@link ScreenshotService} has downscaled and encoded it. LOW shots are
+     * dropped while the service is busy.
+     */
+    public static void attachScreenshot(WebDriver webDriver, String name, ScreenshotService.Priority priority) {
         if (webDriver == null) {
             return;
         }
         try {
-            if (webDriver instanceof TakesScreenshot) {
-                TakesScreenshot takesScreenshot = (TakesScreenshot) webDriver;
-                byte[] bytes = takesScreenshot.getScreenshotAs(OutputType.BYTES);
-                Allure.addAttachment(name == null ? "screenshot" : name, "image/png", new ByteArrayInputStream(bytes),
-                        "png");
-            }
+            screenshots().capture(webDriver, name, priority);
         } catch (Throwable ignored) {
         }
     }
 
+    /**
+     * Waits until queued screenshots are written to the results directory.
+     */
+    public static void flushScreenshots(Duration timeout) {
+        ScreenshotService service;
+        synchronized (AllureUtils.class) {
+            service = screenshots;
+        }
+        if (service != null) {
+            service.flush(timeout);
+        }
+    }
+
+    private static synchronized ScreenshotService screenshots() {
+        if (screenshots == null) {
+            install(new ScreenshotService(ScreenshotService.Settings.defaults()));
+        }
+        return screenshots;
+    }
+
+    private static void install(ScreenshotService service) {
+        if (screenshots == null) {
+            // The worker is a daemon thread: write what is left before the JVM exits
+            Runtime.getRuntime().addShutdownHook(new Thread(() -> flushScreenshots(Duration.ofSeconds(10))));
+        }
+        screenshots = service;
+    }
+
+    /**
+     * Replaces the size cap, compression and region depth of page source
+     * attachments.
+     */
+    public static void configurePageSource(PageSourceCapture.Settings settings) {
+        pageSource = new PageSourceCapture(settings);
+    }
+
+    /**
+     * Attaches the page source, capped and gzipped by {@link PageSourceCapture}.
+     */
     public static void attachPageSource(WebDriver webDriver, String name) {
+        attachPageSource(webDriver, name, null);
+    }
+
+    /**
+     * Attaches only the subtree around {@code xpath}, or the whole page source
+     * when {@code xpath} is null.
+     */
+    public static void attachPageSource(WebDriver webDriver, String name, String xpath) {
         if (webDriver == null) {
             return;
         }
         try {
-            String source = webDriver.getPageSource();
-            Allure.addAttachment(name == null ? "page-source" : name, "text/html",
-                    new ByteArrayInputStream(source.getBytes(StandardCharsets.UTF_8)), "html");
+            pageSource().attach(webDriver, name, xpath);
         } catch (Throwable ignored) {
         }
     }
+
+    private static PageSourceCapture pageSource() {
+        PageSourceCapture capture = pageSource;
+        if (capture == null) {
+            capture = new PageSourceCapture(PageSourceCapture.Settings.defaults());
+            pageSource = capture;
+        }
+        return capture;
+    }
 }
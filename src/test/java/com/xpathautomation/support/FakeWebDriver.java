@@ -0,0 +1,208 @@
+package com.xpathautomation.support;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.OutputType;
+import org.openqa.selenium.TakesScreenshot;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.WebElement;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Browser-free WebDriver stand-in for unit tests of pooling and scheduling
+ * logic. Records navigation and quit calls, reports every page as loaded and
+ * every element as present and clickable; every other call is a no-op.
+ */
+public class FakeWebDriver implements WebDriver, JavascriptExecutor, TakesScreenshot {
+
+    private static final AtomicInteger SEQUENCE = new AtomicInteger();
+
+    private final int id = SEQUENCE.incrementAndGet();
+    private final List<String> visitedUrls = new ArrayList<>();
+    private String currentUrl = "about:blank";
+    private volatile boolean quit;
+    private long pageLoadDelayMs;
+    private final Set<String> missingXPaths = new HashSet<>();
+    private final AtomicInteger locateCalls = new AtomicInteger();
+    private byte[] screenshot;
+
+    /**
+     * Simulates page load latency: every get() blocks for the given time.
+     */
+    public FakeWebDriver withPageLoadDelay(long pageLoadDelayMs) {
+        this.pageLoadDelayMs = pageLoadDelayMs;
+        return this;
+    }
+
+    /**
+     * PNG returned by getScreenshotAs; without one, screenshots fail.
+     */
+    public FakeWebDriver withScreenshot(byte[] png) {
+        this.screenshot = png;
+        return this;
+    }
+
+    public int getId() {
+        return id;
+    }
+
+    /**
+     * The given XPaths never match anything on this fake page.
+     */
+    public FakeWebDriver withMissingXPaths(String... xpaths) {
+        missingXPaths.addAll(List.of(xpaths));
+        return this;
+    }
+
+    /**
+     * Number of batch locator round trips served so far.
+     */
+    public int getLocateCalls() {
+        return locateCalls.get();
+    }
+
+    public boolean isQuit() {
+        return quit;
+    }
+
+    public List<String> getVisitedUrls() {
+        return visitedUrls;
+    }
+
+    @Override
+    public void get(String url) {
+        if (quit) {
+            throw new IllegalStateException("session " + id + " already quit");
+        }
+        if (pageLoadDelayMs > 0 && !"about:blank".equals(url)) {
+            try {
+                Thread.sleep(pageLoadDelayMs);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        visitedUrls.add(url);
+        currentUrl = url;
+    }
+
+    @Override
+    public String getCurrentUrl() {
+        return currentUrl;
+    }
+
+    @Override
+    public String getTitle() {
+        return "";
+    }
+
+    @Override
+    public List<WebElement> findElements(By by) {
+        return new ArrayList<>(List.of(findElement(by)));
+    }
+
+    @Override
+    public WebElement findElement(By by) {
+        return noOp(WebElement.class);
+    }
+
+    @Override
+    public String getPageSource() {
+        return "<html></html>";
+    }
+
+    @Override
+    public void close() {
+    }
+
+    @Override
+    public void quit() {
+        quit = true;
+    }
+
+    @Override
+    public Set<String> getWindowHandles() {
+        return new LinkedHashSet<>(List.of("main"));
+    }
+
+    @Override
+    public String getWindowHandle() {
+        return "main";
+    }
+
+    @Override
+    public TargetLocator switchTo() {
+        return noOp(TargetLocator.class);
+    }
+
+    @Override
+    public Navigation navigate() {
+        return noOp(Navigation.class);
+    }
+
+    @Override
+    public Options manage() {
+        return noOp(Options.class);
+    }
+
+    @Override
+    public Object executeScript(String script, Object... args) {
+        if (script.contains("document.evaluate") && args.length > 0 && args[0] instanceof List<?> xpaths) {
+            // Batch locator: every XPath that is not marked missing matches one
+            // visible, enabled element
+            locateCalls.incrementAndGet();
+            List<Map<String, Object>> rows = new ArrayList<>();
+            for (Object xpath : xpaths) {
+                boolean found = !missingXPaths.contains(xpath);
+                Map<String, Object> row = new HashMap<>();
+                row.put("count", found ? 1L : 0L);
+                row.put("visible", found);
+                row.put("enabled", found);
+                row.put("element", found ? noOp(WebElement.class) : null);
+                row.put("href", getCurrentUrl());
+                rows.add(row);
+            }
+            return rows;
+        }
+        return script.contains("readyState") ? Boolean.TRUE : null;
+    }
+
+    @Override
+    public <X> X getScreenshotAs(OutputType<X> target) {
+        if (screenshot == null) {
+            throw new WebDriverException("no screenshot configured");
+        }
+        return target.convertFromPngBytes(screenshot.clone());
+    }
+
+    @Override
+    public Object executeAsyncScript(String script, Object... args) {
+        return null;
+    }
+
+    private <T> T noOp(Class<T> type) {
+        return type.cast(Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[] { type },
+                (proxy, method, args) -> {
+                    Class<?> returnType = method.getReturnType();
+                    if (returnType == boolean.class) {
+                        return true;
+                    }
+                    if (returnType.isPrimitive() && returnType != void.class) {
+                        return 0;
+                    }
+                    if (returnType.isInstance(this)) {
+                        return this;
+                    }
+                    return returnType.isInterface() ? noOp(returnType) : null;
+                }));
+    }
+}
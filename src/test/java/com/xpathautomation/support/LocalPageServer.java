@@ -0,0 +1,68 @@
+package com.xpathautomation.support;
+
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.Executors;
+
+/**
+ * Minimal in-process HTTP server for fixture pages, so browser tests do not
+ * depend on external web sites. Each path can be served with an optional
+ * artificial delay to simulate slow resources.
+ */
+public class LocalPageServer implements AutoCloseable {
+
+    private final HttpServer server;
+
+    public LocalPageServer() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.setExecutor(Executors.newCachedThreadPool(r -> {
+            Thread thread = new Thread(r, "local-page-server");
+            thread.setDaemon(true);
+            return thread;
+        }));
+        server.start();
+    }
+
+    public LocalPageServer serve(String path, String contentType, String body) {
+        return serveDelayed(path, contentType, body, 0);
+    }
+
+    public LocalPageServer serveHtml(String path, String html) {
+        return serve(path, "text/html; charset=utf-8", html);
+    }
+
+    public LocalPageServer serveDelayed(String path, String contentType, String body, long delayMs) {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        server.createContext(path, exchange -> {
+            try {
+                if (delayMs > 0) {
+                    Thread.sleep(delayMs);
+                }
+                exchange.getResponseHeaders().set("Content-Type", contentType);
+                exchange.getResponseHeaders().set("Cache-Control", "no-store");
+                exchange.sendResponseHeaders(200, bytes.length);
+                try (OutputStream out = exchange.getResponseBody()) {
+                    out.write(bytes);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                exchange.close();
+            }
+        });
+        return this;
+    }
+
+    public String url(String path) {
+        return "http://127.0.0.1:" + server.getAddress().getPort() + path;
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+    }
+}
@@ -0,0 +1,313 @@
+package com.xpathautomation.support;
+
+import io.qameta.allure.Allure;
+import io.qameta.allure.AllureLifecycle;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Page source capture for Allure attachments with a bounded size.
+ *
+ * With a {@link JavascriptExecutor} the cap is applied in the page, so a
+ * multi-MB DOM is never transferred or held as a whole; other drivers fall
+ * back to {@link WebDriver#getPageSource()} and are truncated locally. Text
+ * over the cap ends with a truncation marker. The text is gzipped chunk by
+ * chunk while the results writer copies it into the results directory, so
+ * neither the encoded source nor a byte[] copy of it is held as a whole; it
+ * is attached as {@code .html.gz}.
+ *
+ * Region mode serializes only the subtree around an XPath: the first node it
+ * matches, {@link Settings#regionLevels()} ancestors up. When the XPath
+ * matches nothing (the usual case for a failed click) its trailing steps are
+ * dropped one by one until a prefix matches, so the attachment shows where
+ * the expected element should have been. If no prefix matches, the whole page
+ * is captured.
+ */
+public final class PageSourceCapture {
+
+    /**
+     * @param maxChars     characters kept before the truncation marker
+     * @param gzip         attach gzip-compressed ({@code application/gzip}) instead of plain HTML
+     * @param regionLevels ancestors to climb from the matched node in region mode
+     */
+    public record Settings(int maxChars, boolean gzip, int regionLevels) {
+
+        public Settings {
+            if (maxChars <= 0 || regionLevels < 0) {
+                throw new IllegalArgumentException("maxChars must be positive and regionLevels non-negative");
+            }
+        }
+
+        public static Settings defaults() {
+            return new Settings(1 << 20, true, 2);
+        }
+
+        public Settings withMaxChars(int maxChars) {
+            return new Settings(maxChars, gzip, regionLevels);
+        }
+
+        public Settings withGzip(boolean gzip) {
+            return new Settings(maxChars, gzip, regionLevels);
+        }
+
+        public Settings withRegionLevels(int regionLevels) {
+            return new Settings(maxChars, gzip, regionLevels);
+        }
+    }
+
+    /**
+     * What was captured.
+     *
+     * @param html        captured text, at most {@code maxChars} long
+     * @param totalLength length of the whole serialized page or region
+     * @param matched     XPath the region was taken from, or null for the whole page
+     */
+    record Snapshot(String html, int totalLength, String matched) {
+
+        boolean truncated() {
+            return html.length() < totalLength;
+        }
+    }
+
+    /**
+     * Returns [html (at most the cap), full length, matched XPath or null].
+     */
+    private static final String CAPTURE_SCRIPT = """
+            const xpaths = arguments[0], cap = arguments[1], levels = arguments[2];
+            let node = null, matched = null;
+            for (const xpath of xpaths) {
+              try {
+                node = document.evaluate(xpath, document, null, XPathResult.FIRST_ORDERED_NODE_TYPE, null)
+                    .singleNodeValue;
+              } catch (e) {
+                node = null;
+              }
+              if (node) {
+                matched = xpath;
+                break;
+              }
+            }
+            if (node && node.nodeType !== Node.ELEMENT_NODE) {
+              node = node.parentElement;
+            }
+            for (let i = 0; node && i < levels && node.parentElement; i++) {
+              node = node.parentElement;
+            }
+            const html = node ? node.outerHTML : document.documentElement.outerHTML;
+            return [html.length > cap ? html.substring(0, cap) : html, html.length, node ? matched : null];
+            """;
+
+    private static final int WRITE_CHUNK = 8192;
+
+    private final Settings settings;
+    private final AllureLifecycle lifecycle;
+
+    public PageSourceCapture(Settings settings) {
+        this(settings, Allure.getLifecycle());
+    }
+
+    PageSourceCapture(Settings settings, AllureLifecycle lifecycle) {
+        this.settings = settings;
+        this.lifecycle = lifecycle;
+    }
+
+    /**
+     * Attaches the page source, or the region around {@code xpath} when it is
+     * not null.
+     *
+     * @return false if the driver is null or the capture failed
+     */
+    public boolean attach(WebDriver driver, String name, String xpath) {
+        if (driver == null) {
+            return false;
+        }
+        try {
+            Snapshot snapshot = snapshot(driver, xpath);
+            String source = lifecycle.prepareAttachment(name == null ? "page-source" : name,
+                    settings.gzip() ? "application/gzip" : "text/html", settings.gzip() ? ".html.gz" : ".html");
+            try (InputStream content = encode(snapshot, xpath, settings.gzip())) {
+                lifecycle.writeAttachment(source, content);
+            }
+            return true;
+        } catch (IOException | RuntimeException e) {
+            return false;
+        }
+    }
+
+    Snapshot snapshot(WebDriver driver, String xpath) {
+        if (driver instanceof JavascriptExecutor executor) {
+            List<String> candidates = xpath == null ? List.of() : regionCandidates(xpath);
+            Object result = executor.executeScript(CAPTURE_SCRIPT, candidates, settings.maxChars(),
+                    settings.regionLevels());
+            if (result instanceof List<?> row && row.size() == 3 && row.get(0) instanceof String html) {
+                int totalLength = ((Number) row.get(1)).intValue();
+                return new Snapshot(trim(html, totalLength), totalLength, (String) row.get(2));
+            }
+        }
+        String source = driver.getPageSource();
+        return new Snapshot(trim(source, source.length()), source.length(), null);
+    }
+
+    /**
+     * Serializes {@code snapshot} with its markers, gzipped when
+     * {@code gzip} is set. The text is encoded lazily as the returned stream
+     * is read.
+     */
+    InputStream encode(Snapshot snapshot, String xpath, boolean gzip) throws IOException {
+        List<String> parts = new ArrayList<>();
+        if (xpath != null) {
+            parts.add(snapshot.matched() == null
+                    ? "<!-- no node matched " + comment(xpath) + "; whole page captured -->\n"
+                    : "<!-- region around " + comment(snapshot.matched()) + ", " + settings.regionLevels()
+                            + " level(s) up, for " + comment(xpath) + " -->\n");
+        }
+        parts.add(snapshot.html());
+        if (snapshot.truncated()) {
+            parts.add("\n<!-- truncated: " + (snapshot.totalLength() - snapshot.html().length()) + " of "
+                    + snapshot.totalLength() + " characters omitted -->\n");
+        }
+        return new EncodedStream(parts, gzip);
+    }
+
+    /**
+     * @return {@code xpath}, then each prefix left by dropping its last
+     *         location step, longest first
+     */
+    static List<String> regionCandidates(String xpath) {
+        List<String> candidates = new ArrayList<>();
+        candidates.add(xpath);
+        int depth = 0;
+        char quote = 0;
+        List<Integer> boundaries = new ArrayList<>();
+        for (int i = 0; i < xpath.length(); i++) {
+            char c = xpath.charAt(i);
+            if (quote != 0) {
+                if (c == quote) {
+                    quote = 0;
+                }
+            } else if (c == '\'' || c == '"') {
+                quote = c;
+            } else if (c == '[' || c == '(') {
+                depth++;
+            } else if (c == ']' || c == ')') {
+                depth--;
+            } else if (c == '/' && depth == 0 && i > 0 && xpath.charAt(i - 1) != '/') {
+                boundaries.add(i);
+            }
+        }
+        for (int i = boundaries.size() - 1; i >= 0; i--) {
+            candidates.add(xpath.substring(0, boundaries.get(i)));
+        }
+        return candidates;
+    }
+
+    /**
+     * Cuts {@code html} to the cap without splitting a surrogate pair; the
+     * page may already have cut it at the cap.
+     */
+    private String trim(String html, int totalLength) {
+        int end = Math.min(html.length(), settings.maxChars());
+        if (end < totalLength && end > 0 && Character.isHighSurrogate(html.charAt(end - 1))) {
+            end--;
+        }
+        return end == html.length() ? html : html.substring(0, end);
+    }
+
+    private static String comment(String text) {
+        return text.replace("--", "- -");
+    }
+
+    /**
+     * Writes the next chunk of text through the (gzip) writer only when the
+     * previously encoded bytes have been read, so at most about one chunk of
+     * output is buffered.
+     */
+    private static final class EncodedStream extends InputStream {
+
+        private final List<String> parts;
+        private final Chunk pending = new Chunk();
+        private final Writer writer;
+        private int part;
+        private int offset;
+        private int position;
+        private boolean finished;
+
+        EncodedStream(List<String> parts, boolean gzip) throws IOException {
+            this.parts = parts;
+            OutputStream out = gzip ? new GZIPOutputStream(pending, WRITE_CHUNK) : pending;
+            this.writer = new OutputStreamWriter(out, StandardCharsets.UTF_8);
+        }
+
+        @Override
+        public int read() throws IOException {
+            byte[] one = new byte[1];
+            return read(one, 0, 1) < 0 ? -1 : one[0] & 0xff;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            if (len == 0) {
+                return 0;
+            }
+            while (position == pending.size()) {
+                if (finished) {
+                    return -1;
+                }
+                pending.reset();
+                position = 0;
+                writeNext();
+            }
+            int n = Math.min(len, pending.size() - position);
+            System.arraycopy(pending.bytes(), position, b, off, n);
+            position += n;
+            return n;
+        }
+
+        private void writeNext() throws IOException {
+            if (part == parts.size()) {
+                // Flushes the rest of the text and the gzip trailer
+                writer.close();
+                finished = true;
+                return;
+            }
+            String text = parts.get(part);
+            int end = Math.min(text.length(), offset + WRITE_CHUNK);
+            writer.write(text, offset, end - offset);
+            writer.flush();
+            offset = end;
+            if (offset == text.length()) {
+                part++;
+                offset = 0;
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (!finished) {
+                finished = true;
+                writer.close();
+            }
+        }
+    }
+
+    /**
+     * Output buffer whose bytes can be read without copying them.
+     */
+    private static final class Chunk extends ByteArrayOutputStream {
+
+        byte[] bytes() {
+            return buf;
+        }
+    }
+}
@@ -0,0 +1,130 @@
+package com.xpathautomation.support;
+
+import io.qameta.allure.AllureLifecycle;
+import io.qameta.allure.AllureResultsWriter;
+import io.qameta.allure.model.TestResult;
+import io.qameta.allure.model.TestResultContainer;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for PageSourceCapture.
+ */
+class PageSourceCaptureTest {
+
+    @Test
+    void pageSourceIsCappedAndGzipped() throws IOException {
+        RecordingWriter writer = new RecordingWriter();
+        String page = "<html><body>" + "<p>row ş</p>".repeat(10_000) + "</body></html>";
+        FakeWebDriver driver = new FakeWebDriver() {
+            @Override
+            public String getPageSource() {
+                return page;
+            }
+        };
+        PageSourceCapture capture = new PageSourceCapture(PageSourceCapture.Settings.defaults().withMaxChars(1000),
+                new AllureLifecycle(writer));
+
+        assertTrue(capture.attach(driver, "failure-page-source", null));
+
+        Map.Entry<String, byte[]> attachment = writer.attachments.entrySet().iterator().next();
+        assertTrue(attachment.getKey().endsWith("-attachment.html.gz"));
+        String html = gunzip(attachment.getValue());
+        assertTrue(html.startsWith(page.substring(0, 1000)));
+        assertTrue(html.endsWith("\n<!-- truncated: " + (page.length() - 1000) + " of " + page.length()
+                + " characters omitted -->\n"));
+    }
+
+    @Test
+    void pageSpanningManyChunksIsAttachedIntact() throws IOException {
+        RecordingWriter writer = new RecordingWriter();
+        String page = "<html><body>" + "<p>satır ş \uD83D\uDE00</p>".repeat(20_000) + "</body></html>";
+        FakeWebDriver driver = new FakeWebDriver() {
+            @Override
+            public String getPageSource() {
+                return page;
+            }
+        };
+        PageSourceCapture capture = new PageSourceCapture(PageSourceCapture.Settings.defaults(),
+                new AllureLifecycle(writer));
+
+        assertTrue(capture.attach(driver, "failure-page-source", null));
+
+        byte[] content = writer.attachments.values().iterator().next();
+        assertEquals(page, gunzip(content));
+        assertTrue(content.length < page.length() / 10);
+    }
+
+    @Test
+    void regionModeSendsTheXPathAndItsPrefixesToThePage() throws IOException {
+        RecordingWriter writer = new RecordingWriter();
+        Object[][] arguments = new Object[1][];
+        FakeWebDriver driver = new FakeWebDriver() {
+            @Override
+            public Object executeScript(String script, Object... args) {
+                arguments[0] = args;
+                return List.of("<ul><li>one</li></ul>", 21L, "//div[@id='menu']/ul");
+            }
+        };
+        PageSourceCapture capture = new PageSourceCapture(PageSourceCapture.Settings.defaults().withGzip(false),
+                new AllureLifecycle(writer));
+
+        assertTrue(capture.attach(driver, "failure-region", "//div[@id='menu']/ul/li[9]"));
+
+        assertEquals(List.of("//div[@id='menu']/ul/li[9]", "//div[@id='menu']/ul", "//div[@id='menu']"),
+                arguments[0][0]);
+        assertEquals(2, arguments[0][2]);
+        Map.Entry<String, byte[]> attachment = writer.attachments.entrySet().iterator().next();
+        assertTrue(attachment.getKey().endsWith("-attachment.html"));
+        assertEquals("<!-- region around //div[@id='menu']/ul, 2 level(s) up, for //div[@id='menu']/ul/li[9] -->\n"
+                + "<ul><li>one</li></ul>", new String(attachment.getValue(), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void regionCandidatesOnlySplitOnTopLevelSteps() {
+        assertEquals(List.of("//div[@data-path='a/b']//li[contains(., 'x/y')]/a",
+                        "//div[@data-path='a/b']//li[contains(., 'x/y')]",
+                        "//div[@data-path='a/b']"),
+                PageSourceCapture.regionCandidates("//div[@data-path='a/b']//li[contains(., 'x/y')]/a"));
+        assertEquals(List.of("(//button)[2]"), PageSourceCapture.regionCandidates("(//button)[2]"));
+    }
+
+    private static String gunzip(byte[] content) throws IOException {
+        try (InputStream in = new GZIPInputStream(new ByteArrayInputStream(content))) {
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+
+    private static final class RecordingWriter implements AllureResultsWriter {
+
+        private final Map<String, byte[]> attachments = new ConcurrentHashMap<>();
+
+        @Override
+        public void write(TestResult testResult) {
+        }
+
+        @Override
+        public void write(TestResultContainer testResultContainer) {
+        }
+
+        @Override
+        public void write(String source, InputStream attachment) {
+            try {
+                attachments.put(source, attachment.readAllBytes());
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+}
@@ -0,0 +1,434 @@
+package com.xpathautomation.support;
+
+import io.qameta.allure.Allure;
+import io.qameta.allure.AllureLifecycle;
+import org.openqa.selenium.OutputType;
+import org.openqa.selenium.Rectangle;
+import org.openqa.selenium.TakesScreenshot;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.chromium.HasCdp;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.ImageOutputStream;
+import javax.imageio.stream.MemoryCacheImageInputStream;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Screenshot capture for Allure attachments that keeps encoding off the test
+ * thread.
+ *
+ * The caller thread only grabs the raw image: a PNG through
+ * {@link TakesScreenshot}, or, on Chromium with {@link Settings#cdp()}, a JPEG
+ * already clipped and scaled by the browser through CDP
+ * {@code Page.captureScreenshot}. The attachment entry is added to the current
+ * test or step right away, so it lands where the caller expects it. Cropping,
+ * downscaling to {@link Settings#maxWidth()} and JPEG encoding happen on a
+ * single background worker, which writes the finished attachments in batches.
+ *
+ * At most {@link Settings#capacity()} shots are in flight. A
+ * {@link Priority#LOW} shot is dropped, before anything is grabbed, when the
+ * service is at capacity; a {@link Priority#HIGH} shot waits for room.
+ *
+ * The attachment type is fixed when the attachment is reserved. A PNG whose
+ * header cannot be read is reserved as {@code image/png} and attached as
+ * grabbed; every other shot is reserved as JPEG. A shot that passes the
+ * header check but still fails to encode is written as grabbed under its
+ * JPEG name (browsers detect the PNG from its content).
+ *
+ * Clip rectangles are in CSS pixels; the PNG fallback crops in device pixels,
+ * which are the same at the device pixel ratio of 1 headless Chrome uses.
+ */
+public final class ScreenshotService implements AutoCloseable {
+
+    /**
+     * LOW shots (step-by-step progress) are dropped under backpressure; HIGH
+     * shots (failures) are never dropped.
+     */
+    public enum Priority {
+        HIGH, LOW
+    }
+
+    /**
+     * @param maxWidth  images wider than this are scaled down, keeping the aspect ratio
+     * @param quality   JPEG quality, 0.0 to 1.0
+     * @param capacity  shots grabbed but not yet written
+     * @param batchSize attachments the worker writes per batch
+     * @param cdp       grab through CDP when the driver supports it
+     */
+    public record Settings(int maxWidth, float quality, int capacity, int batchSize, boolean cdp) {
+
+        public Settings {
+            if (maxWidth <= 0 || capacity <= 0 || batchSize <= 0) {
+                throw new IllegalArgumentException("maxWidth, capacity and batchSize must be positive");
+            }
+            if (quality < 0 || quality > 1) {
+                throw new IllegalArgumentException("quality must be between 0.0 and 1.0: " + quality);
+            }
+        }
+
+        public static Settings defaults() {
+            return new Settings(1024, 0.7f, 16, 8, true);
+        }
+
+        public Settings withMaxWidth(int maxWidth) {
+            return new Settings(maxWidth, quality, capacity, batchSize, cdp);
+        }
+
+        public Settings withQuality(float quality) {
+            return new Settings(maxWidth, quality, capacity, batchSize, cdp);
+        }
+
+        public Settings withCapacity(int capacity) {
+            return new Settings(maxWidth, quality, capacity, batchSize, cdp);
+        }
+
+        public Settings withBatchSize(int batchSize) {
+            return new Settings(maxWidth, quality, capacity, batchSize, cdp);
+        }
+
+        public Settings withCdp(boolean cdp) {
+            return new Settings(maxWidth, quality, capacity, batchSize, cdp);
+        }
+    }
+
+    /**
+     * @param captured     shots grabbed and queued
+     * @param dropped      LOW shots dropped because the service was at capacity
+     * @param written      attachments written
+     * @param rawFallbacks shots written as grabbed because they could not be re-encoded
+     */
+    public record Stats(int captured, int dropped, int written, int rawFallbacks) {
+    }
+
+    private static final String JPEG = "image/jpeg";
+    private static final String PNG = "image/png";
+    private static final Shot STOP = new Shot(null, null, null, null, false);
+
+    private final Settings settings;
+    private final AllureLifecycle lifecycle;
+    private final Semaphore slots;
+    private final BlockingQueue<Shot> queue = new LinkedBlockingQueue<>();
+    private final Thread worker;
+    private final AtomicInteger captured = new AtomicInteger();
+    private final AtomicInteger dropped = new AtomicInteger();
+    private final AtomicInteger written = new AtomicInteger();
+    private final AtomicInteger rawFallbacks = new AtomicInteger();
+    private volatile boolean closed;
+
+    public ScreenshotService(Settings settings) {
+        this(settings, Allure.getLifecycle());
+    }
+
+    ScreenshotService(Settings settings, AllureLifecycle lifecycle) {
+        this.settings = settings;
+        this.lifecycle = lifecycle;
+        this.slots = new Semaphore(settings.capacity());
+        this.worker = new Thread(this::work, "allure-screenshot-encoder");
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    /**
+     * Grabs the visible viewport and queues it for encoding.
+     *
+     * @return false when nothing was attached (no driver, dropped, or the grab failed)
+     */
+    public boolean capture(WebDriver driver, String name, Priority priority) {
+        return capture(driver, name, priority, null);
+    }
+
+    /**
+     * Grabs {@code clip} (CSS pixels, page coordinates), or the visible viewport
+     * when it is null, and queues it for encoding.
+     *
+     * @return false when nothing was attached (no driver, dropped, or the grab failed)
+     */
+    public boolean capture(WebDriver driver, String name, Priority priority, Rectangle clip) {
+        if (driver == null || closed || !acquire(priority)) {
+            return false;
+        }
+        Shot shot;
+        try {
+            shot = grab(driver, name == null ? "screenshot" : name, clip);
+        } catch (RuntimeException e) {
+            shot = null;
+        }
+        if (shot == null) {
+            slots.release();
+            return false;
+        }
+        captured.incrementAndGet();
+        queue.add(shot);
+        return true;
+    }
+
+    /**
+     * Waits until every queued shot has been written.
+     *
+     * @return false if {@code timeout} elapsed first
+     */
+    public boolean flush(Duration timeout) {
+        int capacity = settings.capacity();
+        try {
+            if (!slots.tryAcquire(capacity, timeout.toNanos(), TimeUnit.NANOSECONDS)) {
+                return false;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+        slots.release(capacity);
+        return true;
+    }
+
+    public Stats stats() {
+        return new Stats(captured.get(), dropped.get(), written.get(), rawFallbacks.get());
+    }
+
+    /**
+     * Writes what is queued, then stops the worker. Later captures are ignored.
+     */
+    @Override
+    public void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        queue.add(STOP);
+        try {
+            worker.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private boolean acquire(Priority priority) {
+        if (priority == Priority.LOW) {
+            if (slots.tryAcquire()) {
+                return true;
+            }
+            dropped.incrementAndGet();
+            return false;
+        }
+        try {
+            slots.acquire();
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    /**
+     * Runs on the caller thread: the only work done here is the browser round
+     * trip, reading the PNG header and reserving the attachment in the
+     * current test or step.
+     */
+    private Shot grab(WebDriver driver, String name, Rectangle clip) {
+        if (settings.cdp() && driver instanceof HasCdp cdp) {
+            String jpeg = captureThroughCdp(cdp, clip);
+            return new Shot(lifecycle.prepareAttachment(name, JPEG, ".jpg"), jpeg, null, null, false);
+        }
+        if (driver instanceof TakesScreenshot takesScreenshot) {
+            byte[] png = takesScreenshot.getScreenshotAs(OutputType.BYTES);
+            if (!hasReadableHeader(png)) {
+                rawFallbacks.incrementAndGet();
+                return new Shot(lifecycle.prepareAttachment(name, PNG, ".png"), null, png, null, true);
+            }
+            return new Shot(lifecycle.prepareAttachment(name, JPEG, ".jpg"), null, png, clip, false);
+        }
+        return null;
+    }
+
+    /**
+     * Reads only the image header (no pixels, no disk cache), so the type can
+     * be fixed before the attachment is reserved.
+     */
+    private static boolean hasReadableHeader(byte[] image) {
+        try (ImageInputStream in = new MemoryCacheImageInputStream(new ByteArrayInputStream(image))) {
+            Iterator<ImageReader> readers = ImageIO.getImageReaders(in);
+            if (!readers.hasNext()) {
+                return false;
+            }
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(in);
+                return reader.getWidth(0) > 0 && reader.getHeight(0) > 0;
+            } finally {
+                reader.dispose();
+            }
+        } catch (IOException | RuntimeException e) {
+            return false;
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private String captureThroughCdp(HasCdp cdp, Rectangle clip) {
+        double x;
+        double y;
+        double width;
+        double height;
+        if (clip != null) {
+            x = clip.getX();
+            y = clip.getY();
+            width = clip.getWidth();
+            height = clip.getHeight();
+        } else {
+            Map<String, Object> metrics = cdp.executeCdpCommand("Page.getLayoutMetrics", Map.of());
+            Map<String, Object> viewport = (Map<String, Object>) metrics.get("cssVisualViewport");
+            x = ((Number) viewport.get("pageX")).doubleValue();
+            y = ((Number) viewport.get("pageY")).doubleValue();
+            width = ((Number) viewport.get("clientWidth")).doubleValue();
+            height = ((Number) viewport.get("clientHeight")).doubleValue();
+        }
+        Map<String, Object> region = new HashMap<>();
+        region.put("x", x);
+        region.put("y", y);
+        region.put("width", width);
+        region.put("height", height);
+        region.put("scale", Math.min(1.0, settings.maxWidth() / width));
+        Map<String, Object> params = new HashMap<>();
+        params.put("format", "jpeg");
+        params.put("quality", Math.round(settings.quality() * 100));
+        params.put("clip", region);
+        params.put("captureBeyondViewport", clip != null);
+        return (String) cdp.executeCdpCommand("Page.captureScreenshot", params).get("data");
+    }
+
+    private void work() {
+        JpegEncoder encoder = new JpegEncoder(settings);
+        List<Shot> batch = new ArrayList<>(settings.batchSize());
+        List<byte[]> encoded = new ArrayList<>(settings.batchSize());
+        boolean stopping = false;
+        while (!stopping) {
+            try {
+                batch.add(queue.take());
+            } catch (InterruptedException e) {
+                return;
+            }
+            queue.drainTo(batch, settings.batchSize() - 1);
+            for (Shot shot : batch) {
+                if (shot == STOP) {
+                    stopping = true;
+                } else {
+                    encoded.add(encode(shot, encoder));
+                }
+            }
+            int index = 0;
+            for (Shot shot : batch) {
+                if (shot == STOP) {
+                    continue;
+                }
+                try {
+                    lifecycle.writeAttachment(shot.source(), new ByteArrayInputStream(encoded.get(index)));
+                    written.incrementAndGet();
+                } catch (RuntimeException ignored) {
+                }
+                index++;
+            }
+            slots.release(index);
+            batch.clear();
+            encoded.clear();
+        }
+    }
+
+    private byte[] encode(Shot shot, JpegEncoder encoder) {
+        if (shot.base64() != null) {
+            return Base64.getDecoder().decode(shot.base64());
+        }
+        if (shot.raw()) {
+            return shot.png();
+        }
+        try {
+            return encoder.encode(shot.png(), shot.clip());
+        } catch (IOException | RuntimeException e) {
+            // The header was readable, so the shot is already reserved as JPEG
+            rawFallbacks.incrementAndGet();
+            return shot.png();
+        }
+    }
+
+    /**
+     * @param source attachment file name reserved in the Allure lifecycle
+     * @param base64 CDP result, already clipped, scaled and encoded; null otherwise
+     * @param png    TakesScreenshot result, to be cropped, scaled and encoded
+     * @param clip   region of {@code png} to keep, or null
+     * @param raw    whether {@code png} is written as grabbed (reserved as PNG)
+     */
+    private record Shot(String source, String base64, byte[] png, Rectangle clip, boolean raw) {
+    }
+
+    /**
+     * Crop, downscale and JPEG encoding for the worker thread; keeps one
+     * ImageIO writer for its lifetime.
+     */
+    static final class JpegEncoder {
+
+        private final int maxWidth;
+        private final ImageWriter writer;
+        private final ImageWriteParam param;
+
+        JpegEncoder(Settings settings) {
+            this.maxWidth = settings.maxWidth();
+            this.writer = ImageIO.getImageWritersByFormatName("jpeg").next();
+            this.param = writer.getDefaultWriteParam();
+            param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+            param.setCompressionQuality(settings.quality());
+        }
+
+        byte[] encode(byte[] png, Rectangle clip) throws IOException {
+            BufferedImage image = ImageIO.read(new ByteArrayInputStream(png));
+            if (image == null) {
+                throw new IOException("Unreadable screenshot");
+            }
+            if (clip != null) {
+                int x = Math.clamp(clip.getX(), 0, image.getWidth() - 1);
+                int y = Math.clamp(clip.getY(), 0, image.getHeight() - 1);
+                image = image.getSubimage(x, y, Math.clamp(clip.getWidth(), 1, image.getWidth() - x),
+                        Math.clamp(clip.getHeight(), 1, image.getHeight() - y));
+            }
+            double scale = Math.min(1.0, (double) maxWidth / image.getWidth());
+            int width = Math.max(1, (int) Math.round(image.getWidth() * scale));
+            int height = Math.max(1, (int) Math.round(image.getHeight() * scale));
+            // Always redrawn: JPEG has no alpha channel and screenshots are ARGB
+            BufferedImage rgb = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+            Graphics2D graphics = rgb.createGraphics();
+            try {
+                graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+                graphics.drawImage(image, 0, 0, width, height, null);
+            } finally {
+                graphics.dispose();
+            }
+            ByteArrayOutputStream out = new ByteArrayOutputStream(width * height / 4);
+            try (ImageOutputStream stream = ImageIO.createImageOutputStream(out)) {
+                writer.setOutput(stream);
+                writer.write(null, new IIOImage(rgb, null, null), param);
+            } finally {
+                writer.reset();
+            }
+            return out.toByteArray();
+        }
+    }
+}
@@ -0,0 +1,170 @@
+package com.xpathautomation.support;
+
+import io.qameta.allure.AllureLifecycle;
+import io.qameta.allure.AllureResultsWriter;
+import io.qameta.allure.model.Attachment;
+import io.qameta.allure.model.TestResult;
+import io.qameta.allure.model.TestResultContainer;
+import org.junit.jupiter.api.Test;
+import org.openqa.selenium.Rectangle;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for ScreenshotService, against an in-memory results writer.
+ */
+class ScreenshotServiceTest {
+
+    private static final Duration TIMEOUT = Duration.ofSeconds(10);
+
+    @Test
+    void downscalesAndEncodesJpegOffTheCallerThread() throws IOException {
+        RecordingWriter writer = new RecordingWriter();
+        FakeWebDriver driver = new FakeWebDriver().withScreenshot(png(1600, 900));
+        ScreenshotService.Settings settings = ScreenshotService.Settings.defaults().withMaxWidth(800).withQuality(0.5f);
+
+        try (ScreenshotService service = new ScreenshotService(settings, new AllureLifecycle(writer))) {
+            assertTrue(service.capture(driver, "step", ScreenshotService.Priority.LOW));
+            assertTrue(service.flush(TIMEOUT));
+
+            assertEquals(new ScreenshotService.Stats(1, 0, 1, 0), service.stats());
+        }
+        assertEquals(1, writer.attachments.size());
+        Map.Entry<String, byte[]> attachment = writer.attachments.entrySet().iterator().next();
+        assertTrue(attachment.getKey().endsWith("-attachment.jpg"));
+        byte[] jpeg = attachment.getValue();
+        assertEquals((byte) 0xFF, jpeg[0]);
+        assertEquals((byte) 0xD8, jpeg[1]);
+        BufferedImage image = ImageIO.read(new ByteArrayInputStream(jpeg));
+        assertEquals(800, image.getWidth());
+        assertEquals(450, image.getHeight());
+    }
+
+    @Test
+    void clipIsCroppedBeforeScaling() throws IOException {
+        RecordingWriter writer = new RecordingWriter();
+        FakeWebDriver driver = new FakeWebDriver().withScreenshot(png(1600, 900));
+
+        try (ScreenshotService service = new ScreenshotService(ScreenshotService.Settings.defaults(),
+                new AllureLifecycle(writer))) {
+            service.capture(driver, "header", ScreenshotService.Priority.HIGH, new Rectangle(100, 50, 200, 400));
+        }
+        BufferedImage image = ImageIO.read(new ByteArrayInputStream(writer.attachments.values().iterator().next()));
+        assertEquals(400, image.getWidth());
+        assertEquals(200, image.getHeight());
+    }
+
+    @Test
+    void lowPriorityShotsAreDroppedInsteadOfBlockingWhenBusy() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        RecordingWriter writer = new RecordingWriter(release);
+        FakeWebDriver driver = new FakeWebDriver().withScreenshot(png(64, 64));
+        ScreenshotService.Settings settings = ScreenshotService.Settings.defaults().withCapacity(2);
+
+        try (ScreenshotService service = new ScreenshotService(settings, new AllureLifecycle(writer))) {
+            assertTrue(service.capture(driver, "failure", ScreenshotService.Priority.HIGH));
+            assertTrue(service.capture(driver, "step-1", ScreenshotService.Priority.LOW));
+            assertFalse(service.capture(driver, "step-2", ScreenshotService.Priority.LOW), "at capacity");
+            assertFalse(service.flush(Duration.ofMillis(50)), "the writer is still blocked");
+
+            release.countDown();
+            assertTrue(service.flush(TIMEOUT));
+            assertTrue(service.capture(driver, "step-3", ScreenshotService.Priority.LOW), "room again");
+            assertTrue(service.flush(TIMEOUT));
+
+            assertEquals(new ScreenshotService.Stats(3, 1, 3, 0), service.stats());
+        }
+        assertEquals(3, writer.attachments.size());
+    }
+
+    @Test
+    void unreadableShotIsAttachedAsPng() {
+        RecordingWriter writer = new RecordingWriter();
+        AllureLifecycle lifecycle = new AllureLifecycle(writer);
+        byte[] garbage = "not an image".getBytes(StandardCharsets.US_ASCII);
+        FakeWebDriver driver = new FakeWebDriver().withScreenshot(garbage);
+        String uuid = UUID.randomUUID().toString();
+        lifecycle.scheduleTestCase(new TestResult().setUuid(uuid).setName("test"));
+        lifecycle.startTestCase(uuid);
+
+        try (ScreenshotService service = new ScreenshotService(ScreenshotService.Settings.defaults(), lifecycle)) {
+            assertTrue(service.capture(driver, "broken", ScreenshotService.Priority.HIGH));
+            // The test result may be written before the worker gets to the shot
+            lifecycle.stopTestCase(uuid);
+            lifecycle.writeTestCase(uuid);
+            assertTrue(service.flush(TIMEOUT));
+
+            assertEquals(new ScreenshotService.Stats(1, 0, 1, 1), service.stats());
+        }
+
+        Attachment entry = writer.results.get(0).getAttachments().get(0);
+        assertEquals("image/png", entry.getType());
+        assertTrue(entry.getSource().endsWith("-attachment.png"));
+        assertArrayEquals(garbage, writer.attachments.get(entry.getSource()));
+    }
+
+    private static byte[] png(int width, int height) throws IOException {
+        BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+        for (int y = 0; y < height; y++) {
+            for (int x = 0; x < width; x++) {
+                image.setRGB(x, y, 0xFF000000 | (x * 255 / width) << 16 | (y * 255 / height) << 8);
+            }
+        }
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ImageIO.write(image, "png", out);
+        return out.toByteArray();
+    }
+
+    private static final class RecordingWriter implements AllureResultsWriter {
+
+        private final Map<String, byte[]> attachments = new ConcurrentHashMap<>();
+        private final List<TestResult> results = new CopyOnWriteArrayList<>();
+        private final CountDownLatch release;
+
+        RecordingWriter() {
+            this(new CountDownLatch(0));
+        }
+
+        RecordingWriter(CountDownLatch release) {
+            this.release = release;
+        }
+
+        @Override
+        public void write(TestResult testResult) {
+            results.add(testResult);
+        }
+
+        @Override
+        public void write(TestResultContainer testResultContainer) {
+        }
+
+        @Override
+        public void write(String source, InputStream attachment) {
+            try {
+                release.await(10, TimeUnit.SECONDS);
+                attachments.put(source, attachment.readAllBytes());
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+}
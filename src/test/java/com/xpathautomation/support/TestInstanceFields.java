@@ -0,0 +1,138 @@
+package com.xpathautomation.support;
+
+import com.xpathautomation.DriverProvider;
+import org.openqa.selenium.WebDriver;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Finds the WebDriver (and other collaborators) held by a test instance.
+ *
+ * Objects implementing {@link DriverProvider} are asked directly. For anything
+ * else the field getters are resolved once per class into method handles and
+ * cached in a {@link ClassValue}, so a run with thousands of failing tests
+ * pays the reflective scan once per test class instead of once per failure.
+ */
+final class TestInstanceFields {
+
+    private static final MethodType GETTER = MethodType.methodType(Object.class, Object.class);
+
+    /** Getters for every field declared directly on the class, static ones included. */
+    private static final ClassValue<MethodHandle[]> DECLARED = new ClassValue<>() {
+        @Override
+        protected MethodHandle[] computeValue(Class<?> type) {
+            List<MethodHandle> getters = new ArrayList<>();
+            for (Field f : type.getDeclaredFields()) {
+                MethodHandle getter = getter(f);
+                if (getter != null) {
+                    getters.add(getter);
+                }
+            }
+            return getters.toArray(MethodHandle[]::new);
+        }
+    };
+
+    /** Getters for WebDriver-typed or "driver"-named fields along the class hierarchy. */
+    private static final ClassValue<MethodHandle[]> DRIVER_HOLDERS = new ClassValue<>() {
+        @Override
+        protected MethodHandle[] computeValue(Class<?> type) {
+            List<MethodHandle> getters = new ArrayList<>();
+            for (Class<?> c = type; c != null; c = c.getSuperclass()) {
+                for (Field f : c.getDeclaredFields()) {
+                    if (WebDriver.class.isAssignableFrom(f.getType()) || f.getName().equalsIgnoreCase("driver")) {
+                        MethodHandle getter = getter(f);
+                        if (getter != null) {
+                            getters.add(getter);
+                        }
+                    }
+                }
+            }
+            return getters.toArray(MethodHandle[]::new);
+        }
+    };
+
+    private TestInstanceFields() {
+    }
+
+    /**
+     * @return the WebDriver held directly by the test instance or by one of its
+     *         fields, or null when there is none
+     */
+    static WebDriver driverOf(Object testInstance) {
+        if (testInstance == null) {
+            return null;
+        }
+        for (MethodHandle getter : DECLARED.get(testInstance.getClass())) {
+            Object value = read(getter, testInstance);
+            if (value instanceof WebDriver driver) {
+                return driver;
+            }
+            if (value != null) {
+                WebDriver nested = driverHeldBy(value);
+                if (nested != null) {
+                    return nested;
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * @return the first field value of the test instance with the given type, or null
+     */
+    static <T> T fieldOf(Object testInstance, Class<T> type) {
+        if (testInstance == null) {
+            return null;
+        }
+        for (MethodHandle getter : DECLARED.get(testInstance.getClass())) {
+            Object value = read(getter, testInstance);
+            if (type.isInstance(value)) {
+                return type.cast(value);
+            }
+        }
+        return null;
+    }
+
+    private static WebDriver driverHeldBy(Object holder) {
+        if (holder instanceof DriverProvider provider) {
+            return provider.currentDriver();
+        }
+        for (MethodHandle getter : DRIVER_HOLDERS.get(holder.getClass())) {
+            if (read(getter, holder) instanceof WebDriver driver) {
+                return driver;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * @return an (Object)Object getter for the field, or null when it cannot be
+     *         made accessible (e.g. a JDK-internal field of a platform type)
+     */
+    private static MethodHandle getter(Field f) {
+        try {
+            f.setAccessible(true);
+            MethodHandle getter = MethodHandles.lookup().unreflectGetter(f);
+            if (Modifier.isStatic(f.getModifiers())) {
+                getter = MethodHandles.dropArguments(getter, 0, Object.class);
+            }
+            return getter.asType(GETTER);
+        } catch (RuntimeException | IllegalAccessException e) {
+            return null;
+        }
+    }
+
+    private static Object read(MethodHandle getter, Object target) {
+        try {
+            return (Object) getter.invokeExact(target);
+        } catch (Throwable ignored) {
+            return null;
+        }
+    }
+}
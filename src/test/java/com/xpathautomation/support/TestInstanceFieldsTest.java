@@ -0,0 +1,78 @@
+package com.xpathautomation.support;
+
+import com.xpathautomation.DriverProvider;
+import org.junit.jupiter.api.Test;
+import org.openqa.selenium.WebDriver;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for TestInstanceFields.
+ */
+class TestInstanceFieldsTest {
+
+    @Test
+    void findsDriverHeldDirectlyByTheTestInstance() {
+        FakeWebDriver driver = new FakeWebDriver();
+        Object testInstance = new DirectHolder(driver);
+
+        assertSame(driver, TestInstanceFields.driverOf(testInstance));
+    }
+
+    @Test
+    void asksDriverProvidersInsteadOfScanningTheirFields() {
+        FakeWebDriver driver = new FakeWebDriver();
+        Object testInstance = new ProviderHolder(() -> driver);
+
+        assertSame(driver, TestInstanceFields.driverOf(testInstance));
+    }
+
+    @Test
+    void fallsBackToDriverFieldsInheritedByPlainHolders() {
+        FakeWebDriver driver = new FakeWebDriver();
+        Object testInstance = new PlainHolder(new ChildAutomation(driver));
+
+        assertSame(driver, TestInstanceFields.driverOf(testInstance));
+        assertSame(driver, TestInstanceFields.driverOf(testInstance));
+    }
+
+    @Test
+    void returnsNullWhenNoDriverIsHeld() {
+        assertNull(TestInstanceFields.driverOf(new PlainHolder("no driver here")));
+        assertNull(TestInstanceFields.driverOf(null));
+    }
+
+    @Test
+    void findsTheFirstFieldOfTheRequestedType() {
+        DriverProvider provider = FakeWebDriver::new;
+        Object testInstance = new ProviderHolder(provider);
+
+        assertSame(provider, TestInstanceFields.fieldOf(testInstance, DriverProvider.class));
+        assertNull(TestInstanceFields.fieldOf(testInstance, WebDriver.class));
+    }
+
+    private record DirectHolder(WebDriver driver) {
+    }
+
+    private record ProviderHolder(DriverProvider provider) {
+    }
+
+    private record PlainHolder(Object automation) {
+    }
+
+    private static class BaseAutomation {
+        private final WebDriver driver;
+
+        BaseAutomation(WebDriver driver) {
+            this.driver = driver;
+        }
+    }
+
+    private static class ChildAutomation extends BaseAutomation {
+        private final String name = "child";
+
+        ChildAutomation(WebDriver driver) {
+            super(driver);
+        }
+    }
+}
@@ -0,0 +1,125 @@
+package com.xpathautomation.tools;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for AllureResultsMerger.
+ */
+class AllureResultsMergerTest {
+
+    private static final String SHARED_UUID = "11111111-1111-1111-1111-111111111111";
+    private static final byte[] HOME_OPENED = {(byte) 0x89, 'P', 'N', 'G', 1, 2, 3};
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void mergesShardsDeduplicatingAttachmentsAndResolvingUuidCollisions() throws IOException {
+        Path first = tempDir.resolve("shard-1");
+        writeResult(first, SHARED_UUID, "a-attachment.png", HOME_OPENED);
+        writeContainer(first, "c1", SHARED_UUID);
+        write(first.resolve("log-attachment.txt"), "first shard log".getBytes(StandardCharsets.UTF_8));
+        write(first.resolve("environment.properties"), "Browser=Chrome\nShard=1\n".getBytes(StandardCharsets.ISO_8859_1));
+        write(first.resolve("executor.json"), "{\"name\":\"worker-1\"}".getBytes(StandardCharsets.UTF_8));
+
+        Path second = tempDir.resolve("shard-2");
+        // Same UUID as in the first shard, same screenshot under another name, different log under the same name
+        writeResult(second, SHARED_UUID, "b-attachment.png", HOME_OPENED);
+        writeContainer(second, "c2", SHARED_UUID);
+        write(second.resolve("log-attachment.txt"), "second shard log".getBytes(StandardCharsets.UTF_8));
+        write(second.resolve("environment.properties"), "Shard=2\nOs=Linux\n".getBytes(StandardCharsets.ISO_8859_1));
+        write(second.resolve("executor.json"), "{\"name\":\"worker-2\"}".getBytes(StandardCharsets.UTF_8));
+
+        Path merged = tempDir.resolve("merged");
+        AllureResultsMerger.MergeStats stats = AllureResultsMerger.merge(List.of(first, second), merged);
+
+        assertEquals(2, stats.results());
+        assertEquals(2, stats.containers());
+        assertEquals(1, stats.renamedUuids());
+        assertEquals(1, stats.duplicateAttachments(), "the repeated screenshot is stored once");
+        assertEquals(3, stats.attachments(), "screenshot and both logs");
+
+        assertTrue(Files.exists(merged.resolve(SHARED_UUID + "-result.json")));
+        List<Path> results = list(merged, "-result.json");
+        assertEquals(2, results.size());
+        Path renamedResult = results.stream()
+                .filter(path -> !path.getFileName().toString().startsWith(SHARED_UUID)).findFirst().orElseThrow();
+        String renamedUuid = renamedResult.getFileName().toString().replace("-result.json", "");
+        String renamedJson = Files.readString(renamedResult);
+        assertTrue(renamedJson.contains("\"uuid\":\"" + renamedUuid + "\""));
+        assertTrue(renamedJson.contains("\"source\":\"a-attachment.png\""), "points at the stored copy");
+        assertFalse(Files.exists(merged.resolve("b-attachment.png")));
+        assertTrue(renamedJson.contains("-attachment.txt\""));
+        assertFalse(renamedJson.contains("\"source\":\"log-attachment.txt\""), "the clashing log was renamed");
+
+        String secondContainer = Files.readString(merged.resolve("c2-container.json"));
+        assertTrue(secondContainer.contains("\"children\":[\"" + renamedUuid + "\"]"));
+        String firstContainer = Files.readString(merged.resolve("c1-container.json"));
+        assertTrue(firstContainer.contains("\"children\":[\"" + SHARED_UUID + "\"]"));
+
+        assertEquals("first shard log", Files.readString(merged.resolve("log-attachment.txt")));
+        assertEquals("{\"name\":\"worker-1\"}", Files.readString(merged.resolve("executor.json")));
+        Properties environment = new Properties();
+        try (InputStream in = Files.newInputStream(merged.resolve("environment.properties"))) {
+            environment.load(in);
+        }
+        assertEquals(Map.of("Browser", "Chrome", "Shard", "1", "Os", "Linux"), Map.copyOf(environment));
+    }
+
+    @Test
+    void rewriteOnlyReplacesWholeStringValues() {
+        String json = "{\"uuid\":\"u1\",\"name\":\"u1 again\",\"note\":\"say \\\"u1\\\"\",\"children\":[\"u1\"]}";
+
+        String rewritten = AllureResultsMerger.rewrite(json, Map.of("u1", "u2"));
+
+        assertEquals("{\"uuid\":\"u2\",\"name\":\"u1 again\",\"note\":\"say \\\"u1\\\"\",\"children\":[\"u2\"]}",
+                rewritten);
+        assertSame(json, AllureResultsMerger.rewrite(json, Map.of("other", "x")));
+    }
+
+    @Test
+    void refusesANonEmptyOutputDirectory() throws IOException {
+        Path merged = tempDir.resolve("merged");
+        write(merged.resolve("old-result.json"), new byte[0]);
+
+        assertThrows(IOException.class, () -> AllureResultsMerger.merge(List.of(), merged));
+    }
+
+    private static void writeResult(Path shard, String uuid, String screenshot, byte[] screenshotBytes)
+            throws IOException {
+        write(shard.resolve(screenshot), screenshotBytes);
+        String json = "{\"uuid\":\"" + uuid + "\",\"name\":\"opens home\",\"status\":\"passed\","
+                + "\"attachments\":[{\"name\":\"home-opened\",\"source\":\"" + screenshot + "\",\"type\":\"image/png\"},"
+                + "{\"name\":\"log\",\"source\":\"log-attachment.txt\",\"type\":\"text/plain\"}]}";
+        write(shard.resolve(uuid + "-result.json"), json.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static void writeContainer(Path shard, String uuid, String child) throws IOException {
+        String json = "{\"uuid\":\"" + uuid + "\",\"children\":[\"" + child + "\"],\"befores\":[]}";
+        write(shard.resolve(uuid + "-container.json"), json.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static List<Path> list(Path directory, String suffix) throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(path -> path.getFileName().toString().endsWith(suffix)).toList();
+        }
+    }
+
+    private static void write(Path path, byte[] content) throws IOException {
+        Files.createDirectories(path.getParent());
+        Files.write(path, content);
+    }
+}
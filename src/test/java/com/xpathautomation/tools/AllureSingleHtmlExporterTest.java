@@ -0,0 +1,257 @@
+package com.xpathautomation.tools;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.FileTime;
+import java.util.Base64;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.InflaterInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for AllureSingleHtmlExporter. The streaming export must produce exactly
+ * what the original in-memory pipeline produced.
+ */
+class AllureSingleHtmlExporterTest {
+
+    private static final String INDEX_HTML = """
+            <!DOCTYPE html>
+            <html dir="ltr">
+            <head>
+            <meta charset="utf-8">
+            <title>Allure Report</title>
+            <link rel="stylesheet" type="text/css" href="styles.css">
+            <link rel="stylesheet" href="https://cdn.example.com/remote.css">
+            </head>
+            <body>
+            <div id="content"></div>
+            <script src="https://cdn.example.com/remote.js"></script>
+            <script src="plugins/behaviors.js"></script>
+            <script src="app.js"></script>
+            </body>
+            </html>
+            """;
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void streamingExportMatchesInMemoryOutput() throws IOException {
+        Path report = writeFixture(tempDir.resolve("allure-report"), INDEX_HTML);
+        Path out = tempDir.resolve("out/AllureReport.html");
+
+        AllureSingleHtmlExporter.export(report, out);
+
+        String streamed = Files.readString(out, StandardCharsets.UTF_8);
+        assertEquals(InMemoryAllureExport.renderInMemory(report), streamed);
+        assertTrue(streamed.indexOf("window.__ALLURE_EMBEDDED__") < streamed.indexOf("function app()"));
+        assertTrue(streamed.contains("\"data/test-cases/a1.json\":"));
+        assertFalse(streamed.contains("screenshot.png\":"), "binary attachments are not embedded");
+        assertTrue(streamed.contains("https://cdn.example.com/remote.js"));
+    }
+
+    @Test
+    void parallelExportIsByteIdenticalToSequential() throws IOException {
+        Path report = writeFixture(tempDir.resolve("allure-report"), INDEX_HTML);
+        for (int i = 0; i < 600; i++) {
+            write(report.resolve("data/test-cases/p" + i + ".json"),
+                    "{\"index\":" + i + ",\"name\":\"case \\\"" + i + "\"}");
+        }
+        Path sequential = tempDir.resolve("sequential.html");
+        Path virtual = tempDir.resolve("virtual.html");
+        Path forkJoin = tempDir.resolve("fork-join.html");
+
+        AllureSingleHtmlExporter.export(report, sequential);
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            AllureSingleHtmlExporter.export(report, virtual, parallel(executor));
+        }
+        try (ExecutorService executor = new ForkJoinPool(3)) {
+            AllureSingleHtmlExporter.export(report, forkJoin, parallel(executor));
+        }
+
+        byte[] expected = Files.readAllBytes(sequential);
+        assertArrayEquals(expected, Files.readAllBytes(virtual));
+        assertArrayEquals(expected, Files.readAllBytes(forkJoin));
+        String html = new String(expected, StandardCharsets.UTF_8);
+        assertTrue(html.indexOf("data/test-cases/p10.json") < html.indexOf("data/test-cases/p2.json"),
+                "entries are sorted by path");
+    }
+
+    @Test
+    void incrementalExportOnlyReprocessesChangedFiles() throws IOException {
+        Path report = writeFixture(tempDir.resolve("allure-report"), INDEX_HTML);
+        Path out = tempDir.resolve("AllureReport.html");
+        AllureSingleHtmlExporter.ExportOptions incremental =
+                AllureSingleHtmlExporter.ExportOptions.defaults().withIncremental(true);
+
+        AllureSingleHtmlExporter.ExportStats first = AllureSingleHtmlExporter.export(report, out, incremental);
+        assertEquals(6, first.entries());
+        assertEquals(0, first.reused());
+        assertTrue(Files.exists(ExportManifest.pathFor(out)));
+
+        AllureSingleHtmlExporter.ExportStats unchanged = AllureSingleHtmlExporter.export(report, out, incremental);
+        assertEquals(6, unchanged.reused());
+        assertEquals(0, unchanged.escaped());
+        assertEquals(InMemoryAllureExport.renderInMemory(report), Files.readString(out));
+
+        Path touched = report.resolve("data/test-cases/b2.json");
+        Files.setLastModifiedTime(touched,
+                FileTime.fromMillis(Files.getLastModifiedTime(touched).toMillis() + 5_000));
+        write(report.resolve("data/test-cases/a1.json"), "{\"name\":\"changed \\\"again\\\"\"}");
+        write(report.resolve("data/test-cases/d4.json"), "{\"name\":\"new\"}");
+        Files.delete(report.resolve("widgets/summary.json"));
+
+        AllureSingleHtmlExporter.ExportStats changed = AllureSingleHtmlExporter.export(report, out, incremental);
+        assertEquals(6, changed.entries());
+        assertEquals(2, changed.escaped(), "only the edited and the new file are escaped");
+        assertEquals(4, changed.reused(), "the touched but identical file is reused");
+        assertEquals(InMemoryAllureExport.renderInMemory(report), Files.readString(out));
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            AllureSingleHtmlExporter.ExportStats parallel =
+                    AllureSingleHtmlExporter.export(report, out, incremental.withExecutor(executor));
+            assertEquals(6, parallel.reused());
+        }
+        assertEquals(InMemoryAllureExport.renderInMemory(report), Files.readString(out));
+    }
+
+    @Test
+    void incrementalExportStartsOverWhenOutputWasModified() throws IOException {
+        Path report = writeFixture(tempDir.resolve("allure-report"), INDEX_HTML);
+        Path out = tempDir.resolve("AllureReport.html");
+        AllureSingleHtmlExporter.ExportOptions incremental =
+                AllureSingleHtmlExporter.ExportOptions.defaults().withIncremental(true);
+        AllureSingleHtmlExporter.export(report, out, incremental);
+
+        Files.writeString(out, "<!-- edited -->", StandardOpenOption.APPEND);
+
+        AllureSingleHtmlExporter.ExportStats stats = AllureSingleHtmlExporter.export(report, out, incremental);
+        assertEquals(0, stats.reused());
+        assertEquals(InMemoryAllureExport.renderInMemory(report), Files.readString(out));
+    }
+
+    @Test
+    void compressedPayloadsDecodeToTheEmbeddedFiles() throws IOException {
+        Path report = writeFixture(tempDir.resolve("allure-report"), INDEX_HTML);
+        for (AllureSingleHtmlExporter.PayloadEncoding encoding : List.of(
+                AllureSingleHtmlExporter.PayloadEncoding.GZIP, AllureSingleHtmlExporter.PayloadEncoding.DEFLATE)) {
+            Path out = tempDir.resolve(encoding.streamFormat() + ".html");
+            AllureSingleHtmlExporter.ExportOptions options =
+                    AllureSingleHtmlExporter.ExportOptions.defaults().withEncoding(encoding).withIncremental(true);
+
+            AllureSingleHtmlExporter.export(report, out, options);
+
+            String html = Files.readString(out, StandardCharsets.UTF_8);
+            assertTrue(html.contains("const encoding = '" + encoding.streamFormat() + "';"));
+            Matcher entry = Pattern.compile("\"([^\"]+)\":\"([A-Za-z0-9+/=]*)\"").matcher(html);
+            int entries = 0;
+            while (entry.find()) {
+                byte[] compressed = Base64.getDecoder().decode(entry.group(2));
+                InputStream in = encoding == AllureSingleHtmlExporter.PayloadEncoding.GZIP
+                        ? new GZIPInputStream(new ByteArrayInputStream(compressed))
+                        : new InflaterInputStream(new ByteArrayInputStream(compressed));
+                assertArrayEquals(Files.readAllBytes(report.resolve(entry.group(1))), in.readAllBytes(),
+                        entry.group(1));
+                entries++;
+            }
+            assertEquals(6, entries);
+
+            AllureSingleHtmlExporter.ExportStats reexport = AllureSingleHtmlExporter.export(report, out, options);
+            assertEquals(6, reexport.reused());
+            assertEquals(html, Files.readString(out, StandardCharsets.UTF_8));
+        }
+    }
+
+    @Test
+    void attachmentsAreEmbeddedOncePerDistinctContent() throws IOException {
+        Path report = writeFixture(tempDir.resolve("allure-report"), INDEX_HTML);
+        byte[] frame = new byte[300];
+        for (int i = 0; i < frame.length; i++) {
+            frame[i] = (byte) i;
+        }
+        Path attachments = report.resolve("data/attachments");
+        for (int i = 0; i < 3; i++) {
+            Files.write(attachments.resolve("home-opened-" + i + ".png"), frame);
+        }
+        Files.write(attachments.resolve("video.webm"), new byte[4096]);
+        Path out = tempDir.resolve("AllureReport.html");
+        AllureSingleHtmlExporter.ExportOptions options = AllureSingleHtmlExporter.ExportOptions.defaults()
+                .withAttachments(true).withMaxAttachmentBytes(1024).withIncremental(true);
+
+        AllureSingleHtmlExporter.ExportStats stats = AllureSingleHtmlExporter.export(report, out, options);
+
+        assertEquals(4, stats.attachments());
+        assertEquals(2, stats.blobs(), "identical frames share one blob");
+        assertEquals(1, stats.externalAttachments());
+        String html = Files.readString(out, StandardCharsets.UTF_8);
+        String frameBlob = "\"" + Base64.getEncoder().encodeToString(frame) + "\"";
+        assertEquals(html.indexOf(frameBlob), html.lastIndexOf(frameBlob), "blob stored once");
+        for (int i = 0; i < 3; i++) {
+            assertTrue(html.contains("\"data/attachments/home-opened-" + i + ".png\":[\""));
+        }
+        assertTrue(html.contains("\"data/attachments/screenshot.png\":[\""));
+        assertTrue(html.contains("\"image/png\"]"));
+        assertFalse(html.contains("video.webm"), "attachments above the cap stay external");
+        assertTrue(html.indexOf("window.__ALLURE_BLOB_KEYS__") < html.indexOf("function app()"));
+
+        AllureSingleHtmlExporter.ExportStats reexport = AllureSingleHtmlExporter.export(report, out, options);
+        assertEquals(2, reexport.blobs());
+        assertEquals(html, Files.readString(out, StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void injectionGoesBeforeHeadCloseWithoutAppJs() throws IOException {
+        String index = "<html><head><title>r</title></head><body></body></html>";
+        Path report = writeFixture(tempDir.resolve("no-app"), index);
+        Files.delete(report.resolve("app.js"));
+        Path out = tempDir.resolve("no-app.html");
+
+        AllureSingleHtmlExporter.export(report, out);
+
+        String streamed = Files.readString(out, StandardCharsets.UTF_8);
+        assertEquals(InMemoryAllureExport.renderInMemory(report), streamed);
+        assertTrue(streamed.startsWith("<html><head><title>r</title><script>\nwindow.__ALLURE_EMBEDDED__"));
+    }
+
+    private static AllureSingleHtmlExporter.ExportOptions parallel(ExecutorService executor) {
+        return AllureSingleHtmlExporter.ExportOptions.defaults().withExecutor(executor);
+    }
+
+    private static Path writeFixture(Path report, String indexHtml) throws IOException {
+        write(report.resolve("index.html"), indexHtml);
+        write(report.resolve("styles.css"), "body { margin: 0; }\n");
+        write(report.resolve("app.js"), "function app() { return \"<div>\" + '\\n'; }\n");
+        write(report.resolve("plugins/behaviors.js"), "var behaviors = [];\n");
+        write(report.resolve("data/test-cases/a1.json"),
+                "{\"name\":\"Click \\\"submit\\\"\",\n\t\"description\":\"ş ğ é \u2028 \u2029 \u0001 \\\\ end\"}\r\n");
+        write(report.resolve("data/test-cases/b2.json"), "{}");
+        // Multi-byte characters straddling the reader's chunk boundaries
+        write(report.resolve("data/test-cases/c3.json"), "\"ş€\uD83D\uDE00\\n\"".repeat(5000));
+        write(report.resolve("widgets/summary.json"), "{\"statistic\":{\"total\":2}}");
+        write(report.resolve("export/influxDbData.txt"), "launch_status passed=2\n");
+        write(report.resolve("history/history-trend.json"), "[]");
+        Files.createDirectories(report.resolve("data/attachments"));
+        Files.write(report.resolve("data/attachments/screenshot.png"), new byte[]{(byte) 0x89, 'P', 'N', 'G'});
+        return report;
+    }
+
+    private static void write(Path path, String content) throws IOException {
+        Files.createDirectories(path.getParent());
+        Files.writeString(path, content, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,150 @@
+package com.xpathautomation.tools;
+
+import com.xpathautomation.tools.AllureSingleHtmlExporter.PayloadEncoding;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.regex.Matcher;
+
+/**
+ * The exporter's original in-memory pipeline, kept as the reference output
+ * for the streaming {@link AllureSingleHtmlExporter#export} in tests and as
+ * the baseline for the export benchmarks.
+ */
+final class InMemoryAllureExport {
+
+    private InMemoryAllureExport() {
+    }
+
+    /**
+     * Builds the whole report as one string. It needs several copies of the
+     * report on the heap.
+     */
+    static String renderInMemory(Path reportDirectory) throws IOException {
+        String indexHtml = Files.readString(reportDirectory.resolve("index.html"), StandardCharsets.UTF_8);
+
+        Map<String, String> embeddedTextByRelativePath = new LinkedHashMap<>();
+        for (Path filePath : AllureSingleHtmlExporter.embeddedFiles(reportDirectory)) {
+            String content = Files.readString(filePath, StandardCharsets.UTF_8);
+            embeddedTextByRelativePath.put(AllureSingleHtmlExporter.relativeKey(reportDirectory, filePath), content);
+        }
+
+        String embeddedMapJson = buildEmbeddedMapJson(embeddedTextByRelativePath);
+        String injectionScript = buildInjectionScript(embeddedMapJson);
+
+        // First, inline local CSS/JS assets referenced by link/script tags
+        String htmlWithInlinedAssets = inlineLocalAssets(indexHtml, reportDirectory, injectionScript);
+
+        // If nothing matched (unexpected layout), ensure the injection is still present
+        return ensureInjectionPresent(htmlWithInlinedAssets, injectionScript);
+    }
+
+    /**
+     * The embedded map as JSON. Values are escaped like the streamed payloads,
+     * U+2028/U+2029 included, so they cannot break out of the JS string context.
+     */
+    static String buildEmbeddedMapJson(Map<String, String> data) {
+        int capacity = 2;
+        for (Map.Entry<String, String> entry : data.entrySet()) {
+            capacity += entry.getKey().length() + entry.getValue().length() + 6;
+        }
+        // Slack for escapes, matching JsStringEscaper.quote, so the builder is not regrown near the end
+        StringBuilder mapBuilder = new StringBuilder(capacity + (capacity >> 3));
+        mapBuilder.append('{');
+        boolean first = true;
+        try {
+            for (Map.Entry<String, String> entry : data.entrySet()) {
+                if (!first) {
+                    mapBuilder.append(',');
+                }
+                first = false;
+                mapBuilder.append('"');
+                JsStringEscaper.KEY.escape(entry.getKey(), mapBuilder);
+                mapBuilder.append("\":");
+                JsStringEscaper.PAYLOAD.quote(entry.getValue(), mapBuilder);
+            }
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+        mapBuilder.append('}');
+        return mapBuilder.toString();
+    }
+
+    static String buildInjectionScript(String mapJson) {
+        return AllureSingleHtmlExporter.INJECTION_PREFIX + mapJson
+                + AllureSingleHtmlExporter.injectionSuffix(PayloadEncoding.JS_STRING, false);
+    }
+
+    private static String ensureInjectionPresent(String html, String injection) {
+        if (html.contains("__ALLURE_EMBEDDED__")) {
+            return html;
+        }
+        int headCloseIndex = html.indexOf("</head>");
+        if (headCloseIndex >= 0) {
+            return html.substring(0, headCloseIndex) + injection + html.substring(headCloseIndex);
+        }
+        return injection + html;
+    }
+
+    static String inlineLocalAssets(String html, Path reportDirectory, String injection) throws IOException {
+        String result = html;
+
+        // Inline CSS: <link rel="stylesheet" ... href="...">
+        Matcher cssMatcher = AllureSingleHtmlExporter.CSS_LINK_PATTERN.matcher(result);
+        StringBuffer cssBuffer = new StringBuffer();
+        while (cssMatcher.find()) {
+            String href = cssMatcher.group(1);
+            if (href.startsWith("http://") || href.startsWith("https://")) {
+                cssMatcher.appendReplacement(cssBuffer, Matcher.quoteReplacement(cssMatcher.group()));
+                continue;
+            }
+            Path cssPath = reportDirectory.resolve(href).normalize();
+            if (Files.exists(cssPath)) {
+                String cssContent = Files.readString(cssPath, StandardCharsets.UTF_8);
+                String replacement = "<style>\n" + cssContent + "\n</style>";
+                cssMatcher.appendReplacement(cssBuffer, Matcher.quoteReplacement(replacement));
+            } else {
+                cssMatcher.appendReplacement(cssBuffer, Matcher.quoteReplacement(cssMatcher.group()));
+            }
+        }
+        cssMatcher.appendTail(cssBuffer);
+        result = cssBuffer.toString();
+
+        // Inline JS: <script src="..."></script>
+        Matcher jsMatcher = AllureSingleHtmlExporter.JS_SCRIPT_PATTERN.matcher(result);
+        StringBuffer jsBuffer = new StringBuffer();
+        while (jsMatcher.find()) {
+            String src = jsMatcher.group(1);
+            if (src.startsWith("http://") || src.startsWith("https://")) {
+                jsMatcher.appendReplacement(jsBuffer, Matcher.quoteReplacement(jsMatcher.group()));
+                continue;
+            }
+            Path jsPath = reportDirectory.resolve(src).normalize();
+            if (Files.exists(jsPath)) {
+                String jsContent = Files.readString(jsPath, StandardCharsets.UTF_8);
+                String inlineScript = "<script>\n" + jsContent + "\n</script>";
+                // Special-case app.js: inject our fetch override BEFORE app.js runs
+                if (src.equals("app.js")) {
+                    inlineScript = injection + inlineScript;
+                }
+                jsMatcher.appendReplacement(jsBuffer, Matcher.quoteReplacement(inlineScript));
+            } else {
+                jsMatcher.appendReplacement(jsBuffer, Matcher.quoteReplacement(jsMatcher.group()));
+            }
+        }
+        jsMatcher.appendTail(jsBuffer);
+        result = jsBuffer.toString();
+
+        return result;
+    }
+
+    static String escapeAsJsString(String s) {
+        StringBuilder builder = new StringBuilder();
+        JsStringEscaper.STRING.quote(s, builder);
+        return builder.toString();
+    }
+}
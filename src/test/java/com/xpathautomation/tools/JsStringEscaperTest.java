@@ -0,0 +1,86 @@
+package com.xpathautomation.tools;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * JsStringEscaper must write exactly what the exporter's previous escaping
+ * code wrote ({@link LegacyJsEscaping}), in every mode and for any input.
+ */
+class JsStringEscaperTest {
+
+    /**
+     * Characters with special handling in some mode, plus plain ASCII and
+     * non-ASCII text and both halves of a surrogate pair.
+     */
+    private static final char[] ALPHABET = (
+            "\\\"\n\r\t\u0000\u0001\u001f\u007f /'<>&aZ09"
+            + "şğé€\u2028\u2029\uD83D\uDE00\uffff").toCharArray();
+
+    @Test
+    void matchesLegacyEscapingOnRandomInput() throws IOException {
+        Random random = new Random(42);
+        for (int round = 0; round < 2_000; round++) {
+            String value = randomString(random, random.nextInt(200));
+
+            assertEquals(LegacyJsEscaping.escapeJsonString(value), JsStringEscaper.KEY.escape(value));
+            assertEquals(LegacyJsEscaping.escapeAsJsString(value),
+                    InMemoryAllureExport.escapeAsJsString(value));
+
+            StringBuilder expected = new StringBuilder();
+            char[] chars = value.toCharArray();
+            LegacyJsEscaping.writeEscapedChunk(chars, 0, chars.length, expected);
+            StringBuilder builder = new StringBuilder();
+            StringWriter writer = new StringWriter();
+            StringBuilder viaArray = new StringBuilder();
+            // Uneven chunks, as the streaming reader hands them over
+            for (int offset = 0; offset < chars.length; ) {
+                int length = Math.min(chars.length - offset, 1 + random.nextInt(17));
+                JsStringEscaper.PAYLOAD.escape(chars, offset, length, builder);
+                JsStringEscaper.PAYLOAD.escape(chars, offset, length, writer);
+                char[] into = new char[length * JsStringEscaper.MAX_EXPANSION];
+                viaArray.append(into, 0, JsStringEscaper.PAYLOAD.escape(chars, offset, length, into));
+                offset += length;
+            }
+            assertEquals(expected.toString(), builder.toString());
+            assertEquals(expected.toString(), writer.toString());
+            assertEquals(expected.toString(), viaArray.toString());
+        }
+    }
+
+    @Test
+    void embeddedMapMatchesLegacyRendering() {
+        Random random = new Random(7);
+        Map<String, String> files = new LinkedHashMap<>();
+        for (int i = 0; i < 200; i++) {
+            files.put("data/test-cases/" + randomString(random, 8) + ".json", randomString(random, 300));
+        }
+        assertEquals(LegacyJsEscaping.buildEmbeddedMapJsonFromFiles(files),
+                InMemoryAllureExport.buildEmbeddedMapJson(files));
+    }
+
+    @Test
+    void returnsTheSameInstanceWhenNothingNeedsEscaping() {
+        String key = "data/test-cases/a1.json";
+        assertSame(key, JsStringEscaper.KEY.escape(key));
+        assertEquals("a\\\\u2028b", JsStringEscaper.PAYLOAD.escape("a\u2028b"));
+        assertEquals("a\u2028b", JsStringEscaper.STRING.escape("a\u2028b"));
+    }
+
+    private static String randomString(Random random, int length) {
+        StringBuilder builder = new StringBuilder(length);
+        for (int i = 0; i < length; i++) {
+            // Mostly long safe runs, as in real JSON
+            builder.append(random.nextInt(4) == 0 ? ALPHABET[random.nextInt(ALPHABET.length)]
+                    : (char) ('a' + random.nextInt(26)));
+        }
+        return builder.toString();
+    }
+}
@@ -0,0 +1,101 @@
+package com.xpathautomation.tools;
+
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * The exporter's escaping code as it was before {@link JsStringEscaper},
+ * kept verbatim as the reference for tests and as the baseline for the
+ * escaping benchmarks.
+ */
+final class LegacyJsEscaping {
+
+    private LegacyJsEscaping() {
+    }
+
+    static void writeEscapedChunk(char[] chunk, int offset, int length, Appendable out) throws IOException {
+        for (int i = offset; i < offset + length; i++) {
+            char c = chunk[i];
+            switch (c) {
+                case '\\' -> out.append("\\\\");
+                case '"' -> out.append("\\\"");
+                case '\n' -> out.append("\\n");
+                case '\r' -> out.append("\\r");
+                case '\t' -> out.append("\\t");
+                case '\u2028' -> out.append("\\\\u2028");
+                case '\u2029' -> out.append("\\\\u2029");
+                default -> {
+                    if (c < 32) {
+                        out.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        out.append(c);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * {@code renderInMemory} replaced U+2028/U+2029 before building the map.
+     */
+    static String buildEmbeddedMapJsonFromFiles(Map<String, String> data) {
+        Map<String, String> replaced = new LinkedHashMap<>();
+        for (Map.Entry<String, String> entry : data.entrySet()) {
+            replaced.put(entry.getKey(),
+                    entry.getValue().replace("\u2028", "\\u2028").replace("\u2029", "\\u2029"));
+        }
+        return buildEmbeddedMapJson(replaced);
+    }
+
+    static String buildEmbeddedMapJson(Map<String, String> data) {
+        StringBuilder mapBuilder = new StringBuilder("{");
+        boolean first = true;
+        for (Map.Entry<String, String> entry : data.entrySet()) {
+            if (!first) {
+                mapBuilder.append(',');
+            }
+            first = false;
+            mapBuilder.append('"').append(escapeJsonString(entry.getKey())).append('"').append(':')
+                    .append(escapeAsJsString(entry.getValue()));
+        }
+        mapBuilder.append('}');
+        return mapBuilder.toString();
+    }
+
+    static String escapeJsonString(String value) {
+        return value.replace("\\", "\\\\").replace("\"", "\\\"");
+    }
+
+    static String escapeAsJsString(String s) {
+        StringBuilder builder = new StringBuilder("\"");
+        for (int i = 0; i < s.length(); i++) {
+            char c = s.charAt(i);
+            switch (c) {
+                case '\\':
+                    builder.append("\\\\");
+                    break;
+                case '"':
+                    builder.append("\\\"");
+                    break;
+                case '\n':
+                    builder.append("\\n");
+                    break;
+                case '\r':
+                    builder.append("\\r");
+                    break;
+                case '\t':
+                    builder.append("\\t");
+                    break;
+                default:
+                    if (c < 32) {
+                        builder.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        builder.append(c);
+                    }
+            }
+        }
+        builder.append('"');
+        return builder.toString();
+    }
+}